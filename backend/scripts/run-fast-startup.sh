@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+# mvn -Pfast-startup package 결과물(AOT + AppCDS)로 실행
+# 사용법: scripts/run-fast-startup.sh [애플리케이션 인자...]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+DIR=target/fast-startup
+JAR="$DIR/blog-0.0.1-SNAPSHOT.jar"
+
+if [[ ! -f "$JAR" || ! -f "$DIR/application.jsa" ]]; then
+  echo "먼저 빌드하세요: mvn -Pfast-startup package" >&2
+  exit 1
+fi
+
+# 아카이브와 클래스패스가 맞지 않으면 JVM이 CDS 없이 그대로 기동함 (-Xshare:auto)
+exec java -XX:SharedArchiveFile="$DIR/application.jsa" -Xshare:auto \
+  -Dspring.aot.enabled=true \
+  ${JAVA_OPTS:-} -jar "$JAR" "$@"
@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# 기동 시간 측정: 프로세스 시작부터 GET /posts가 처음으로 게시글이 있는 200 응답을 돌려줄 때까지
+# 사용법: scripts/startup-benchmark.sh [반복 횟수=5] [모드...]
+#   jar      : 일반 실행 (target/blog-0.0.1-SNAPSHOT.jar)
+#   aot      : AOT만 (-Dspring.aot.enabled=true, fast-startup 빌드의 jar)
+#   aot-cds  : AOT + AppCDS (scripts/run-fast-startup.sh와 같은 구성)
+# 모드를 생략하면 빌드된 것 전부. 사전 빌드: mvn -Pfast-startup package -DskipTests
+# APP_ARGS 환경 변수는 애플리케이션 인자로 전달 (예: APP_ARGS=--app.seed.defer-password-hashing=false)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+shift || true
+MODES=("$@")
+PORT=${PORT:-18080}
+URL="http://localhost:$PORT/posts"
+FAST_DIR=target/fast-startup
+PLAIN_JAR=target/blog-0.0.1-SNAPSHOT.jar
+FAST_JAR="$FAST_DIR/blog-0.0.1-SNAPSHOT.jar"
+
+if [[ ${#MODES[@]} -eq 0 ]]; then
+  MODES=(jar)
+  [[ -f "$FAST_JAR" ]] && MODES+=(aot)
+  [[ -f "$FAST_DIR/application.jsa" ]] && MODES+=(aot-cds)
+fi
+
+command_for() {
+  case "$1" in
+    jar)     echo "java -jar $PLAIN_JAR" ;;
+    aot)     echo "java -Dspring.aot.enabled=true -jar $FAST_JAR" ;;
+    aot-cds) echo "java -XX:SharedArchiveFile=$FAST_DIR/application.jsa -Xshare:auto -Dspring.aot.enabled=true -jar $FAST_JAR" ;;
+    *) echo "알 수 없는 모드: $1" >&2; exit 1 ;;
+  esac
+}
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+
+measure() {
+  local cmd=$1 start pid elapsed
+  start=$(now_ms)
+  $cmd --server.port="$PORT" ${APP_ARGS:-} --logging.level.root=WARN --logging.level.com.example.blog=WARN >/dev/null 2>&1 &
+  pid=$!
+  # Tomcat은 DataInitializer보다 먼저 뜨므로 빈 목록([])은 아직 준비 전으로 봄
+  until [[ "$(curl -s -w ' %{http_code}' "$URL" 2>/dev/null)" == \[\{*" 200" ]]; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "기동 실패: $cmd" >&2
+      return 1
+    fi
+    sleep 0.02
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid" 2>/dev/null
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed"
+}
+
+printf '%-8s %8s %8s %8s   %s\n' mode min median max "runs(ms)"
+for mode in "${MODES[@]}"; do
+  cmd=$(command_for "$mode")
+  results=()
+  for ((i = 0; i < RUNS; i++)); do
+    results+=("$(measure "$cmd")")
+  done
+  sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+  printf '%-8s %8s %8s %8s   %s\n' "$mode" "${sorted[0]}" "${sorted[$((RUNS / 2))]}" "${sorted[$((RUNS - 1))]}" "${results[*]}"
+done
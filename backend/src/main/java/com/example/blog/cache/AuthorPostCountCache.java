@@ -0,0 +1,64 @@
+package com.example.blog.cache;
+
+import com.example.blog.config.SecondLevelCacheConfig;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// 작성자별 게시글 수 - 프로필 페이지가 글 수와 무관하게 페이지 크기만큼만 읽도록 COUNT 결과를 보관
+// 글 작성/삭제/가져오기 시 AUTHOR_POSTS 이벤트로 제거되고, 유실되더라도 리전 TTL이 지나면 다시 셈
+@Component
+public class AuthorPostCountCache implements CacheInvalidationListener {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final Cache<Long, Long> counts;
+
+    // 무효화 세대 - 작성자 ID로 나눈 구간마다 무효화 때 1씩 증가
+    // COUNT를 시작한 뒤 세대가 바뀌었으면 그 결과는 무효화 이전 데이터일 수 있으므로 캐시에 남기지 않음
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public AuthorPostCountCache(CacheManager hibernateCacheManager) {
+        this.counts = hibernateCacheManager.getCache(SecondLevelCacheConfig.AUTHOR_POST_COUNTS_REGION, Long.class, Long.class);
+    }
+
+    // 동시에 미스가 나면 각자 COUNT를 실행하고 먼저 넣은 값을 유지
+    // 느린 COUNT가 무효화 뒤에 예전 값을 되써 넣지 않도록, 넣은 뒤 세대를 다시 확인해서 바뀌었으면 자기 값만 지움
+    // (무효화가 확인보다 늦으면 무효화 쪽의 remove가 지움)
+    public long get(Long authorId, LongSupplier loader) {
+        Long cached = counts.get(authorId);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(authorId);
+        long generation = generations.get(stripe);
+        long count = loader.getAsLong();
+        if (counts.putIfAbsent(authorId, count) && generations.get(stripe) != generation) {
+            counts.remove(authorId, count);
+        }
+        return count;
+    }
+
+    @Override
+    public void onInvalidate(InvalidationEvent event) {
+        if (InvalidationEvent.AUTHOR_POSTS.equals(event.entity()) && event.id() != null) {
+            generations.incrementAndGet(stripe(event.id()));
+            counts.remove(event.id());
+        }
+    }
+
+    @Override
+    public void onInvalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        counts.clear();
+    }
+
+    private static int stripe(Long authorId) {
+        return (int) (authorId & (GENERATION_STRIPES - 1));
+    }
+}
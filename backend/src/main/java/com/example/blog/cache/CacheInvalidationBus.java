@@ -0,0 +1,13 @@
+package com.example.blog.cache;
+
+// 노드 간 캐시 무효화 버스
+// 구현체는 app.cache.invalidation.transport 값(local, outbox, udp)으로 선택 - CacheInvalidationConfig 참고
+public interface CacheInvalidationBus {
+
+    // 트랜잭션 안에서 호출되면 커밋 후에 로컬 리스너로 전달되고, 롤백되면 전달되지 않음
+    void publish(InvalidationEvent event);
+
+    default void publish(String entity, Long id, Long version) {
+        publish(new InvalidationEvent(entity, id, version));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.blog.cache;
+
+// 인메모리 캐시를 가진 컴포넌트가 구현하는 빈 - 로컬/원격 변경 모두 이 콜백으로 전달됨
+public interface CacheInvalidationListener {
+
+    void onInvalidate(InvalidationEvent event);
+
+    // 다른 노드가 보낸 이벤트 (outbox/UDP 버스가 nodeId로 구분) - 기본은 로컬 이벤트와 같게 처리
+    // 이 노드의 변경을 쓰기 경로에서 직접 반영하는 리스너(TagIndex 등)는 이쪽만 구현
+    default void onRemoteInvalidate(InvalidationEvent event) {
+        onInvalidate(event);
+    }
+
+    // 이벤트 유실 가능성(UDP 순번 누락 등)이 감지되면 전체 무효화
+    void onInvalidateAll();
+}
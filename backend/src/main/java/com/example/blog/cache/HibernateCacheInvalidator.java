@@ -0,0 +1,47 @@
+package com.example.blog.cache;
+
+import com.example.blog.model.Comment;
+import com.example.blog.model.Post;
+import com.example.blog.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Hibernate 2차 캐시 무효화 - 다른 노드에서 바뀐 엔티티를 이 노드 캐시에서 제거
+@Component
+public class HibernateCacheInvalidator implements CacheInvalidationListener {
+
+    private static final Map<String, Class<?>> ENTITY_TYPES = Map.of(
+        InvalidationEvent.USER, User.class,
+        InvalidationEvent.POST, Post.class,
+        InvalidationEvent.COMMENT, Comment.class
+    );
+
+    private final SessionFactory sessionFactory;
+
+    public HibernateCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    public void onInvalidate(InvalidationEvent event) {
+        Class<?> type = ENTITY_TYPES.get(event.entity());
+        if (type == null || event.id() == null) {
+            return;
+        }
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        // 캐시되지 않는 엔티티는 리전이 없으므로 아무 일도 하지 않음
+        cache.evictEntityData(type, event.id());
+        if (type == User.class) {
+            // natural-id(username) 캐시는 id로 찾을 수 없어서 리전 단위로 비움
+            cache.evictNaturalIdData(User.class);
+        }
+    }
+
+    @Override
+    public void onInvalidateAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.blog.cache;
+
+import com.example.blog.transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+// 무효화 이벤트를 이 노드의 CacheInvalidationListener들에게 전달
+@Component
+public class InvalidationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationDispatcher.class);
+
+    // 자신이 보낸 이벤트를 원격 수신 경로에서 걸러내기 위한 노드 식별자 (프로세스마다 새로 생성)
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ObjectProvider<CacheInvalidationListener> listenerProvider;
+    private volatile List<CacheInvalidationListener> listeners;
+
+    public InvalidationDispatcher(ObjectProvider<CacheInvalidationListener> listenerProvider) {
+        this.listenerProvider = listenerProvider;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // 트랜잭션이 있으면 커밋 후 실행, 없으면 즉시 실행
+    public void afterCommit(Runnable action) {
+        AfterCommit.run(action);
+    }
+
+    // 이 노드의 변경 (버스의 publish)
+    public void dispatch(InvalidationEvent event) {
+        dispatch(event, false);
+    }
+
+    // 다른 노드의 변경 (버스의 수신 경로)
+    public void dispatchRemote(InvalidationEvent event) {
+        dispatch(event, true);
+    }
+
+    private void dispatch(InvalidationEvent event, boolean remote) {
+        logger.debug("캐시 무효화: {}, remote={}", event, remote);
+        for (CacheInvalidationListener listener : listeners()) {
+            try {
+                if (remote) {
+                    listener.onRemoteInvalidate(event);
+                } else {
+                    listener.onInvalidate(event);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("캐시 무효화 처리 실패: listener={}, event={}", listener.getClass().getSimpleName(), event, e);
+            }
+        }
+    }
+
+    public void dispatchAll() {
+        logger.info("전체 캐시 무효화 실행");
+        for (CacheInvalidationListener listener : listeners()) {
+            try {
+                listener.onInvalidateAll();
+            } catch (RuntimeException e) {
+                logger.warn("전체 캐시 무효화 실패: listener={}", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    // 리스너가 버스를 주입받는 경우의 순환 참조를 피하려고 처음 사용할 때 조회
+    private List<CacheInvalidationListener> listeners() {
+        List<CacheInvalidationListener> current = listeners;
+        if (current == null) {
+            current = listenerProvider.orderedStream().toList();
+            listeners = current;
+        }
+        return current;
+    }
+}
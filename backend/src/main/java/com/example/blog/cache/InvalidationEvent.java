@@ -0,0 +1,14 @@
+package com.example.blog.cache;
+
+// 캐시 무효화 이벤트 - (entity, id, version)
+// version은 변경 직후 엔티티 버전(@Version)이며, 버전이 없는 키는 null
+public record InvalidationEvent(String entity, Long id, Long version) {
+
+    public static final String POST = "post";
+    public static final String COMMENT = "comment";
+    public static final String USER = "user";
+    // 게시글의 댓글 목록 - id는 게시글 ID
+    public static final String POST_COMMENTS = "post-comments";
+    // 작성자별 게시글 수 - id는 작성자(User) ID
+    public static final String AUTHOR_POSTS = "author-posts";
+}
@@ -0,0 +1,16 @@
+package com.example.blog.cache;
+
+// 단일 인스턴스용 - 이 노드의 리스너에게만 전달
+public class LocalInvalidationBus implements CacheInvalidationBus {
+
+    private final InvalidationDispatcher dispatcher;
+
+    public LocalInvalidationBus(InvalidationDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        dispatcher.afterCommit(() -> dispatcher.dispatch(event));
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.blog.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// DB outbox 기반 무효화 버스
+// 변경과 같은 트랜잭션에서 이벤트 행을 쓰고, 모든 노드가 poll-interval-ms마다 새 행을 읽어 적용
+// 커밋되면 반드시 전달되고 롤백되면 행도 사라지므로 변경과 이벤트가 어긋나지 않음
+public class OutboxInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxInvalidationBus.class);
+
+    private static final int POLL_LIMIT = 500;
+
+    private static final String CREATE_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS cache_invalidation_outbox (" +
+        "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+        "node_id VARCHAR(36) NOT NULL, " +
+        "entity VARCHAR(50) NOT NULL, " +
+        "entity_id BIGINT, " +
+        "version BIGINT, " +
+        "created_at TIMESTAMP NOT NULL)";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO cache_invalidation_outbox (node_id, entity, entity_id, version, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String POLL_SQL =
+        "SELECT id, node_id, entity, entity_id, version FROM cache_invalidation_outbox " +
+        "WHERE id > ? ORDER BY id LIMIT " + POLL_LIMIT;
+
+    private final InvalidationDispatcher dispatcher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long gapTimeoutMillis;
+    private final long retentionMillis;
+
+    // watermark 이하의 id는 모두 처리 완료
+    // IDENTITY 값은 커밋 순서와 다르게 보일 수 있어서(작은 id의 트랜잭션이 나중에 커밋)
+    // watermark 위에서 이미 처리한 id와 비어 있는 id를 따로 기억함
+    private long watermark;
+    private final TreeSet<Long> seenAboveWatermark = new TreeSet<>();
+    private final Map<Long, Long> gapFirstSeenAt = new HashMap<>();
+
+    public OutboxInvalidationBus(InvalidationDispatcher dispatcher, JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 long gapTimeoutMillis, long retentionMillis) {
+        this.dispatcher = dispatcher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.retentionMillis = retentionMillis;
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(CREATE_TABLE_SQL));
+        // 시작 시점에는 로컬 캐시가 비어 있으므로 이전 이벤트는 재생하지 않음
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cache_invalidation_outbox", Long.class);
+        this.watermark = maxId != null ? maxId : 0L;
+        logger.info("outbox 무효화 버스 시작: nodeId={}, watermark={}", dispatcher.getNodeId(), watermark);
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        // 호출한 트랜잭션에 참여 (없으면 새 트랜잭션)
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL,
+            dispatcher.getNodeId(), event.entity(), event.id(), event.version(),
+            new Timestamp(System.currentTimeMillis())));
+        dispatcher.afterCommit(() -> dispatcher.dispatch(event));
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.outbox.poll-interval-ms:500}")
+    public synchronized void poll() {
+        List<OutboxRow> rows;
+        try {
+            rows = jdbcTemplate.query(POLL_SQL, OutboxInvalidationBus::mapRow, watermark);
+        } catch (RuntimeException e) {
+            logger.warn("outbox 조회 실패: {}", e.getMessage());
+            return;
+        }
+
+        for (OutboxRow row : rows) {
+            if (!seenAboveWatermark.add(row.id())) {
+                continue;
+            }
+            gapFirstSeenAt.remove(row.id());
+            if (!dispatcher.getNodeId().equals(row.nodeId())) {
+                dispatcher.dispatchRemote(new InvalidationEvent(row.entity(), row.entityId(), row.version()));
+            }
+        }
+
+        advanceWatermark(System.currentTimeMillis());
+    }
+
+    // 연속된 id까지 watermark를 올림
+    // 비어 있는 id는 아직 커밋되지 않은 트랜잭션일 수 있으므로 gap-timeout-ms 동안 기다렸다가 건너뜀 (롤백 또는 시퀀스 점프)
+    private void advanceWatermark(long now) {
+        if (seenAboveWatermark.isEmpty()) {
+            gapFirstSeenAt.clear();
+            return;
+        }
+        long highest = seenAboveWatermark.last();
+        for (long id = watermark + 1; id < highest; id++) {
+            if (!seenAboveWatermark.contains(id)) {
+                gapFirstSeenAt.putIfAbsent(id, now);
+            }
+        }
+
+        while (!seenAboveWatermark.isEmpty()) {
+            long next = watermark + 1;
+            if (seenAboveWatermark.remove(next)) {
+                watermark = next;
+                continue;
+            }
+            Long firstSeen = gapFirstSeenAt.get(next);
+            if (firstSeen != null && now - firstSeen >= gapTimeoutMillis) {
+                gapFirstSeenAt.remove(next);
+                watermark = next;
+                continue;
+            }
+            break;
+        }
+
+        Iterator<Long> it = gapFirstSeenAt.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next() <= watermark) {
+                it.remove();
+            }
+        }
+    }
+
+    // 모든 노드가 이미 읽었을 만큼 오래된 행 정리
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.outbox.cleanup-interval-ms:60000}")
+    public void cleanup() {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - retentionMillis);
+        try {
+            Integer deleted = transactionTemplate.execute(status ->
+                jdbcTemplate.update("DELETE FROM cache_invalidation_outbox WHERE created_at < ?", cutoff));
+            if (deleted != null && deleted > 0) {
+                logger.debug("outbox 정리: {}건 삭제", deleted);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("outbox 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private static OutboxRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        long entityId = rs.getLong("entity_id");
+        Long id = rs.wasNull() ? null : entityId;
+        long version = rs.getLong("version");
+        Long ver = rs.wasNull() ? null : version;
+        return new OutboxRow(rs.getLong("id"), rs.getString("node_id"), rs.getString("entity"), id, ver);
+    }
+
+    private record OutboxRow(long id, String nodeId, String entity, Long entityId, Long version) {
+    }
+}
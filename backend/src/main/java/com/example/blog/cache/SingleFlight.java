@@ -0,0 +1,142 @@
+package com.example.blog.cache;
+
+import com.example.blog.datasource.ReadYourWritesTracker;
+import com.example.blog.datasource.ReplicaLagMonitor;
+import com.example.blog.deadline.DeadlineExceededException;
+import com.example.blog.deadline.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// 동일 조회 합치기(single-flight) - 같은 (entity, id)를 동시에 읽는 요청은 먼저 온 요청(leader)의 DB 조회 결과를 공유
+// 결과를 보관하지 않는 점이 캐시와 다름: 조회가 끝나면 바로 제거되므로 그 뒤에 온 요청은 새로 읽음
+// entity 이름은 InvalidationEvent와 같이 써서, 커밋된 변경의 무효화 이벤트가 진행 중인 조회를 떼어 냄
+// -> 변경 커밋 이후에 도착한 요청이 커밋 이전에 시작된 조회 결과를 받지 않음
+//
+// 공유 결과는 여러 요청 스레드가 함께 보므로 호출자는 읽기만 해야 함 (요청별 값은 복사본에 설정)
+@Component
+public class SingleFlight implements CacheInvalidationListener {
+
+    private record Key(String entity, Long id) {}
+
+    private final Map<Key, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+
+    public SingleFlight(ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+                        ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+                        MeterRegistry meterRegistry) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // loader는 트랜잭션을 직접 열어야 함 - 기다리는 요청들이 커넥션을 잡지 않도록 트랜잭션 밖에서 호출할 것
+    @SuppressWarnings("unchecked")
+    public <T> T load(String entity, Long id, Supplier<T> loader) {
+        if (mustReadFromPrimary()) {
+            // 방금 쓴 클라이언트는 레플리카를 읽는 다른 요청의 결과를 받으면 자기 쓰기가 안 보일 수 있음
+            return loader.get();
+        }
+
+        Key key = new Key(entity, id);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = flights.putIfAbsent(key, flight);
+        if (existing == null) {
+            return (T) lead(key, flight, loader);
+        }
+
+        coalescedCounter(entity).increment();
+        try {
+            return (T) await(existing, entity);
+        } catch (LeaderDeadlineExpired e) {
+            // leader 요청의 마감 때문에 실패한 조회 (짧은 X-Request-Timeout-Ms로 취소된 쿼리 등) - 이 요청과 무관하므로
+            // 아직 시간이 남았으면 직접 읽음
+            RequestDeadline.check(entity + " 조회");
+            return loader.get();
+        }
+    }
+
+    private Object lead(Key key, CompletableFuture<Object> flight, Supplier<?> loader) {
+        try {
+            Object value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            // 마감이 지난 뒤의 실패는 예외 종류와 상관없이 leader의 마감 탓으로 봄 - 기다리던 요청에 전파하지 않음
+            flight.completeExceptionally(RequestDeadline.isExpired() ? new LeaderDeadlineExpired(e) : e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    // 기다리는 쪽은 자기 요청 마감까지만 기다림
+    private static Object await(CompletableFuture<Object> flight, String entity) {
+        try {
+            if (!RequestDeadline.isPresent()) {
+                return flight.join();
+            }
+            return flight.get(Math.max(0, RequestDeadline.remainingMillis()), TimeUnit.MILLISECONDS);
+        } catch (CompletionException | ExecutionException e) {
+            // leader가 던진 예외(NotFoundException 등)를 그대로 전달 - 마감으로 인한 실패는 LeaderDeadlineExpired로 감싸져 있음
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(entity + " 조회 대기");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException(entity + " 조회 대기");
+        }
+    }
+
+    // leader의 요청 마감이 지난 상태에서 난 실패 - 기다리던 요청에게만 보이는 표시
+    private static final class LeaderDeadlineExpired extends RuntimeException {
+        private LeaderDeadlineExpired(Throwable cause) {
+            super("leader 요청 마감 이후 실패", cause, false, false);
+        }
+    }
+
+    private boolean mustReadFromPrimary() {
+        ReadYourWritesTracker tracker = readYourWritesTracker.getIfAvailable();
+        ReplicaLagMonitor lagMonitor = replicaLagMonitor.getIfAvailable();
+        return tracker != null && lagMonitor != null && tracker.mustReadFromPrimary(lagMonitor.getLagMillis());
+    }
+
+    private Counter coalescedCounter(String entity) {
+        return coalescedCounters.computeIfAbsent(entity, name -> Counter.builder("blog.singleflight.coalesced")
+            .description("진행 중인 조회 결과를 공유받은 요청 수")
+            .tag("entity", name)
+            .register(meterRegistry));
+    }
+
+    // 진행 중인 조회는 떼어 내기만 함 - 이미 기다리는 요청은 그 결과를 받고, 새 요청은 새로 읽음
+    @Override
+    public void onInvalidate(InvalidationEvent event) {
+        if (event.id() != null) {
+            flights.remove(new Key(event.entity(), event.id()));
+        }
+    }
+
+    @Override
+    public void onInvalidateAll() {
+        flights.clear();
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.blog.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// UDP 유니캐스트 무효화 버스 - 같은 머신(루프백)이나 같은 네트워크의 피어 목록으로 전송
+// UDP는 유실될 수 있으므로 송신자별 순번을 붙이고, heartbeat로 마지막 순번을 주기적으로 알림
+// 순번이 건너뛰면 해당 노드는 전체 무효화를 실행 → 최대 heartbeat 간격 안에 수렴
+public class UdpInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(UdpInvalidationBus.class);
+
+    private static final int MAGIC = 0x424C4F47; // "BLOG"
+    private static final byte TYPE_EVENT = 1;
+    private static final byte TYPE_HEARTBEAT = 2;
+    private static final int MAX_PACKET_SIZE = 512;
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
+    private final InvalidationDispatcher dispatcher;
+    private final List<InetSocketAddress> peers;
+    private final long peerExpiryMillis;
+    private final DatagramSocket socket;
+    private final byte[] nodeIdBytes;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, PeerState> peerStates = new ConcurrentHashMap<>();
+    private final Thread receiver;
+    private volatile boolean running = true;
+
+    public UdpInvalidationBus(InvalidationDispatcher dispatcher, String bindAddress, int port,
+                              List<InetSocketAddress> peers, long peerExpiryMillis) throws SocketException {
+        this.dispatcher = dispatcher;
+        this.peers = List.copyOf(peers);
+        this.peerExpiryMillis = peerExpiryMillis;
+        this.nodeIdBytes = dispatcher.getNodeId().getBytes(StandardCharsets.UTF_8);
+        try {
+            this.socket = new DatagramSocket(new InetSocketAddress(InetAddress.getByName(bindAddress), port));
+        } catch (IOException e) {
+            throw new IllegalStateException("무효화 UDP 소켓을 열 수 없습니다: " + bindAddress + ":" + port, e);
+        }
+
+        this.receiver = new Thread(this::receiveLoop, "cache-invalidation-udp");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+        logger.info("UDP 무효화 버스 시작: nodeId={}, bind={}:{}, peers={}", dispatcher.getNodeId(), bindAddress, port, peers);
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        dispatcher.afterCommit(() -> {
+            dispatcher.dispatch(event);
+            send(encode(TYPE_EVENT, sequence.incrementAndGet(), event));
+        });
+    }
+
+    // 마지막 이벤트 순번 알림 - 마지막 패킷이 유실돼도 다음 heartbeat에서 누락이 드러남
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.udp.heartbeat-interval-ms:1000}")
+    public void heartbeat() {
+        send(encode(TYPE_HEARTBEAT, sequence.get(), null));
+
+        long now = System.currentTimeMillis();
+        peerStates.entrySet().removeIf(e -> now - e.getValue().lastHeardAt > peerExpiryMillis);
+    }
+
+    public void close() {
+        running = false;
+        socket.close();
+    }
+
+    private void send(byte[] payload) {
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(payload, payload.length, peer));
+            } catch (IOException e) {
+                logger.debug("무효화 패킷 전송 실패: peer={}, error={}", peer, e.getMessage());
+            }
+        }
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_PACKET_SIZE];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                handle(ByteBuffer.wrap(packet.getData(), packet.getOffset(), packet.getLength()));
+            } catch (SocketException e) {
+                if (running) {
+                    logger.warn("무효화 UDP 수신 소켓 오류: {}", e.getMessage());
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("무효화 패킷 처리 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void handle(ByteBuffer buf) {
+        String senderId;
+        byte type;
+        long seq;
+        InvalidationEvent event = null;
+        try {
+            if (buf.getInt() != MAGIC) {
+                return;
+            }
+            type = buf.get();
+            senderId = readString(buf);
+            seq = buf.getLong();
+            if (type == TYPE_EVENT) {
+                String entity = readString(buf);
+                long id = buf.getLong();
+                long version = buf.getLong();
+                event = new InvalidationEvent(entity, id == NO_VALUE ? null : id, version == NO_VALUE ? null : version);
+            }
+        } catch (BufferUnderflowException e) {
+            logger.debug("잘린 무효화 패킷 무시");
+            return;
+        }
+
+        if (senderId.equals(dispatcher.getNodeId())) {
+            return;
+        }
+
+        PeerState state = peerStates.computeIfAbsent(senderId, k -> new PeerState(seq, type));
+        boolean gap;
+        synchronized (state) {
+            state.lastHeardAt = System.currentTimeMillis();
+            gap = state.advance(seq, type);
+        }
+
+        if (gap) {
+            logger.warn("무효화 이벤트 누락 감지 - 전체 무효화: sender={}, seq={}", senderId, seq);
+            dispatcher.dispatchAll();
+        }
+        if (event != null) {
+            dispatcher.dispatchRemote(event);
+        }
+    }
+
+    private byte[] encode(byte type, long seq, InvalidationEvent event) {
+        ByteBuffer buf = ByteBuffer.allocate(MAX_PACKET_SIZE);
+        buf.putInt(MAGIC).put(type);
+        writeString(buf, nodeIdBytes);
+        buf.putLong(seq);
+        if (event != null) {
+            writeString(buf, event.entity().getBytes(StandardCharsets.UTF_8));
+            buf.putLong(event.id() != null ? event.id() : NO_VALUE);
+            buf.putLong(event.version() != null ? event.version() : NO_VALUE);
+        }
+        byte[] payload = new byte[buf.position()];
+        buf.flip().get(payload);
+        return payload;
+    }
+
+    private static void writeString(ByteBuffer buf, byte[] bytes) {
+        buf.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getShort()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // 송신 노드별 마지막으로 확인한 순번
+    private static final class PeerState {
+        private long lastSeq;
+        private long lastHeardAt = System.currentTimeMillis();
+
+        private PeerState(long firstSeq, byte firstType) {
+            // 처음 보는 노드는 받은 순번을 기준점으로 삼음 (이벤트면 그 직전부터)
+            this.lastSeq = firstType == TYPE_EVENT ? firstSeq - 1 : firstSeq;
+        }
+
+        // 누락이 있으면 true
+        private boolean advance(long seq, byte type) {
+            if (seq <= lastSeq) {
+                // 중복·역순 도착 또는 변화 없는 heartbeat
+                return false;
+            }
+            boolean gap = type == TYPE_EVENT ? seq > lastSeq + 1 : true;
+            lastSeq = seq;
+            return gap;
+        }
+    }
+}
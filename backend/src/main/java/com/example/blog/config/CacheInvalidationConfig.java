@@ -0,0 +1,71 @@
+package com.example.blog.config;
+
+import com.example.blog.cache.CacheInvalidationBus;
+import com.example.blog.cache.InvalidationDispatcher;
+import com.example.blog.cache.LocalInvalidationBus;
+import com.example.blog.cache.OutboxInvalidationBus;
+import com.example.blog.cache.UdpInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.Arrays;
+import java.util.List;
+
+// 캐시 무효화 버스 선택 - app.cache.invalidation.transport
+//   local  : 단일 인스턴스 (기본값)
+//   outbox : 공유 DB의 outbox 테이블을 폴링 - 전달 보장, 지연은 poll-interval-ms 이내
+//   udp    : 피어 목록으로 UDP 전송 - 지연이 가장 짧고, 유실은 heartbeat 순번으로 감지해 전체 무효화
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "local", matchIfMissing = true)
+    CacheInvalidationBus localInvalidationBus(InvalidationDispatcher dispatcher) {
+        return new LocalInvalidationBus(dispatcher);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "outbox")
+    CacheInvalidationBus outboxInvalidationBus(
+            InvalidationDispatcher dispatcher,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.cache.invalidation.outbox.gap-timeout-ms:10000}") long gapTimeoutMillis,
+            @Value("${app.cache.invalidation.outbox.retention-ms:600000}") long retentionMillis) {
+        return new OutboxInvalidationBus(dispatcher, jdbcTemplate, new TransactionTemplate(transactionManager),
+                                         gapTimeoutMillis, retentionMillis);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "udp")
+    CacheInvalidationBus udpInvalidationBus(
+            InvalidationDispatcher dispatcher,
+            @Value("${app.cache.invalidation.udp.bind-address:127.0.0.1}") String bindAddress,
+            @Value("${app.cache.invalidation.udp.port:47800}") int port,
+            @Value("${app.cache.invalidation.udp.peers:}") String peers,
+            @Value("${app.cache.invalidation.udp.peer-expiry-ms:30000}") long peerExpiryMillis) throws SocketException {
+        return new UdpInvalidationBus(dispatcher, bindAddress, port, parsePeers(peers), peerExpiryMillis);
+    }
+
+    // "127.0.0.1:47801,127.0.0.1:47802" 형식
+    private static List<InetSocketAddress> parsePeers(String peers) {
+        return Arrays.stream(peers.split(","))
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .map(s -> {
+                int idx = s.lastIndexOf(':');
+                if (idx <= 0) {
+                    throw new IllegalArgumentException("잘못된 피어 주소입니다: " + s);
+                }
+                return new InetSocketAddress(s.substring(0, idx), Integer.parseInt(s.substring(idx + 1)));
+            })
+            .toList();
+    }
+}
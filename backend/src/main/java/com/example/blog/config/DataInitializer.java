@@ -6,6 +6,7 @@ import com.example.blog.repository.PostRepository;
 import com.example.blog.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,41 +14,58 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Configuration
 @Profile("!test")
 public class DataInitializer {
     
     private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
+    // 해시 계산 전 비밀번호 - BCrypt 형식이 아니므로 어떤 입력과도 일치하지 않음
+    static final String PENDING_PASSWORD = "{pending}";
+
     @Bean
     CommandLineRunner initDatabase(UserRepository userRepository, 
                                  PostRepository postRepository,
-                                 PasswordEncoder passwordEncoder) {
+                                 PasswordEncoder passwordEncoder,
+                                 @Value("${app.seed.defer-password-hashing:true}") boolean deferPasswordHashing) {
         return args -> {
-            initializeData(userRepository, postRepository, passwordEncoder);
+            initializeData(userRepository, postRepository, passwordEncoder, deferPasswordHashing);
         };
     }
 
     @Transactional
     public void initializeData(UserRepository userRepository,
                               PostRepository postRepository,
-                              PasswordEncoder passwordEncoder) {
+                              PasswordEncoder passwordEncoder,
+                              boolean deferPasswordHashing) {
         try {
             if (userRepository.count() > 0) {
                 logger.info("데이터가 이미 존재합니다. 초기화를 건너뜁니다.");
                 return;
             }
 
-            // 테스트 사용자 생성
-            User testUser = createUser("testuser", "password123", passwordEncoder);
+            Map<String, String> seedPasswords = new LinkedHashMap<>();
+            seedPasswords.put("testuser", "password123");
+            seedPasswords.put("admin", "admin123");
+
+            // 테스트 사용자 생성 - BCrypt(cost 12) 해시는 기동 경로 밖에서 계산 (기본값)
+            User testUser = createUser("testuser", seedPasswords.get("testuser"), passwordEncoder, deferPasswordHashing);
             testUser = userRepository.save(testUser);
 
-            User adminUser = createUser("admin", "admin123", passwordEncoder);
+            User adminUser = createUser("admin", seedPasswords.get("admin"), passwordEncoder, deferPasswordHashing);
+            adminUser.setRole(User.Role.ADMIN);
             adminUser = userRepository.save(adminUser);
 
             // 샘플 게시글 생성
             createSamplePosts(postRepository, adminUser, testUser);
 
+            if (deferPasswordHashing) {
+                hashSeedPasswordsInBackground(userRepository, passwordEncoder, seedPasswords);
+            }
+
             logger.info("초기 데이터 생성 완료: 사용자 2명, 게시글 3개");
             logger.info("테스트 계정 1 - username: testuser, password: password123");
             logger.info("테스트 계정 2 - username: admin, password: admin123");
@@ -58,13 +76,37 @@ public class DataInitializer {
         }
     }
 
-    private User createUser(String username, String password, PasswordEncoder passwordEncoder) {
+    private User createUser(String username, String password, PasswordEncoder passwordEncoder, boolean deferPasswordHashing) {
         User user = new User();
         user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(deferPasswordHashing ? PENDING_PASSWORD : passwordEncoder.encode(password));
         return user;
     }
 
+    // 시드 계정은 해시 계산이 끝날 때까지(수백 ms) 로그인할 수 없음 - 첫 요청 처리를 늦추지 않는 쪽을 택함
+    private void hashSeedPasswordsInBackground(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                               Map<String, String> seedPasswords) {
+        Thread thread = new Thread(() -> {
+            long started = System.nanoTime();
+            try {
+                seedPasswords.forEach((username, password) -> {
+                    User user = userRepository.findByUsername(username);
+                    if (user != null && PENDING_PASSWORD.equals(user.getPassword())) {
+                        user.setPassword(passwordEncoder.encode(password));
+                        userRepository.save(user);
+                    }
+                });
+                logger.info("시드 계정 비밀번호 해시 완료: {}명, {}ms",
+                           seedPasswords.size(), (System.nanoTime() - started) / 1_000_000);
+            } catch (Exception e) {
+                logger.error("시드 계정 비밀번호 해시 중 오류 발생", e);
+            }
+        }, "seed-password-hasher");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
     private void createSamplePosts(PostRepository postRepository, User adminUser, User testUser) {
         Post post1 = new Post();
         post1.setTitle("블로그에 오신 것을 환영합니다!");
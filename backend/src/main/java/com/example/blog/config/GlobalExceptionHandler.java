@@ -1,7 +1,15 @@
 package com.example.blog.config;
 
+import com.example.blog.deadline.DeadlineExceededException;
+import com.example.blog.deadline.RequestDeadline;
+import com.example.blog.exception.ConflictException;
+import com.example.blog.exception.ForbiddenException;
+import com.example.blog.exception.NotFoundException;
+import com.example.blog.exception.ValidationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -80,21 +88,68 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    // 도메인 예외는 타입으로 상태 코드를 결정 - 메시지 문자열은 보지 않음
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotFound(NotFoundException ex, WebRequest request) {
+        // 없는 ID를 긁는 봇 트래픽이 많으므로 debug로만 기록
+        if (logger.isDebugEnabled()) {
+            logger.debug("대상 없음: {} - {}", getClientInfo(request), ex.getMessage());
+        }
+        ErrorResponse error = new ErrorResponse("NOT_FOUND", ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(ForbiddenException.class)
+    public ResponseEntity<ErrorResponse> handleForbidden(ForbiddenException ex, WebRequest request) {
+        logger.warn("권한 없음: {} - {}", getClientInfo(request), ex.getMessage());
+        ErrorResponse error = new ErrorResponse("FORBIDDEN", "권한이 없습니다: " + ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(ConflictException ex, WebRequest request) {
+        logger.warn("충돌: {} - {}", getClientInfo(request), ex.getMessage());
+        ErrorResponse error = new ErrorResponse("CONFLICT", ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    // 같은 글/댓글을 동시에 수정해서 @Version이 어긋난 경우 - 다시 읽고 재시도할 수 있으므로 409 (DataAccessException의 500보다 우선)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex, WebRequest request) {
+        logger.warn("동시 수정 충돌: {} - {}", getClientInfo(request), ex.getMessage());
+        ErrorResponse error = new ErrorResponse("CONFLICT", "다른 요청이 먼저 수정했습니다. 다시 불러온 뒤 시도해주세요", LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<ErrorResponse> handleValidation(ValidationException ex, WebRequest request) {
+        logger.warn("입력값 오류: {} - {}", getClientInfo(request), ex.getMessage());
+        ErrorResponse error = new ErrorResponse("BAD_REQUEST", ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDeadlineExceeded(DeadlineExceededException ex, WebRequest request) {
+        logger.warn("요청 마감 초과: {} - {}", getClientInfo(request), ex.getMessage());
+        return deadlineExceeded();
+    }
+
+    // DB 오류와 내부 상태 오류는 클라이언트 입력 문제가 아니므로 500 (SQL 메시지는 응답에 넣지 않음)
+    @ExceptionHandler({DataAccessException.class, IllegalStateException.class})
+    public ResponseEntity<ErrorResponse> handleServerError(RuntimeException ex, WebRequest request) {
+        return handleGenericException(ex, request);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex, WebRequest request) {
-        logger.warn("런타임 예외: {} - {}", getClientInfo(request), ex.getMessage());
-        
-        String message = ex.getMessage();
-        if (message.contains("찾을 수 없습니다") || message.contains("존재하지 않습니다")) {
-            ErrorResponse error = new ErrorResponse("NOT_FOUND", message, LocalDateTime.now());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
-        } else if (message.contains("이미 존재") || message.contains("중복")) {
-            ErrorResponse error = new ErrorResponse("CONFLICT", message, LocalDateTime.now());
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
-        } else {
-            ErrorResponse error = new ErrorResponse("BAD_REQUEST", message, LocalDateTime.now());
-            return ResponseEntity.badRequest().body(error);
+        // 마감 이후의 오류(JDBC query timeout으로 취소된 쿼리 등)는 서비스/컨트롤러에서 감싸져도 504로 응답
+        if (RequestDeadline.isExpired()) {
+            logger.warn("요청 마감 초과로 중단: {} - {}", getClientInfo(request), ex.getMessage());
+            return deadlineExceeded();
         }
+        logger.warn("런타임 예외: {} - {}", getClientInfo(request), ex.getMessage());
+        ErrorResponse error = new ErrorResponse("BAD_REQUEST", ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.badRequest().body(error);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -123,11 +178,20 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, WebRequest request) {
+        if (RequestDeadline.isExpired()) {
+            logger.warn("요청 마감 초과로 중단: {} - {}", getClientInfo(request), ex.getMessage());
+            return deadlineExceeded();
+        }
         logger.error("예상치 못한 예외 발생: {} - {}", getClientInfo(request), ex.getMessage(), ex);
         ErrorResponse error = new ErrorResponse("INTERNAL_SERVER_ERROR", "서버 내부 오류가 발생했습니다", LocalDateTime.now());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    private ResponseEntity<ErrorResponse> deadlineExceeded() {
+        ErrorResponse error = new ErrorResponse("GATEWAY_TIMEOUT", "요청 처리 시간이 초과되었습니다", LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(error);
+    }
+
     private String getClientInfo(WebRequest request) {
         String userAgent = request.getHeader("User-Agent");
         String clientIp = request.getHeader("X-Forwarded-For");
@@ -0,0 +1,90 @@
+package com.example.blog.config;
+
+import com.example.blog.datasource.LocalReplicaSchema;
+import com.example.blog.datasource.ReadWriteRoutingDataSource;
+import com.example.blog.datasource.ReadYourWritesTracker;
+import com.example.blog.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// app.datasource.replica.url이 설정된 경우에만 읽기/쓰기 분리 라우팅 활성화
+// 설정이 없으면 Spring Boot 기본 단일 DataSource를 그대로 사용
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReadWriteDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    HikariDataSource replicaDataSource(
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setAutoCommit(false);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    ReadYourWritesTracker readYourWritesTracker(
+            @Value("${app.datasource.replica.sticky-window-ms:5000}") long stickyWindowMillis) {
+        return new ReadYourWritesTracker(stickyWindowMillis);
+    }
+
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                        @Qualifier("replicaDataSource") DataSource replica,
+                                        ReadYourWritesTracker readYourWritesTracker,
+                                        @Value("${app.datasource.replica.max-lag-ms:2000}") long maxLagMillis) {
+        return new ReplicaLagMonitor(primary, replica, readYourWritesTracker, maxLagMillis);
+    }
+
+    // 로컬 프로필 전용 - 레플리카 URL이 primary와 같은 H2 DB의 이 스키마를 가리킬 때 primary 테이블을 뷰로 비춤
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "local-schema")
+    LocalReplicaSchema localReplicaSchema(@Qualifier("primaryDataSource") DataSource primary,
+                                          @Value("${app.datasource.replica.local-schema}") String schema) {
+        return new LocalReplicaSchema(primary, schema);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica,
+                          ReplicaLagMonitor replicaLagMonitor,
+                          ReadYourWritesTracker readYourWritesTracker) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaLagMonitor, readYourWritesTracker);
+        routing.setTargetDataSources(Map.of(
+            ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+            ReadWriteRoutingDataSource.Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        // 트랜잭션 시작 시점이 아니라 첫 SQL 실행 시점에 커넥션을 얻어야 readOnly 여부로 라우팅 가능
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
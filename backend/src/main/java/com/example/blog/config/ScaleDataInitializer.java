@@ -0,0 +1,73 @@
+package com.example.blog.config;
+
+import com.example.blog.datagen.ScaleDataGenerator;
+import com.example.blog.datagen.ScaleDataSpec;
+import com.example.blog.model.Comment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+// scale 프로필: 기동 시 대량 데이터 생성 (설정은 application-scale.properties)
+// 생성 사용자 첫 번째가 이미 있으면 건너뜀 - H2 파일 DB라서 재기동해도 데이터가 남음
+@Configuration
+@Profile("scale")
+public class ScaleDataInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScaleDataInitializer.class);
+
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    CommandLineRunner generateScaleData(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.scale.users:10000}") int users,
+            @Value("${app.scale.posts:100000}") long posts,
+            @Value("${app.scale.secret-ratio:0.1}") double secretRatio,
+            @Value("${app.scale.korean-ratio:0.7}") double koreanRatio,
+            @Value("${app.scale.comment-zipf-exponent:1.7}") double commentZipfExponent,
+            @Value("${app.scale.max-comments-per-post:200}") int maxCommentsPerPost,
+            @Value("${app.scale.workers:4}") int workers,
+            @Value("${app.scale.batch-size:1000}") int batchSize,
+            @Value("${app.scale.seed:42}") long seed,
+            @Value("${app.scale.username-prefix:scale_user_}") String usernamePrefix,
+            @Value("${app.scale.user-password:scale1234}") String userPassword,
+            @Value("${app.scale.secret-password:secret1234}") String secretPassword) {
+        return args -> {
+            Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username = ?", Integer.class, usernamePrefix + "1");
+            if (existing != null && existing > 0) {
+                logger.info("대량 데이터가 이미 존재합니다. 생성을 건너뜁니다. (사용자 {}1 존재)", usernamePrefix);
+                // 댓글 정렬 경로(path) 도입 전에 만든 DB - 당시 댓글은 모두 최상위이므로 id로 채움 (이미 채워졌으면 변경 없음)
+                Integer backfilled = transactionTemplate.execute(status -> jdbcTemplate.update(
+                    "UPDATE comments SET path = " + Comment.ROOT_PATH_SQL + " WHERE path IS NULL"));
+                if (backfilled != null && backfilled > 0) {
+                    logger.info("댓글 정렬 경로 채움: comments={}", backfilled);
+                }
+                return;
+            }
+
+            ScaleDataSpec spec = new ScaleDataSpec(users, posts, secretRatio, koreanRatio, commentZipfExponent,
+                                                   maxCommentsPerPost, workers, batchSize, seed, usernamePrefix);
+            // 해시는 두 번만 계산해서 모든 행에 재사용
+            ScaleDataGenerator generator = new ScaleDataGenerator(dataSource,
+                passwordEncoder.encode(userPassword), passwordEncoder.encode(secretPassword));
+            generator.generate(spec);
+
+            logger.info("대량 데이터 계정 - username: {}1 ~ {}{}, password: {}, 비밀글 password: {}",
+                       usernamePrefix, usernamePrefix, users, userPassword, secretPassword);
+        };
+    }
+}
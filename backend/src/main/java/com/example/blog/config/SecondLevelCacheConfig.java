@@ -0,0 +1,72 @@
+package com.example.blog.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+
+// Hibernate 2차 캐시용 JCache(Ehcache 3) CacheManager
+// Hibernate가 직접 만들지 않고 이 빈을 쓰도록 넘겨서, 같은 인스턴스에 Micrometer 지표를 붙임
+// 엔티티가 아닌 애플리케이션 캐시(작성자별 게시글 수)도 같은 CacheManager에 리전으로 둠
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // model.User의 @Cache / @NaturalIdCache 리전 이름과 일치해야 함
+    public static final String USERS_REGION = "users";
+    public static final String USERS_BY_USERNAME_REGION = "users-by-username";
+    // AuthorPostCountCache - 작성자 ID -> 게시글 수
+    public static final String AUTHOR_POST_COUNTS_REGION = "author-post-counts";
+
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager(@Value("${app.cache.users.max-entries:10000}") long usersMaxEntries,
+                                       @Value("${app.cache.author-post-counts.max-entries:10000}") long authorPostCountsMaxEntries,
+                                       @Value("${app.cache.author-post-counts.ttl-seconds:300}") long authorPostCountsTtlSeconds) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+            .withCache(USERS_REGION, CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class, Object.class, ResourcePoolsBuilder.heap(usersMaxEntries)))
+            .withCache(USERS_BY_USERNAME_REGION, CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class, Object.class, ResourcePoolsBuilder.heap(usersMaxEntries)))
+            .withCache(AUTHOR_POST_COUNTS_REGION, CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                    Long.class, Long.class, ResourcePoolsBuilder.heap(authorPostCountsMaxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(authorPostCountsTtlSeconds))))
+            .build();
+
+        CacheManager cacheManager = provider.getCacheManager(URI.create("urn:blog:hibernate-l2"), configuration);
+        // JCache 통계를 켜야 적중/미스/축출(eviction) 수가 집계됨
+        for (String cacheName : cacheManager.getCacheNames()) {
+            cacheManager.enableStatistics(cacheName, true);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+    }
+
+    // cache.gets{result=hit|miss}, cache.puts, cache.evictions, cache.removals 지표를 /actuator/metrics로 노출
+    @Bean
+    MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String cacheName : hibernateCacheManager.getCacheNames()) {
+                String cacheType = AUTHOR_POST_COUNTS_REGION.equals(cacheName) ? "application" : "hibernate-l2";
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(cacheName), Tags.of("cacheType", cacheType));
+            }
+        };
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.blog.config;
 
+import com.example.blog.security.ConcurrencyLimitFilter;
 import com.example.blog.security.JwtAuthenticationFilter;
+import com.example.blog.security.RateLimitFilter;
+import com.example.blog.security.RouteAuthorizationManager;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -22,9 +25,16 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final RouteAuthorizationManager routeAuthorizationManager;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter,
+                          ConcurrencyLimitFilter concurrencyLimitFilter, RouteAuthorizationManager routeAuthorizationManager) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
+        this.routeAuthorizationManager = routeAuthorizationManager;
     }
 
     @Bean
@@ -35,25 +45,11 @@ public class SecurityConfig {
             .sessionManagement(session -> 
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                // 인증 불필요 경로
-                .requestMatchers("/auth/login", "/auth/register").permitAll()
-                .requestMatchers("/h2-console/**").permitAll()
-                .requestMatchers("/error", "/favicon.ico").permitAll()
-                .requestMatchers("/actuator/health").permitAll()
+                // 스트리밍 응답(StreamingResponseBody)의 ASYNC 재디스패치는 최초 요청에서 이미 인가됨
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 
-                // 읽기 전용 공개 경로
-                .requestMatchers(HttpMethod.GET, "/posts").permitAll()
-                .requestMatchers(HttpMethod.GET, "/posts/*").permitAll()
-                .requestMatchers(HttpMethod.GET, "/posts/*/comments").permitAll()
-                
-                // OPTIONS 요청 허용 (CORS preflight)
-                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-                
-                // 정적 리소스
-                .requestMatchers("/static/**", "/public/**", "/uploads/**").permitAll()
-                
-                // 나머지는 인증 필요
-                .anyRequest().authenticated())
+                // 경로별 규칙은 RouteTable 한 곳에 선언 (JWT 필터와 공유)
+                .anyRequest().access(routeAuthorizationManager))
             .headers(headers -> headers
                 .frameOptions(frameOptions -> frameOptions.sameOrigin())
                 .contentTypeOptions(contentTypeOptions -> contentTypeOptions.and())
@@ -62,7 +58,11 @@ public class SecurityConfig {
                     .includeSubDomains(true)
                     .and())
                 .referrerPolicy(ReferrerPolicyHeaderWriter.ReferrerPolicy.STRICT_ORIGIN_WHEN_CROSS_ORIGIN))
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // 요청 제한은 JWT 검증(사용자 조회)보다 먼저 - 초과 요청은 DB/BCrypt 작업 없이 429
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+            // 동시 처리 한도는 CORS 다음, 나머지 필터보다 먼저 - 503 응답에도 CORS 헤더가 붙음
+            .addFilterBefore(concurrencyLimitFilter, RateLimitFilter.class);
 
         return http.build();
     }
@@ -94,7 +94,7 @@ public class SecurityConfig {
         // 노출할 헤더 설정
         configuration.setExposedHeaders(Arrays.asList(
             "Authorization", "Content-Type", "X-Requested-With", "accept", "Origin", 
-            "Access-Control-Request-Method", "Access-Control-Request-Headers"
+            "Access-Control-Request-Method", "Access-Control-Request-Headers", "Server-Timing"
         ));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,38 @@
+package com.example.blog.config;
+
+import com.example.blog.timing.RepositoryTimingInterceptor;
+import com.example.blog.timing.ServerTimingJacksonConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+// Server-Timing 단계 기록 연결 - 꺼져 있으면(app.server-timing.enabled=false) 각 지점은 플래그 확인만 함
+@Configuration
+public class ServerTimingConfig {
+
+    // 같은 타입의 빈이 있으면 Boot 기본 Jackson 컨버터 대신 사용됨
+    @Bean
+    MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new ServerTimingJacksonConverter(objectMapper);
+    }
+
+    // 리포지토리 프록시 생성 전에 팩토리에 인터셉터를 등록
+    @Bean
+    static BeanPostProcessor repositoryTimingPostProcessor() {
+        RepositoryTimingInterceptor interceptor = new RepositoryTimingInterceptor();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                        factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(interceptor)));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.blog.controller;
+
+import com.example.blog.dto.ImportResult;
+import com.example.blog.service.ExportService;
+import com.example.blog.service.ImportService;
+import com.example.blog.service.UserService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+	private final ImportService importService;
+	private final ExportService exportService;
+	private final UserService userService;
+
+	public AdminController(ImportService importService, ExportService exportService, UserService userService) {
+		this.importService = importService;
+		this.exportService = exportService;
+		this.userService = userService;
+	}
+
+	// NDJSON 대량 가져오기 - 요청 본문을 스트림으로 읽으므로 전체를 메모리에 올리지 않음
+	// Content-Encoding: gzip 요청도 지원
+	@PostMapping("/import")
+	public ResponseEntity<ImportResult> importNdjson(HttpServletRequest request) throws IOException {
+		logger.info("대량 가져오기 시작: contentType={}, contentLength={}",
+		           request.getContentType(), request.getContentLengthLong());
+
+		InputStream body = request.getInputStream();
+		if ("gzip".equalsIgnoreCase(request.getHeader("Content-Encoding"))) {
+			body = new GZIPInputStream(body, 64 * 1024);
+		}
+
+		ImportResult result = importService.importNdjson(body);
+		return ResponseEntity.ok(result);
+	}
+
+	// 전체 블로그 gzip NDJSON 내보내기 - 행 수와 무관하게 일정한 메모리로 스트리밍
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> export() {
+		String filename = "blog-export-" + LocalDate.now() + ".ndjson.gz";
+		logger.info("내보내기 시작: filename={}", filename);
+
+		StreamingResponseBody body = exportService::exportNdjsonGzip;
+		return ResponseEntity.ok()
+			.contentType(MediaType.parseMediaType("application/gzip"))
+			.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+			.body(body);
+	}
+
+	// 사용자 삭제 - 계정과 글은 즉시 숨기고 댓글/글 행은 백그라운드에서 정리하므로 202로 바로 응답
+	@DeleteMapping("/users/{id}")
+	public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
+		logger.info("사용자 삭제: userId={}", id);
+		userService.delete(id);
+		return ResponseEntity.accepted().build();
+	}
+}
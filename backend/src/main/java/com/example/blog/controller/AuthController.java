@@ -3,6 +3,9 @@ package com.example.blog.controller;
 import com.example.blog.dto.AuthRequest;
 import com.example.blog.dto.AuthResponse;
 import com.example.blog.dto.LoginResponse;
+import com.example.blog.exception.DomainException;
+import com.example.blog.exception.NotFoundException;
+import com.example.blog.exception.ValidationException;
 import com.example.blog.model.User;
 import com.example.blog.security.JwtTokenProvider;
 import com.example.blog.service.UserService;
@@ -39,12 +42,12 @@ public class AuthController {
 			// 추가 유효성 검증
 			if (trimmedUsername.isEmpty()) {
 				logger.warn("회원가입 실패 - 빈 사용자명");
-				throw new IllegalArgumentException("사용자명은 필수입니다");
+				throw new ValidationException("사용자명은 필수입니다");
 			}
 
 			if (req.getPassword() == null || req.getPassword().isEmpty()) {
 				logger.warn("회원가입 실패 - 빈 비밀번호");
-				throw new IllegalArgumentException("비밀번호는 필수입니다");
+				throw new ValidationException("비밀번호는 필수입니다");
 			}
 
 			User user = userService.register(trimmedUsername, req.getPassword());
@@ -52,13 +55,10 @@ public class AuthController {
 			logger.info("회원가입 성공: userId={}, username={}", user.getId(), user.getUsername());
 			return ResponseEntity.ok(new AuthResponse(user.getId(), user.getUsername()));
 
-		} catch (IllegalArgumentException ex) {
+		} catch (DomainException ex) {
 			logger.warn("회원가입 실패 - {}: {}", req.getUsername(), ex.getMessage());
 			// GlobalExceptionHandler가 처리하도록 예외를 다시 던짐
 			throw ex;
-		} catch (Exception ex) {
-			logger.error("회원가입 중 예외 발생: {}", ex.getMessage(), ex);
-			throw new RuntimeException("회원가입 처리 중 오류가 발생했습니다");
 		}
 	}
 
@@ -73,12 +73,12 @@ public class AuthController {
 			// 추가 유효성 검증
 			if (trimmedUsername.isEmpty()) {
 				logger.warn("로그인 실패 - 빈 사용자명");
-				throw new IllegalArgumentException("사용자명은 필수입니다");
+				throw new ValidationException("사용자명은 필수입니다");
 			}
 
 			if (req.getPassword() == null || req.getPassword().isEmpty()) {
 				logger.warn("로그인 실패 - 빈 비밀번호");
-				throw new IllegalArgumentException("비밀번호는 필수입니다");
+				throw new ValidationException("비밀번호는 필수입니다");
 			}
 
 			boolean isValid = userService.authenticate(trimmedUsername, req.getPassword());
@@ -96,13 +96,10 @@ public class AuthController {
 				logger.warn("로그인 실패 - 잘못된 인증 정보: {}", trimmedUsername);
 				throw new SecurityException("잘못된 인증 정보입니다");
 			}
-		} catch (IllegalArgumentException | SecurityException ex) {
+		} catch (DomainException | SecurityException ex) {
 			logger.warn("로그인 실패 - {}: {}", req.getUsername(), ex.getMessage());
 			// GlobalExceptionHandler가 처리하도록 예외를 다시 던짐
 			throw ex;
-		} catch (Exception ex) {
-			logger.error("로그인 중 예외 발생: {}", ex.getMessage(), ex);
-			throw new RuntimeException("로그인 처리 중 오류가 발생했습니다");
 		}
 	}
 
@@ -123,9 +120,6 @@ public class AuthController {
 		} catch (SecurityException ex) {
 			logger.warn("사용자 정보 조회 실패: {}", ex.getMessage());
 			throw ex;
-		} catch (Exception ex) {
-			logger.error("사용자 정보 조회 중 예외 발생: {}", ex.getMessage(), ex);
-			throw new RuntimeException("사용자 정보 조회 중 오류가 발생했습니다");
 		}
 	}
 
@@ -137,25 +131,22 @@ public class AuthController {
 			
 			if (trimmedUsername.isEmpty()) {
 				logger.warn("빈 사용자명으로 사용자 조회 시도");
-				throw new IllegalArgumentException("사용자명은 필수입니다");
+				throw new ValidationException("사용자명은 필수입니다");
 			}
 
 			User user = userService.findByUsername(trimmedUsername);
 			if (user == null) {
 				logger.warn("존재하지 않는 사용자 조회: {}", trimmedUsername);
-				throw new RuntimeException("사용자를 찾을 수 없습니다");
+				throw NotFoundException.USER;
 			}
 
 			return ResponseEntity.ok(new AuthResponse(user.getId(), user.getUsername()));
-		} catch (IllegalArgumentException ex) {
+		} catch (DomainException ex) {
 			logger.warn("사용자 조회 실패: {}", ex.getMessage());
 			throw ex;
 		} catch (RuntimeException ex) {
 			logger.warn("사용자 조회 실패: {}", ex.getMessage());
 			throw ex;
-		} catch (Exception ex) {
-			logger.error("사용자 조회 중 예외 발생: {}", ex.getMessage(), ex);
-			throw new RuntimeException("사용자 조회 중 오류가 발생했습니다");
 		}
 	}
 }
\ No newline at end of file
@@ -2,17 +2,31 @@ package com.example.blog.controller;
 
 import com.example.blog.dto.CommentRequest;
 import com.example.blog.dto.CommentResponse;
+import com.example.blog.dto.CommentSubtreeResponse;
+import com.example.blog.dto.CommentThreadResponse;
+import com.example.blog.dto.CommentThreadsResponse;
+import com.example.blog.exception.DomainException;
+import com.example.blog.exception.ForbiddenException;
+import com.example.blog.exception.ValidationException;
 import com.example.blog.model.Comment;
 import com.example.blog.security.CustomUserDetails;
 import com.example.blog.service.CommentService;
+import com.example.blog.stream.CommentStreamHub;
+import com.example.blog.timing.Phase;
+import com.example.blog.timing.ServerTiming;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,16 +35,100 @@ import java.util.stream.Collectors;
 public class CommentController {
 
 	private static final Logger logger = LoggerFactory.getLogger(CommentController.class);
+	private static final int DEFAULT_THREAD_PAGE_SIZE = 20;
+	private static final int MAX_THREAD_PAGE_SIZE = 100;
+	private static final int DEFAULT_REPLIES_PER_THREAD = 3;
+	private static final int MAX_REPLIES_PER_THREAD = 20;
+	private static final int DEFAULT_SUBTREE_PAGE_SIZE = 100;
+	private static final int MAX_SUBTREE_PAGE_SIZE = 500;
 	private final CommentService commentService;
+	private final CommentStreamHub commentStreamHub;
 
-	public CommentController(CommentService commentService) {
+	public CommentController(CommentService commentService, CommentStreamHub commentStreamHub) {
 		this.commentService = commentService;
+		this.commentStreamHub = commentStreamHub;
 	}
 
 	@GetMapping
 	public List<CommentResponse> list(@PathVariable Long postId) {
 		logger.debug("댓글 목록 조회: postId={}", postId);
-		return commentService.listByPost(postId).stream().map(this::toResp).collect(Collectors.toList());
+		List<Comment> comments = commentService.listByPost(postId);
+		long start = ServerTiming.start(Phase.MAP);
+		try {
+			return comments.stream().map(this::toResp).collect(Collectors.toList());
+		} finally {
+			ServerTiming.stop(Phase.MAP, start);
+		}
+	}
+
+	// 최상위 댓글(스레드) 페이지 + 스레드마다 앞쪽 답글 replies개 - after에 이전 응답의 nextCursor를 넘겨 다음 페이지 조회
+	@GetMapping("/threads")
+	public CommentThreadsResponse threads(@PathVariable Long postId,
+										  @RequestParam(value = "after", required = false) Long after,
+										  @RequestParam(value = "limit", required = false) Integer limit,
+										  @RequestParam(value = "replies", required = false) Integer replies) {
+		int pageSize = limit != null ? limit : DEFAULT_THREAD_PAGE_SIZE;
+		if (pageSize < 1 || pageSize > MAX_THREAD_PAGE_SIZE) {
+			throw new ValidationException("limit은 1-" + MAX_THREAD_PAGE_SIZE + " 사이여야 합니다");
+		}
+		int replyCount = replies != null ? replies : DEFAULT_REPLIES_PER_THREAD;
+		if (replyCount < 0 || replyCount > MAX_REPLIES_PER_THREAD) {
+			throw new ValidationException("replies는 0-" + MAX_REPLIES_PER_THREAD + " 사이여야 합니다");
+		}
+		if (after != null && after < 1) {
+			throw new ValidationException("after는 양수여야 합니다");
+		}
+
+		List<CommentService.CommentThread> page = commentService.listThreads(postId, after, pageSize, replyCount);
+		long start = ServerTiming.start(Phase.MAP);
+		try {
+			// limit + 1개, 답글은 replies + 1개씩 읽었으므로 넘친 것이 있으면 다음이 존재
+			boolean hasNext = page.size() > pageSize;
+			int size = hasNext ? pageSize : page.size();
+			List<CommentThreadResponse> threads = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				CommentService.CommentThread thread = page.get(i);
+				List<Comment> shown = thread.replies().subList(0, Math.min(replyCount, thread.replies().size()));
+				threads.add(new CommentThreadResponse(toResp(thread.comment()),
+					shown.stream().map(this::toResp).collect(Collectors.toList()),
+					thread.replies().size() > replyCount));
+			}
+			Long nextCursor = hasNext ? page.get(size - 1).comment().getId() : null;
+			return new CommentThreadsResponse(threads, nextCursor);
+		} finally {
+			ServerTiming.stop(Phase.MAP, start);
+		}
+	}
+
+	// 댓글 하나와 그 아래 답글 전체를 표시 순서대로 - after에 이전 응답의 nextCursor를 넘겨 다음 페이지 조회
+	@GetMapping("/{commentId}/thread")
+	public CommentSubtreeResponse thread(@PathVariable Long postId,
+										 @PathVariable Long commentId,
+										 @RequestParam(value = "after", required = false) Long after,
+										 @RequestParam(value = "limit", required = false) Integer limit) {
+		int pageSize = limit != null ? limit : DEFAULT_SUBTREE_PAGE_SIZE;
+		if (pageSize < 1 || pageSize > MAX_SUBTREE_PAGE_SIZE) {
+			throw new ValidationException("limit은 1-" + MAX_SUBTREE_PAGE_SIZE + " 사이여야 합니다");
+		}
+
+		List<Comment> page = commentService.listSubtree(postId, commentId, after, pageSize);
+		long start = ServerTiming.start(Phase.MAP);
+		try {
+			boolean hasNext = page.size() > pageSize;
+			List<Comment> shown = hasNext ? page.subList(0, pageSize) : page;
+			Long nextCursor = hasNext ? shown.get(pageSize - 1).getId() : null;
+			return new CommentSubtreeResponse(shown.stream().map(this::toResp).collect(Collectors.toList()), nextCursor);
+		} finally {
+			ServerTiming.stop(Phase.MAP, start);
+		}
+	}
+
+	// 실시간 댓글 스트림(SSE) - comment-created / comment-updated / comment-deleted / post-deleted 이벤트
+	// 연결 직후의 목록은 GET /posts/{postId}/comments로 받고, 이후 변경만 이 스트림으로 받음
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public void stream(@PathVariable Long postId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+		commentService.requirePost(postId);
+		commentStreamHub.subscribe(postId, request, response);
 	}
 
 	@PostMapping
@@ -38,21 +136,14 @@ public class CommentController {
 			@PathVariable Long postId,
 			@AuthenticationPrincipal CustomUserDetails userDetails, 
 			@Valid @RequestBody CommentRequest req) {
-		try {
-			if (userDetails == null) {
-				logger.warn("인증되지 않은 사용자의 댓글 작성 시도: postId={}", postId);
-				throw new SecurityException("로그인이 필요합니다");
-			}
-
-			logger.info("댓글 작성: postId={}, userId={}", postId, userDetails.getId());
-			Comment comment = commentService.add(postId, userDetails.getId(), req.getContent());
-			return ResponseEntity.ok(toResp(comment));
-		} catch (SecurityException e) {
-			throw e;
-		} catch (RuntimeException e) {
-			logger.error("댓글 작성 중 오류: postId={}, error={}", postId, e.getMessage());
-			throw new RuntimeException("댓글 작성 중 오류가 발생했습니다");
+		if (userDetails == null) {
+			logger.warn("인증되지 않은 사용자의 댓글 작성 시도: postId={}", postId);
+			throw ForbiddenException.LOGIN_REQUIRED;
 		}
+
+		logger.info("댓글 작성: postId={}, userId={}", postId, userDetails.getId());
+		Comment comment = commentService.add(postId, userDetails.getId(), req.getParentId(), req.getContent());
+		return ResponseEntity.ok(toResp(comment));
 	}
 
 	@PutMapping("/{commentId}")
@@ -64,14 +155,14 @@ public class CommentController {
 		try {
 			if (userDetails == null) {
 				logger.warn("인증되지 않은 사용자의 댓글 수정 시도: commentId={}", commentId);
-				throw new SecurityException("로그인이 필요합니다");
+				throw ForbiddenException.LOGIN_REQUIRED;
 			}
 
 			logger.info("댓글 수정: commentId={}, userId={}", commentId, userDetails.getId());
 			Comment comment = commentService.update(commentId, userDetails.getId(), req.getContent());
 			return ResponseEntity.ok(toResp(comment));
-		} catch (SecurityException e) {
-			logger.warn("댓글 수정 권한 없음: commentId={}, userId={}", commentId, userDetails != null ? userDetails.getId() : null);
+		} catch (DomainException e) {
+			logger.warn("댓글 수정 거부: commentId={}, userId={}, reason={}", commentId, userDetails != null ? userDetails.getId() : null, e.getMessage());
 			throw e;
 		} catch (RuntimeException e) {
 			logger.warn("댓글 수정 실패: commentId={}, error={}", commentId, e.getMessage());
@@ -87,14 +178,14 @@ public class CommentController {
 		try {
 			if (userDetails == null) {
 				logger.warn("인증되지 않은 사용자의 댓글 삭제 시도: commentId={}", commentId);
-				throw new SecurityException("로그인이 필요합니다");
+				throw ForbiddenException.LOGIN_REQUIRED;
 			}
 
 			logger.info("댓글 삭제: commentId={}, userId={}", commentId, userDetails.getId());
 			commentService.delete(commentId, userDetails.getId());
 			return ResponseEntity.noContent().build();
-		} catch (SecurityException e) {
-			logger.warn("댓글 삭제 권한 없음: commentId={}, userId={}", commentId, userDetails != null ? userDetails.getId() : null);
+		} catch (DomainException e) {
+			logger.warn("댓글 삭제 거부: commentId={}, userId={}, reason={}", commentId, userDetails != null ? userDetails.getId() : null, e.getMessage());
 			throw e;
 		} catch (RuntimeException e) {
 			logger.warn("댓글 삭제 실패: commentId={}, error={}", commentId, e.getMessage());
@@ -110,6 +201,8 @@ public class CommentController {
 			r.setAuthorId(c.getAuthor().getId());
 			r.setAuthorUsername(c.getAuthor().getUsername());
 		}
+		r.setParentId(c.getParentId());
+		r.setDepth(c.getDepth());
 		return r;
 	}
 }
\ No newline at end of file
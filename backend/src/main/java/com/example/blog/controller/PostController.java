@@ -3,9 +3,19 @@ package com.example.blog.controller;
 import com.example.blog.dto.PostRequest;
 import com.example.blog.dto.PostResponse;
 import com.example.blog.dto.SecretPasswordRequest;
+import com.example.blog.dto.TrendingPostResponse;
+import com.example.blog.exception.DomainException;
+import com.example.blog.exception.ForbiddenException;
+import com.example.blog.exception.ValidationException;
 import com.example.blog.model.Post;
 import com.example.blog.security.CustomUserDetails;
 import com.example.blog.service.PostService;
+import com.example.blog.tag.TagIndex;
+import com.example.blog.timing.Phase;
+import com.example.blog.timing.ServerTiming;
+import com.example.blog.trending.TrendingRanking;
+import com.example.blog.trending.TrendingService;
+import com.example.blog.viewcount.PostViewCounter;
 
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -14,6 +24,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,28 +34,54 @@ import java.util.stream.Collectors;
 public class PostController {
 
 	private static final Logger logger = LoggerFactory.getLogger(PostController.class);
+	private static final int DEFAULT_TAG_PAGE_SIZE = 20;
+	private static final int MAX_TAG_PAGE_SIZE = 100;
 	private final PostService postService;
+	private final PostViewCounter viewCounter;
+	private final TrendingService trendingService;
+	private final TagIndex tagIndex;
 
-	public PostController(PostService postService) {
+	public PostController(PostService postService, PostViewCounter viewCounter, TrendingService trendingService,
+						  TagIndex tagIndex) {
 		this.postService = postService;
+		this.viewCounter = viewCounter;
+		this.trendingService = trendingService;
+		this.tagIndex = tagIndex;
 	}
 
+	// tags가 있으면 태그 필터 (mode=and|or, 기본 and) - 공개글만 최신순으로 limit개, 다음 페이지는 마지막 id를 after로
 	@GetMapping
 	public List<PostResponse> list(@RequestParam(value = "search", required = false) String searchQuery,
+								   @RequestParam(value = "tags", required = false) String tags,
+								   @RequestParam(value = "mode", required = false) String mode,
+								   @RequestParam(value = "after", required = false) Long after,
+								   @RequestParam(value = "limit", required = false) Integer limit,
 								   @AuthenticationPrincipal CustomUserDetails userDetails) {
 		Long currentUserId = userDetails != null ? userDetails.getId() : null;
 		
-		if (searchQuery != null && !searchQuery.trim().isEmpty()) {
+		if (tags != null) {
+			List<String> tagList = TagIndex.normalize(Arrays.asList(tags.split(",", -1)));
+			boolean matchAll;
+			if (mode == null || mode.equalsIgnoreCase("and")) {
+				matchAll = true;
+			} else if (mode.equalsIgnoreCase("or")) {
+				matchAll = false;
+			} else {
+				throw new ValidationException("mode는 and 또는 or여야 합니다");
+			}
+			int pageSize = limit != null ? limit : DEFAULT_TAG_PAGE_SIZE;
+			if (pageSize < 1 || pageSize > MAX_TAG_PAGE_SIZE) {
+				throw new ValidationException("limit은 1-" + MAX_TAG_PAGE_SIZE + " 사이여야 합니다");
+			}
+			logger.debug("태그 필터 요청: tags={}, matchAll={}, after={}, limit={}", tagList, matchAll, after, pageSize);
+			return toRespList(postService.listByTags(tagList, matchAll, after, pageSize), currentUserId, true);
+		} else if (searchQuery != null && !searchQuery.trim().isEmpty()) {
 			logger.debug("게시글 검색 요청: query='{}', userId={}", searchQuery, currentUserId);
 			// 검색에서는 공개글만 조회
-			return postService.searchPublicPosts(searchQuery.trim()).stream()
-				.map(post -> toResp(post, currentUserId, false)) // 검색에서는 마스킹 안함
-				.collect(Collectors.toList());
+			return toRespList(postService.searchPublicPosts(searchQuery.trim()), currentUserId, false); // 검색에서는 마스킹 안함
 		} else {
 			logger.debug("전체 게시글 목록 조회 요청 (비밀글 포함), userId={}", currentUserId);
-			return postService.listAll().stream()
-				.map(post -> toResp(post, currentUserId, true)) // 목록에서는 마스킹 적용
-				.collect(Collectors.toList());
+			return toRespList(postService.listAll(), currentUserId, true); // 목록에서는 마스킹 적용
 		}
 	}
 
@@ -57,32 +95,48 @@ public class PostController {
 			
 			if (query == null || query.trim().isEmpty()) {
 				logger.warn("빈 검색어로 검색 시도");
-				throw new IllegalArgumentException("검색어는 필수입니다");
+				throw new ValidationException("검색어는 필수입니다");
 			}
 			
 			String trimmedQuery = query.trim();
 			if (trimmedQuery.length() < 2) {
 				logger.warn("너무 짧은 검색어: '{}'", trimmedQuery);
-				throw new IllegalArgumentException("검색어는 2자 이상이어야 합니다");
+				throw new ValidationException("검색어는 2자 이상이어야 합니다");
 			}
 			
 			// 공개글만 검색
 			List<Post> searchResults = postService.searchPublicPosts(trimmedQuery);
 			logger.info("검색 완료: query='{}', results={} (공개글만)", trimmedQuery, searchResults.size());
 			
-			return searchResults.stream()
-				.map(post -> toResp(post, currentUserId, false)) // 검색 결과는 마스킹 안함
-				.collect(Collectors.toList());
+			return toRespList(searchResults, currentUserId, false); // 검색 결과는 마스킹 안함
 				
-		} catch (IllegalArgumentException e) {
+		} catch (DomainException e) {
 			logger.warn("검색 요청 오류: {}", e.getMessage());
 			throw e;
-		} catch (Exception e) {
-			logger.error("검색 중 오류 발생: query='{}'", query, e);
-			throw new RuntimeException("검색 중 오류가 발생했습니다");
 		}
 	}
 
+	// 인기글 - 메모리 순위에서 바로 응답 (DB 조회 없음), 비밀글 제목은 작성자에게만 표시
+	@GetMapping("/trending")
+	public List<TrendingPostResponse> trending(@RequestParam(value = "limit", required = false) Integer limit,
+											   @AuthenticationPrincipal CustomUserDetails userDetails) {
+		int max = trendingService.getCapacity();
+		int size = limit != null ? limit : Math.min(10, max);
+		if (size < 1 || size > max) {
+			throw new ValidationException("limit은 1-" + max + " 사이여야 합니다");
+		}
+		Long currentUserId = userDetails != null ? userDetails.getId() : null;
+		List<TrendingRanking.RankedPost> ranked = trendingService.top(size);
+		List<TrendingPostResponse> result = new ArrayList<>(ranked.size());
+		for (TrendingRanking.RankedPost r : ranked) {
+			TrendingRanking.PostInfo p = r.post();
+			boolean masked = p.secret() && !p.authorId().equals(currentUserId);
+			result.add(new TrendingPostResponse(p.id(), masked ? "🔐 비밀글" : p.title(), p.authorId(),
+				p.authorUsername(), p.secret(), p.createdAt(), r.score()));
+		}
+		return result;
+	}
+
 	@GetMapping("/{id}")
 	public ResponseEntity<PostResponse> get(@PathVariable Long id, 
 	                                        @AuthenticationPrincipal CustomUserDetails userDetails) {
@@ -92,12 +146,24 @@ public class PostController {
 	        
 	        // 🔧 currentUserId를 전달하여 hasAccess 설정
 	        Post post = postService.get(id, currentUserId);
+	        // 조회수는 메모리에만 더하고 PostViewCounter가 주기적으로 DB에 반영
+	        viewCounter.increment(id);
+	        trendingService.recordView(post);
 	        
 	        // 🔧 PostResponse 변환 - 마스킹 없이 변환
-	        PostResponse response = toResp(post, currentUserId, false);
+	        long mapStart = ServerTiming.start(Phase.MAP);
+	        PostResponse response;
+	        try {
+	            response = toResp(post, currentUserId, false);
+	        } finally {
+	            ServerTiming.stop(Phase.MAP, mapStart);
+	        }
 	        
 	        return ResponseEntity.ok(response);
 	        
+	    } catch (DomainException e) {
+	        // 없는 게시글 조회는 흔한 결과이므로 로그 없이 전달 (GlobalExceptionHandler에서 처리)
+	        throw e;
 	    } catch (RuntimeException e) {
 	        logger.warn("게시글 조회 실패: postId={}, error={}", id, e.getMessage());
 	        throw e;
@@ -122,12 +188,9 @@ public class PostController {
 	        logger.info("비밀글 비밀번호 확인 성공: postId={}, userId={}", id, currentUserId);
 	        return ResponseEntity.ok(response);
 	        
-	    } catch (SecurityException | IllegalArgumentException e) {
+	    } catch (DomainException e) {
 	        logger.warn("비밀글 비밀번호 확인 실패: postId={}, error={}", id, e.getMessage());
 	        throw e;
-	    } catch (Exception e) {
-	        logger.error("비밀글 비밀번호 확인 중 오류: postId={}", id, e);
-	        throw new RuntimeException("비밀번호 확인 중 오류가 발생했습니다");
 	    }
 	}
 
@@ -135,38 +198,31 @@ public class PostController {
 	public ResponseEntity<PostResponse> create(
 	        @AuthenticationPrincipal CustomUserDetails userDetails,
 	        @Valid @RequestBody PostRequest req) {
-	    try {
-	        if (userDetails == null) {
-	            logger.warn("인증되지 않은 사용자의 게시글 작성 시도");
-	            throw new SecurityException("로그인이 필요합니다");
-	        }
-
-	        logger.info("게시글 작성: userId={}, title={}, isSecret={}", 
-	                   userDetails.getId(), req.getTitle(), req.getIsSecret());
-	        
-	        Post post = postService.create(userDetails.getId(), req.getTitle(), req.getContent(), 
-	                                       req.getIsSecret(), req.getSecretPassword());
-	        
-	        // 🔧 중요: 작성자는 자신의 글에 항상 접근 가능하므로 hasAccess=true로 설정
-	        post.setHasAccess(true);
-	        
-	        // 🔧 PostResponse 변환 시 마스킹하지 않도록 설정
-	        PostResponse response = toResp(post, userDetails.getId(), false);
-	        
-	        // 🔧 확실하게 hasAccess와 내용을 설정
-	        response.setHasAccess(true);
-	        response.setContent(post.getContent()); // 실제 내용 설정
-	        response.setTitle(post.getTitle()); // 실제 제목 설정
-	        
-	        logger.info("게시글 작성 완료: postId={}, hasAccess={}", post.getId(), response.getHasAccess());
-	        
-	        return ResponseEntity.ok(response);
-	    } catch (SecurityException e) {
-	        throw e;
-	    } catch (Exception e) {
-	        logger.error("게시글 작성 중 오류: {}", e.getMessage(), e);
-	        throw new RuntimeException("게시글 작성 중 오류가 발생했습니다");
+	    if (userDetails == null) {
+	        logger.warn("인증되지 않은 사용자의 게시글 작성 시도");
+	        throw ForbiddenException.LOGIN_REQUIRED;
 	    }
+
+	    logger.info("게시글 작성: userId={}, title={}, isSecret={}", 
+	               userDetails.getId(), req.getTitle(), req.getIsSecret());
+	    
+	    Post post = postService.create(userDetails.getId(), req.getTitle(), req.getContent(), 
+	                                   req.getIsSecret(), req.getSecretPassword(), req.getTags());
+	    
+	    // 🔧 중요: 작성자는 자신의 글에 항상 접근 가능하므로 hasAccess=true로 설정
+	    post.setHasAccess(true);
+	    
+	    // 🔧 PostResponse 변환 시 마스킹하지 않도록 설정
+	    PostResponse response = toResp(post, userDetails.getId(), false);
+	    
+	    // 🔧 확실하게 hasAccess와 내용을 설정
+	    response.setHasAccess(true);
+	    response.setContent(post.getContent()); // 실제 내용 설정
+	    response.setTitle(post.getTitle()); // 실제 제목 설정
+	    
+	    logger.info("게시글 작성 완료: postId={}, hasAccess={}", post.getId(), response.getHasAccess());
+	    
+	    return ResponseEntity.ok(response);
 	}
 
 	@PutMapping("/{id}")
@@ -177,14 +233,14 @@ public class PostController {
 		try {
 			if (userDetails == null) {
 				logger.warn("인증되지 않은 사용자의 게시글 수정 시도: postId={}", id);
-				throw new SecurityException("로그인이 필요합니다");
+				throw ForbiddenException.LOGIN_REQUIRED;
 			}
 
 			logger.info("게시글 수정: postId={}, userId={}, isSecret={}", 
 					   id, userDetails.getId(), req.getIsSecret());
 			
 			Post post = postService.update(id, userDetails.getId(), req.getTitle(), req.getContent(),
-										   req.getIsSecret(), req.getSecretPassword());
+										   req.getIsSecret(), req.getSecretPassword(), req.getTags());
 			
 			// 작성자는 자신의 글에 항상 접근 가능
 			PostResponse response = toResp(post, userDetails.getId(), false);
@@ -192,8 +248,8 @@ public class PostController {
 			response.setContent(post.getContent());
 			
 			return ResponseEntity.ok(response);
-		} catch (SecurityException e) {
-			logger.warn("게시글 수정 권한 없음: postId={}, userId={}", id, userDetails != null ? userDetails.getId() : null);
+		} catch (DomainException e) {
+			logger.warn("게시글 수정 거부: postId={}, userId={}, reason={}", id, userDetails != null ? userDetails.getId() : null, e.getMessage());
 			throw e;
 		} catch (RuntimeException e) {
 			logger.warn("게시글 수정 실패: postId={}, error={}", id, e.getMessage());
@@ -208,14 +264,14 @@ public class PostController {
 		try {
 			if (userDetails == null) {
 				logger.warn("인증되지 않은 사용자의 게시글 삭제 시도: postId={}", id);
-				throw new SecurityException("로그인이 필요합니다");
+				throw ForbiddenException.LOGIN_REQUIRED;
 			}
 
 			logger.info("게시글 삭제: postId={}, userId={}", id, userDetails.getId());
 			postService.delete(id, userDetails.getId());
 			return ResponseEntity.noContent().build();
-		} catch (SecurityException e) {
-			logger.warn("게시글 삭제 권한 없음: postId={}, userId={}", id, userDetails != null ? userDetails.getId() : null);
+		} catch (DomainException e) {
+			logger.warn("게시글 삭제 거부: postId={}, userId={}, reason={}", id, userDetails != null ? userDetails.getId() : null, e.getMessage());
 			throw e;
 		} catch (RuntimeException e) {
 			logger.warn("게시글 삭제 실패: postId={}, error={}", id, e.getMessage());
@@ -223,11 +279,25 @@ public class PostController {
 		}
 	}
 
+	// 목록 변환 - 작성자 지연 로딩이 여기서 일어나므로 Server-Timing map 단계로 따로 기록
+	private List<PostResponse> toRespList(List<Post> posts, Long currentUserId, boolean maskSecretPosts) {
+		long start = ServerTiming.start(Phase.MAP);
+		try {
+			return posts.stream()
+				.map(post -> toResp(post, currentUserId, maskSecretPosts))
+				.collect(Collectors.toList());
+		} finally {
+			ServerTiming.stop(Phase.MAP, start);
+		}
+	}
+
 	// PostResponse 변환 메서드 (현재 사용자 ID 고려, 마스킹 옵션 추가)
 	private PostResponse toResp(Post p, Long currentUserId, boolean maskSecretPosts) {
 	    PostResponse r = new PostResponse();
 	    r.setId(p.getId());
 	    r.setIsSecret(p.getIsSecret());
+	    // 아직 반영 전인 조회수까지 더해서 표시
+	    r.setViewCount((p.getViews() != null ? p.getViews() : 0L) + viewCounter.pendingViews(p.getId()));
 	    
 	    // 작성자 정보 설정
 	    if (p.getAuthor() != null) {
@@ -253,7 +323,7 @@ public class PostController {
 	            r.setTitle(p.getTitle());
 	            r.setContent(p.getContent());
 	        } else {
-	            // 접근 권한이 없는 비밀글
+	            // 접근 권한이 없는 비밀글 - 태그도 내용처럼 숨김
 	            r.setHasAccess(false);
 	            if (maskSecretPosts) {
 	                r.setTitle("🔐 비밀글");
@@ -269,6 +339,10 @@ public class PostController {
 	        r.setTitle(p.getTitle());
 	        r.setContent(p.getContent());
 	    }
+	    // 태그는 엔티티 컬렉션 대신 TagIndex에서 (목록에서 글마다 post_tags를 읽지 않도록)
+	    if (Boolean.TRUE.equals(r.getHasAccess())) {
+	        r.setTags(tagIndex.tagsOf(p.getId()));
+	    }
 	    
 	    return r;
 	}
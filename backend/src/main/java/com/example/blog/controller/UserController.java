@@ -0,0 +1,76 @@
+package com.example.blog.controller;
+
+import com.example.blog.dto.AuthorPostsResponse;
+import com.example.blog.dto.PostSummary;
+import com.example.blog.exception.ValidationException;
+import com.example.blog.model.User;
+import com.example.blog.security.CustomUserDetails;
+import com.example.blog.service.PostService;
+import com.example.blog.service.UserService;
+import com.example.blog.timing.Phase;
+import com.example.blog.timing.ServerTiming;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/users")
+public class UserController {
+
+	private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
+	private static final int DEFAULT_PAGE_SIZE = 20;
+	private static final int MAX_PAGE_SIZE = 100;
+
+	private final UserService userService;
+	private final PostService postService;
+
+	public UserController(UserService userService, PostService postService) {
+		this.userService = userService;
+		this.postService = postService;
+	}
+
+	// 작성자 피드 - after에 이전 응답의 nextCursor를 넘겨 다음 페이지 조회
+	// 작성자 본인이 아니면 비밀글 제목은 마스킹 (목록과 동일)
+	@GetMapping("/{id}/posts")
+	public AuthorPostsResponse posts(@PathVariable Long id,
+									 @RequestParam(value = "after", required = false) Long after,
+									 @RequestParam(value = "limit", required = false) Integer limit,
+									 @AuthenticationPrincipal CustomUserDetails userDetails) {
+		int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+		if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+			throw new ValidationException("limit은 1-" + MAX_PAGE_SIZE + " 사이여야 합니다");
+		}
+		if (after != null && after < 1) {
+			throw new ValidationException("after는 양수여야 합니다");
+		}
+
+		// User는 2차 캐시 대상이라 보통 SQL 없이 해석됨 - 없는 사용자는 404
+		User author = userService.findById(id);
+		List<PostSummary> page = postService.listByAuthor(id, after, pageSize);
+		long postCount = postService.countByAuthor(id);
+		logger.debug("작성자 피드 조회: authorId={}, after={}, limit={}, results={}", id, after, pageSize, page.size());
+
+		long start = ServerTiming.start(Phase.MAP);
+		try {
+			// limit + 1개를 읽었으므로 넘친 한 개가 있으면 다음 페이지가 존재
+			boolean hasNext = page.size() > pageSize;
+			int size = hasNext ? pageSize : page.size();
+			boolean isAuthor = userDetails != null && id.equals(userDetails.getId());
+			List<PostSummary> posts = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				PostSummary summary = page.get(i);
+				posts.add(!isAuthor && Boolean.TRUE.equals(summary.isSecret()) ? summary.masked() : summary);
+			}
+			Long nextCursor = hasNext ? posts.get(size - 1).id() : null;
+			return new AuthorPostsResponse(author.getId(), author.getUsername(), postCount, posts, nextCursor);
+		} finally {
+			ServerTiming.stop(Phase.MAP, start);
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package com.example.blog.datagen;
+
+import com.example.blog.model.Comment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 성능 측정/부하 테스트용 대량 데이터 생성기 - JDBC 배치 INSERT를 여러 작업 스레드로 실행
+// Spring 컨텍스트 없이 DataSource만으로 동작하므로 벤치마크에서도 그대로 사용 가능
+// BCrypt 해시는 호출하는 쪽이 미리 한 번씩만 계산해서 넘김 (사용자/비밀글 전부 같은 비밀번호)
+// 게시글은 batchSize개 단위 청크로 나누고, 청크마다 고정 seed를 쓰므로 스레드 수와 관계없이 같은 내용이 만들어짐
+public class ScaleDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScaleDataGenerator.class);
+
+    private static final String INSERT_USER_SQL =
+        "INSERT INTO users (username, password, role, enabled, created_at, version) VALUES (?, ?, 'USER', TRUE, ?, 0)";
+
+    private static final String INSERT_POST_SQL =
+        "INSERT INTO posts (title, content, author_id, is_secret, secret_password, created_at, updated_at, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_COMMENT_SQL =
+        "INSERT INTO comments (content, post_id, author_id, created_at, updated_at, version, depth) VALUES (?, ?, ?, ?, ?, 0, 0)";
+
+    // 생성 댓글은 모두 최상위 - 글 단위로 정렬 경로(path)를 id에서 채움
+    private static final String UPDATE_COMMENT_PATH_SQL =
+        "UPDATE comments SET path = " + Comment.ROOT_PATH_SQL + " WHERE post_id = ?";
+
+    // 생성 데이터의 작성 시각 범위 - 지금으로부터 1년 전까지 고르게
+    private static final Duration TIME_SPAN = Duration.ofDays(365);
+
+    private final DataSource dataSource;
+    private final String userPasswordHash;
+    private final String secretPasswordHash;
+
+    public ScaleDataGenerator(DataSource dataSource, String userPasswordHash, String secretPasswordHash) {
+        this.dataSource = dataSource;
+        this.userPasswordHash = userPasswordHash;
+        this.secretPasswordHash = secretPasswordHash;
+    }
+
+    public Result generate(ScaleDataSpec spec) {
+        long startedAt = System.nanoTime();
+        LocalDateTime end = LocalDateTime.now();
+        LocalDateTime begin = end.minus(TIME_SPAN);
+
+        long[] userIds = insertUsers(spec, begin);
+        ZipfDistribution commentCounts = new ZipfDistribution(spec.maxCommentsPerPost(), spec.commentZipfExponent());
+        logger.info("대량 데이터 생성 시작: 사용자={}명, 게시글={}개, 예상 댓글={}개, 작업 스레드={}",
+                   userIds.length, spec.posts(), Math.round(spec.posts() * commentCounts.mean()), spec.workers());
+
+        long chunks = (spec.posts() + spec.batchSize() - 1) / spec.batchSize();
+        AtomicLong nextChunk = new AtomicLong();
+        LongAdder posts = new LongAdder();
+        LongAdder comments = new LongAdder();
+        AtomicLong nextProgressLog = new AtomicLong(progressInterval(spec.posts()));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(spec.workers(), r -> {
+            Thread thread = new Thread(r, "scale-datagen-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < spec.workers(); i++) {
+                futures.add(pool.submit(() -> {
+                    long chunk;
+                    while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                        insertChunk(spec, chunk, userIds, commentCounts, begin, posts, comments);
+                        logProgress(spec, posts, comments, nextProgressLog);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("대량 데이터 생성이 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("대량 데이터 생성 실패", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        Result result = new Result(userIds.length, posts.sum(), comments.sum(), elapsedMillis);
+        logger.info("대량 데이터 생성 완료: {}", result);
+        return result;
+    }
+
+    private long[] insertUsers(ScaleDataSpec spec, LocalDateTime begin) {
+        long[] ids = new long[spec.users()];
+        Timestamp createdAt = Timestamp.valueOf(begin);
+        int index = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_USER_SQL, new String[]{"id"})) {
+                for (int from = 0; from < spec.users(); from += spec.batchSize()) {
+                    int to = Math.min(spec.users(), from + spec.batchSize());
+                    for (int i = from; i < to; i++) {
+                        ps.setString(1, spec.usernamePrefix() + (i + 1));
+                        ps.setString(2, userPasswordHash);
+                        ps.setTimestamp(3, createdAt);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    index = readKeys(ps, ids, index);
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("사용자 생성 실패: " + e.getMessage(), e);
+        }
+        if (index != ids.length) {
+            throw new IllegalStateException("생성된 사용자 ID 수가 맞지 않습니다: " + index + "/" + ids.length);
+        }
+        return ids;
+    }
+
+    // 게시글 한 청크와 그 댓글을 한 트랜잭션으로 저장
+    private void insertChunk(ScaleDataSpec spec, long chunk, long[] userIds, ZipfDistribution commentCounts,
+                             LocalDateTime begin, LongAdder postCounter, LongAdder commentCounter) throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.seed() * 1_000_003L + chunk);
+        long first = chunk * spec.batchSize();
+        int count = (int) Math.min(spec.batchSize(), spec.posts() - first);
+        long spanMillis = TIME_SPAN.toMillis();
+        long beginMillis = Timestamp.valueOf(begin).getTime();
+        long nowMillis = beginMillis + spanMillis;
+
+        long[] postIds = new long[count];
+        long[] postTimes = new long[count];
+        boolean[] postKorean = new boolean[count];
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_POST_SQL, new String[]{"id"})) {
+                    for (int i = 0; i < count; i++) {
+                        long postIndex = first + i;
+                        boolean korean = random.nextDouble() < spec.koreanRatio();
+                        boolean secret = random.nextDouble() < spec.secretRatio();
+                        long createdMillis = beginMillis + (long) ((double) postIndex / spec.posts() * spanMillis);
+                        Timestamp createdAt = new Timestamp(createdMillis);
+                        postTimes[i] = createdMillis;
+                        postKorean[i] = korean;
+
+                        ps.setString(1, TextGenerator.text(random, korean, TextGenerator.length(random, korean ? 18 : 32, 0.4, 2, 100)));
+                        ps.setString(2, TextGenerator.text(random, korean, TextGenerator.length(random, korean ? 300 : 500, 0.9, 20, 2000)));
+                        ps.setLong(3, userIds[random.nextInt(userIds.length)]);
+                        ps.setBoolean(4, secret);
+                        ps.setString(5, secret ? secretPasswordHash : null);
+                        ps.setTimestamp(6, createdAt);
+                        ps.setTimestamp(7, createdAt);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    readKeys(ps, postIds, 0);
+                }
+
+                int comments = 0;
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_COMMENT_SQL)) {
+                    int pending = 0;
+                    for (int i = 0; i < count; i++) {
+                        int commentCount = commentCounts.sample(random);
+                        for (int c = 0; c < commentCount; c++) {
+                            // 작성 후 일주일 안에 달린 댓글 (현재 시각을 넘지 않음)
+                            long createdMillis = Math.min(nowMillis, postTimes[i] + random.nextLong(Duration.ofDays(7).toMillis()));
+                            Timestamp createdAt = new Timestamp(createdMillis);
+                            ps.setString(1, TextGenerator.text(random, postKorean[i], TextGenerator.length(random, postKorean[i] ? 30 : 50, 0.8, 1, 1000)));
+                            ps.setLong(2, postIds[i]);
+                            ps.setLong(3, userIds[random.nextInt(userIds.length)]);
+                            ps.setTimestamp(4, createdAt);
+                            ps.setTimestamp(5, createdAt);
+                            ps.addBatch();
+                            comments++;
+                            if (++pending >= spec.batchSize()) {
+                                ps.executeBatch();
+                                pending = 0;
+                            }
+                        }
+                    }
+                    if (pending > 0) {
+                        ps.executeBatch();
+                    }
+                }
+                try (PreparedStatement ps = connection.prepareStatement(UPDATE_COMMENT_PATH_SQL)) {
+                    for (long postId : postIds) {
+                        ps.setLong(1, postId);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+
+                connection.commit();
+                postCounter.add(count);
+                commentCounter.add(comments);
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static int readKeys(PreparedStatement ps, long[] ids, int offset) throws SQLException {
+        int index = offset;
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids[index++] = keys.getLong(1);
+            }
+        }
+        return index;
+    }
+
+    private static void logProgress(ScaleDataSpec spec, LongAdder posts, LongAdder comments, AtomicLong nextProgressLog) {
+        long done = posts.sum();
+        long threshold = nextProgressLog.get();
+        if (done >= threshold && nextProgressLog.compareAndSet(threshold, threshold + progressInterval(spec.posts()))) {
+            logger.info("대량 데이터 생성 중: 게시글 {}/{}개, 댓글 {}개", done, spec.posts(), comments.sum());
+        }
+    }
+
+    private static long progressInterval(long posts) {
+        return Math.max(1, posts / 10);
+    }
+
+    public record Result(
+        int users,
+        long posts,
+        long comments,
+        long elapsedMillis
+    ) {}
+}
@@ -0,0 +1,29 @@
+package com.example.blog.datagen;
+
+// 대량 데이터 생성 조건 - 같은 seed면 같은 데이터가 만들어짐 (ID 값은 DB가 정함)
+public record ScaleDataSpec(
+    int users,
+    long posts,
+    // 비밀글 비율 (0~1)
+    double secretRatio,
+    // 한국어 글 비율 (0~1) - 나머지는 영어
+    double koreanRatio,
+    // 게시글당 댓글 수 k의 분포: P(k) ∝ 1/(k+1)^commentZipfExponent, 0 ≤ k ≤ maxCommentsPerPost
+    double commentZipfExponent,
+    int maxCommentsPerPost,
+    int workers,
+    int batchSize,
+    long seed,
+    // 생성 사용자 이름 접두사 - user{번호}
+    String usernamePrefix
+) {
+
+    public ScaleDataSpec {
+        if (users < 1 || posts < 0 || workers < 1 || batchSize < 1 || maxCommentsPerPost < 0) {
+            throw new IllegalArgumentException("잘못된 데이터 생성 조건입니다");
+        }
+        if (secretRatio < 0 || secretRatio > 1 || koreanRatio < 0 || koreanRatio > 1) {
+            throw new IllegalArgumentException("비율은 0에서 1 사이여야 합니다");
+        }
+    }
+}
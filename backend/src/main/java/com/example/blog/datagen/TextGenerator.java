@@ -0,0 +1,79 @@
+package com.example.blog.datagen;
+
+import java.util.SplittableRandom;
+
+// 한국어/영어 블로그 글 흉내 - 길이는 로그정규 분포 (짧은 글이 많고 긴 글이 꼬리를 이룸)
+final class TextGenerator {
+
+    private static final String[] KOREAN_WORDS = {
+        "오늘은", "정말", "블로그", "개발", "이야기", "공유합니다", "생각보다", "간단한", "방법으로", "해결했습니다",
+        "스프링", "데이터베이스", "성능", "최적화", "경험", "여행", "맛집", "추천", "사진", "일상",
+        "주말에", "친구와", "함께", "다녀왔어요", "날씨가", "좋아서", "산책을", "했습니다", "커피", "한잔",
+        "새로운", "프로젝트를", "시작했습니다", "코드", "리뷰", "배포", "테스트", "문제가", "생겼는데", "원인은",
+        "캐시", "설정", "때문이었어요", "다음에는", "더", "자세히", "정리해", "보겠습니다", "읽어주셔서", "감사합니다",
+        "질문이", "있으면", "댓글", "남겨주세요", "이번", "글에서는", "소개할", "내용이", "많습니다", "그리고"
+    };
+
+    private static final String[] ENGLISH_WORDS = {
+        "today", "I", "want", "to", "share", "a", "quick", "note", "about", "performance",
+        "the", "database", "query", "was", "slow", "because", "of", "missing", "index", "and",
+        "cache", "settings", "we", "fixed", "it", "by", "adding", "batch", "inserts", "with",
+        "spring", "boot", "java", "travel", "photos", "from", "weekend", "trip", "coffee", "with",
+        "friends", "this", "post", "explains", "how", "deploy", "tests", "review", "thanks", "for",
+        "reading", "leave", "comment", "if", "you", "have", "questions", "next", "time", "more"
+    };
+
+    private static final char[] KOREAN_ENDINGS = {'.', '.', '.', '!', '?'};
+    private static final char[] ENGLISH_ENDINGS = {'.', '.', '.', '!', '?'};
+
+    private TextGenerator() {
+    }
+
+    // 중앙값 median, 분산 정도 sigma인 로그정규 길이를 [min, max]로 자름
+    static int length(SplittableRandom random, double median, double sigma, int min, int max) {
+        double value = median * Math.exp(sigma * gaussian(random));
+        return (int) Math.max(min, Math.min(max, Math.round(value)));
+    }
+
+    static String text(SplittableRandom random, boolean korean, int length) {
+        String[] words = korean ? KOREAN_WORDS : ENGLISH_WORDS;
+        char[] endings = korean ? KOREAN_ENDINGS : ENGLISH_ENDINGS;
+        StringBuilder sb = new StringBuilder(length + 16);
+        int sentenceWords = 0;
+        int sentenceLength = 4 + random.nextInt(10);
+        while (sb.length() < length) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            String word = words[random.nextInt(words.length)];
+            if (sentenceWords == 0 && !korean) {
+                sb.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                sb.append(word);
+            }
+            if (++sentenceWords >= sentenceLength) {
+                sb.append(endings[random.nextInt(endings.length)]);
+                sentenceWords = 0;
+                sentenceLength = 4 + random.nextInt(10);
+                if (random.nextInt(5) == 0) {
+                    sb.append('\n');
+                }
+            }
+        }
+        sb.setLength(length);
+        // 잘린 끝이 공백이면 다듬기
+        int end = sb.length();
+        while (end > 1 && Character.isWhitespace(sb.charAt(end - 1))) {
+            end--;
+        }
+        sb.setLength(end);
+        return sb.toString();
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.blog.datagen;
+
+import java.util.SplittableRandom;
+
+// 0..max 범위의 이산 Zipf 분포: P(k) ∝ 1/(k+1)^exponent - 누적 분포표 + 이진 탐색
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int max, double exponent) {
+        cumulative = new double[max + 1];
+        double sum = 0;
+        for (int k = 0; k <= max; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k <= max; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    double mean() {
+        double mean = 0;
+        double previous = 0;
+        for (int k = 0; k < cumulative.length; k++) {
+            mean += k * (cumulative[k] - previous);
+            previous = cumulative[k];
+        }
+        return mean;
+    }
+}
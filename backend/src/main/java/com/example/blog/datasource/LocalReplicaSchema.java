@@ -0,0 +1,59 @@
+package com.example.blog.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// 로컬(H2) 레플리카 - primary와 같은 인메모리 DB에 별도 스키마를 두고 primary 테이블마다 읽기 전용 뷰를 만듦
+// 레플리카 풀은 접속 URL의 INIT로 이 스키마를 기본 스키마로 쓰므로, 레플리카로 라우팅된 조회는 실제 데이터와 heartbeat를 읽음
+// 레플리카로 잘못 라우팅된 쓰기는 뷰에 쓸 수 없어 바로 실패함 (복제 지연은 항상 0 - 지연 시 폴백은 라우팅 테스트에서 확인)
+public class LocalReplicaSchema {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalReplicaSchema.class);
+
+    private static final String BASE_TABLES_SQL =
+        "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'";
+
+    private final DataSource primary;
+    private final String schema;
+
+    public LocalReplicaSchema(DataSource primary, String schema) {
+        this.primary = primary;
+        this.schema = schema;
+    }
+
+    // 스키마 생성(ddl-auto)이 끝난 뒤에 실행 - 그 전의 heartbeat는 레플리카 조회가 실패해 primary로 폴백됨
+    @EventListener(ApplicationReadyEvent.class)
+    public void mirror() {
+        try (Connection con = primary.getConnection();
+             Statement st = con.createStatement()) {
+            // heartbeat 테이블은 ReplicaLagMonitor가 첫 beat에서 만들므로 아직 없을 수 있음
+            st.execute(ReplicaLagMonitor.CREATE_TABLE_SQL);
+            st.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+            List<String> tables = new ArrayList<>();
+            try (ResultSet rs = st.executeQuery(BASE_TABLES_SQL)) {
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+            }
+            for (String table : tables) {
+                st.execute("CREATE OR REPLACE VIEW " + schema + ".\"" + table + "\" AS SELECT * FROM PUBLIC.\"" + table + "\"");
+            }
+            if (!con.getAutoCommit()) {
+                con.commit();
+            }
+            logger.info("로컬 레플리카 스키마 준비 완료: schema={}, tables={}", schema, tables.size());
+        } catch (SQLException e) {
+            logger.warn("로컬 레플리카 스키마 생성 실패 - readOnly 트랜잭션은 primary로 폴백: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.blog.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// readOnly 트랜잭션은 레플리카로, 그 외에는 primary로 라우팅
+// LazyConnectionDataSourceProxy로 감싸야 트랜잭션 readOnly 플래그가 설정된 뒤에 물리 커넥션을 고름
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // 트랜잭션 밖(스키마 생성, 비트랜잭션 조회 등)은 항상 primary
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWritesTracker.registerWriteOnCommit();
+            return Route.PRIMARY;
+        }
+
+        // 레플리카 지연이 허용치를 넘었거나 상태 확인에 실패하면 primary로 폴백
+        if (!lagMonitor.isReplicaUsable()) {
+            logger.debug("레플리카 사용 불가 - readOnly 트랜잭션을 primary로 라우팅");
+            return Route.PRIMARY;
+        }
+
+        // 방금 쓴 사용자는 자신의 쓰기가 레플리카에 반영될 때까지 primary에서 읽음
+        if (readYourWritesTracker.mustReadFromPrimary(lagMonitor.getLagMillis())) {
+            logger.debug("최근 쓰기 사용자 - readOnly 트랜잭션을 primary로 라우팅");
+            return Route.PRIMARY;
+        }
+
+        logger.debug("readOnly 트랜잭션을 레플리카로 라우팅");
+        return Route.REPLICA;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.blog.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 클라이언트별 마지막 쓰기 커밋 시각을 기록해 read-your-writes를 보장
+// 항목은 stickiness 기간이 지나면 제거되므로 크기는 최근 쓰기 클라이언트 수로 제한됨
+//
+// 공개 GET 경로는 JWT 필터를 건너뛰어 SecurityContext에 사용자가 없으므로,
+// 쓰기/읽기 양쪽에 항상 실리는 Authorization 헤더(토큰)의 64비트 해시로 클라이언트를 식별
+public class ReadYourWritesTracker {
+
+    private final ConcurrentHashMap<Long, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long stickyWindowNanos;
+
+    public ReadYourWritesTracker(long stickyWindowMillis) {
+        this.stickyWindowNanos = TimeUnit.MILLISECONDS.toNanos(stickyWindowMillis);
+    }
+
+    public void registerWriteOnCommit() {
+        Long clientKey = currentClientKey();
+        if (clientKey == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteNanos.put(clientKey, System.nanoTime());
+            }
+        });
+    }
+
+    // 다른 스레드가 대신 커밋한 쓰기(댓글 group commit)를 커밋 확인 후 요청 스레드에서 기록
+    public void registerWrite() {
+        Long clientKey = currentClientKey();
+        if (clientKey != null) {
+            lastWriteNanos.put(clientKey, System.nanoTime());
+        }
+    }
+
+    public boolean mustReadFromPrimary(long replicaLagMillis) {
+        Long clientKey = currentClientKey();
+        if (clientKey == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteNanos.get(clientKey);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < windowNanos(replicaLagMillis)) {
+            return true;
+        }
+        lastWriteNanos.remove(clientKey, lastWrite);
+        return false;
+    }
+
+    public void evictExpired(long replicaLagMillis) {
+        long cutoff = System.nanoTime() - windowNanos(replicaLagMillis);
+        lastWriteNanos.values().removeIf(lastWrite -> lastWrite - cutoff < 0);
+    }
+
+    public int size() {
+        return lastWriteNanos.size();
+    }
+
+    // 지연이 클수록 더 오래 primary에 머무름
+    private long windowNanos(long replicaLagMillis) {
+        return stickyWindowNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, replicaLagMillis));
+    }
+
+    // 요청 스레드가 아니거나(스케줄러, 비동기 스트리밍) 토큰이 없으면 null
+    private Long currentClientKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String authorization = request.getHeader("Authorization");
+        if (authorization == null || authorization.isEmpty()) {
+            return null;
+        }
+
+        // FNV-1a 64 - 충돌해도 불필요하게 primary에서 읽을 뿐이므로 안전
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < authorization.length(); i++) {
+            hash ^= authorization.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
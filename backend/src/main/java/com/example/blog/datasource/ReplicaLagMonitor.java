@@ -0,0 +1,119 @@
+package com.example.blog.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// heartbeat 테이블로 레플리카 지연을 측정 (pt-heartbeat 방식)
+// primary에 주기적으로 현재 시각을 쓰고, 레플리카에서 읽은 값과 비교
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String CREATE_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT PRIMARY KEY, beat_at_ms BIGINT NOT NULL)";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final long maxLagMillis;
+
+    private volatile boolean replicaUsable = false;
+    private volatile long lagMillis = Long.MAX_VALUE;
+    private long lastWrittenBeat = 0;
+    private boolean tableReady = false;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica,
+                             ReadYourWritesTracker readYourWritesTracker, long maxLagMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.heartbeat-interval-ms:500}")
+    public void heartbeat() {
+        boolean wasUsable = replicaUsable;
+        try {
+            // 레플리카를 먼저 읽고 나서 새 beat를 씀 - 직전 beat가 보이면 따라잡은 것
+            Long replicaBeat = readReplicaBeat();
+            long now = System.currentTimeMillis();
+            if (replicaBeat == null) {
+                lagMillis = Long.MAX_VALUE;
+            } else if (replicaBeat == lastWrittenBeat) {
+                lagMillis = 0;
+            } else {
+                lagMillis = Math.max(0, now - replicaBeat);
+            }
+            replicaUsable = lagMillis <= maxLagMillis;
+        } catch (SQLException e) {
+            lagMillis = Long.MAX_VALUE;
+            replicaUsable = false;
+            logger.debug("레플리카 heartbeat 조회 실패: {}", e.getMessage());
+        }
+
+        try {
+            writePrimaryBeat(System.currentTimeMillis());
+        } catch (SQLException e) {
+            logger.warn("primary heartbeat 기록 실패: {}", e.getMessage());
+        }
+
+        if (wasUsable != replicaUsable) {
+            if (replicaUsable) {
+                logger.info("레플리카 읽기 재개: lag={}ms", lagMillis);
+            } else {
+                logger.warn("레플리카 지연 초과 또는 응답 없음 - primary로 폴백: lag={}ms, max={}ms",
+                           lagMillis == Long.MAX_VALUE ? "unknown" : lagMillis, maxLagMillis);
+            }
+        }
+
+        readYourWritesTracker.evictExpired(replicaUsable ? lagMillis : 0);
+    }
+
+    private Long readReplicaBeat() throws SQLException {
+        try (Connection con = replica.getConnection();
+             PreparedStatement ps = con.prepareStatement("SELECT beat_at_ms FROM replication_heartbeat WHERE id = 1");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : null;
+        }
+    }
+
+    private void writePrimaryBeat(long beat) throws SQLException {
+        try (Connection con = primary.getConnection()) {
+            if (!tableReady) {
+                try (Statement st = con.createStatement()) {
+                    st.execute(CREATE_TABLE_SQL);
+                }
+            }
+            try (PreparedStatement update = con.prepareStatement("UPDATE replication_heartbeat SET beat_at_ms = ? WHERE id = 1")) {
+                update.setLong(1, beat);
+                if (update.executeUpdate() == 0) {
+                    try (PreparedStatement insert = con.prepareStatement("INSERT INTO replication_heartbeat (id, beat_at_ms) VALUES (1, ?)")) {
+                        insert.setLong(1, beat);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            if (!con.getAutoCommit()) {
+                con.commit();
+            }
+            tableReady = true;
+            lastWrittenBeat = beat;
+        }
+    }
+}
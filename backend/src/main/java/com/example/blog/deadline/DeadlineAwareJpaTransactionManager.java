@@ -0,0 +1,37 @@
+package com.example.blog.deadline;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+// 트랜잭션 타임아웃을 요청의 남은 시간으로 제한
+// Hibernate는 트랜잭션 타임아웃의 남은 시간을 모든 JDBC 문장의 query timeout으로 설정하므로
+// 클라이언트가 포기한 뒤에도 느린 쿼리가 커넥션을 붙잡고 계속 도는 일이 없음 (드라이버가 문장을 취소)
+public class DeadlineAwareJpaTransactionManager extends JpaTransactionManager {
+
+    public DeadlineAwareJpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    // doBegin 안에서 던진 예외는 CannotCreateTransactionException으로 감싸지므로 시작 전에 먼저 검사
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        RequestDeadline.check("트랜잭션 시작");
+        super.doBegin(transaction, definition);
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int configured = super.determineTimeout(definition);
+        long remainingMillis = RequestDeadline.remainingMillis();
+        if (remainingMillis == Long.MAX_VALUE) {
+            return configured;
+        }
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException("트랜잭션 시작");
+        }
+        // JDBC query timeout은 초 단위 - 남은 시간을 올림
+        int remainingSeconds = (int) Math.min(Integer.MAX_VALUE, (remainingMillis + 999) / 1000);
+        return configured == TransactionDefinition.TIMEOUT_DEFAULT ? remainingSeconds : Math.min(configured, remainingSeconds);
+    }
+}
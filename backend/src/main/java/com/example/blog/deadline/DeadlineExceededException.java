@@ -0,0 +1,9 @@
+package com.example.blog.deadline;
+
+// 요청 마감 시간이 지나 남은 작업을 중단할 때 사용 - 클라이언트는 이미 포기했으므로 결과를 만들 필요가 없음
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String step) {
+        super("요청 처리 시간이 초과되었습니다: " + step);
+    }
+}
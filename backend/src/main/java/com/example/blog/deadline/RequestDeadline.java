@@ -0,0 +1,46 @@
+package com.example.blog.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+// 현재 요청의 마감 시각 (System.nanoTime 기준) - RequestDeadlineFilter가 요청 스레드에 설정
+// 마감이 없는 스레드(스케줄러, 비동기 작업 등)에서는 모든 메서드가 제한 없음으로 동작
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    static void set(long timeoutMillis) {
+        DEADLINE_NANOS.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    public static boolean isPresent() {
+        return DEADLINE_NANOS.get() != null;
+    }
+
+    // 마감이 없으면 Long.MAX_VALUE
+    public static long remainingMillis() {
+        Long deadline = DEADLINE_NANOS.get();
+        if (deadline == null) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    public static boolean isExpired() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline != null && deadline - System.nanoTime() <= 0;
+    }
+
+    // BCrypt처럼 비싼 단계 직전에 호출 - 마감이 지났으면 DeadlineExceededException
+    public static void check(String step) {
+        if (isExpired()) {
+            throw new DeadlineExceededException(step);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.blog.deadline;
+
+import com.example.blog.security.RouteTable;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 요청 도착 시점에 마감 시각을 정함 - 보안 필터 체인보다 먼저 실행되어 대기/인증 시간까지 포함
+// X-Request-Timeout-Ms 헤더(클라이언트가 기다릴 시간)가 있으면 그 값, 없으면 엔드포인트별 기본값
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadlineFilter.class);
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private final long defaultMillis;
+    private final long searchMillis;
+    private final long maxMillis;
+
+    public RequestDeadlineFilter(@Value("${app.deadline.default-ms:10000}") long defaultMillis,
+                                 @Value("${app.deadline.search-ms:5000}") long searchMillis,
+                                 @Value("${app.deadline.max-ms:30000}") long maxMillis) {
+        this.defaultMillis = defaultMillis;
+        this.searchMillis = searchMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // 대량 가져오기/내보내기와 모니터링은 마감 없이 실행
+        String path = RouteTable.pathWithinApplication(request);
+        return path.startsWith("/admin/") || path.startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestDeadline.set(timeoutFor(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private long timeoutFor(HttpServletRequest request) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                return Math.max(1, Math.min(maxMillis, Long.parseLong(header.trim())));
+            } catch (NumberFormatException e) {
+                logger.debug("잘못된 {} 헤더 무시: {}", TIMEOUT_HEADER, header);
+            }
+        }
+        return isSearch(request) ? searchMillis : defaultMillis;
+    }
+
+    // 검색 엔드포인트와, 프론트엔드가 쓰는 목록 조회의 검색(search)/태그 필터(tags) - 경로는 MVC와 같은 디코딩된 경로로 비교
+    private static boolean isSearch(HttpServletRequest request) {
+        String path = RouteTable.pathWithinApplication(request);
+        if (path.equals("/posts/search")) {
+            return true;
+        }
+        // GET만 - 다른 메서드에서 getParameter는 폼 본문까지 읽어 버림
+        return path.equals("/posts") && "GET".equals(request.getMethod())
+            && (hasText(request.getParameter("search")) || hasText(request.getParameter("tags")));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.blog.dto;
+
+import java.util.List;
+
+// GET /users/{id}/posts 응답 - nextCursor를 다음 요청의 after로 넘기며, 마지막 페이지면 null
+public record AuthorPostsResponse(
+    Long authorId,
+    String authorUsername,
+    long postCount,
+    List<PostSummary> posts,
+    Long nextCursor
+) {}
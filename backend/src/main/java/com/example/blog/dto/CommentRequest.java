@@ -8,6 +8,9 @@ public class CommentRequest {
 	@Size(min = 1, max = 1000, message = "댓글은 1-1000자 사이여야 합니다")
 	private String content;
 
+	// 답글이면 부모 댓글 ID (같은 글의 댓글)
+	private Long parentId;
+
 	public CommentRequest() {
 	}
 
@@ -18,4 +21,12 @@ public class CommentRequest {
 	public void setContent(String content) {
 		this.content = content;
 	}
-}
\ No newline at end of file
+
+	public Long getParentId() {
+		return parentId;
+	}
+
+	public void setParentId(Long parentId) {
+		this.parentId = parentId;
+	}
+}
@@ -5,6 +5,8 @@ public class CommentResponse {
     private String content;
     private Long authorId;
     private String authorUsername;
+    private Long parentId;
+    private int depth;
 
     public CommentResponse() {}
     public Long getId() { return id; }
@@ -15,4 +17,8 @@ public class CommentResponse {
     public void setAuthorId(Long authorId) { this.authorId = authorId; }
     public String getAuthorUsername() { return authorUsername; }
     public void setAuthorUsername(String authorUsername) { this.authorUsername = authorUsername; }
+    public Long getParentId() { return parentId; }
+    public void setParentId(Long parentId) { this.parentId = parentId; }
+    public int getDepth() { return depth; }
+    public void setDepth(int depth) { this.depth = depth; }
 }
@@ -0,0 +1,10 @@
+package com.example.blog.dto;
+
+import java.util.List;
+
+// GET /posts/{postId}/comments/{commentId}/thread 응답 - 첫 페이지의 첫 항목이 요청한 댓글
+// nextCursor를 다음 요청의 after로 넘기며, 마지막 페이지면 null
+public record CommentSubtreeResponse(
+    List<CommentResponse> comments,
+    Long nextCursor
+) {}
@@ -0,0 +1,11 @@
+package com.example.blog.dto;
+
+import java.util.List;
+
+// 최상위 댓글 하나와 그 스레드의 앞쪽 답글 (표시 순서, depth로 들여쓰기)
+// hasMoreReplies면 나머지는 GET /posts/{postId}/comments/{id}/thread로 이어서 조회
+public record CommentThreadResponse(
+    CommentResponse comment,
+    List<CommentResponse> replies,
+    boolean hasMoreReplies
+) {}
@@ -0,0 +1,9 @@
+package com.example.blog.dto;
+
+import java.util.List;
+
+// GET /posts/{postId}/comments/threads 응답 - nextCursor를 다음 요청의 after로 넘기며, 마지막 페이지면 null
+public record CommentThreadsResponse(
+    List<CommentThreadResponse> threads,
+    Long nextCursor
+) {}
@@ -0,0 +1,32 @@
+package com.example.blog.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+// 내보내기 NDJSON의 댓글 한 줄 - postRef가 게시글 줄의 ref를, 답글의 parentRef가 부모 댓글 줄의 ref를 가리킴
+// postId는 쓰지 않음 - 가져오는 쪽에서 원본 DB의 id를 기존 게시글로 오인하지 않도록
+// id 오름차순으로 쓰므로 부모 댓글 줄이 항상 답글 줄보다 앞에 옴
+public record ExportComment(
+    Long id,
+    @JsonIgnore Long postId,
+    @JsonIgnore Long parentId,
+    Long authorId,
+    String author,
+    String content,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+    @JsonProperty("type")
+    public String type() { return "comment"; }
+
+    @JsonProperty("postRef")
+    public String postRef() { return String.valueOf(postId); }
+
+    @JsonProperty("ref")
+    public String ref() { return String.valueOf(id); }
+
+    @JsonProperty("parentRef")
+    public String parentRef() { return parentId != null ? String.valueOf(parentId) : null; }
+}
@@ -0,0 +1,31 @@
+package com.example.blog.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 내보내기 NDJSON의 게시글 한 줄 - ImportRow 형식과 호환 (ref/author/secretPasswordHash/tags)
+// 태그는 쿼리에서 ','로 이어 붙여 받음 - 태그에는 ','가 들어갈 수 없음 (TagIndex.normalize)
+public record ExportPost(
+    Long id,
+    Long authorId,
+    String author,
+    String title,
+    String content,
+    Boolean isSecret,
+    String secretPasswordHash,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    @JsonIgnore String tagList
+) {
+    @JsonProperty("type")
+    public String type() { return "post"; }
+
+    @JsonProperty("ref")
+    public String ref() { return String.valueOf(id); }
+
+    @JsonProperty("tags")
+    public List<String> tags() { return tagList == null || tagList.isEmpty() ? List.of() : List.of(tagList.split(",")); }
+}
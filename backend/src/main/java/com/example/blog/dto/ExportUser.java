@@ -0,0 +1,19 @@
+package com.example.blog.dto;
+
+import com.example.blog.model.User;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+// 내보내기 NDJSON의 사용자 한 줄 - 비밀번호 해시는 포함하지 않음
+public record ExportUser(
+    Long id,
+    String username,
+    String email,
+    User.Role role,
+    Boolean enabled,
+    LocalDateTime createdAt
+) {
+    @JsonProperty("type")
+    public String type() { return "user"; }
+}
@@ -0,0 +1,39 @@
+package com.example.blog.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResult {
+    private long processedRows;
+    private long importedPosts;
+    private long importedComments;
+    private long failedRows;
+    private long elapsedMs;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+
+    public ImportResult() {}
+
+    public long getProcessedRows() { return processedRows; }
+    public void setProcessedRows(long processedRows) { this.processedRows = processedRows; }
+
+    public long getImportedPosts() { return importedPosts; }
+    public void setImportedPosts(long importedPosts) { this.importedPosts = importedPosts; }
+
+    public long getImportedComments() { return importedComments; }
+    public void setImportedComments(long importedComments) { this.importedComments = importedComments; }
+
+    public long getFailedRows() { return failedRows; }
+    public void setFailedRows(long failedRows) { this.failedRows = failedRows; }
+
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    public record RowError(long line, String message) {}
+}
@@ -0,0 +1,69 @@
+package com.example.blog.dto;
+
+import java.util.List;
+
+// NDJSON 가져오기의 한 줄 - type이 "post" 또는 "comment"
+public class ImportRow {
+    private String type;
+
+    // 같은 스트림의 다른 줄이 참조할 수 있는 외부 식별자 (게시글 ref는 댓글의 postRef가, 댓글 ref는 답글의 parentRef가 가리킴)
+    // 게시글 ref와 댓글 ref는 따로 관리되므로 서로 겹쳐도 됨
+    private String ref;
+
+    private String author;
+    private String title;
+    private String content;
+    private Boolean isSecret = false;
+    private String secretPassword;
+
+    // 이미 BCrypt로 해시된 비밀번호 (있으면 해싱을 건너뜀)
+    private String secretPasswordHash;
+
+    // 게시글 태그 (없으면 태그 없는 글) - 글 작성과 같은 규칙으로 정규화 (TagIndex.normalize)
+    private List<String> tags;
+
+    // 댓글: 기존 게시글 ID 또는 같은 스트림에서 가져온 게시글의 ref
+    private Long postId;
+    private String postRef;
+
+    // 답글: 앞 줄에서 가져온 부모 댓글의 ref (부모 줄이 답글 줄보다 먼저 와야 함)
+    private String parentRef;
+
+    public ImportRow() {}
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getRef() { return ref; }
+    public void setRef(String ref) { this.ref = ref; }
+
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public Boolean getIsSecret() { return isSecret; }
+    public void setIsSecret(Boolean isSecret) { this.isSecret = isSecret; }
+
+    public String getSecretPassword() { return secretPassword; }
+    public void setSecretPassword(String secretPassword) { this.secretPassword = secretPassword; }
+
+    public String getSecretPasswordHash() { return secretPasswordHash; }
+    public void setSecretPasswordHash(String secretPasswordHash) { this.secretPasswordHash = secretPasswordHash; }
+
+    public List<String> getTags() { return tags; }
+    public void setTags(List<String> tags) { this.tags = tags; }
+
+    public Long getPostId() { return postId; }
+    public void setPostId(Long postId) { this.postId = postId; }
+
+    public String getPostRef() { return postRef; }
+    public void setPostRef(String postRef) { this.postRef = postRef; }
+
+    public String getParentRef() { return parentRef; }
+    public void setParentRef(String parentRef) { this.parentRef = parentRef; }
+}
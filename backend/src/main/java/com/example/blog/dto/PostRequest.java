@@ -3,6 +3,8 @@ package com.example.blog.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import java.util.List;
+
 public class PostRequest {
 	@NotBlank(message = "제목은 필수입니다")
 	@Size(min = 1, max = 100, message = "제목은 1-100자 사이여야 합니다")
@@ -18,6 +20,9 @@ public class PostRequest {
 	@Size(max = 50, message = "비밀번호는 50자를 초과할 수 없습니다")
 	private String secretPassword;
 
+	// 태그 - 형식 검사와 정규화는 TagIndex.normalize (수정 시 null이면 기존 태그 유지)
+	private List<String> tags;
+
 	public PostRequest() {
 	}
 
@@ -52,4 +57,12 @@ public class PostRequest {
 	public void setSecretPassword(String secretPassword) {
 		this.secretPassword = secretPassword;
 	}
+
+	public List<String> getTags() {
+		return tags;
+	}
+
+	public void setTags(List<String> tags) {
+		this.tags = tags;
+	}
 }
\ No newline at end of file
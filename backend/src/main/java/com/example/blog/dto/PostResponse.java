@@ -1,5 +1,7 @@
 package com.example.blog.dto;
 
+import java.util.List;
+
 public class PostResponse {
     private Long id;
     private String title;
@@ -8,6 +10,8 @@ public class PostResponse {
     private String authorUsername;
     private Boolean isSecret;
     private Boolean hasAccess = false; // 비밀글 접근 권한 여부
+    private Long viewCount;
+    private List<String> tags = List.of(); // 접근 권한이 없는 비밀글은 비움
 
     public PostResponse() {}
     
@@ -31,4 +35,10 @@ public class PostResponse {
     
     public Boolean getHasAccess() { return hasAccess; }
     public void setHasAccess(Boolean hasAccess) { this.hasAccess = hasAccess; }
+    
+    public Long getViewCount() { return viewCount; }
+    public void setViewCount(Long viewCount) { this.viewCount = viewCount; }
+
+    public List<String> getTags() { return tags; }
+    public void setTags(List<String> tags) { this.tags = tags; }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.blog.dto;
+
+import java.time.LocalDateTime;
+
+// 작성자 피드용 게시글 요약 - 본문/작성자 없이 목록에 필요한 컬럼만 프로젝션
+public record PostSummary(
+    Long id,
+    String title,
+    Boolean isSecret,
+    LocalDateTime createdAt
+) {
+    // 작성자가 아닌 사용자에게는 비밀글 제목을 숨김 (게시글 목록과 같은 표시)
+    public PostSummary masked() {
+        return new PostSummary(id, "🔐 비밀글", isSecret, createdAt);
+    }
+}
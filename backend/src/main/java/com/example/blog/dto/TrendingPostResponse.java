@@ -0,0 +1,14 @@
+package com.example.blog.dto;
+
+import java.time.LocalDateTime;
+
+// GET /posts/trending 항목 - score는 조회 시점 기준 감쇠 점수 (순위 비교용, 단위 없음)
+public record TrendingPostResponse(
+    Long id,
+    String title,
+    Long authorId,
+    String authorUsername,
+    Boolean isSecret,
+    LocalDateTime createdAt,
+    double score
+) {}
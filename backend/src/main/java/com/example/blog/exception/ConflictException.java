@@ -0,0 +1,11 @@
+package com.example.blog.exception;
+
+// 409 - 이미 존재하는 리소스
+public class ConflictException extends DomainException {
+
+    public static final ConflictException USERNAME_TAKEN = new ConflictException("이미 사용 중인 사용자명입니다");
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
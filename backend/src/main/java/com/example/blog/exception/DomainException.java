@@ -0,0 +1,12 @@
+package com.example.blog.exception;
+
+// 예상 가능한 도메인 실패(없음, 권한 없음, 충돌, 입력 오류)의 공통 상위 타입
+// 정상적인 응답 흐름의 일부이므로 스택 트레이스를 만들지 않음 - 봇이 없는 ID를 긁어도 예외 생성 비용이 거의 없음
+// HTTP 상태는 GlobalExceptionHandler가 타입으로 결정
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        // suppression 비활성, 스택 트레이스 비활성 → 미리 만든 인스턴스를 여러 스레드에서 공유해도 안전
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.blog.exception;
+
+// 403 - 로그인/작성자/비밀번호 확인 실패
+public class ForbiddenException extends DomainException {
+
+    public static final ForbiddenException LOGIN_REQUIRED = new ForbiddenException("로그인이 필요합니다");
+    public static final ForbiddenException POST_UPDATE = new ForbiddenException("작성자만 수정할 수 있습니다");
+    public static final ForbiddenException POST_DELETE = new ForbiddenException("작성자만 삭제할 수 있습니다");
+    public static final ForbiddenException COMMENT_UPDATE = new ForbiddenException("댓글을 수정할 권한이 없습니다");
+    public static final ForbiddenException COMMENT_DELETE = new ForbiddenException("댓글을 삭제할 권한이 없습니다");
+    public static final ForbiddenException SECRET_PASSWORD_MISMATCH = new ForbiddenException("비밀번호가 일치하지 않습니다");
+
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.blog.exception;
+
+// 404 - 조회 대상 없음
+public class NotFoundException extends DomainException {
+
+    public static final NotFoundException POST = new NotFoundException("게시글을 찾을 수 없습니다");
+    public static final NotFoundException COMMENT = new NotFoundException("댓글을 찾을 수 없습니다");
+    public static final NotFoundException USER = new NotFoundException("사용자를 찾을 수 없습니다");
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
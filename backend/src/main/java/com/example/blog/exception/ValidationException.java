@@ -0,0 +1,9 @@
+package com.example.blog.exception;
+
+// 400 - 입력값 검증 실패
+public class ValidationException extends DomainException {
+
+    public ValidationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,414 @@
+package com.example.blog.groupcommit;
+
+import com.example.blog.cache.CacheInvalidationBus;
+import com.example.blog.cache.InvalidationEvent;
+import com.example.blog.datasource.ReadYourWritesTracker;
+import com.example.blog.deadline.DeadlineExceededException;
+import com.example.blog.deadline.RequestDeadline;
+import com.example.blog.exception.NotFoundException;
+import com.example.blog.model.Comment;
+import com.example.blog.model.User;
+import com.example.blog.repository.CommentRepository;
+import com.example.blog.repository.PostRepository;
+import com.example.blog.repository.UserRepository;
+import com.example.blog.service.CommentService;
+import com.example.blog.stream.CommentStreamHub;
+import com.example.blog.trending.TrendingService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 댓글 작성 group commit (app.comments.group-commit.enabled) - 라이브 이벤트처럼 한 글에 초당 수백 건이 몰릴 때용
+// 요청 스레드는 큐에 넣고 기다리기만 하고, 전용 스레드가 max-wait 동안(또는 max-batch-size개가 찰 때까지) 모은 댓글을
+// 트랜잭션 하나에서 JDBC 배치 INSERT 한 번으로 넣은 뒤 생성된 id와 함께 각 요청에 돌려줌
+// -> 커밋(로그 flush)과 커넥션 획득이 요청 수가 아니라 배치 수만큼 일어나고, 글별 무효화/인기글 반영도 배치당 한 번
+// 배치에 없는 글/사용자가 섞여 있으면 해당 요청만 404로 끝내고, INSERT의 FK 위반이면 한 건씩 다시 넣어 원인 요청만 실패시킴
+@Component
+public class CommentGroupCommitter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentGroupCommitter.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO comments (post_id, author_id, parent_id, depth, content, created_at, updated_at, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    // id가 정해진 뒤 같은 트랜잭션에서 정렬 경로를 채움 (Comment.path 참고)
+    private static final String UPDATE_PATH_SQL = "UPDATE comments SET path = ? WHERE id = ?";
+
+    // 웹 서버보다 늦게 멈춰서 종료 직전에 들어온 댓글까지 커밋 (PostViewCounter와 같은 단계)
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final TrendingService trendingService;
+    private final CommentStreamHub streamHub;
+    private final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+    private final boolean enabled;
+    private final long maxWaitNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingComment> queue;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public CommentGroupCommitter(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 CommentRepository commentRepository,
+                                 PostRepository postRepository,
+                                 UserRepository userRepository,
+                                 CacheInvalidationBus invalidationBus,
+                                 TrendingService trendingService,
+                                 CommentStreamHub streamHub,
+                                 ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.comments.group-commit.enabled:false}") boolean enabled,
+                                 @Value("${app.comments.group-commit.max-wait-micros:500}") long maxWaitMicros,
+                                 @Value("${app.comments.group-commit.max-batch-size:100}") int maxBatchSize,
+                                 @Value("${app.comments.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+        this.trendingService = trendingService;
+        this.streamHub = streamHub;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.enabled = enabled;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("blog.comments.group-commit.batch-size")
+            .description("group commit 트랜잭션 하나에 넣은 댓글 수")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 트랜잭션 밖에서 호출 - 기다리는 동안 커넥션을 잡지 않음
+    // content는 검증/trim이 끝난 값
+    public Comment add(Long postId, Long userId, Long parentId, String content) {
+        PendingComment request = new PendingComment(postId, userId, parentId, content);
+        if (!running || !queue.offer(request)) {
+            // 종료 중이거나 큐가 가득 참 - 기다리지 않고 요청 스레드에서 한 건짜리 배치로 넣음
+            commit(List.of(request));
+        }
+        Comment comment = await(request);
+        ReadYourWritesTracker tracker = readYourWritesTracker.getIfAvailable();
+        if (tracker != null) {
+            // 커밋은 전용 스레드에서 일어나 요청의 클라이언트를 알 수 없으므로 여기서 기록
+            tracker.registerWrite();
+        }
+        return comment;
+    }
+
+    // 자기 요청 마감까지만 기다림 - 아직 배치에 들어가지 않았으면 빼고 끝내고, 이미 INSERT 중이면 결과를 받음
+    private static Comment await(PendingComment request) {
+        try {
+            if (!RequestDeadline.isPresent()) {
+                return request.result.join();
+            }
+            try {
+                return request.result.get(Math.max(0, RequestDeadline.remainingMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (request.abandon()) {
+                    throw new DeadlineExceededException("댓글 group commit 대기");
+                }
+                return request.result.join();
+            }
+        } catch (CompletionException | ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.abandon();
+            throw new DeadlineExceededException("댓글 group commit 대기");
+        }
+    }
+
+    private void run() {
+        List<PendingComment> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingComment first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // commit에서 요청마다 결과를 채우므로 여기까지 오는 것은 예상 밖 오류 - 스레드는 계속 돌림
+                logger.error("댓글 group commit 처리 중 오류", e);
+                batch.forEach(request -> request.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 첫 요청부터 max-wait 동안 더 모음 - 그 사이 이미 쌓여 있는 것은 기다리지 않고 가져감
+    private void collect(List<PendingComment> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            PendingComment next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingComment> batch) {
+        List<PendingComment> claimed = new ArrayList<>(batch.size());
+        for (PendingComment request : batch) {
+            if (request.claim()) {
+                claimed.add(request);
+            }
+        }
+        if (!claimed.isEmpty()) {
+            commitClaimed(claimed);
+        }
+    }
+
+    private void commitClaimed(List<PendingComment> claimed) {
+        Map<PendingComment, Object> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> insert(claimed));
+        } catch (DataIntegrityViolationException e) {
+            if (claimed.size() > 1) {
+                // 검사와 INSERT 사이에 글/사용자가 지워짐 - 한 건씩 다시 넣어 해당 요청만 실패시킴
+                logger.warn("댓글 group commit 배치 무결성 위반 - 한 건씩 재시도: size={}", claimed.size());
+                claimed.forEach(request -> commitClaimed(List.of(request)));
+                return;
+            }
+            PendingComment request = claimed.get(0);
+            request.result.completeExceptionally(CommentService.missingReference(e, request.postId, request.userId));
+            return;
+        } catch (RuntimeException e) {
+            logger.warn("댓글 group commit 실패: size={}, error={}", claimed.size(), e.getMessage());
+            claimed.forEach(request -> request.result.completeExceptionally(e));
+            return;
+        }
+
+        // 커밋이 끝난 뒤에 응답 - 롤백된 댓글의 id를 돌려주는 일이 없음
+        batchSizes.record(claimed.size());
+        for (PendingComment request : claimed) {
+            Object outcome = outcomes.get(request);
+            if (outcome instanceof Comment comment) {
+                request.result.complete(comment);
+            } else {
+                request.result.completeExceptionally((RuntimeException) outcome);
+            }
+        }
+    }
+
+    // 트랜잭션 안 - 요청별 결과(Comment 또는 예외)를 돌려주고, 커밋 후 처리는 글별로 한 번씩 등록
+    private Map<PendingComment, Object> insert(List<PendingComment> requests) {
+        Map<PendingComment, Object> outcomes = new IdentityHashMap<>();
+
+        // 배치 안의 서로 다른 글/사용자만 확인 - 라이브 이벤트에서는 대개 글 하나, 사용자는 2차 캐시 적중
+        Map<Long, Boolean> postExists = new HashMap<>();
+        Map<Long, Optional<User>> authors = new HashMap<>();
+        List<PendingComment> rows = new ArrayList<>(requests.size());
+        for (PendingComment request : requests) {
+            if (!postExists.computeIfAbsent(request.postId, postRepository::existsById)) {
+                outcomes.put(request, NotFoundException.POST);
+                continue;
+            }
+            if (authors.computeIfAbsent(request.userId, userRepository::findById).isEmpty()) {
+                outcomes.put(request, NotFoundException.USER);
+                continue;
+            }
+            try {
+                // 답글의 부모 확인은 단건 작성과 같은 규칙 (같은 글의 댓글, 최대 깊이)
+                request.parentPath = CommentService.resolveParentPath(commentRepository, request.postId, request.parentId);
+            } catch (RuntimeException e) {
+                outcomes.put(request, e);
+                continue;
+            }
+            rows.add(request);
+        }
+        if (rows.isEmpty()) {
+            return outcomes;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    PendingComment request = rows.get(i);
+                    ps.setLong(1, request.postId);
+                    ps.setLong(2, request.userId);
+                    ps.setObject(3, request.parentId);
+                    ps.setInt(4, request.parentPath != null ? Comment.depthOf(request.parentPath) + 1 : 0);
+                    ps.setString(5, request.content);
+                    ps.setObject(6, now);
+                    ps.setObject(7, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            }, keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() != rows.size()) {
+            throw new IllegalStateException("댓글 group commit 생성 키 수 불일치: rows=" + rows.size() + ", keys=" + generated.size());
+        }
+
+        List<Comment> comments = new ArrayList<>(rows.size());
+        List<Object[]> paths = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            PendingComment request = rows.get(i);
+            Comment comment = new Comment(request.content);
+            comment.setId(((Number) generated.get(i).values().iterator().next()).longValue());
+            comment.setPath(Comment.path(request.parentPath, comment.getId()));
+            comment.setDepth(Comment.depthOf(comment.getPath()));
+            if (request.parentId != null) {
+                comment.setParent(commentRepository.getReferenceById(request.parentId));
+            }
+            comment.setPost(postRepository.getReferenceById(request.postId));
+            comment.setAuthor(authors.get(request.userId).get());
+            comment.setCreatedAt(now);
+            comment.setUpdatedAt(now);
+            comment.setVersion(0L);
+            comments.add(comment);
+            paths.add(new Object[]{comment.getPath(), comment.getId()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_PATH_SQL, paths);
+
+        Map<Long, Integer> perPost = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            PendingComment request = rows.get(i);
+            Comment comment = comments.get(i);
+            outcomes.put(request, comment);
+            perPost.merge(request.postId, 1, Integer::sum);
+            streamHub.commentCreated(request.postId, comment);
+        }
+        perPost.forEach((postId, count) -> {
+            invalidationBus.publish(InvalidationEvent.POST_COMMENTS, postId, null);
+            trendingService.recordComments(postId, count);
+        });
+        logger.debug("댓글 group commit: size={}, posts={}", rows.size(), perPost.size());
+        return outcomes;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "comment-group-commit");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // 새 요청은 요청 스레드에서 바로 넣고, 큐에 남은 것은 전용 스레드가 마저 커밋한 뒤 끝남
+    @Override
+    public void stop() {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            logger.warn("댓글 group commit 종료 대기 시간 초과: queued={}", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private static final class PendingComment {
+
+        private static final int QUEUED = 0;
+        private static final int CLAIMED = 1;
+        private static final int ABANDONED = 2;
+
+        private final Long postId;
+        private final Long userId;
+        private final Long parentId;
+        private final String content;
+        private final CompletableFuture<Comment> result = new CompletableFuture<>();
+        // 전용 스레드의 claim과 마감이 지난 요청 스레드의 abandon 중 하나만 성공
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        // 배치 트랜잭션에서 확인한 부모 댓글 path (최상위 댓글이면 null)
+        private String parentPath;
+
+        private PendingComment(Long postId, Long userId, Long parentId, String content) {
+            this.postId = postId;
+            this.userId = userId;
+            this.parentId = parentId;
+            this.content = content;
+        }
+
+        private boolean claim() {
+            return state.compareAndSet(QUEUED, CLAIMED);
+        }
+
+        private boolean abandon() {
+            return state.compareAndSet(QUEUED, ABANDONED);
+        }
+    }
+}
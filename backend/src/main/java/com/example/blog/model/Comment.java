@@ -1,18 +1,42 @@
 package com.example.blog.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "comments", indexes = {
-    @Index(name = "idx_comment_post_id", columnList = "post_id"),
-    @Index(name = "idx_comment_author_id", columnList = "author_id"),
+    // (post_id, id) - 글별 목록을 id 순으로 정렬 없이 읽고, CascadePurger가 id 구간 단위로 지움
+    @Index(name = "idx_comment_post_id_id", columnList = "post_id, id"),
+    @Index(name = "idx_comment_author_id_id", columnList = "author_id, id"),
+    // (post_id, path) - 글 전체/스레드/하위 트리를 표시 순서대로 범위 스캔 한 번에 읽음
+    @Index(name = "idx_comment_post_id_path", columnList = "post_id, path"),
+    // (post_id, depth, path) - 최상위 댓글(depth 0)만 순서대로 페이지 단위로 읽음
+    @Index(name = "idx_comment_post_id_depth_path", columnList = "post_id, depth, path"),
+    // 부모 삭제 시 DB가 답글을 찾아 지우는 데 사용 (ON DELETE CASCADE)
+    @Index(name = "idx_comment_parent_id", columnList = "parent_id"),
     @Index(name = "idx_comment_created_at", columnList = "created_at")
 })
 public class Comment {
+
+    // FK 이름을 고정해서 댓글 작성 시 위반된 제약으로 없는 대상(글/사용자)을 구분
+    public static final String FK_POST = "fk_comment_post";
+    public static final String FK_AUTHOR = "fk_comment_author";
+    public static final String FK_PARENT = "fk_comment_parent";
+
+    // 정렬 경로(path) - 최상위 댓글부터 자기 자신까지의 id를 고정 폭 10진수로 이어 붙인 문자열
+    // 문자열 순서가 곧 표시 순서(스레드별 깊이 우선, 형제는 작성 순)이고, 어떤 댓글의 하위 트리는
+    // [path, path + ":") 구간 하나 (':'는 '9' 다음 문자) -> 재귀 조회 없이 인덱스 범위 스캔 한 번
+    // id는 INSERT 후에야 알 수 있으므로 path는 같은 트랜잭션에서 INSERT 직후 UPDATE로 채움
+    public static final int PATH_SEGMENT_LENGTH = 12;
+    public static final int MAX_DEPTH = 9;
+    // 최상위 댓글 path를 SQL로 채울 때 사용 (대량 생성/가져오기) - path(null, id)와 같은 값
+    public static final String ROOT_PATH_SQL = "LPAD(CAST(id AS VARCHAR), " + PATH_SEGMENT_LENGTH + ", '0')";
     
     @Id 
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,13 +46,28 @@ public class Comment {
     private String content;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "post_id", nullable = false)
+    @JoinColumn(name = "post_id", nullable = false, foreignKey = @ForeignKey(name = FK_POST))
     private Post post;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "author_id", nullable = false)
+    @JoinColumn(name = "author_id", nullable = false, foreignKey = @ForeignKey(name = FK_AUTHOR))
     private User author;
 
+    // 답글이면 부모 댓글 - 부모가 지워지면 DB가 하위 답글을 함께 지움
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id", updatable = false, foreignKey = @ForeignKey(name = FK_PARENT))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Comment parent;
+
+    // 기본값 0 - 기존 DB(ddl update)에 컬럼을 추가할 때 이미 있는 댓글은 모두 최상위
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private int depth;
+
+    // INSERT 직후 UPDATE comments SET path로 채움 (엔티티 변경 감지 대상 아님)
+    @Column(length = PATH_SEGMENT_LENGTH * (MAX_DEPTH + 1), insertable = false, updatable = false)
+    private String path;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -61,6 +100,32 @@ public class Comment {
     public User getAuthor() { return author; }
     public void setAuthor(User author) { this.author = author; }
 
+    public Comment getParent() { return parent; }
+    public void setParent(Comment parent) { this.parent = parent; }
+
+    // 프록시를 초기화하지 않고 FK 값만 읽음
+    public Long getParentId() { return parent != null ? parent.getId() : null; }
+
+    public int getDepth() { return depth; }
+    public void setDepth(int depth) { this.depth = depth; }
+
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public static String path(String parentPath, long id) {
+        String segment = String.format("%0" + PATH_SEGMENT_LENGTH + "d", id);
+        return parentPath != null ? parentPath + segment : segment;
+    }
+
+    public static int depthOf(String path) {
+        return path.length() / PATH_SEGMENT_LENGTH - 1;
+    }
+
+    // 하위 트리 구간의 끝 (미포함)
+    public static String subtreeEnd(String path) {
+        return path + ":";
+    }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
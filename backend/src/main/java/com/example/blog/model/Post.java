@@ -1,19 +1,28 @@
 package com.example.blog.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Entity
 @Table(name = "posts", indexes = {
-    @Index(name = "idx_post_author_id", columnList = "author_id"),
+    // 작성자별 피드(keyset 페이지네이션) - author_id 조건 + id 역순을 정렬 없이 인덱스 순서로 읽음
+    @Index(name = "idx_post_author_id_id", columnList = "author_id, id DESC"),
     @Index(name = "idx_post_created_at", columnList = "created_at"),
     @Index(name = "idx_post_is_secret", columnList = "is_secret")
 })
+// 삭제 요청된 글은 deleted_at만 기록하고 CascadePurger가 댓글과 함께 나중에 지움 - 그 사이 JPA 조회에서는 제외
+@SQLRestriction("deleted_at IS NULL")
 public class Post {
     @Id 
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,9 +38,20 @@ public class Post {
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
-    @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    // 삭제 전파는 CascadePurger의 집합 단위 DELETE로 처리 - 엔티티 cascade는 댓글을 하나씩 읽어 지우므로 쓰지 않음
+    @OneToMany(mappedBy = "post", fetch = FetchType.LAZY)
     private List<Comment> comments = new ArrayList<>();
 
+    // 태그 - post_tags는 저장용이고 필터와 응답은 TagIndex의 메모리 인덱스에서 처리하므로 조회 경로에서는 읽지 않음
+    // 글 행은 CascadePurger가 SQL로 지우므로 태그 행은 FK의 ON DELETE CASCADE로 함께 지워짐
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "post_tags",
+        joinColumns = @JoinColumn(name = "post_id"),
+        foreignKey = @ForeignKey(name = "fk_post_tag_post"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @Column(name = "tag", nullable = false, length = 30)
+    private Set<String> tags = new LinkedHashSet<>();
+
     // 비밀글 관련 필드 추가
     @Column(name = "is_secret", nullable = false)
     private Boolean isSecret = false;
@@ -49,6 +69,16 @@ public class Post {
 
     @Version
     private Long version;
+
+    // 조회수 - PostViewCounter가 모아서 UPDATE posts SET views = views + ?로만 증가시킴
+    // 엔티티 INSERT/UPDATE에서는 제외해서 게시글 수정이 누적된 조회수를 덮어쓰지 않고, @Version도 올리지 않음
+    @ColumnDefault("0")
+    @Column(name = "views", nullable = false, insertable = false, updatable = false)
+    private Long views = 0L;
+
+    // 삭제 요청 시각 - CascadePurger가 SQL로만 기록 (null이 아니면 정리 대기 중)
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
     
     @Transient
     private Boolean hasAccess = false;
@@ -78,6 +108,9 @@ public class Post {
     public List<Comment> getComments() { return comments; }
     public void setComments(List<Comment> comments) { this.comments = comments; }
 
+    public Set<String> getTags() { return tags; }
+    public void setTags(Set<String> tags) { this.tags = tags; }
+
     public Boolean getIsSecret() { return isSecret; }
     public void setIsSecret(Boolean isSecret) { this.isSecret = isSecret; }
 
@@ -92,6 +125,8 @@ public class Post {
 
     public Long getVersion() { return version; }
     public void setVersion(Long version) { this.version = version; }
+
+    public Long getViews() { return views; }
     
     public Boolean getHasAccess() { 
         return hasAccess; 
@@ -106,6 +141,21 @@ public class Post {
         return Boolean.TRUE.equals(isSecret);
     }
 
+    // 요청별 hasAccess 설정용 얕은 복사본 - SingleFlight로 여러 요청이 공유하는 엔티티는 직접 바꾸지 않음
+    public Post viewCopy() {
+        Post copy = new Post(title, content);
+        copy.id = id;
+        copy.author = author;
+        copy.comments = comments;
+        copy.isSecret = isSecret;
+        copy.secretPassword = secretPassword;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.version = version;
+        copy.views = views;
+        return copy;
+    }
+
     @Override
     public String toString() {
         return "Post{id=" + id + ", title='" + title + "', author=" + 
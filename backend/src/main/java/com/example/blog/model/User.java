@@ -1,7 +1,12 @@
 package com.example.blog.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
@@ -11,6 +16,10 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users") // 리전 설정은 SecondLevelCacheConfig
+@NaturalIdCache(region = "users-by-username")
+@BatchSize(size = 100) // 캐시 미스인 작성자 프록시를 한 번에 묶어서 조회
 @Table(name = "users", 
        indexes = {@Index(name = "idx_user_username", columnList = "username", unique = true)},
        uniqueConstraints = {@UniqueConstraint(columnNames = "username")})
@@ -20,6 +29,7 @@ public class User {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(unique = true, nullable = false, length = 50)
     private String username;
 
@@ -36,10 +46,11 @@ public class User {
     @Column(nullable = false)
     private Boolean enabled = true;
 
-    @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    // 삭제 전파는 CascadePurger의 집합 단위 DELETE로 처리 (엔티티 cascade 없음)
+    @OneToMany(mappedBy = "author", fetch = FetchType.LAZY)
     private List<Post> posts = new ArrayList<>();
 
-    @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "author", fetch = FetchType.LAZY)
     private List<Comment> comments = new ArrayList<>();
 
     @CreationTimestamp
@@ -49,6 +60,10 @@ public class User {
     @Version
     private Long version;
 
+    // 삭제 요청 시각 - CascadePurger가 SQL로만 기록 (enabled도 함께 false가 되어 로그인/인증이 막힘)
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     // 기본 생성자
     public User() {}
 
@@ -0,0 +1,105 @@
+package com.example.blog.profiling;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 요청 스레드가 할당한 바이트를 핸들러 메서드별로 집계 (http.server.requests.allocated, handler 태그)
+// 요청 전후의 getCurrentThreadAllocatedBytes 차이 - 보안 필터 체인과 직렬화까지 포함
+// 비동기 디스패치(StreamingResponseBody 내보내기)의 다른 스레드 할당은 포함되지 않음
+// 컨트롤러까지 가지 못한 요청(401/403/429/503, 없는 경로)은 handler=unmatched
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 4)
+public class AllocationTrackingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AllocationTrackingFilter.class);
+
+    public static final String METRIC_NAME = "http.server.requests.allocated";
+    static final String UNMATCHED = "unmatched";
+
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final double sampleRate;
+    private final ConcurrentMap<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    private final DistributionSummary unmatched;
+
+    public AllocationTrackingFilter(MeterRegistry meterRegistry,
+                                    @Value("${app.allocation-tracking.enabled:true}") boolean enabled,
+                                    @Value("${app.allocation-tracking.sample-rate:1.0}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.threadMXBean = enabled ? allocationBean() : null;
+        this.unmatched = summary(UNMATCHED);
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            if (!bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return bean;
+        }
+        logger.warn("이 JVM은 스레드별 할당량 측정을 지원하지 않아 할당 집계를 끕니다");
+        return null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return threadMXBean == null || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+            summaryFor(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)).record(allocated);
+        }
+    }
+
+    private DistributionSummary summaryFor(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return unmatched;
+        }
+        DistributionSummary summary = summaries.get(handlerMethod.getMethod());
+        if (summary == null) {
+            summary = summaries.computeIfAbsent(handlerMethod.getMethod(),
+                method -> summary(handlerMethod.getBeanType().getSimpleName() + "." + method.getName()));
+        }
+        return summary;
+    }
+
+    private DistributionSummary summary(String handler) {
+        return DistributionSummary.builder(METRIC_NAME)
+            .description("요청 처리 중 요청 스레드가 할당한 바이트")
+            .baseUnit("bytes")
+            .tag("handler", handler)
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.blog.profiling;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// GET /actuator/allocations - 핸들러별 요청당 할당 바이트, 총 할당량이 큰 순서
+// count/total은 시작 후 누적, max/p50/p99는 최근 구간(Micrometer 기본 2분) 기준
+@Component
+@Endpoint(id = "allocations")
+public class AllocationsEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    public AllocationsEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public List<HandlerAllocation> allocations() {
+        List<HandlerAllocation> result = new ArrayList<>();
+        for (DistributionSummary summary : meterRegistry.find(AllocationTrackingFilter.METRIC_NAME).summaries()) {
+            HistogramSnapshot snapshot = summary.takeSnapshot();
+            if (snapshot.count() == 0) {
+                continue;
+            }
+            long p50 = 0;
+            long p99 = 0;
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                if (percentile.percentile() == 0.5) {
+                    p50 = (long) percentile.value();
+                } else if (percentile.percentile() == 0.99) {
+                    p99 = (long) percentile.value();
+                }
+            }
+            result.add(new HandlerAllocation(
+                summary.getId().getTag("handler"),
+                snapshot.count(),
+                (long) snapshot.total(),
+                (long) snapshot.mean(),
+                p50,
+                p99,
+                (long) snapshot.max()));
+        }
+        result.sort(Comparator.comparingLong(HandlerAllocation::totalBytes).reversed());
+        return result;
+    }
+
+    public record HandlerAllocation(
+        String handler,
+        long count,
+        long totalBytes,
+        long meanBytes,
+        long p50Bytes,
+        long p99Bytes,
+        long maxBytes
+    ) {}
+}
@@ -0,0 +1,41 @@
+package com.example.blog.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// CommentService.add 한 번 - commentId가 0이면 예외로 끝남
+@Name("com.example.blog.CommentAdd")
+@Label("Comment Add")
+@Category({"Blog", "Service"})
+@Description("댓글 작성")
+@StackTrace(false)
+public class CommentAddEvent extends Event {
+
+    @Label("Post Id")
+    private long postId;
+
+    @Label("Comment Id")
+    private long commentId;
+
+    public static CommentAddEvent start(Long postId) {
+        CommentAddEvent event = new CommentAddEvent();
+        event.postId = postId != null ? postId : 0L;
+        event.begin();
+        return event;
+    }
+
+    public void setCommentId(Long commentId) {
+        this.commentId = commentId != null ? commentId : 0L;
+    }
+
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
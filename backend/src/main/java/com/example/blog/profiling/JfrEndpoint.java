@@ -0,0 +1,142 @@
+package com.example.blog.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+// 운영 중 Java Flight Recorder 녹화 (/actuator/jfr, ADMIN 전용) - 한 번에 하나, 시간/크기 상한 있음
+//   POST   /actuator/jfr                      녹화 시작 {"durationSeconds":60,"settings":"profile"}
+//   GET    /actuator/jfr                      상태
+//   GET    /actuator/jfr/recording.jfr        녹화를 멈추고 .jfr 파일 내려받기 (JDK Mission Control로 열기)
+//   DELETE /actuator/jfr                      녹화 취소 및 파일 삭제
+// 블로그 이벤트(com.example.blog.*)는 GC/락 이벤트와 같은 타임라인에 기록됨
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrEndpoint.class);
+
+    static final String FILE_NAME = "recording.jfr";
+
+    private final long defaultDurationSeconds;
+    private final long maxDurationSeconds;
+    private final long maxSizeBytes;
+
+    private Recording recording;
+    private String settings;
+    private Path dumpFile;
+
+    public JfrEndpoint(@Value("${app.jfr.default-duration-seconds:60}") long defaultDurationSeconds,
+                       @Value("${app.jfr.max-duration-seconds:600}") long maxDurationSeconds,
+                       @Value("${app.jfr.max-size-mb:200}") long maxSizeMb) {
+        this.defaultDurationSeconds = defaultDurationSeconds;
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    @ReadOperation
+    public synchronized JfrStatus status() {
+        if (recording == null) {
+            return new JfrStatus("NONE", null, null, null, 0);
+        }
+        return new JfrStatus(recording.getState().name(), settings, recording.getStartTime(),
+            recording.getDuration() != null ? recording.getDuration().toSeconds() : null, recording.getSize());
+    }
+
+    // settings: default(상시 사용 가능한 낮은 오버헤드) 또는 profile(더 자세함, 오버헤드 약 2%)
+    @WriteOperation
+    public synchronized JfrStatus start(@Nullable Long durationSeconds, @Nullable String settings) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            // 이미 녹화 중이면 그대로 두고 현재 상태를 돌려줌
+            return status();
+        }
+        discard();
+
+        String configName = "profile".equals(settings) ? "profile" : "default";
+        long seconds = durationSeconds != null ? durationSeconds : defaultDurationSeconds;
+        seconds = Math.max(1, Math.min(maxDurationSeconds, seconds));
+
+        Recording newRecording = new Recording(Configuration.getConfiguration(configName));
+        newRecording.setName("blog-on-demand");
+        newRecording.setDuration(Duration.ofSeconds(seconds));
+        newRecording.setMaxSize(maxSizeBytes);
+        newRecording.setToDisk(true);
+        newRecording.enable(JwtAuthenticationEvent.class);
+        newRecording.enable(PostQueryEvent.class);
+        newRecording.enable(CommentAddEvent.class);
+        newRecording.start();
+
+        this.recording = newRecording;
+        this.settings = configName;
+        logger.info("JFR 녹화 시작: settings={}, duration={}s, maxSize={}MB", configName, seconds, maxSizeBytes / 1024 / 1024);
+        return status();
+    }
+
+    @ReadOperation
+    @Nullable
+    public synchronized Resource download(@Selector String file) throws IOException {
+        if (!FILE_NAME.equals(file) || recording == null) {
+            return null;
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        if (dumpFile == null) {
+            dumpFile = Files.createTempFile("blog-", ".jfr");
+            recording.dump(dumpFile);
+            logger.info("JFR 녹화 저장: {} ({} bytes)", dumpFile, Files.size(dumpFile));
+        }
+        return new FileSystemResource(dumpFile);
+    }
+
+    @DeleteOperation
+    public synchronized JfrStatus cancel() throws IOException {
+        discard();
+        return status();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        discard();
+    }
+
+    private void discard() throws IOException {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            settings = null;
+        }
+        if (dumpFile != null) {
+            Files.deleteIfExists(dumpFile);
+            dumpFile = null;
+        }
+    }
+
+    public record JfrStatus(
+        String state,
+        String settings,
+        Instant startTime,
+        Long durationSeconds,
+        long sizeBytes
+    ) {}
+}
@@ -0,0 +1,59 @@
+package com.example.blog.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JwtAuthenticationFilter 한 번의 처리 (토큰 검증 + 사용자 조회)
+@Name("com.example.blog.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({"Blog", "Security"})
+@Description("JWT 토큰 검증과 사용자 조회")
+@StackTrace(false)
+public class JwtAuthenticationEvent extends Event {
+
+    @Label("Method")
+    private String method;
+
+    @Label("Path")
+    private String path;
+
+    @Label("Token Present")
+    private boolean tokenPresent;
+
+    @Label("Token Valid")
+    private boolean tokenValid;
+
+    @Label("Authenticated")
+    private boolean authenticated;
+
+    public static JwtAuthenticationEvent start(String method, String path) {
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.method = method;
+        event.path = path;
+        event.begin();
+        return event;
+    }
+
+    public void setTokenPresent(boolean tokenPresent) {
+        this.tokenPresent = tokenPresent;
+    }
+
+    public void setTokenValid(boolean tokenValid) {
+        this.tokenValid = tokenValid;
+    }
+
+    public void setAuthenticated(boolean authenticated) {
+        this.authenticated = authenticated;
+    }
+
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
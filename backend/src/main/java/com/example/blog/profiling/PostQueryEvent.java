@@ -0,0 +1,45 @@
+package com.example.blog.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// PostService 목록/검색 한 번 - resultCount가 -1이면 예외로 끝남
+@Name("com.example.blog.PostQuery")
+@Label("Post Query")
+@Category({"Blog", "Service"})
+@Description("게시글 목록 조회/검색")
+@StackTrace(false)
+public class PostQueryEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Keyword")
+    private String keyword;
+
+    @Label("Result Count")
+    private int resultCount = -1;
+
+    public static PostQueryEvent start(String operation, String keyword) {
+        PostQueryEvent event = new PostQueryEvent();
+        event.operation = operation;
+        event.keyword = keyword;
+        event.begin();
+        return event;
+    }
+
+    public void setResultCount(int resultCount) {
+        this.resultCount = resultCount;
+    }
+
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
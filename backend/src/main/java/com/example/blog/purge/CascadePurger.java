@@ -0,0 +1,161 @@
+package com.example.blog.purge;
+
+import com.example.blog.transaction.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+// 게시글/사용자 삭제 전파 - 요청에서는 deleted_at만 기록해서 바로 응답하고, 딸린 행은 백그라운드에서 집합 단위로 지움
+// 엔티티 cascade(댓글을 전부 읽어 한 건씩 DELETE)와 달리 영속성 컨텍스트에 아무것도 올리지 않고,
+// chunk-size개씩 id 구간으로 나눠 트랜잭션마다 커밋하므로 잠금과 undo가 chunk 크기로 제한됨
+// 정리 중 종료되면 다음 기동 시 deleted_at이 남은 행부터 이어서 처리
+@Component
+public class CascadePurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(CascadePurger.class);
+
+    private static final String MARK_POST_SQL =
+        "UPDATE posts SET deleted_at = CURRENT_TIMESTAMP WHERE id = ? AND deleted_at IS NULL";
+    private static final String MARK_USER_SQL =
+        "UPDATE users SET enabled = FALSE, deleted_at = CURRENT_TIMESTAMP WHERE id = ? AND deleted_at IS NULL";
+    private static final String MARK_USER_POSTS_SQL =
+        "UPDATE posts SET deleted_at = CURRENT_TIMESTAMP WHERE author_id = ? AND deleted_at IS NULL";
+
+    // 구간 경계 - chunk-size번째 댓글 id (없으면 남은 댓글이 chunk 이하)
+    private static final String POST_COMMENT_BOUNDARY_SQL =
+        "SELECT id FROM comments WHERE post_id = ? ORDER BY id OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY";
+    private static final String AUTHOR_COMMENT_BOUNDARY_SQL =
+        "SELECT id FROM comments WHERE author_id = ? ORDER BY id OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    public CascadePurger(JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${app.purge.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "cascade-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 아래 mark 메서드는 서비스 트랜잭션 안에서 호출 - 표시는 같은 트랜잭션, 정리는 커밋 후 시작
+
+    public void markPostDeleted(Long postId) {
+        jdbcTemplate.update(MARK_POST_SQL, postId);
+        AfterCommit.run(() -> submit(() -> purgePost(postId)));
+    }
+
+    // 사용자와 그 사용자의 글을 한 번에 숨김 - 다른 글에 단 댓글은 정리될 때까지 남아 있음
+    public void markUserDeleted(Long userId) {
+        jdbcTemplate.update(MARK_USER_SQL, userId);
+        int posts = jdbcTemplate.update(MARK_USER_POSTS_SQL, userId);
+        logger.info("사용자 삭제 표시: userId={}, posts={}", userId, posts);
+        AfterCommit.run(() -> submit(() -> purgeUser(userId)));
+    }
+
+    // 기동 시 지난번에 끝내지 못한 정리를 이어서 처리
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        List<Long> users = jdbcTemplate.queryForList("SELECT id FROM users WHERE deleted_at IS NOT NULL", Long.class);
+        List<Long> posts = jdbcTemplate.queryForList("SELECT id FROM posts WHERE deleted_at IS NOT NULL", Long.class);
+        if (users.isEmpty() && posts.isEmpty()) {
+            return;
+        }
+        logger.info("미완료 삭제 정리 재개: users={}, posts={}", users.size(), posts.size());
+        // 사용자 정리가 그 사용자의 글도 지우므로 글을 먼저 넣어 중복 작업을 줄임
+        posts.forEach(postId -> submit(() -> purgePost(postId)));
+        users.forEach(userId -> submit(() -> purgeUser(userId)));
+    }
+
+    void purgePost(Long postId) {
+        long startedAt = System.currentTimeMillis();
+        long comments = deleteCommentsInChunks("post_id", POST_COMMENT_BOUNDARY_SQL, postId);
+        if (comments < 0) {
+            return;
+        }
+        // 표시 이후 들어온 댓글까지 같은 트랜잭션에서 지우고 글 삭제
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM comments WHERE post_id = ?", postId);
+            jdbcTemplate.update("DELETE FROM posts WHERE id = ? AND deleted_at IS NOT NULL", postId);
+        });
+        logger.info("게시글 삭제 정리 완료: postId={}, comments={}, elapsedMs={}",
+                   postId, comments, System.currentTimeMillis() - startedAt);
+    }
+
+    void purgeUser(Long userId) {
+        long startedAt = System.currentTimeMillis();
+        long comments = deleteCommentsInChunks("author_id", AUTHOR_COMMENT_BOUNDARY_SQL, userId);
+        if (comments < 0) {
+            return;
+        }
+        List<Long> posts = jdbcTemplate.queryForList("SELECT id FROM posts WHERE author_id = ?", Long.class, userId);
+        for (Long postId : posts) {
+            purgePost(postId);
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM comments WHERE author_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ? AND deleted_at IS NOT NULL", userId);
+        });
+        logger.info("사용자 삭제 정리 완료: userId={}, comments={}, posts={}, elapsedMs={}",
+                   userId, comments, posts.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    // id 구간 단위 DELETE - 경계 id까지 지우고 커밋, 남은 댓글이 chunk 이하가 될 때까지 반복
+    // 종료 중이면 -1 (지운 만큼은 커밋되어 있고, 나머지는 다음 기동 시 이어서 처리)
+    private long deleteCommentsInChunks(String column, String boundarySql, Long ownerId) {
+        String deleteSql = "DELETE FROM comments WHERE " + column + " = ? AND id <= ?";
+        long deleted = 0;
+        while (true) {
+            if (Thread.currentThread().isInterrupted()) {
+                return -1;
+            }
+            List<Long> boundary = jdbcTemplate.queryForList(boundarySql, Long.class, ownerId, chunkSize - 1);
+            if (boundary.isEmpty()) {
+                return deleted;
+            }
+            Integer count = transactionTemplate.execute(status -> jdbcTemplate.update(deleteSql, ownerId, boundary.get(0)));
+            deleted += count != null ? count : 0;
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // 표시는 남아 있으므로 다음 기동 시 다시 시도됨
+                    logger.error("삭제 정리 실패 - 다음 기동 시 재시도", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중 - 다음 기동 시 resume에서 처리
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.blog.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 지연 시간 기울기(gradient) 기반 동시 처리 한도
+// 짧은 구간 평균 RTT가 장기 평균보다 커지면(큐가 쌓이기 시작하면) 한도를 줄이고, 비슷하면 조금씩 늘림
+// 5xx/예외 같은 실패가 섞였거나 평균 RTT가 목표 지연을 넘은 구간은 곱셈 감소(AIMD의 MD)로 빠르게 줄임
+// (장기 평균은 이미 포화된 상태에서 학습될 수도 있으므로 목표 지연이 상한 역할을 함)
+// 한도를 넘는 요청은 대기시키지 않고 즉시 거절 → 과부하에서도 처리 중인 요청의 지연이 유지됨
+public class AdaptiveConcurrencyLimiter {
+
+    // 허용 RTT 증가 비율 - 장기 평균의 1.5배까지는 정상 변동으로 봄
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+    // 장기 평균 RTT의 반영 비율 (구간 단위 지수 이동 평균)
+    private static final double LONG_RTT_WEIGHT = 1.0 / 100;
+    private static final int MIN_WINDOW_SAMPLES = 5;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final long targetRttNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private final LongAdder rejected = new LongAdder();
+
+    // 현재 구간 샘플
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAdder windowDrops = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicLong windowStartedAt = new AtomicLong(System.nanoTime());
+    private final AtomicBoolean updating = new AtomicBoolean();
+    // 구간 갱신은 updating을 잡은 스레드 하나만 수행
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      long windowMillis, long targetLatencyMillis) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("한도 설정이 올바르지 않습니다: " + name);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.targetRttNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    // 한도 안이면 true - 반드시 release로 반납해야 함
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    // rttNanos: 요청 처리 시간, dropped: 실패(5xx/예외)로 끝났는지
+    public void release(long rttNanos, boolean dropped) {
+        inFlight.decrementAndGet();
+        if (dropped) {
+            windowDrops.increment();
+        } else {
+            windowRttSum.add(rttNanos);
+            windowSamples.increment();
+        }
+
+        long now = System.nanoTime();
+        if (now - windowStartedAt.get() >= windowNanos && updating.compareAndSet(false, true)) {
+            try {
+                updateLimit(now);
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    private void updateLimit(long now) {
+        long samples = windowSamples.sum();
+        long drops = windowDrops.sum();
+        // 표본이 적으면 구간을 이어감 - 처리량이 아주 낮을 때(BCrypt 등)는 구간 10개 분량이 지나면 있는 표본으로 판단
+        boolean stale = now - windowStartedAt.get() >= windowNanos * 10;
+        if (samples + drops < (stale ? 1 : MIN_WINDOW_SAMPLES)) {
+            return;
+        }
+        double shortRtt = samples > 0 ? (double) windowRttSum.sum() / samples : 0;
+        int maxInFlight = windowMaxInFlight.get();
+        windowRttSum.reset();
+        windowSamples.reset();
+        windowDrops.reset();
+        windowMaxInFlight.set(inFlight.get());
+        windowStartedAt.set(now);
+
+        double current = limit;
+        double next;
+        if (drops > 0) {
+            next = current * DROP_BACKOFF;
+        } else if (shortRtt > targetRttNanos) {
+            // 목표를 넘은 만큼 비례해서 줄임 (최대 절반) - 처리량이 낮아도 몇 구간 안에 수렴
+            next = current * Math.max(0.5, Math.min(DROP_BACKOFF, targetRttNanos / shortRtt));
+        } else {
+            if (longRttNanos == 0) {
+                longRttNanos = shortRtt;
+            } else {
+                longRttNanos = longRttNanos * (1 - LONG_RTT_WEIGHT) + shortRtt * LONG_RTT_WEIGHT;
+                // 부하가 빠진 뒤 장기 평균이 과거 고지연에 묶여 있지 않도록 빠르게 따라 내려감
+                if (longRttNanos > shortRtt * 2) {
+                    longRttNanos *= 0.95;
+                }
+            }
+            // 한도의 절반도 쓰지 않았으면 RTT로 한도를 판단할 근거가 없음
+            if (maxInFlight < current / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / shortRtt));
+            double queueSize = Math.sqrt(current);
+            next = current * (1 - SMOOTHING) + (current * gradient + queueSize) * SMOOTHING;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.blog.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 키별 토큰 버킷 (GCRA 방식) - 버킷 상태가 long 하나(다음 토큰이 생기는 이론 시각)라서 CAS만으로 갱신
+// 키 맵은 stripe로 나눠 stripe마다 최대 키 수를 두고, 가득 차면 유휴 키를 먼저 정리
+// 정리해도 자리가 없으면 그 stripe의 공용 overflow 버킷으로 제한 → 키가 무한히 늘어나도 메모리는 고정
+public class TokenBucketRateLimiter {
+
+    private final String name;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeysPerStripe;
+    private final Map<String, AtomicLong>[] stripes;
+    private final AtomicLong[] overflowBuckets;
+    private final int stripeMask;
+
+    // capacity: 한 번에 허용하는 최대 요청 수, refillPerMinute: 분당 채워지는 토큰 수
+    @SuppressWarnings("unchecked")
+    public TokenBucketRateLimiter(String name, int capacity, int refillPerMinute, int stripeCount, int maxKeys) {
+        if (capacity <= 0 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("capacity와 refillPerMinute는 0보다 커야 합니다: " + name);
+        }
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("stripe 수는 2의 거듭제곱이어야 합니다: " + stripeCount);
+        }
+        this.name = name;
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / stripeCount);
+        this.stripes = new Map[stripeCount];
+        this.overflowBuckets = new AtomicLong[stripeCount];
+        long now = System.nanoTime();
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+            overflowBuckets[i] = new AtomicLong(now);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // 허용되면 0, 거부되면 다음 토큰까지 기다려야 하는 시간(ns)
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong tat = bucketFor(key, now);
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long excess = next - now - burstToleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // 버킷이 가득 찬(이론 시각이 지난) 키는 새로 만든 버킷과 상태가 같으므로 지워도 제한 결과가 달라지지 않음
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            evicted += evictIdle(stripe, now);
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        int index = spread(key.hashCode()) & stripeMask;
+        Map<String, AtomicLong> stripe = stripes[index];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size() >= maxKeysPerStripe) {
+            evictIdle(stripe, now);
+            if (stripe.size() >= maxKeysPerStripe) {
+                return overflowBuckets[index];
+            }
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private static int evictIdle(Map<String, AtomicLong> stripe, long now) {
+        int before = stripe.size();
+        // 지우는 순간 다른 스레드가 같은 버킷을 갱신하면 토큰 하나가 더 허용될 수 있지만, 유휴였던 키라 무해함
+        stripe.entrySet().removeIf(e -> e.getValue().get() - now <= 0);
+        return before - stripe.size();
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
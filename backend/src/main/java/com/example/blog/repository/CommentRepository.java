@@ -1,23 +1,54 @@
 package com.example.blog.repository;
 
+import com.example.blog.dto.ExportComment;
 import com.example.blog.model.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryCustom {
     
     // 기존 메소드 (하위 호환성 유지)
     List<Comment> findByPostId(Long postId);
     
-    // JOIN FETCH를 사용하여 Author 정보도 함께 가져오기 (N+1 문제 해결)
-    @Query("SELECT c FROM Comment c LEFT JOIN FETCH c.author WHERE c.post.id = :postId ORDER BY c.id ASC")
+    // author는 JOIN 대신 User 2차 캐시에서 해석 - 캐시 미스는 User의 @BatchSize로 묶어서 조회 (N+1 방지)
+    // path 순서 = 스레드별 깊이 우선 표시 순서 (idx_comment_post_id_path 범위 스캔, 정렬 없음)
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId ORDER BY c.path ASC")
     List<Comment> findByPostIdWithAuthor(@Param("postId") Long postId);
+
+    // 답글 작성/하위 트리 조회용 - 다른 글의 댓글이면 없음
+    @Query("SELECT c.path FROM Comment c WHERE c.id = :id AND c.post.id = :postId")
+    Optional<String> findPath(@Param("id") Long id, @Param("postId") Long postId);
+
+    // 최상위 댓글(스레드) 페이지 - idx_comment_post_id_depth_path를 after 다음부터 limit개만 읽음
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId AND c.depth = 0 AND c.path > :after ORDER BY c.path ASC")
+    List<Comment> findThreadRoots(@Param("postId") Long postId, @Param("after") String after, Limit limit);
+
+    // 하위 트리 구간 [from, end)를 표시 순서대로 limit개 - idx_comment_post_id_path 범위 스캔 한 번
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId AND c.path >= :from AND c.path < :end ORDER BY c.path ASC")
+    List<Comment> findSubtree(@Param("postId") Long postId, @Param("from") String from,
+                              @Param("end") String end, Limit limit);
     
-    // ID로 댓글 조회 시 Author 정보도 함께 가져오기
-    @Query("SELECT c FROM Comment c LEFT JOIN FETCH c.author WHERE c.id = :id")
+    // ID로 댓글 조회 - author는 User 2차 캐시에서 해석
+    @Query("SELECT c FROM Comment c WHERE c.id = :id")
     Optional<Comment> findByIdWithAuthor(@Param("id") Long id);
+    
+    // 내보내기용 전방향 커서 - DTO 프로젝션, 고정 fetch size
+    // JOIN c.post로 삭제 대기 중인 글(Post의 @SQLRestriction)에 달린 댓글은 제외
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.blog.dto.ExportComment(c.id, c.post.id, parent.id, a.id, a.username, " +
+           "c.content, c.createdAt, c.updatedAt) FROM Comment c JOIN c.author a JOIN c.post p LEFT JOIN c.parent parent " +
+           "ORDER BY c.id ASC")
+    Stream<ExportComment> streamAllForExport();
 }
\ No newline at end of file
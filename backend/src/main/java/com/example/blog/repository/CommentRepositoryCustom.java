@@ -0,0 +1,11 @@
+package com.example.blog.repository;
+
+import com.example.blog.model.Comment;
+
+import java.util.List;
+
+public interface CommentRepositoryCustom {
+
+    // 여러 스레드의 앞쪽 답글을 스레드마다 perThread개씩 - 표시 순서(path)대로, 스레드 순서는 rootPaths 순서
+    List<Comment> findFirstReplies(Long postId, List<String> rootPaths, int perThread);
+}
@@ -0,0 +1,45 @@
+package com.example.blog.repository;
+
+import com.example.blog.model.Comment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.List;
+
+// 스레드마다 (post_id, path) 범위 스캔을 perThread개에서 멈추는 하위 쿼리를 UNION ALL로 묶어 한 번에 실행
+// 답글이 많은 스레드가 있어도 읽는 행은 스레드당 perThread개 - 스레드별로 따로 조회하는 N+1도 없음
+class CommentRepositoryImpl implements CommentRepositoryCustom {
+
+    private static final String BRANCH_SQL =
+        "(SELECT * FROM comments WHERE post_id = ? AND path > ? AND path < ? ORDER BY path FETCH FIRST ? ROWS ONLY)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Comment> findFirstReplies(Long postId, List<String> rootPaths, int perThread) {
+        if (rootPaths.isEmpty() || perThread <= 0) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < rootPaths.size(); i++) {
+            if (i > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append(BRANCH_SQL);
+        }
+        // 루트가 path 순이므로 전체를 path로 정렬하면 스레드 순서도 유지됨 (정렬 대상은 최대 스레드 수 x perThread행)
+        sql.append(" ORDER BY path");
+        Query query = entityManager.createNativeQuery(sql.toString(), Comment.class);
+        int position = 1;
+        for (String rootPath : rootPaths) {
+            query.setParameter(position++, postId);
+            query.setParameter(position++, rootPath);
+            query.setParameter(position++, Comment.subtreeEnd(rootPath));
+            query.setParameter(position++, perThread);
+        }
+        return query.getResultList();
+    }
+}
@@ -1,14 +1,21 @@
 package com.example.blog.repository;
 
+import com.example.blog.dto.ExportPost;
+import com.example.blog.dto.PostSummary;
 import com.example.blog.model.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
     
@@ -18,8 +25,8 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query("SELECT p FROM Post p LEFT JOIN FETCH p.author WHERE p.isSecret = false ORDER BY p.id DESC")
     List<Post> findAllPublicWithAuthor();
     
-    // 전체 조회 (비밀글 포함, Author 정보 포함) - 관리자용
-    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.author ORDER BY p.id DESC")
+    // 전체 조회 (비밀글 포함) - author는 JOIN 대신 User 2차 캐시에서 해석 (PostService에서 초기화)
+    @Query("SELECT p FROM Post p ORDER BY p.id DESC")
     List<Post> findAllWithAuthor();
     
     // 공개 게시글만 페이징 조회
@@ -32,8 +39,8 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     
     // *** 검색 기능 - 공개 게시글만 검색 ***
     
-    // 공개 게시글에서 제목 또는 내용으로 검색
-    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.author " +
+    // 공개 게시글에서 제목 또는 내용으로 검색 - author는 User 2차 캐시에서 해석
+    @Query("SELECT p FROM Post p " +
            "WHERE p.isSecret = false AND (" +
            "LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
            "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
@@ -126,14 +133,46 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query("SELECT p FROM Post p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword% ORDER BY p.id DESC")
     List<Post> findByKeyword(@Param("keyword") String keyword);
     
-    // 특정 작성자의 게시글 조회
-    @Query("SELECT p FROM Post p WHERE p.author.id = :authorId ORDER BY p.id DESC")
-    List<Post> findByAuthorIdOrderByIdDesc(@Param("authorId") Long authorId);
+    // *** 작성자 피드 - keyset 페이지네이션 ***
+
+    // idx_post_author_id_id(author_id, id DESC)를 따라 after 다음부터 limit개만 읽음 - OFFSET/정렬 없음
+    // author_id는 등치 조건이라 결과 순서에 영향이 없지만, ORDER BY에 인덱스 컬럼을 모두 적어야 H2가 정렬을 생략함
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.example.blog.dto.PostSummary(p.id, p.title, p.isSecret, p.createdAt) " +
+           "FROM Post p WHERE p.author.id = :authorId AND p.id < :after ORDER BY p.author.id ASC, p.id DESC")
+    List<PostSummary> findSummariesByAuthorBefore(@Param("authorId") Long authorId, @Param("after") Long after, Limit limit);
+
+    // 사용자 삭제 시 무효화/순위 정리 대상 - 삭제 표시 전에 읽음
+    @Query("SELECT p.id FROM Post p WHERE p.author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
+
+    // 같은 인덱스로 범위만 세는 COUNT - AuthorPostCountCache가 결과를 보관
+    // 파생 쿼리(countByAuthorId)는 users를 LEFT JOIN하므로 FK 컬럼만 보도록 직접 작성
+    @Query("SELECT COUNT(p) FROM Post p WHERE p.author.id = :authorId")
+    long countByAuthorId(@Param("authorId") Long authorId);
     
-    // Join Fetch로 성능 최적화 (작성자 정보 포함)
-    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.author WHERE p.id = :id")
+    // 단건 조회 - author는 User 2차 캐시에서 해석 (PostService에서 초기화)
+    @Query("SELECT p FROM Post p WHERE p.id = :id")
     Optional<Post> findByIdWithAuthor(@Param("id") Long id);
     
+    // 태그 필터 결과 페이지 - id는 TagIndex가 정함, author는 User 2차 캐시에서 해석
+    @Query("SELECT p FROM Post p WHERE p.id IN :ids")
+    List<Post> findAllByIdIn(@Param("ids") List<Long> ids);
+    
+    // *** 내보내기 - 전방향 커서 ***
+    
+    // 엔티티 대신 DTO 프로젝션을 스트리밍하므로 영속성 컨텍스트가 커지지 않음
+    // 태그는 글마다 상관 서브쿼리로 이어 붙임 - 컬렉션 fetch join과 달리 행이 늘지 않아 커서를 그대로 씀
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.blog.dto.ExportPost(p.id, a.id, a.username, p.title, p.content, " +
+           "p.isSecret, p.secretPassword, p.createdAt, p.updatedAt, " +
+           "(SELECT listagg(t, ',') WITHIN GROUP (ORDER BY t) FROM p.tags t)) " +
+           "FROM Post p JOIN p.author a ORDER BY p.id ASC")
+    Stream<ExportPost> streamAllForExport();
+    
     // 작성자 정보와 댓글 수를 함께 조회
     @Query("SELECT p FROM Post p LEFT JOIN FETCH p.author LEFT JOIN FETCH p.comments WHERE p.id = :id")
     Optional<Post> findByIdWithAuthorAndComments(@Param("id") Long id);
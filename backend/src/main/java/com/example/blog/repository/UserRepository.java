@@ -1,8 +1,23 @@
 package com.example.blog.repository;
 
+import com.example.blog.dto.ExportUser;
 import com.example.blog.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    User findByUsername(String username);
+import java.util.stream.Stream;
+
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    // 내보내기용 전방향 커서 - 비밀번호 해시는 조회하지 않음
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.blog.dto.ExportUser(u.id, u.username, u.email, u.role, u.enabled, u.createdAt) " +
+           "FROM User u ORDER BY u.id ASC")
+    Stream<ExportUser> streamAllForExport();
 }
@@ -0,0 +1,9 @@
+package com.example.blog.repository;
+
+import com.example.blog.model.User;
+
+public interface UserRepositoryCustom {
+
+    // username(natural id)으로 조회 - 2차 캐시 적중 시 SQL 없이 반환
+    User findByUsername(String username);
+}
@@ -0,0 +1,23 @@
+package com.example.blog.repository;
+
+import com.example.blog.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+// Spring Data 파생 쿼리(JPQL) 대신 Hibernate natural-id 로더를 사용해 natural-id 캐시와 엔티티 캐시를 거치게 함
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 트랜잭션 밖에서 호출되면 공유 EntityManager가 unwrap 직후 닫히므로 읽기 전용 트랜잭션으로 감쌈
+    @Override
+    @Transactional(readOnly = true)
+    public User findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(User.class)
+            .load(username);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.blog.security;
+
+import com.example.blog.ratelimit.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// 엔드포인트 그룹별 적응형 동시 처리 한도 - 한도를 넘으면 대기 없이 503으로 거절
+//   cheap    : GET /posts, GET /posts/{id}, GET /posts/{id}/comments, GET /posts/trending, GET /users/{id}/posts
+//   expensive: POST /auth/login, POST /auth/register (BCrypt), GET /posts/search (LIKE 전체 스캔)
+// 그 외(쓰기, 관리자 내보내기 등)는 제한하지 않음
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimiter cheapLimiter;
+    private final AdaptiveConcurrencyLimiter expensiveLimiter;
+    private final RouteTrie<AdaptiveConcurrencyLimiter> limiters;
+
+    public ConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${app.concurrency-limit.window-ms:200}") long windowMillis,
+            @Value("${app.concurrency-limit.cheap.initial-limit:100}") int cheapInitial,
+            @Value("${app.concurrency-limit.cheap.min-limit:10}") int cheapMin,
+            @Value("${app.concurrency-limit.cheap.max-limit:400}") int cheapMax,
+            @Value("${app.concurrency-limit.expensive.initial-limit:16}") int expensiveInitial,
+            @Value("${app.concurrency-limit.expensive.min-limit:2}") int expensiveMin,
+            @Value("${app.concurrency-limit.cheap.target-latency-ms:500}") long cheapTarget,
+            @Value("${app.concurrency-limit.expensive.max-limit:64}") int expensiveMax,
+            @Value("${app.concurrency-limit.expensive.target-latency-ms:2000}") long expensiveTarget) {
+        this.enabled = enabled;
+        this.cheapLimiter = new AdaptiveConcurrencyLimiter("cheap", cheapInitial, cheapMin, cheapMax, windowMillis, cheapTarget);
+        this.expensiveLimiter = new AdaptiveConcurrencyLimiter("expensive", expensiveInitial, expensiveMin, expensiveMax, windowMillis, expensiveTarget);
+        this.limiters = RouteTrie.<AdaptiveConcurrencyLimiter>builder()
+            .route("GET", "/posts", cheapLimiter)
+            .route("GET", "/posts/{n}", cheapLimiter)
+            .route("GET", "/posts/{n}/comments", cheapLimiter)
+            .route("GET", "/posts/trending", cheapLimiter)
+            .route("GET", "/users/{n}/posts", cheapLimiter)
+            .route("GET", "/posts/search", expensiveLimiter)
+            .route("POST", "/auth/login", expensiveLimiter)
+            .route("POST", "/auth/register", expensiveLimiter)
+            .build();
+        registerMetrics(meterRegistry, cheapLimiter);
+        registerMetrics(meterRegistry, expensiveLimiter);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || limiters.match(request.getMethod(), RouteTable.pathWithinApplication(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = limiters.match(request.getMethod(), RouteTable.pathWithinApplication(request));
+        if (!limiter.tryAcquire()) {
+            logger.debug("동시 처리 한도 초과로 거절: group={}, limit={}, {} {}",
+                        limiter.getName(), limiter.getLimit(), request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("{\"code\":\"SERVICE_UNAVAILABLE\",\"message\":\"서버가 혼잡합니다. 잠시 후 다시 시도해주세요\"}");
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            limiter.release(System.nanoTime() - startedAt, dropped);
+        }
+    }
+
+    private static void registerMetrics(MeterRegistry registry, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("http.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .tag("group", limiter.getName()).register(registry);
+        Gauge.builder("http.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .tag("group", limiter.getName()).register(registry);
+        FunctionCounter.builder("http.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+            .tag("group", limiter.getName()).register(registry);
+    }
+}
@@ -2,6 +2,8 @@ package com.example.blog.security;
 
 import com.example.blog.model.User;
 import com.example.blog.repository.UserRepository;
+import com.example.blog.timing.Phase;
+import com.example.blog.timing.ServerTiming;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -18,11 +20,16 @@ public class CustomUserDetailsService implements UserDetailsService {
 
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		User user = userRepository.findByUsername(username);
-		if (user == null) {
-			throw new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username);
-		}
+		long start = ServerTiming.start(Phase.USER);
+		try {
+			User user = userRepository.findByUsername(username);
+			if (user == null) {
+				throw new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username);
+			}
 
-		return new CustomUserDetails(user);
+			return new CustomUserDetails(user);
+		} finally {
+			ServerTiming.stop(Phase.USER, start);
+		}
 	}
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.example.blog.security;
 
+import com.example.blog.profiling.JwtAuthenticationEvent;
+import com.example.blog.timing.Phase;
+import com.example.blog.timing.ServerTiming;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,10 +27,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final RouteTable routeTable;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService,
+                                   RouteTable routeTable) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
+        this.routeTable = routeTable;
     }
 
     @Override
@@ -38,15 +44,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String requestPath = request.getRequestURI();
         String method = request.getMethod();
         String authHeader = request.getHeader("Authorization");
+        JwtAuthenticationEvent event = JwtAuthenticationEvent.start(method, requestPath);
 
         try {
-            String token = tokenProvider.resolveToken(authHeader);
+            String token;
+            boolean valid;
+            String username;
+            long jwtStart = ServerTiming.start(Phase.JWT);
+            try {
+                token = tokenProvider.resolveToken(authHeader);
+                valid = token != null && tokenProvider.validateToken(token);
+                username = valid ? tokenProvider.getUsername(token) : null;
+            } finally {
+                ServerTiming.stop(Phase.JWT, jwtStart);
+            }
+            event.setTokenPresent(token != null);
+            event.setTokenValid(valid);
 
             if (token != null) {
                 logger.debug("JWT 토큰 발견: {} {}", method, requestPath);
                 
-                if (tokenProvider.validateToken(token)) {
-                    String username = tokenProvider.getUsername(token);
+                if (valid) {
                     logger.debug("JWT 토큰 검증 성공. 사용자: {}", username);
 
                     if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -59,6 +77,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                         userDetails, null, userDetails.getAuthorities());
                                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                                event.setAuthenticated(true);
                                 
                                 logger.debug("사용자 인증 설정 완료: {}", username);
                             }
@@ -69,6 +88,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             // 401 응답 설정
                             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                             response.getWriter().write("{\"error\":\"Authentication failed\"}");
+                            event.finish();
                             return;
                         }
                     }
@@ -83,41 +103,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.error("JWT 토큰 처리 중 예외 발생: {} {} - {}", method, requestPath, e.getMessage());
             SecurityContextHolder.clearContext();
         }
+        event.finish();
 
         filterChain.doFilter(request, response);
     }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-        
-        // 인증이 필요없는 경로들
-        boolean shouldSkip = isPublicPath(path, method);
+        // 인증이 필요없는 경로들 - RouteTable 참고
+        boolean shouldSkip = routeTable.classify(request) == RouteAccess.PUBLIC;
         
         if (shouldSkip) {
-            logger.debug("JWT 필터 건너뜀: {} {}", method, path);
+            logger.debug("JWT 필터 건너뜀: {} {}", request.getMethod(), request.getRequestURI());
         }
         
         return shouldSkip;
     }
-
-    private boolean isPublicPath(String path, String method) {
-        // 완전히 공개된 경로
-        if (path.equals("/auth/login") || path.equals("/auth/register") || 
-            path.startsWith("/h2-console") || path.equals("/error") ||
-            path.equals("/favicon.ico") || path.startsWith("/static/") ||
-            path.startsWith("/public/") || path.startsWith("/actuator/")) {
-            return true;
-        }
-
-        // GET 요청만 허용되는 경로
-        if ("GET".equals(method)) {
-            return path.equals("/posts") || 
-                   path.matches("/posts/\\d+") || 
-                   path.matches("/posts/\\d+/comments");
-        }
-
-        return false;
-    }
-}
\ No newline at end of file
+}
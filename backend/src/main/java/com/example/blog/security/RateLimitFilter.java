@@ -0,0 +1,248 @@
+package com.example.blog.security;
+
+import com.example.blog.ratelimit.TokenBucketRateLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 로그인과 비밀글 비밀번호 확인 요청 제한 - BCrypt(cost 12) 해싱과 DB 조회 전에 차단
+// 로그인: 클라이언트 IP + username, 비밀번호 확인: 클라이언트 IP + 게시글 ID
+// JwtAuthenticationFilter보다 앞에서 실행 (SecurityConfig)
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final Pattern VERIFY_PASSWORD_PATH = Pattern.compile("^/posts/(\\d+)/verify-password$");
+    // 로그인 요청 본문은 작으므로 이보다 크면 413으로 거절 (username 제한을 피해 갈 수 없도록)
+    private static final int MAX_LOGIN_BODY_BYTES = 4096;
+
+    private final boolean enabled;
+    private final boolean trustForwardedFor;
+    private final ObjectMapper objectMapper;
+    private final TokenBucketRateLimiter loginByIp;
+    private final TokenBucketRateLimiter loginByUsername;
+    private final TokenBucketRateLimiter verifyByIp;
+    private final TokenBucketRateLimiter verifyByPost;
+
+    public RateLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor,
+            @Value("${app.rate-limit.stripes:16}") int stripes,
+            @Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${app.rate-limit.login.ip.capacity:20}") int loginIpCapacity,
+            @Value("${app.rate-limit.login.ip.per-minute:20}") int loginIpPerMinute,
+            @Value("${app.rate-limit.login.username.capacity:5}") int loginUserCapacity,
+            @Value("${app.rate-limit.login.username.per-minute:5}") int loginUserPerMinute,
+            @Value("${app.rate-limit.verify-password.ip.capacity:20}") int verifyIpCapacity,
+            @Value("${app.rate-limit.verify-password.ip.per-minute:20}") int verifyIpPerMinute,
+            @Value("${app.rate-limit.verify-password.post.capacity:10}") int verifyPostCapacity,
+            @Value("${app.rate-limit.verify-password.post.per-minute:10}") int verifyPostPerMinute) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.trustForwardedFor = trustForwardedFor;
+        this.loginByIp = new TokenBucketRateLimiter("login-ip", loginIpCapacity, loginIpPerMinute, stripes, maxKeys);
+        this.loginByUsername = new TokenBucketRateLimiter("login-username", loginUserCapacity, loginUserPerMinute, stripes, maxKeys);
+        this.verifyByIp = new TokenBucketRateLimiter("verify-ip", verifyIpCapacity, verifyIpPerMinute, stripes, maxKeys);
+        this.verifyByPost = new TokenBucketRateLimiter("verify-post", verifyPostCapacity, verifyPostPerMinute, stripes, maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        // 디코딩한 애플리케이션 내 경로로 판단 - 원본 URI로 보면 /auth/%6cogin 같은 경로가 제한 없이 로그인 핸들러에 도달
+        String path = RouteTable.pathWithinApplication(request);
+
+        if (path.equals("/auth/login")) {
+            String ip = clientIp(request);
+            if (reject(response, loginByIp, ip)) {
+                return;
+            }
+            CachedBodyRequest cached = CachedBodyRequest.wrap(request, MAX_LOGIN_BODY_BYTES);
+            if (cached == null) {
+                rejectTooLarge(response, ip);
+                return;
+            }
+            String username = extractUsername(cached.body);
+            if (username != null && reject(response, loginByUsername, username)) {
+                return;
+            }
+            filterChain.doFilter(cached, response);
+            return;
+        } else {
+            Matcher matcher = VERIFY_PASSWORD_PATH.matcher(path);
+            if (matcher.matches()) {
+                if (reject(response, verifyByIp, clientIp(request))) {
+                    return;
+                }
+                // 01, 001처럼 표기만 다른 id도 Spring은 같은 글로 바인딩하므로 숫자 값으로 버킷을 나눔
+                // long 범위를 넘으면 바인딩이 400으로 끝나 비밀번호 확인까지 가지 않음
+                String postKey = postKey(matcher.group(1));
+                if (postKey != null && reject(response, verifyByPost, postKey)) {
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // 유휴 키 정리 - 가득 찬 버킷만 지우므로 제한 결과에는 영향 없음
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleKeys() {
+        for (TokenBucketRateLimiter limiter : new TokenBucketRateLimiter[]{loginByIp, loginByUsername, verifyByIp, verifyByPost}) {
+            int evicted = limiter.evictIdle();
+            if (evicted > 0) {
+                logger.debug("요청 제한 유휴 키 정리: limiter={}, evicted={}, remaining={}", limiter.getName(), evicted, limiter.size());
+            }
+        }
+    }
+
+    private static String postKey(String digits) {
+        try {
+            return Long.toString(Long.parseLong(digits));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private boolean reject(HttpServletResponse response, TokenBucketRateLimiter limiter, String key) throws IOException {
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos == 0) {
+            return false;
+        }
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        logger.warn("요청 제한 초과: limiter={}, key={}, retryAfter={}s", limiter.getName(), key, retryAfterSeconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"code\":\"TOO_MANY_REQUESTS\",\"message\":\"요청이 너무 많습니다. "
+            + retryAfterSeconds + "초 후에 다시 시도해주세요\"}");
+        return true;
+    }
+
+    private void rejectTooLarge(HttpServletResponse response, String ip) throws IOException {
+        logger.warn("로그인 요청 본문 크기 초과: ip={}, max={}bytes", ip, MAX_LOGIN_BODY_BYTES);
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"code\":\"PAYLOAD_TOO_LARGE\",\"message\":\"요청 본문이 너무 큽니다\"}");
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                return forwarded.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    // 본문이 JSON이 아니면 null - 형식 오류는 컨트롤러에서 400으로 처리됨
+    private String extractUsername(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            if (username == null || !username.isTextual() || username.asText().isBlank()) {
+                return null;
+            }
+            return username.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // 필터에서 읽은 요청 본문을 컨트롤러가 다시 읽을 수 있도록 보관
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        // 본문이 maxBytes보다 크면 null
+        // Content-Length는 믿지 않고 스트림에서 maxBytes + 1바이트까지만 읽음 (chunked 전송도 같은 한도)
+        static CachedBodyRequest wrap(HttpServletRequest request, int maxBytes) throws IOException {
+            if (request.getContentLengthLong() > maxBytes) {
+                return null;
+            }
+            byte[] body = request.getInputStream().readNBytes(maxBytes + 1);
+            if (body.length > maxBytes) {
+                return null;
+            }
+            return new CachedBodyRequest(request, body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
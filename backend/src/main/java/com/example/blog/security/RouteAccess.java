@@ -0,0 +1,11 @@
+package com.example.blog.security;
+
+// 경로별 접근 규칙 - RouteTable 참고
+public enum RouteAccess {
+    // 인증 불필요, JWT 필터도 건너뜀
+    PUBLIC,
+    // 인증 불필요, 토큰이 있으면 사용자 정보를 채움
+    OPTIONAL,
+    AUTHENTICATED,
+    ADMIN
+}
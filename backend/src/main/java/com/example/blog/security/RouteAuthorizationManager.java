@@ -0,0 +1,61 @@
+package com.example.blog.security;
+
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+// RouteTable 분류 결과로 인가 결정
+@Component
+public class RouteAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final RouteTable routeTable;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    public RouteAuthorizationManager(RouteTable routeTable) {
+        this.routeTable = routeTable;
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return decide(authentication, context);
+    }
+
+    // 6.5에서도 추상 메서드라 구현은 남겨 둠 - 프레임워크는 authorize만 호출
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return decide(authentication, context);
+    }
+
+    private AuthorizationDecision decide(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return switch (routeTable.classify(context.getRequest())) {
+            case PUBLIC, OPTIONAL -> GRANTED;
+            case AUTHENTICATED -> isAuthenticated(authentication.get()) ? GRANTED : DENIED;
+            case ADMIN -> isAuthenticated(authentication.get()) && hasAdminRole(authentication.get()) ? GRANTED : DENIED;
+        };
+    }
+
+    private boolean isAuthenticated(Authentication authentication) {
+        return authentication != null && !trustResolver.isAnonymous(authentication) && authentication.isAuthenticated();
+    }
+
+    private static boolean hasAdminRole(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if ("ROLE_ADMIN".equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
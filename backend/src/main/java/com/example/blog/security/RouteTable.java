@@ -0,0 +1,79 @@
+package com.example.blog.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UrlPathHelper;
+
+// 모든 경로의 접근 규칙을 한 곳에 선언 - JwtAuthenticationFilter(건너뛸 경로)와 SecurityConfig(인가)가 함께 사용
+// 시작 시 한 번 RouteTrie로 컴파일하고, 요청마다 할당 없이 분류
+@Component
+public class RouteTable {
+
+    private final RouteTrie<RouteAccess> routes = RouteTrie.<RouteAccess>builder()
+        // 인증
+        .route(null, "/auth/login", RouteAccess.PUBLIC)
+        .route(null, "/auth/register", RouteAccess.PUBLIC)
+
+        // 읽기 전용 공개 경로
+        .route("GET", "/posts", RouteAccess.PUBLIC)
+        .route("GET", "/posts/{n}", RouteAccess.PUBLIC)
+        .route("GET", "/posts/{n}/comments", RouteAccess.PUBLIC)
+        .route("GET", "/posts/{n}/comments/stream", RouteAccess.PUBLIC)
+        .route("GET", "/posts/{n}/comments/threads", RouteAccess.PUBLIC)
+        .route("GET", "/posts/{n}/comments/{n}/thread", RouteAccess.PUBLIC)
+        // 검색 등 - 비로그인 허용, 토큰이 있으면 사용자 정보 사용
+        .route("GET", "/posts/*", RouteAccess.OPTIONAL)
+        // 작성자 피드 - 본인이면 비밀글 제목을 보여주므로 토큰이 있으면 사용
+        .route("GET", "/users/{n}/posts", RouteAccess.OPTIONAL)
+
+        // CORS preflight
+        .route("OPTIONS", "/**", RouteAccess.PUBLIC)
+
+        // 관리자 / 모니터링
+        .route(null, "/admin/**", RouteAccess.ADMIN)
+        .route(null, "/actuator/health", RouteAccess.PUBLIC)
+        .route(null, "/actuator/**", RouteAccess.ADMIN)
+
+        // 기타 공개 경로
+        .route(null, "/h2-console/**", RouteAccess.PUBLIC)
+        .route(null, "/error", RouteAccess.PUBLIC)
+        .route(null, "/favicon.ico", RouteAccess.PUBLIC)
+        .route(null, "/static/**", RouteAccess.PUBLIC)
+        .route(null, "/public/**", RouteAccess.PUBLIC)
+        .route(null, "/uploads/**", RouteAccess.PUBLIC)
+        .build();
+
+    // 선언되지 않은 경로는 인증 필요
+    public RouteAccess classify(String method, String path) {
+        RouteAccess access = routes.match(method, path);
+        return access != null ? access : RouteAccess.AUTHENTICATED;
+    }
+
+    public RouteAccess classify(HttpServletRequest request) {
+        return classify(request.getMethod(), pathWithinApplication(request));
+    }
+
+    // Spring MVC가 핸들러를 고르는 것과 같은 경로(디코딩, ;파라미터 제거, // 정리, context path 제외)로 분류해야 함
+    // 원본 URI로 분류하면 /%61dmin/users 같은 경로가 ADMIN 규칙을 비껴가면서 /admin/users 핸들러에 도달
+    // 대부분의 요청은 %, ;, //가 없어 원본 그대로가 그 경로와 같으므로 할당 없이 처리하고, 나머지만 UrlPathHelper로 정규화
+    public static String pathWithinApplication(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (isCanonical(uri) && uri.startsWith(contextPath)) {
+            return contextPath.isEmpty() ? uri : uri.substring(contextPath.length());
+        }
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+
+    private static boolean isCanonical(String uri) {
+        char previous = 0;
+        for (int i = 0; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if (c == '%' || c == ';' || (c == '/' && previous == '/')) {
+                return false;
+            }
+            previous = c;
+        }
+        return true;
+    }
+}
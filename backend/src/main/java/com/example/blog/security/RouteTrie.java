@@ -0,0 +1,193 @@
+package com.example.blog.security;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// (method, path) → 값 매핑을 경로 세그먼트 트라이로 컴파일한 것
+// 패턴 문법: 리터럴 세그먼트, {n}(숫자만), *(세그먼트 하나), **(나머지 전부 - 마지막에만)
+// 우선순위: 메서드를 지정한 경로가 메서드 무관(ANY) 경로보다 먼저, 같은 종류 안에서는 리터럴 > {n} > * > **
+// 조회는 경로 길이에 비례하고 문자열을 잘라내지 않으므로 할당이 없음
+public final class RouteTrie<T> {
+
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS", "HEAD"};
+    private static final int ANY = METHODS.length;
+
+    private final Node<T> root;
+
+    private RouteTrie(Node<T> root) {
+        this.root = root;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    // 일치하는 경로가 없으면 null
+    public T match(String method, String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return null;
+        }
+        int slot = slotOf(method);
+        if (slot != ANY) {
+            T value = match(root, path, 0, slot);
+            if (value != null) {
+                return value;
+            }
+        }
+        return match(root, path, 0, ANY);
+    }
+
+    // pos는 '/' 위치 또는 경로 끝
+    private static <T> T match(Node<T> node, String path, int pos, int slot) {
+        int length = path.length();
+        if (pos >= length) {
+            T value = node.values[slot];
+            if (value != null) {
+                return value;
+            }
+            return node.tail != null ? node.tail.values[slot] : null;
+        }
+
+        int start = pos + 1;
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+        int segmentLength = end - start;
+
+        for (Node<T> child : node.literals) {
+            if (child.literal.length() == segmentLength && path.regionMatches(start, child.literal, 0, segmentLength)) {
+                T value = match(child, path, end, slot);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        if (node.numeric != null && isDigits(path, start, end)) {
+            T value = match(node.numeric, path, end, slot);
+            if (value != null) {
+                return value;
+            }
+        }
+        if (node.wildcard != null && segmentLength > 0) {
+            T value = match(node.wildcard, path, end, slot);
+            if (value != null) {
+                return value;
+            }
+        }
+        return node.tail != null ? node.tail.values[slot] : null;
+    }
+
+    private static boolean isDigits(String path, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // String switch는 캐시된 hashCode를 쓰므로 할당 없음
+    private static int slotOf(String method) {
+        if (method == null) {
+            return ANY;
+        }
+        return switch (method) {
+            case "GET" -> 0;
+            case "POST" -> 1;
+            case "PUT" -> 2;
+            case "DELETE" -> 3;
+            case "PATCH" -> 4;
+            case "OPTIONS" -> 5;
+            case "HEAD" -> 6;
+            default -> ANY;
+        };
+    }
+
+    private static final class Node<T> {
+        private final String literal;
+        @SuppressWarnings("unchecked")
+        private final T[] values = (T[]) new Object[METHODS.length + 1];
+        @SuppressWarnings("unchecked")
+        private Node<T>[] literals = new Node[0];
+        private Node<T> numeric;
+        private Node<T> wildcard;
+        private Node<T> tail;
+
+        private Node(String literal) {
+            this.literal = literal;
+        }
+
+        private Node<T> literalChild(String segment) {
+            for (Node<T> child : literals) {
+                if (child.literal.equals(segment)) {
+                    return child;
+                }
+            }
+            Node<T> child = new Node<>(segment);
+            List<Node<T>> grown = new ArrayList<>(List.of(literals));
+            grown.add(child);
+            @SuppressWarnings("unchecked")
+            Node<T>[] array = grown.toArray(new Node[0]);
+            literals = array;
+            return child;
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final Node<T> root = new Node<>("");
+
+        // method가 null이면 모든 메서드
+        public Builder<T> route(String method, String pattern, T value) {
+            if (pattern == null || !pattern.startsWith("/")) {
+                throw new IllegalArgumentException("경로 패턴은 '/'로 시작해야 합니다: " + pattern);
+            }
+            int slot = slotOf(method);
+            if (method != null && slot == ANY) {
+                throw new IllegalArgumentException("지원하지 않는 메서드입니다: " + method);
+            }
+
+            Node<T> node = root;
+            String[] segments = pattern.equals("/") ? new String[]{""} : pattern.substring(1).split("/", -1);
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.equals("**")) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("**는 패턴의 마지막에만 올 수 있습니다: " + pattern);
+                    }
+                    if (node.tail == null) {
+                        node.tail = new Node<>("**");
+                    }
+                    node = node.tail;
+                } else if (segment.equals("{n}")) {
+                    if (node.numeric == null) {
+                        node.numeric = new Node<>("{n}");
+                    }
+                    node = node.numeric;
+                } else if (segment.equals("*")) {
+                    if (node.wildcard == null) {
+                        node.wildcard = new Node<>("*");
+                    }
+                    node = node.wildcard;
+                } else {
+                    node = node.literalChild(segment);
+                }
+            }
+
+            if (node.values[slot] != null) {
+                throw new IllegalArgumentException("중복된 경로입니다: " + (method != null ? method + " " : "") + pattern);
+            }
+            node.values[slot] = value;
+            return this;
+        }
+
+        public RouteTrie<T> build() {
+            return new RouteTrie<>(root);
+        }
+    }
+}
@@ -1,85 +1,174 @@
 // CommentService.java
 package com.example.blog.service;
 
+import com.example.blog.cache.CacheInvalidationBus;
+import com.example.blog.cache.InvalidationEvent;
+import com.example.blog.cache.SingleFlight;
+import com.example.blog.deadline.DeadlineExceededException;
+import com.example.blog.exception.DomainException;
+import com.example.blog.exception.ForbiddenException;
+import com.example.blog.exception.NotFoundException;
+import com.example.blog.exception.ValidationException;
+import com.example.blog.groupcommit.CommentGroupCommitter;
 import com.example.blog.model.Comment;
-import com.example.blog.model.Post;
-import com.example.blog.model.User;
+import com.example.blog.profiling.CommentAddEvent;
 import com.example.blog.repository.CommentRepository;
 import com.example.blog.repository.PostRepository;
 import com.example.blog.repository.UserRepository;
+import com.example.blog.stream.CommentStreamHub;
+import com.example.blog.trending.TrendingService;
 
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Service
 @Transactional
 public class CommentService {
     
     private static final Logger logger = LoggerFactory.getLogger(CommentService.class);
+
+    private static final String UPDATE_PATH_SQL = "UPDATE comments SET path = ? WHERE id = ?";
+
+    // 최상위 댓글과 그 스레드의 앞쪽 답글 (표시 순서)
+    public record CommentThread(Comment comment, List<Comment> replies) {}
     
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final TrendingService trendingService;
+    private final CommentStreamHub streamHub;
+    private final SingleFlight singleFlight;
+    private final CommentGroupCommitter groupCommitter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readOnlyTransaction;
 
-    public CommentService(CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository) {
+    public CommentService(CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository,
+                          CacheInvalidationBus invalidationBus, TrendingService trendingService, CommentStreamHub streamHub,
+                          SingleFlight singleFlight, CommentGroupCommitter groupCommitter, JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+        this.trendingService = trendingService;
+        this.streamHub = streamHub;
+        this.singleFlight = singleFlight;
+        this.groupCommitter = groupCommitter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
+    // 댓글 스트림 구독 전 게시글 존재 확인 - 없는 글에 연결을 열어 두지 않음
     @Transactional(readOnly = true)
+    public void requirePost(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            throw NotFoundException.POST;
+        }
+    }
+
+    // 같은 글의 댓글 목록을 동시에 읽는 요청은 DB 조회 하나를 공유(SingleFlight) - 반환 목록은 변경 불가
+    // 트랜잭션은 실제로 읽는 요청만 열도록 이 메서드 자체는 트랜잭션 밖에서 실행
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Comment> listByPost(Long postId) {
         if (postId == null) {
             logger.warn("null postId로 댓글 목록 조회 시도");
-            throw new IllegalArgumentException("게시글 ID는 필수입니다");
+            throw new ValidationException("게시글 ID는 필수입니다");
         }
         
         try {
-            // JOIN FETCH를 사용하여 Author 정보도 함께 가져오기
-            List<Comment> comments = commentRepository.findByPostIdWithAuthor(postId);
-            logger.debug("댓글 목록 조회 완료: postId={}, count={}", postId, comments.size());
-            return comments;
+            return singleFlight.load(InvalidationEvent.POST_COMMENTS, postId, () -> readOnlyTransaction.execute(status -> {
+                // author는 User 2차 캐시에서 초기화 (캐시 미스는 @BatchSize로 묶어서 조회)
+                List<Comment> comments = commentRepository.findByPostIdWithAuthor(postId);
+                comments.forEach(c -> Hibernate.initialize(c.getAuthor()));
+                logger.debug("댓글 목록 조회 완료: postId={}, count={}", postId, comments.size());
+                return List.copyOf(comments);
+            }));
+        } catch (DomainException | DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("댓글 목록 조회 중 오류: postId={}", postId, e);
             throw new RuntimeException("댓글 목록을 불러오는 중 오류가 발생했습니다");
         }
     }
 
-    public Comment add(Long postId, Long userId, String content) {
+    // 최상위 댓글(스레드) 페이지 - 스레드마다 앞쪽 답글을 replies + 1개까지 함께 반환 (넘치면 답글이 더 있음)
+    // 쿼리 수는 스레드 수와 무관하게 두 번 (루트 페이지 + 답글 UNION ALL)
+    @Transactional(readOnly = true)
+    public List<CommentThread> listThreads(Long postId, Long after, int limit, int replies) {
+        List<Comment> roots = commentRepository.findThreadRoots(postId, after != null ? Comment.path(null, after) : "",
+            Limit.of(limit + 1));
+        Map<String, CommentThread> threads = new LinkedHashMap<>();
+        for (Comment root : roots) {
+            Hibernate.initialize(root.getAuthor());
+            threads.put(root.getPath(), new CommentThread(root, new ArrayList<>()));
+        }
+        // 다음 페이지 확인용으로 더 읽은 루트의 답글은 필요 없음
+        List<String> rootPaths = roots.stream().limit(limit).map(Comment::getPath).toList();
+        for (Comment reply : commentRepository.findFirstReplies(postId, rootPaths, replies + 1)) {
+            Hibernate.initialize(reply.getAuthor());
+            threads.get(reply.getPath().substring(0, Comment.PATH_SEGMENT_LENGTH)).replies().add(reply);
+        }
+        logger.debug("댓글 스레드 조회: postId={}, after={}, threads={}", postId, after, threads.size());
+        return List.copyOf(threads.values());
+    }
+
+    // 댓글 하나와 그 아래 답글 전체를 표시 순서대로 limit + 1개까지 - after는 이전 페이지의 마지막 댓글
+    @Transactional(readOnly = true)
+    public List<Comment> listSubtree(Long postId, Long commentId, Long after, int limit) {
+        String rootPath = commentRepository.findPath(commentId, postId)
+            .orElseThrow(() -> NotFoundException.COMMENT);
+        String from = rootPath;
+        if (after != null) {
+            String afterPath = commentRepository.findPath(after, postId)
+                .filter(path -> path.startsWith(rootPath))
+                .orElseThrow(() -> new ValidationException("after는 같은 스레드의 댓글이어야 합니다"));
+            // 숫자로만 된 path에서 afterPath보다 큰 가장 작은 값 = 첫 자식 자리('0')를 붙인 값
+            from = afterPath + "0";
+        }
+        List<Comment> comments = commentRepository.findSubtree(postId, from, Comment.subtreeEnd(rootPath), Limit.of(limit + 1));
+        comments.forEach(c -> Hibernate.initialize(c.getAuthor()));
+        return comments;
+    }
+
+    // group commit 모드에서는 요청이 큐에서 기다리는 동안 커넥션을 잡지 않도록 이 메서드 자체는 트랜잭션 밖에서 실행
+    // parentId가 있으면 같은 글의 그 댓글에 다는 답글
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Comment add(Long postId, Long userId, Long parentId, String content) {
         // 입력값 검증
         if (postId == null) {
-            throw new IllegalArgumentException("게시글 ID는 필수입니다");
+            throw new ValidationException("게시글 ID는 필수입니다");
         }
         if (userId == null) {
-            throw new IllegalArgumentException("사용자 ID는 필수입니다");
-        }
-        if (content == null || content.trim().isEmpty()) {
-            throw new IllegalArgumentException("댓글 내용은 필수입니다");
+            throw new ValidationException("사용자 ID는 필수입니다");
         }
+        validateContent(content);
         
+        CommentAddEvent event = CommentAddEvent.start(postId);
         try {
-            Post post = postRepository.findById(postId)
-                .orElseThrow(() -> {
-                    logger.warn("존재하지 않는 게시글에 댓글 작성 시도: postId={}", postId);
-                    return new RuntimeException("게시글을 찾을 수 없습니다");
-                });
-            
-            User author = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    logger.warn("존재하지 않는 사용자의 댓글 작성 시도: userId={}", userId);
-                    return new RuntimeException("사용자를 찾을 수 없습니다");
-                });
-            
-            Comment comment = new Comment();
-            comment.setContent(content.trim());
-            comment.setPost(post);
-            comment.setAuthor(author);
-            
-            Comment savedComment = commentRepository.save(comment);
+            Comment savedComment = groupCommitter.isEnabled()
+                ? groupCommitter.add(postId, userId, parentId, content.trim())
+                : writeTransaction.execute(status -> insert(postId, userId, parentId, content.trim()));
+            event.setCommentId(savedComment.getId());
             logger.info("댓글 작성 완료: commentId={}, postId={}, userId={}", 
                        savedComment.getId(), postId, userId);
             
@@ -89,97 +178,165 @@ public class CommentService {
         } catch (Exception e) {
             logger.error("댓글 작성 중 오류: postId={}, userId={}", postId, userId, e);
             throw new RuntimeException("댓글 작성 중 오류가 발생했습니다");
+        } finally {
+            event.finish();
+        }
+    }
+
+    private Comment insert(Long postId, Long userId, Long parentId, String content) {
+        // 게시글 행(TEXT 본문 포함)을 읽지 않고 PK로 존재만 확인 - 삭제 대기 중인 글(@SQLRestriction)도 여기서 걸러짐
+        if (!postRepository.existsById(postId)) {
+            logger.warn("존재하지 않는 게시글에 댓글 작성 시도: postId={}", postId);
+            throw NotFoundException.POST;
+        }
+        
+        // FK만 필요하므로 조회 없이 참조 프록시 사용 - 확인 직후 지워진 경우는 INSERT의 FK 위반을 404로 변환
+        String parentPath = resolveParentPath(commentRepository, postId, parentId);
+        Comment comment = new Comment();
+        comment.setContent(content);
+        comment.setPost(postRepository.getReferenceById(postId));
+        comment.setAuthor(userRepository.getReferenceById(userId));
+        if (parentId != null) {
+            comment.setParent(commentRepository.getReferenceById(parentId));
+            comment.setDepth(Comment.depthOf(parentPath) + 1);
+        }
+        
+        Comment savedComment;
+        try {
+            savedComment = commentRepository.save(comment);
+        } catch (DataIntegrityViolationException e) {
+            throw missingReference(e, postId, userId);
+        }
+        // IDENTITY라 id는 INSERT 후에야 알 수 있음 - 같은 트랜잭션에서 path를 채워 커밋 시점에는 항상 값이 있음
+        savedComment.setPath(Comment.path(parentPath, savedComment.getId()));
+        // JPA 네이티브 UPDATE는 영향받는 테이블을 몰라 2차 캐시 영역을 모두 비우므로(users 포함) JDBC로 직접 실행
+        // JpaTransactionManager가 같은 커넥션을 JdbcTemplate에 노출하므로 같은 트랜잭션 (CommentGroupCommitter와 같은 방식)
+        jdbcTemplate.update(UPDATE_PATH_SQL, savedComment.getPath(), savedComment.getId());
+        // 응답의 작성자 이름용 - User 2차 캐시 적중 시 SQL 없음
+        Hibernate.initialize(savedComment.getAuthor());
+        invalidationBus.publish(InvalidationEvent.POST_COMMENTS, postId, null);
+        trendingService.recordComment(postId);
+        streamHub.commentCreated(postId, savedComment);
+        return savedComment;
+    }
+
+    // 답글이면 부모 댓글의 path (같은 글의 댓글만) - 최상위 댓글이면 null
+    // group commit도 같은 규칙 사용
+    public static String resolveParentPath(CommentRepository commentRepository, Long postId, Long parentId) {
+        if (parentId == null) {
+            return null;
+        }
+        String parentPath = commentRepository.findPath(parentId, postId)
+            .orElseThrow(() -> {
+                logger.warn("존재하지 않는 댓글에 답글 작성 시도: postId={}, parentId={}", postId, parentId);
+                return NotFoundException.COMMENT;
+            });
+        if (Comment.depthOf(parentPath) >= Comment.MAX_DEPTH) {
+            throw new ValidationException("답글은 " + Comment.MAX_DEPTH + "단계까지만 달 수 있습니다");
+        }
+        return parentPath;
+    }
+
+    // 댓글 INSERT의 FK 위반 -> 없는 게시글/사용자 404 (그 외 무결성 위반은 그대로 전달) - group commit도 같은 규칙 사용
+    // Hibernate의 H2 제약 이름 추출은 이름 첫 글자를 잘라서 반환하므로 드라이버 메시지에서 FK 이름을 직접 찾음
+    // JPA 저장(Hibernate ConstraintViolationException)과 group commit의 JDBC 배치(BatchUpdateException) 모두 드라이버 예외가 맨 안쪽
+    public static RuntimeException missingReference(DataIntegrityViolationException e, Long postId, Long userId) {
+        if (!(e.getMostSpecificCause() instanceof SQLException)) {
+            return e;
+        }
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toUpperCase(Locale.ROOT);
+        if (message.contains(Comment.FK_POST.toUpperCase(Locale.ROOT))) {
+            logger.warn("댓글 작성 중 게시글이 삭제됨: postId={}", postId);
+            return NotFoundException.POST;
+        }
+        if (message.contains(Comment.FK_AUTHOR.toUpperCase(Locale.ROOT))) {
+            logger.warn("존재하지 않는 사용자의 댓글 작성 시도: userId={}", userId);
+            return NotFoundException.USER;
+        }
+        if (message.contains(Comment.FK_PARENT.toUpperCase(Locale.ROOT))) {
+            logger.warn("답글 작성 중 부모 댓글이 삭제됨: postId={}", postId);
+            return NotFoundException.COMMENT;
+        }
+        return e;
+    }
+
+    // 댓글 내용 검증 - add와 대량 가져오기(ImportService)가 같은 규칙을 사용
+    public static void validateContent(String content) {
+        if (content == null || content.trim().isEmpty()) {
+            throw new ValidationException("댓글 내용은 필수입니다");
+        }
+        if (content.trim().length() > 1000) {
+            throw new ValidationException("댓글은 1-1000자 사이여야 합니다");
         }
     }
 
     public Comment update(Long commentId, Long userId, String content) {
         // 입력값 검증
         if (commentId == null) {
-            throw new IllegalArgumentException("댓글 ID는 필수입니다");
+            throw new ValidationException("댓글 ID는 필수입니다");
         }
         if (userId == null) {
-            throw new IllegalArgumentException("사용자 ID는 필수입니다");
+            throw new ValidationException("사용자 ID는 필수입니다");
         }
         if (content == null || content.trim().isEmpty()) {
-            throw new IllegalArgumentException("댓글 내용은 필수입니다");
+            throw new ValidationException("댓글 내용은 필수입니다");
         }
         
-        try {
-            // Author 정보와 함께 댓글 조회
-            Comment comment = commentRepository.findByIdWithAuthor(commentId)
-                .orElseThrow(() -> {
-                    logger.warn("존재하지 않는 댓글 수정 시도: commentId={}", commentId);
-                    return new RuntimeException("댓글을 찾을 수 없습니다");
-                });
-            
-            // 작성자 권한 확인 - SecurityException을 먼저 처리
-            if (comment.getAuthor() == null || !comment.getAuthor().getId().equals(userId)) {
-                logger.warn("권한 없는 댓글 수정 시도: commentId={}, userId={}, authorId={}", 
-                           commentId, userId, comment.getAuthor() != null ? comment.getAuthor().getId() : null);
-                throw new SecurityException("댓글을 수정할 권한이 없습니다");
-            }
-            
-            comment.setContent(content.trim());
-            
-            Comment updatedComment = commentRepository.save(comment);
-            logger.info("댓글 수정 완료: commentId={}, userId={}", commentId, userId);
-            
-            return updatedComment;
-            
-        } catch (SecurityException e) {
-            // SecurityException을 먼저 처리
-            throw e;
-        } catch (IllegalArgumentException e) {
-            // IllegalArgumentException 처리
-            throw e;
-        } catch (RuntimeException e) {
-            // 다른 RuntimeException들 처리
-            throw e;
-        } catch (Exception e) {
-            logger.error("댓글 수정 중 오류: commentId={}, userId={}", commentId, userId, e);
-            throw new RuntimeException("댓글 수정 중 오류가 발생했습니다");
+        // Author 정보와 함께 댓글 조회
+        Comment comment = commentRepository.findByIdWithAuthor(commentId)
+            .orElseThrow(() -> {
+                logger.warn("존재하지 않는 댓글 수정 시도: commentId={}", commentId);
+                return NotFoundException.COMMENT;
+            });
+        Hibernate.initialize(comment.getAuthor());
+        
+        // 작성자 권한 확인
+        if (comment.getAuthor() == null || !comment.getAuthor().getId().equals(userId)) {
+            logger.warn("권한 없는 댓글 수정 시도: commentId={}, userId={}, authorId={}", 
+                       commentId, userId, comment.getAuthor() != null ? comment.getAuthor().getId() : null);
+            throw ForbiddenException.COMMENT_UPDATE;
         }
+        
+        comment.setContent(content.trim());
+        
+        // flush해서 증가된 version을 무효화 이벤트에 싣기
+        Comment updatedComment = commentRepository.saveAndFlush(comment);
+        invalidationBus.publish(InvalidationEvent.COMMENT, commentId, updatedComment.getVersion());
+        invalidationBus.publish(InvalidationEvent.POST_COMMENTS, comment.getPost().getId(), null);
+        streamHub.commentUpdated(comment.getPost().getId(), updatedComment);
+        logger.info("댓글 수정 완료: commentId={}, userId={}", commentId, userId);
+        
+        return updatedComment;
     }
 
     public void delete(Long commentId, Long userId) {
         // 입력값 검증
         if (commentId == null) {
-            throw new IllegalArgumentException("댓글 ID는 필수입니다");
+            throw new ValidationException("댓글 ID는 필수입니다");
         }
         if (userId == null) {
-            throw new IllegalArgumentException("사용자 ID는 필수입니다");
+            throw new ValidationException("사용자 ID는 필수입니다");
         }
         
-        try {
-            // Author 정보와 함께 댓글 조회
-            Comment comment = commentRepository.findByIdWithAuthor(commentId)
-                .orElseThrow(() -> {
-                    logger.warn("존재하지 않는 댓글 삭제 시도: commentId={}", commentId);
-                    return new RuntimeException("댓글을 찾을 수 없습니다");
-                });
-            
-            // 작성자 권한 확인 - SecurityException을 먼저 처리
-            if (comment.getAuthor() == null || !comment.getAuthor().getId().equals(userId)) {
-                logger.warn("권한 없는 댓글 삭제 시도: commentId={}, userId={}, authorId={}", 
-                           commentId, userId, comment.getAuthor() != null ? comment.getAuthor().getId() : null);
-                throw new SecurityException("댓글을 삭제할 권한이 없습니다");
-            }
-            
-            commentRepository.deleteById(commentId);
-            logger.info("댓글 삭제 완료: commentId={}, userId={}", commentId, userId);
-            
-        } catch (SecurityException e) {
-            // SecurityException을 먼저 처리
-            throw e;
-        } catch (IllegalArgumentException e) {
-            // IllegalArgumentException 처리
-            throw e;
-        } catch (RuntimeException e) {
-            // 다른 RuntimeException들 처리
-            throw e;
-        } catch (Exception e) {
-            logger.error("댓글 삭제 중 오류: commentId={}, userId={}", commentId, userId, e);
-            throw new RuntimeException("댓글 삭제 중 오류가 발생했습니다");
+        // Author 정보와 함께 댓글 조회
+        Comment comment = commentRepository.findByIdWithAuthor(commentId)
+            .orElseThrow(() -> {
+                logger.warn("존재하지 않는 댓글 삭제 시도: commentId={}", commentId);
+                return NotFoundException.COMMENT;
+            });
+        
+        // 작성자 권한 확인
+        if (comment.getAuthor() == null || !comment.getAuthor().getId().equals(userId)) {
+            logger.warn("권한 없는 댓글 삭제 시도: commentId={}, userId={}, authorId={}", 
+                       commentId, userId, comment.getAuthor() != null ? comment.getAuthor().getId() : null);
+            throw ForbiddenException.COMMENT_DELETE;
         }
+        
+        // 답글(하위 트리)은 DB가 ON DELETE CASCADE로 함께 지움 - 스트림 구독자는 이 댓글 아래 답글도 제거
+        commentRepository.deleteById(commentId);
+        invalidationBus.publish(InvalidationEvent.COMMENT, commentId, comment.getVersion());
+        invalidationBus.publish(InvalidationEvent.POST_COMMENTS, comment.getPost().getId(), null);
+        streamHub.commentDeleted(comment.getPost().getId(), commentId);
+        logger.info("댓글 삭제 완료: commentId={}, userId={}", commentId, userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.example.blog.service;
+
+import com.example.blog.dto.ExportComment;
+import com.example.blog.dto.ExportPost;
+import com.example.blog.dto.ExportUser;
+import com.example.blog.repository.CommentRepository;
+import com.example.blog.repository.PostRepository;
+import com.example.blog.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+// 전체 블로그를 gzip NDJSON으로 내보내기
+// 사용자 → 게시글 → 댓글 순서로 쓰므로 결과 파일을 그대로 /admin/import에 다시 넣을 수 있음
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter ndjsonWriter;
+
+    public ExportService(UserRepository userRepository,
+                         PostRepository postRepository,
+                         CommentRepository commentRepository,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ndjsonWriter = objectMapper.writer().withRootValueSeparator("\n");
+    }
+
+    public void exportNdjsonGzip(OutputStream out) throws IOException {
+        long startedAt = System.nanoTime();
+        long[] counts = new long[3];
+
+        GZIPOutputStream gzip = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+        try (SequenceWriter writer = ndjsonWriter.writeValues(gzip)) {
+            // 스트림은 트랜잭션 안에서만 열려 있을 수 있음 - 커서는 한 방향으로만 진행
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ExportUser> users = userRepository.streamAllForExport()) {
+                    users.forEach(u -> { write(writer, u); counts[0]++; });
+                }
+                try (Stream<ExportPost> posts = postRepository.streamAllForExport()) {
+                    posts.forEach(p -> { write(writer, p); counts[1]++; });
+                }
+                try (Stream<ExportComment> comments = commentRepository.streamAllForExport()) {
+                    comments.forEach(c -> { write(writer, c); counts[2]++; });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 클라이언트가 다운로드를 중단한 경우 등
+            logger.warn("내보내기 중단: users={}, posts={}, comments={}, error={}",
+                       counts[0], counts[1], counts[2], e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        logger.info("내보내기 완료: users={}, posts={}, comments={}, 소요={}ms",
+                   counts[0], counts[1], counts[2], (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private void write(SequenceWriter writer, Object row) {
+        try {
+            writer.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,526 @@
+package com.example.blog.service;
+
+import com.example.blog.cache.CacheInvalidationBus;
+import com.example.blog.cache.InvalidationEvent;
+import com.example.blog.dto.ImportResult;
+import com.example.blog.dto.ImportRow;
+import com.example.blog.exception.ValidationException;
+import com.example.blog.model.Comment;
+import com.example.blog.tag.TagIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// NDJSON 스트림을 한 줄씩 읽어 게시글/댓글을 배치 단위로 삽입
+// JPA 엔티티를 거치지 않고 JDBC 배치 + 배치당 하나의 트랜잭션을 사용하므로 메모리는 배치 크기로 제한됨
+@Service
+public class ImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+
+    private static final String INSERT_POST_SQL =
+        "INSERT INTO posts (title, content, author_id, is_secret, secret_password, created_at, updated_at, version) " +
+        "VALUES (:title, :content, :authorId, :isSecret, :secretPassword, :now, :now, 0)";
+
+    private static final String INSERT_POST_TAG_SQL = "INSERT INTO post_tags (post_id, tag) VALUES (:postId, :tag)";
+
+    private static final String INSERT_COMMENT_SQL =
+        "INSERT INTO comments (content, post_id, author_id, created_at, updated_at, version, depth) " +
+        "VALUES (:content, :postId, :authorId, :now, :now, 0, :depth)";
+
+    // 생성된 id로 정렬 경로(path)를 채움 (Comment.path 참고)
+    // 같은 배치의 부모 댓글 id도 INSERT 뒤에야 알 수 있으므로 parent_id도 여기서 함께 채움
+    private static final String UPDATE_COMMENT_PATH_SQL =
+        "UPDATE comments SET path = :path, parent_id = :parentId WHERE id = :id";
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+    private static final int AUTHOR_CACHE_SIZE = 10_000;
+    private static final long PROGRESS_LOG_INTERVAL = 10_000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidationBus invalidationBus;
+    private final TagIndex tagIndex;
+    private final ObjectReader rowReader;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final int maxRefs;
+
+    public ImportService(NamedParameterJdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         PasswordEncoder passwordEncoder,
+                         CacheInvalidationBus invalidationBus,
+                         TagIndex tagIndex,
+                         ObjectMapper objectMapper,
+                         @Value("${app.import.batch-size:1000}") int batchSize,
+                         @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors,
+                         @Value("${app.import.max-refs:500000}") int maxRefs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.invalidationBus = invalidationBus;
+        this.tagIndex = tagIndex;
+        this.rowReader = objectMapper.readerFor(ImportRow.class);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxRefs = maxRefs;
+    }
+
+    public ImportResult importNdjson(InputStream in) throws IOException {
+        long startedAt = System.nanoTime();
+        ImportContext ctx = new ImportContext();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                ctx.result.setProcessedRows(ctx.result.getProcessedRows() + 1);
+
+                PendingRow row = parseAndValidate(line, lineNo, ctx);
+                if (row != null) {
+                    ctx.pending.add(row);
+                    if (ctx.pending.size() >= batchSize) {
+                        flush(ctx);
+                    }
+                }
+            }
+            flush(ctx);
+        }
+
+        ImportResult result = ctx.result;
+        result.setElapsedMs((System.nanoTime() - startedAt) / 1_000_000);
+        logger.info("가져오기 완료: 처리={}줄, 게시글={}개, 댓글={}개, 실패={}줄, 소요={}ms",
+                   result.getProcessedRows(), result.getImportedPosts(), result.getImportedComments(),
+                   result.getFailedRows(), result.getElapsedMs());
+        return result;
+    }
+
+    private PendingRow parseAndValidate(String line, long lineNo, ImportContext ctx) {
+        ImportRow row;
+        try {
+            row = rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            ctx.addError(lineNo, "JSON 형식이 올바르지 않습니다");
+            return null;
+        }
+
+        // 내보내기(ExportService) 파일의 사용자 줄은 건너뜀 - 비밀번호 없이 계정을 복원할 수 없으므로 작성자는 username으로만 연결
+        if ("user".equals(row.getType())) {
+            return null;
+        }
+
+        try {
+            PendingRow pending = new PendingRow(lineNo, row);
+            if ("post".equals(row.getType())) {
+                boolean preHashed = Boolean.TRUE.equals(row.getIsSecret()) && row.getSecretPasswordHash() != null;
+                PostService.validatePostInput(row.getTitle(), row.getContent(),
+                                              preHashed ? Boolean.FALSE : row.getIsSecret(), row.getSecretPassword());
+                if (preHashed && !BCRYPT_PATTERN.matcher(row.getSecretPasswordHash()).matches()) {
+                    throw new IllegalArgumentException("secretPasswordHash는 BCrypt 해시여야 합니다");
+                }
+                pending.tags = row.getTags() != null ? TagIndex.normalize(row.getTags()) : List.of();
+                if (row.getRef() != null && (ctx.refToPostId.containsKey(row.getRef()) || ctx.pendingRefs.contains(row.getRef()))) {
+                    throw new IllegalArgumentException("중복된 ref입니다: " + row.getRef());
+                }
+                pending.post = true;
+            } else if ("comment".equals(row.getType())) {
+                CommentService.validateContent(row.getContent());
+                // postRef가 우선 - 내보내기 파일의 postId는 원본 DB의 id라서 가져온 게시글과 다를 수 있음
+                if (row.getPostRef() != null) {
+                    pending.postId = ctx.refToPostId.get(row.getPostRef());
+                    if (pending.postId == null && !ctx.pendingRefs.contains(row.getPostRef())) {
+                        throw new IllegalArgumentException("참조한 게시글을 찾을 수 없습니다: " + row.getPostRef());
+                    }
+                } else if (row.getPostId() != null) {
+                    pending.postId = row.getPostId();
+                    pending.existingPost = true;
+                } else {
+                    throw new IllegalArgumentException("게시글 ID는 필수입니다");
+                }
+                if (row.getRef() != null && (ctx.commentRefs.containsKey(row.getRef()) || ctx.pendingCommentRefs.containsKey(row.getRef()))) {
+                    throw new IllegalArgumentException("중복된 ref입니다: " + row.getRef());
+                }
+                if (row.getParentRef() != null) {
+                    resolveParent(pending, ctx);
+                }
+            } else {
+                throw new IllegalArgumentException("알 수 없는 type입니다: " + row.getType());
+            }
+
+            pending.authorId = resolveAuthorId(row.getAuthor(), ctx);
+            if (row.getRef() != null) {
+                if (pending.post) {
+                    ctx.pendingRefs.add(row.getRef());
+                } else {
+                    ctx.pendingCommentRefs.put(row.getRef(), pending);
+                }
+            }
+            return pending;
+        } catch (IllegalArgumentException | ValidationException e) {
+            ctx.addError(lineNo, e.getMessage());
+            return null;
+        }
+    }
+
+    // 부모는 앞 배치에서 커밋된 댓글이거나 같은 배치의 앞 줄 댓글 - depth는 여기서 정하고 path와 parent_id는 INSERT 뒤에 채움
+    // 부모와 같은 게시글인지는 postRef가 풀리는 트랜잭션 안에서 확인
+    private void resolveParent(PendingRow pending, ImportContext ctx) {
+        String parentRef = pending.row.getParentRef();
+        int parentDepth;
+        ImportedComment imported = ctx.commentRefs.get(parentRef);
+        if (imported != null) {
+            pending.importedParent = imported;
+            parentDepth = Comment.depthOf(imported.path());
+        } else {
+            PendingRow parent = ctx.pendingCommentRefs.get(parentRef);
+            if (parent == null) {
+                throw new IllegalArgumentException("참조한 부모 댓글을 찾을 수 없습니다: " + parentRef);
+            }
+            pending.pendingParent = parent;
+            parentDepth = parent.depth;
+        }
+        if (parentDepth >= Comment.MAX_DEPTH) {
+            throw new IllegalArgumentException("답글은 " + Comment.MAX_DEPTH + "단계까지만 달 수 있습니다");
+        }
+        pending.depth = parentDepth + 1;
+    }
+
+    private Long resolveAuthorId(String username, ImportContext ctx) {
+        if (username == null || username.trim().isEmpty()) {
+            throw new IllegalArgumentException("작성자는 필수입니다");
+        }
+        String trimmed = username.trim();
+        Long cached = ctx.authorIds.get(trimmed);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE username = :username",
+                                                   Map.of("username", trimmed), Long.class);
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("사용자를 찾을 수 없습니다: " + trimmed);
+        }
+        ctx.authorIds.put(trimmed, ids.get(0));
+        return ids.get(0);
+    }
+
+    private void flush(ImportContext ctx) {
+        if (ctx.pending.isEmpty()) {
+            return;
+        }
+        List<PendingRow> batch = ctx.pending;
+        ctx.pending = new ArrayList<>(batchSize);
+        ctx.pendingRefs = new HashSet<>();
+        ctx.pendingCommentRefs = new HashMap<>();
+
+        // BCrypt 해싱은 트랜잭션 밖에서 병렬로 수행 (커넥션 점유 시간 최소화)
+        batch.parallelStream()
+            .filter(r -> r.post && Boolean.TRUE.equals(r.row.getIsSecret()))
+            .forEach(r -> r.secretHash = r.row.getSecretPasswordHash() != null
+                ? r.row.getSecretPasswordHash()
+                : passwordEncoder.encode(r.row.getSecretPassword().trim()));
+
+        List<PendingRow> posts = new ArrayList<>();
+        List<PendingRow> comments = new ArrayList<>();
+        for (PendingRow r : batch) {
+            (r.post ? posts : comments).add(r);
+        }
+        removeCommentsOnMissingPosts(comments, ctx);
+
+        Map<String, Long> newRefs = new HashMap<>();
+        // 트랜잭션 안에서 건너뛴 댓글 - 커밋된 뒤에만 실패로 보고 (배치가 실패하면 아래 catch에서 한 번만 보고)
+        List<PendingRow> unresolved = new ArrayList<>();
+        List<PendingRow> insertable = new ArrayList<>(comments.size());
+        try {
+            transactionTemplate.execute(status -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                insertPosts(posts, now, newRefs);
+
+                // 줄 순서대로 확인 - 부모 댓글의 실패 여부가 답글보다 먼저 정해짐
+                for (PendingRow c : comments) {
+                    if (c.postId == null) {
+                        c.postId = newRefs.get(c.row.getPostRef());
+                    }
+                    c.error = c.postId == null
+                        // 같은 배치의 참조 게시글이 검증에 실패한 경우
+                        ? "참조한 게시글을 찾을 수 없습니다: " + c.row.getPostRef()
+                        : parentError(c);
+                    if (c.error != null) {
+                        c.failed = true;
+                        unresolved.add(c);
+                    } else {
+                        insertable.add(c);
+                    }
+                }
+                insertComments(insertable, now);
+                return null;
+            });
+            ctx.result.setImportedComments(ctx.result.getImportedComments() + insertable.size());
+            ctx.result.setImportedPosts(ctx.result.getImportedPosts() + posts.size());
+            ctx.refToPostId.putAll(newRefs);
+            for (PendingRow c : insertable) {
+                if (c.row.getRef() != null) {
+                    ctx.commentRefs.put(c.row.getRef(), new ImportedComment(c.commentId, c.postId, c.path));
+                }
+            }
+            for (PendingRow c : unresolved) {
+                ctx.addError(c.line, c.error);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("가져오기 배치 실패: lines={}-{}, error={}",
+                       batch.get(0).line, batch.get(batch.size() - 1).line, e.getMostSpecificCause().getMessage());
+            // 이미 실패로 보고된 줄(없는 게시글을 지정한 댓글)은 comments에서 빠져 있음 - 남은 줄만 보고
+            // 실패한 배치의 ref는 refToPostId/commentRefs에 들어간 적이 없으므로 지울 것도 없음
+            for (PendingRow r : posts) {
+                ctx.addError(r.line, "배치 저장 중 오류가 발생했습니다");
+            }
+            for (PendingRow r : comments) {
+                ctx.addError(r.line, "배치 저장 중 오류가 발생했습니다");
+            }
+        }
+
+        long processed = ctx.result.getProcessedRows();
+        if (processed >= ctx.nextProgressLog) {
+            logger.info("가져오기 진행 중: 처리={}줄, 게시글={}개, 댓글={}개, 실패={}줄",
+                       processed, ctx.result.getImportedPosts(), ctx.result.getImportedComments(),
+                       ctx.result.getFailedRows());
+            ctx.nextProgressLog = (processed / PROGRESS_LOG_INTERVAL + 1) * PROGRESS_LOG_INTERVAL;
+        }
+    }
+
+    // postId로 지정된 기존 게시글 존재 여부를 배치당 한 번의 IN 쿼리로 확인 (FK 위반으로 배치 전체가 실패하지 않도록)
+    // 삭제 표시된 글은 정리 작업(CascadePurger)이 곧 지우므로 없는 글로 취급
+    private void removeCommentsOnMissingPosts(List<PendingRow> comments, ImportContext ctx) {
+        Set<Long> requested = new HashSet<>();
+        for (PendingRow c : comments) {
+            if (c.existingPost) {
+                requested.add(c.postId);
+            }
+        }
+        if (requested.isEmpty()) {
+            return;
+        }
+
+        Set<Long> existing = new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT id FROM posts WHERE id IN (:ids) AND deleted_at IS NULL", Map.of("ids", requested), Long.class));
+        comments.removeIf(c -> {
+            if (c.existingPost && !existing.contains(c.postId)) {
+                c.failed = true;
+                ctx.addError(c.line, "게시글을 찾을 수 없습니다: " + c.postId);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static String parentError(PendingRow c) {
+        Long parentPostId;
+        if (c.pendingParent != null) {
+            if (c.pendingParent.failed) {
+                return "부모 댓글을 가져오지 못했습니다: " + c.row.getParentRef();
+            }
+            parentPostId = c.pendingParent.postId;
+        } else if (c.importedParent != null) {
+            parentPostId = c.importedParent.postId();
+        } else {
+            return null;
+        }
+        return parentPostId.equals(c.postId) ? null : "부모 댓글과 게시글이 다릅니다: " + c.row.getParentRef();
+    }
+
+    private void insertPosts(List<PendingRow> posts, Timestamp now, Map<String, Long> newRefs) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] params = new SqlParameterSource[posts.size()];
+        for (int i = 0; i < posts.size(); i++) {
+            PendingRow r = posts.get(i);
+            boolean secret = Boolean.TRUE.equals(r.row.getIsSecret());
+            params[i] = new MapSqlParameterSource()
+                .addValue("title", r.row.getTitle().trim())
+                .addValue("content", r.row.getContent().trim())
+                .addValue("authorId", r.authorId)
+                .addValue("isSecret", secret)
+                .addValue("secretPassword", secret ? r.secretHash : null)
+                .addValue("now", now);
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_POST_SQL, params, keyHolder, new String[]{"id"});
+
+        // 배치 트랜잭션이 커밋된 뒤 작성자별 게시글 수 캐시를 비움
+        Set<Long> authorIds = new HashSet<>();
+        for (PendingRow r : posts) {
+            if (authorIds.add(r.authorId)) {
+                invalidationBus.publish(InvalidationEvent.AUTHOR_POSTS, r.authorId, null);
+            }
+        }
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<SqlParameterSource> tagParams = new ArrayList<>();
+        for (int i = 0; i < posts.size() && i < keys.size(); i++) {
+            PendingRow r = posts.get(i);
+            long postId = ((Number) keys.get(i).values().iterator().next()).longValue();
+            if (r.row.getRef() != null) {
+                newRefs.put(r.row.getRef(), postId);
+            }
+            if (r.tags.isEmpty()) {
+                continue;
+            }
+            for (String tag : r.tags) {
+                tagParams.add(new MapSqlParameterSource().addValue("postId", postId).addValue("tag", tag));
+            }
+            // 이 노드의 인덱스는 커밋 뒤 바로 반영하고, 다른 노드는 post 이벤트를 받아 DB에서 읽어 감 (PostService.create와 같음)
+            tagIndex.recordSaved(postId, r.tags, Boolean.TRUE.equals(r.row.getIsSecret()));
+            invalidationBus.publish(InvalidationEvent.POST, postId, 0L);
+        }
+        if (!tagParams.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_POST_TAG_SQL, tagParams.toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    private void insertComments(List<PendingRow> comments, Timestamp now) {
+        if (comments.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] params = new SqlParameterSource[comments.size()];
+        for (int i = 0; i < comments.size(); i++) {
+            PendingRow r = comments.get(i);
+            params[i] = new MapSqlParameterSource()
+                .addValue("content", r.row.getContent().trim())
+                .addValue("postId", r.postId)
+                .addValue("authorId", r.authorId)
+                .addValue("depth", r.depth)
+                .addValue("now", now);
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_COMMENT_SQL, params, keyHolder, new String[]{"id"});
+
+        // 줄 순서대로 채우므로 같은 배치의 부모 path가 답글보다 먼저 정해짐
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        SqlParameterSource[] paths = new SqlParameterSource[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            PendingRow r = comments.get(i);
+            r.commentId = ((Number) keys.get(i).values().iterator().next()).longValue();
+            String parentPath = null;
+            Long parentId = null;
+            if (r.pendingParent != null) {
+                parentPath = r.pendingParent.path;
+                parentId = r.pendingParent.commentId;
+            } else if (r.importedParent != null) {
+                parentPath = r.importedParent.path();
+                parentId = r.importedParent.id();
+            }
+            r.path = Comment.path(parentPath, r.commentId);
+            paths[i] = new MapSqlParameterSource()
+                .addValue("path", r.path)
+                .addValue("parentId", parentId)
+                .addValue("id", r.commentId);
+        }
+        jdbcTemplate.batchUpdate(UPDATE_COMMENT_PATH_SQL, paths);
+    }
+
+    private static final class PendingRow {
+        final long line;
+        final ImportRow row;
+        boolean post;
+        // 댓글이 postRef가 아닌 postId로 기존 게시글을 지정한 경우
+        boolean existingPost;
+        Long authorId;
+        Long postId;
+        String secretHash;
+        // 게시글: 정규화된 태그
+        List<String> tags;
+        // 답글: 부모가 앞 배치에서 커밋된 댓글이면 importedParent, 같은 배치의 댓글이면 pendingParent
+        ImportedComment importedParent;
+        PendingRow pendingParent;
+        int depth;
+        // INSERT 뒤에 채워짐
+        Long commentId;
+        String path;
+        // 저장하지 못한 줄 - 같은 배치의 답글도 함께 실패로 보고
+        boolean failed;
+        String error;
+
+        PendingRow(long line, ImportRow row) {
+            this.line = line;
+            this.row = row;
+        }
+    }
+
+    // 커밋된 댓글 - 뒤 배치의 답글이 부모로 참조
+    private record ImportedComment(long id, long postId, String path) {}
+
+    private final class ImportContext {
+        final ImportResult result = new ImportResult();
+        List<PendingRow> pending = new ArrayList<>(batchSize);
+        Set<String> pendingRefs = new HashSet<>();
+        // ref → 생성된 게시글 ID (같은 스트림의 댓글이 참조)
+        // 내보내기 파일은 게시글을 모두 쓴 뒤 댓글을 쓰므로 배치 단위로 비울 수 없음 - 대신 max-refs개로 제한하고
+        // 가장 오래 참조되지 않은 ref부터 버림 (버려진 ref를 참조하는 댓글은 실패로 보고, 중복 ref 검사도 남은 것만)
+        final Map<String, Long> refToPostId = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxRefs;
+            }
+        };
+        final Map<String, Long> authorIds = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > AUTHOR_CACHE_SIZE;
+            }
+        };
+        Map<String, PendingRow> pendingCommentRefs = new HashMap<>();
+        // 댓글 ref → 커밋된 댓글 (답글의 parentRef가 참조) - refToPostId와 같은 이유로 max-refs개로 제한
+        final Map<String, ImportedComment> commentRefs = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImportedComment> eldest) {
+                return size() > maxRefs;
+            }
+        };
+        long nextProgressLog = PROGRESS_LOG_INTERVAL;
+
+        void addError(long line, String message) {
+            result.setFailedRows(result.getFailedRows() + 1);
+            if (result.getErrors().size() < maxReportedErrors) {
+                result.getErrors().add(new ImportResult.RowError(line, message));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+    }
+}
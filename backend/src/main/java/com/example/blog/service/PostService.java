@@ -1,16 +1,37 @@
 package com.example.blog.service;
 
+import com.example.blog.cache.AuthorPostCountCache;
+import com.example.blog.cache.CacheInvalidationBus;
+import com.example.blog.cache.InvalidationEvent;
+import com.example.blog.cache.SingleFlight;
+import com.example.blog.deadline.RequestDeadline;
+import com.example.blog.dto.PostSummary;
+import com.example.blog.exception.ForbiddenException;
+import com.example.blog.exception.NotFoundException;
+import com.example.blog.exception.ValidationException;
 import com.example.blog.model.Post;
 import com.example.blog.model.User;
+import com.example.blog.profiling.PostQueryEvent;
+import com.example.blog.purge.CascadePurger;
 import com.example.blog.repository.PostRepository;
 import com.example.blog.repository.UserRepository;
+import com.example.blog.stream.CommentStreamHub;
+import com.example.blog.tag.TagIndex;
+import com.example.blog.trending.TrendingService;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional // 🔧 클래스 레벨에 @Transactional 추가
@@ -21,20 +42,48 @@ public class PostService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-
-    public PostService(PostRepository postRepository, UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final CacheInvalidationBus invalidationBus;
+    private final AuthorPostCountCache authorPostCounts;
+    private final TrendingService trendingService;
+    private final CommentStreamHub commentStreamHub;
+    private final SingleFlight singleFlight;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CascadePurger cascadePurger;
+    private final TagIndex tagIndex;
+
+    public PostService(PostRepository postRepository, UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       CacheInvalidationBus invalidationBus, AuthorPostCountCache authorPostCounts,
+                       TrendingService trendingService, CommentStreamHub commentStreamHub,
+                       SingleFlight singleFlight, PlatformTransactionManager transactionManager,
+                       CascadePurger cascadePurger, TagIndex tagIndex) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.invalidationBus = invalidationBus;
+        this.authorPostCounts = authorPostCounts;
+        this.trendingService = trendingService;
+        this.commentStreamHub = commentStreamHub;
+        this.singleFlight = singleFlight;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cascadePurger = cascadePurger;
+        this.tagIndex = tagIndex;
     }
 
     // 전체 게시글 목록 조회 (비밀글 포함)
     @Transactional(readOnly = true)
     public List<Post> listAll() {
         logger.debug("전체 게시글 목록 조회 요청 (비밀글 포함)");
-        List<Post> posts = postRepository.findAllWithAuthor();
-        logger.info("게시글 목록 조회 완료: 총 {}개 (비밀글 포함)", posts.size());
-        return posts;
+        PostQueryEvent event = PostQueryEvent.start("list", null);
+        try {
+            List<Post> posts = postRepository.findAllWithAuthor();
+            posts.forEach(PostService::initializeAuthor);
+            event.setResultCount(posts.size());
+            logger.info("게시글 목록 조회 완료: 총 {}개 (비밀글 포함)", posts.size());
+            return posts;
+        } finally {
+            event.finish();
+        }
     }
 
     // 공개글만 검색
@@ -42,24 +91,26 @@ public class PostService {
     public List<Post> searchPublicPosts(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             logger.warn("빈 검색어로 공개글 검색 시도");
-            throw new IllegalArgumentException("검색어를 입력해주세요");
+            throw new ValidationException("검색어를 입력해주세요");
         }
         
         String trimmedKeyword = keyword.trim();
         if (trimmedKeyword.length() < 2) {
             logger.warn("너무 짧은 검색어: '{}'", trimmedKeyword);
-            throw new IllegalArgumentException("검색어는 2자 이상이어야 합니다");
+            throw new ValidationException("검색어는 2자 이상이어야 합니다");
         }
         
         logger.info("공개글 검색: keyword='{}'", trimmedKeyword);
         
+        PostQueryEvent event = PostQueryEvent.start("search", trimmedKeyword);
         try {
             List<Post> searchResults = postRepository.findByKeywordPublicWithAuthor(trimmedKeyword);
+            searchResults.forEach(PostService::initializeAuthor);
+            event.setResultCount(searchResults.size());
             logger.info("공개글 검색 완료: keyword='{}', 결과={}개", trimmedKeyword, searchResults.size());
             return searchResults;
-        } catch (Exception e) {
-            logger.error("공개글 검색 중 오류 발생: keyword='{}'", trimmedKeyword, e);
-            throw new RuntimeException("검색 처리 중 오류가 발생했습니다");
+        } finally {
+            event.finish();
         }
     }
 
@@ -68,45 +119,46 @@ public class PostService {
     public List<Post> search(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             logger.warn("빈 검색어로 검색 시도");
-            throw new IllegalArgumentException("검색어를 입력해주세요");
+            throw new ValidationException("검색어를 입력해주세요");
         }
         
         String trimmedKeyword = keyword.trim();
         if (trimmedKeyword.length() < 2) {
             logger.warn("너무 짧은 검색어: '{}'", trimmedKeyword);
-            throw new IllegalArgumentException("검색어는 2자 이상이어야 합니다");
+            throw new ValidationException("검색어는 2자 이상이어야 합니다");
         }
         
         logger.info("전체 게시글 검색: keyword='{}'", trimmedKeyword);
         
-        try {
-            List<Post> searchResults = postRepository.findByFullTextSearchWithAuthor(trimmedKeyword);
-            
-            long secretPostCount = searchResults.stream()
-                .mapToLong(post -> Boolean.TRUE.equals(post.getIsSecret()) ? 1L : 0L)
-                .sum();
-            
-            logger.info("전체 검색 완료: keyword='{}', 총 결과={}개, 비밀글={}개", 
-                       trimmedKeyword, searchResults.size(), secretPostCount);
-            
-            return searchResults;
-        } catch (Exception e) {
-            logger.error("검색 중 오류 발생: keyword='{}'", trimmedKeyword, e);
-            throw new RuntimeException("검색 처리 중 오류가 발생했습니다");
-        }
+        List<Post> searchResults = postRepository.findByFullTextSearchWithAuthor(trimmedKeyword);
+        
+        long secretPostCount = searchResults.stream()
+            .mapToLong(post -> Boolean.TRUE.equals(post.getIsSecret()) ? 1L : 0L)
+            .sum();
+        
+        logger.info("전체 검색 완료: keyword='{}', 총 결과={}개, 비밀글={}개", 
+                   trimmedKeyword, searchResults.size(), secretPostCount);
+        
+        return searchResults;
     }
 
     // 🔧 게시글 상세 조회 - 완전히 새로 작성
-    @Transactional(readOnly = true)
+    // 같은 글을 동시에 읽는 요청은 DB 조회 하나를 공유(SingleFlight)하고, hasAccess는 요청마다 복사본에 설정
+    // 트랜잭션은 실제로 읽는 요청만 열도록 이 메서드 자체는 트랜잭션 밖에서 실행
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Post get(Long id, Long currentUserId) {
         logger.debug("게시글 상세 조회: postId={}, currentUserId={}", id, currentUserId);
         
-        // JOIN FETCH로 author 정보를 미리 로드
-        Post post = postRepository.findByIdWithAuthor(id)
-            .orElseThrow(() -> {
-                logger.warn("게시글을 찾을 수 없음: postId={}", id);
-                return new RuntimeException("게시글을 찾을 수 없습니다");
-            });
+        Post shared = singleFlight.load(InvalidationEvent.POST, id, () -> readOnlyTransaction.execute(status -> {
+            Post loaded = postRepository.findByIdWithAuthor(id)
+                .orElseThrow(() -> {
+                    logger.warn("게시글을 찾을 수 없음: postId={}", id);
+                    return NotFoundException.POST;
+                });
+            initializeAuthor(loaded);
+            return loaded;
+        }));
+        Post post = shared.viewCopy();
         
         // 🔧 hasAccess 설정 로직 개선
         if (Boolean.TRUE.equals(post.getIsSecret())) {
@@ -132,7 +184,7 @@ public class PostService {
     }
 
     // 🔧 편의 메소드 - currentUserId 없는 버전
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Post get(Long id) {
         return get(id, null);
     }
@@ -142,25 +194,26 @@ public class PostService {
     public boolean verifySecretPassword(Long postId, String password) {
         if (password == null || password.trim().isEmpty()) {
             logger.warn("빈 비밀번호로 비밀글 접근 시도: postId={}", postId);
-            throw new IllegalArgumentException("비밀번호를 입력해주세요");
+            throw new ValidationException("비밀번호를 입력해주세요");
         }
 
         Post post = postRepository.findById(postId)
             .orElseThrow(() -> {
                 logger.warn("존재하지 않는 게시글에 대한 비밀번호 확인 시도: postId={}", postId);
-                return new RuntimeException("게시글을 찾을 수 없습니다");
+                return NotFoundException.POST;
             });
 
         if (!Boolean.TRUE.equals(post.getIsSecret())) {
             logger.warn("비밀글이 아닌 게시글에 대한 비밀번호 확인 시도: postId={}", postId);
-            throw new IllegalArgumentException("비밀글이 아닙니다");
+            throw new ValidationException("비밀글이 아닙니다");
         }
 
         if (post.getSecretPassword() == null) {
             logger.error("비밀글이지만 비밀번호가 설정되지 않음: postId={}", postId);
-            throw new RuntimeException("비밀글 설정에 오류가 있습니다");
+            throw new IllegalStateException("비밀글에 비밀번호가 설정되지 않았습니다: postId=" + postId);
         }
 
+        RequestDeadline.check("비밀글 비밀번호 검증");
         boolean isValid = passwordEncoder.matches(password.trim(), post.getSecretPassword());
         
         if (isValid) {
@@ -181,12 +234,13 @@ public class PostService {
         boolean isValid = verifySecretPassword(postId, password);
         
         if (!isValid) {
-            throw new SecurityException("비밀번호가 일치하지 않습니다");
+            throw ForbiddenException.SECRET_PASSWORD_MISMATCH;
         }
         
         // 비밀번호가 맞으면 게시글을 다시 가져와서 hasAccess를 true로 설정
         Post post = postRepository.findByIdWithAuthor(postId)
-            .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다"));
+            .orElseThrow(() -> NotFoundException.POST);
+        initializeAuthor(post);
         
         // 🔧 비밀번호가 맞으므로 접근 허용
         post.setHasAccess(true);
@@ -196,30 +250,66 @@ public class PostService {
         return post;
     }
 
+    // 작성자 피드 한 페이지 - after(이전 페이지 마지막 ID)보다 작은 ID를 최신순으로 limit개
+    // 다음 페이지 존재 여부는 limit + 1개를 읽어 판단 (별도 COUNT 없음)
+    @Transactional(readOnly = true)
+    public List<PostSummary> listByAuthor(Long authorId, Long after, int limit) {
+        long cursor = after != null ? after : Long.MAX_VALUE;
+        return postRepository.findSummariesByAuthorBefore(authorId, cursor, Limit.of(limit + 1));
+    }
+
+    // 태그 필터 - 조건 평가는 TagIndex의 메모리 비트맵으로 하고, DB는 결과 페이지의 글만 PK로 읽음
+    // 공개글만 대상 (비밀글은 태그도 내용처럼 숨김), 최신순으로 after보다 작은 ID부터 limit개
+    @Transactional(readOnly = true)
+    public List<Post> listByTags(List<String> tags, boolean matchAll, Long after, int limit) {
+        PostQueryEvent event = PostQueryEvent.start("tags", String.join(",", tags));
+        try {
+            List<Long> ids = tagIndex.find(tags, matchAll, after, limit);
+            if (ids.isEmpty()) {
+                event.setResultCount(0);
+                return List.of();
+            }
+            Map<Long, Post> loaded = new HashMap<>();
+            for (Post post : postRepository.findAllByIdIn(ids)) {
+                loaded.put(post.getId(), post);
+            }
+            // IN 결과 순서는 보장되지 않으므로 인덱스가 준 최신순으로 다시 맞춤
+            List<Post> posts = ids.stream().map(loaded::get).filter(post -> post != null).toList();
+            posts.forEach(PostService::initializeAuthor);
+            event.setResultCount(posts.size());
+            logger.debug("태그 필터 조회: tags={}, matchAll={}, 결과={}개", tags, matchAll, posts.size());
+            return posts;
+        } finally {
+            event.finish();
+        }
+    }
+
+    // 작성자별 게시글 수 - 캐시 미스일 때만 COUNT
+    @Transactional(readOnly = true)
+    public long countByAuthor(Long authorId) {
+        return authorPostCounts.get(authorId, () -> postRepository.countByAuthorId(authorId));
+    }
+
     // 게시글 생성
     @Transactional
-    public Post create(Long authorId, String title, String content, Boolean isSecret, String secretPassword) {
-        if (title == null || title.trim().isEmpty()) {
-            throw new IllegalArgumentException("제목은 필수입니다");
-        }
-        if (content == null || content.trim().isEmpty()) {
-            throw new IllegalArgumentException("내용은 필수입니다");
-        }
+    public Post create(Long authorId, String title, String content, Boolean isSecret, String secretPassword,
+                       List<String> tags) {
+        validatePostInput(title, content, isSecret, secretPassword);
+        List<String> normalizedTags = tags != null ? TagIndex.normalize(tags) : List.of();
 
         User author = userRepository.findById(authorId)
-            .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다"));
+            .orElseThrow(() -> NotFoundException.USER);
 
         Post post = new Post();
         post.setTitle(title.trim());
         post.setContent(content.trim());
         post.setAuthor(author);
         post.setIsSecret(Boolean.TRUE.equals(isSecret));
+        post.getTags().addAll(normalizedTags);
 
         // 비밀글인 경우 비밀번호 암호화
         if (Boolean.TRUE.equals(isSecret)) {
-            if (secretPassword == null || secretPassword.trim().isEmpty()) {
-                throw new IllegalArgumentException("비밀글에는 비밀번호가 필요합니다");
-            }
+            RequestDeadline.check("비밀글 비밀번호 해싱");
             post.setSecretPassword(passwordEncoder.encode(secretPassword.trim()));
             logger.info("비밀글 생성: authorId={}, title={}", authorId, title);
         } else {
@@ -227,6 +317,11 @@ public class PostService {
         }
 
         Post savedPost = postRepository.save(post);
+        // 다른 노드의 태그 인덱스가 새 글을 읽어 가도록 post 이벤트도 보냄
+        invalidationBus.publish(InvalidationEvent.POST, savedPost.getId(), savedPost.getVersion());
+        invalidationBus.publish(InvalidationEvent.AUTHOR_POSTS, authorId, null);
+        trendingService.recordCreated(savedPost);
+        tagIndex.recordSaved(savedPost);
         
         // 🔧 중요: 작성자는 항상 자신의 글에 접근 가능하도록 설정
         savedPost.setHasAccess(true);
@@ -237,21 +332,59 @@ public class PostService {
         return savedPost;
     }
 
+    // 작성자 프록시 초기화 - User 2차 캐시 적중 시 SQL 없음, 미스는 User의 @BatchSize로 묶어서 조회
+    // open-in-view=false이므로 컨트롤러가 username에 접근하기 전에 트랜잭션 안에서 초기화해야 함
+    private static void initializeAuthor(Post post) {
+        Hibernate.initialize(post.getAuthor());
+    }
+
+    // 게시글 입력값 검증 - create와 대량 가져오기(ImportService)가 같은 규칙을 사용
+    // static으로 두어 트랜잭션 프록시를 거치지 않도록 함
+    public static void validatePostInput(String title, String content, Boolean isSecret, String secretPassword) {
+        if (title == null || title.trim().isEmpty()) {
+            throw new ValidationException("제목은 필수입니다");
+        }
+        if (title.trim().length() > 100) {
+            throw new ValidationException("제목은 1-100자 사이여야 합니다");
+        }
+        if (content == null || content.trim().isEmpty()) {
+            throw new ValidationException("내용은 필수입니다");
+        }
+        if (content.trim().length() > 2000) {
+            throw new ValidationException("내용은 1-2000자 사이여야 합니다");
+        }
+        if (Boolean.TRUE.equals(isSecret)) {
+            if (secretPassword == null || secretPassword.trim().isEmpty()) {
+                throw new ValidationException("비밀글에는 비밀번호가 필요합니다");
+            }
+            if (secretPassword.length() > 50) {
+                throw new ValidationException("비밀번호는 50자를 초과할 수 없습니다");
+            }
+        }
+    }
+
     // 🔧 게시글 수정 - Lazy Loading 문제 해결
-    public Post update(Long id, Long authorId, String title, String content, Boolean isSecret, String secretPassword) {
-        // JOIN FETCH로 author 정보를 미리 로드
+    public Post update(Long id, Long authorId, String title, String content, Boolean isSecret, String secretPassword,
+                       List<String> tags) {
+        List<String> normalizedTags = tags != null ? TagIndex.normalize(tags) : null;
         Post post = postRepository.findByIdWithAuthor(id)
-            .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다"));
+            .orElseThrow(() -> NotFoundException.POST);
+        initializeAuthor(post);
 
-        // 🔧 User 객체가 이미 로드되어 있으므로 안전하게 접근 가능
+        // 🔧 User 객체가 이미 초기화되어 있으므로 안전하게 접근 가능
         if (!post.getAuthor().getId().equals(authorId)) {
             logger.warn("권한 없는 게시글 수정 시도: postId={}, authorId={}, actualAuthorId={}", 
                        id, authorId, post.getAuthor().getId());
-            throw new SecurityException("작성자만 수정할 수 있습니다");
+            throw ForbiddenException.POST_UPDATE;
         }
 
         if (title != null) post.setTitle(title.trim());
         if (content != null) post.setContent(content.trim());
+        if (normalizedTags != null) {
+            // 바뀐 태그만 DELETE/INSERT 되도록 컬렉션을 교체하지 않고 차이만 반영
+            post.getTags().retainAll(normalizedTags);
+            post.getTags().addAll(normalizedTags);
+        }
 
         // 비밀글 설정 변경
         boolean wasSecret = Boolean.TRUE.equals(post.getIsSecret());
@@ -263,11 +396,12 @@ public class PostService {
             // 비밀글로 변경하거나 이미 비밀글인 경우
             if (secretPassword != null && !secretPassword.trim().isEmpty()) {
                 // 새 비밀번호가 제공된 경우
+                RequestDeadline.check("비밀글 비밀번호 해싱");
                 post.setSecretPassword(passwordEncoder.encode(secretPassword.trim()));
                 logger.info("비밀글 비밀번호 변경: postId={}", id);
             } else if (!wasSecret) {
                 // 공개글에서 비밀글로 변경하는데 비밀번호가 없는 경우
-                throw new IllegalArgumentException("비밀글로 변경하려면 비밀번호가 필요합니다");
+                throw new ValidationException("비밀글로 변경하려면 비밀번호가 필요합니다");
             }
             // 이미 비밀글이고 새 비밀번호가 없으면 기존 비밀번호 유지
         } else {
@@ -278,7 +412,11 @@ public class PostService {
             }
         }
 
-        Post updatedPost = postRepository.save(post);
+        // flush해서 증가된 version을 무효화 이벤트에 싣기
+        Post updatedPost = postRepository.saveAndFlush(post);
+        invalidationBus.publish(InvalidationEvent.POST, id, updatedPost.getVersion());
+        trendingService.recordUpdated(updatedPost);
+        tagIndex.recordSaved(updatedPost);
         // 🔧 작성자는 수정한 게시글에 항상 접근 가능
         updatedPost.setHasAccess(true);
         
@@ -288,18 +426,25 @@ public class PostService {
 
     // 게시글 삭제
     public void delete(Long id, Long authorId) {
-        // JOIN FETCH로 author 정보를 미리 로드
+        // 권한 확인은 author ID만 필요하므로 프록시를 초기화하지 않음
         Post post = postRepository.findByIdWithAuthor(id)
-            .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다"));
+            .orElseThrow(() -> NotFoundException.POST);
 
         if (!post.getAuthor().getId().equals(authorId)) {
             logger.warn("권한 없는 게시글 삭제 시도: postId={}, authorId={}, actualAuthorId={}", 
                        id, authorId, post.getAuthor().getId());
-            throw new SecurityException("작성자만 삭제할 수 있습니다");
+            throw ForbiddenException.POST_DELETE;
         }
 
         logger.info("게시글 삭제: postId={}, title={}, authorId={}", 
                    id, post.getTitle(), authorId);
-        postRepository.delete(post);
+        // 글은 바로 숨기고, 댓글과 글 행은 CascadePurger가 커밋 후 chunk 단위로 지움
+        cascadePurger.markPostDeleted(id);
+        invalidationBus.publish(InvalidationEvent.POST, id, post.getVersion());
+        invalidationBus.publish(InvalidationEvent.POST_COMMENTS, id, null);
+        invalidationBus.publish(InvalidationEvent.AUTHOR_POSTS, authorId, null);
+        trendingService.recordDeleted(id);
+        tagIndex.recordDeleted(id);
+        commentStreamHub.postDeleted(id);
     }
 }
\ No newline at end of file
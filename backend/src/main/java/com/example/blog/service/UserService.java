@@ -1,11 +1,26 @@
 package com.example.blog.service;
 
+import com.example.blog.cache.CacheInvalidationBus;
+import com.example.blog.cache.InvalidationEvent;
+import com.example.blog.deadline.DeadlineExceededException;
+import com.example.blog.deadline.RequestDeadline;
+import com.example.blog.exception.ConflictException;
+import com.example.blog.exception.NotFoundException;
+import com.example.blog.exception.ValidationException;
 import com.example.blog.model.User;
+import com.example.blog.purge.CascadePurger;
+import com.example.blog.repository.PostRepository;
 import com.example.blog.repository.UserRepository;
+import com.example.blog.stream.CommentStreamHub;
+import com.example.blog.tag.TagIndex;
+import com.example.blog.trending.TrendingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Service
 public class UserService {
@@ -14,22 +29,36 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final PostRepository postRepository;
+    private final CascadePurger cascadePurger;
+    private final CacheInvalidationBus invalidationBus;
+    private final TrendingService trendingService;
+    private final CommentStreamHub commentStreamHub;
+    private final TagIndex tagIndex;
 
-    public UserService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder, PostRepository postRepository,
+                       CascadePurger cascadePurger, CacheInvalidationBus invalidationBus,
+                       TrendingService trendingService, CommentStreamHub commentStreamHub, TagIndex tagIndex) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.postRepository = postRepository;
+        this.cascadePurger = cascadePurger;
+        this.invalidationBus = invalidationBus;
+        this.trendingService = trendingService;
+        this.commentStreamHub = commentStreamHub;
+        this.tagIndex = tagIndex;
     }
 
     public User register(String username, String rawPassword) {
         // 입력값 유효성 검증
         if (username == null || username.trim().isEmpty()) {
             logger.warn("회원가입 실패 - 빈 사용자명");
-            throw new IllegalArgumentException("사용자명은 필수입니다");
+            throw new ValidationException("사용자명은 필수입니다");
         }
         
         if (rawPassword == null || rawPassword.isEmpty()) {
             logger.warn("회원가입 실패 - 빈 비밀번호");
-            throw new IllegalArgumentException("비밀번호는 필수입니다");
+            throw new ValidationException("비밀번호는 필수입니다");
         }
 
         String trimmedUsername = username.trim();
@@ -37,21 +66,24 @@ public class UserService {
         // 사용자명 길이 검증
         if (trimmedUsername.length() < 3 || trimmedUsername.length() > 20) {
             logger.warn("회원가입 실패 - 잘못된 사용자명 길이: {}", trimmedUsername.length());
-            throw new IllegalArgumentException("사용자명은 3-20자 사이여야 합니다");
+            throw new ValidationException("사용자명은 3-20자 사이여야 합니다");
         }
         
         // 비밀번호 길이 검증
         if (rawPassword.length() < 6) {
             logger.warn("회원가입 실패 - 비밀번호가 너무 짧음: {}", rawPassword.length());
-            throw new IllegalArgumentException("비밀번호는 6자 이상이어야 합니다");
+            throw new ValidationException("비밀번호는 6자 이상이어야 합니다");
         }
         
         // 중복 사용자명 검증
         if (userRepository.findByUsername(trimmedUsername) != null) {
             logger.warn("회원가입 실패 - 이미 존재하는 사용자명: {}", trimmedUsername);
-            throw new IllegalArgumentException("이미 사용 중인 사용자명입니다");
+            throw ConflictException.USERNAME_TAKEN;
         }
         
+        // 클라이언트가 이미 포기했으면 해싱하지 않음
+        RequestDeadline.check("비밀번호 해싱");
+
         try {
             User user = new User();
             user.setUsername(trimmedUsername);
@@ -92,21 +124,14 @@ public class UserService {
     public User findById(Long id) {
         if (id == null) {
             logger.warn("null ID로 사용자 조회 시도");
-            throw new IllegalArgumentException("사용자 ID는 필수입니다");
+            throw new ValidationException("사용자 ID는 필수입니다");
         }
         
-        try {
-            return userRepository.findById(id)
-                .orElseThrow(() -> {
-                    logger.warn("존재하지 않는 사용자 ID: {}", id);
-                    return new RuntimeException("사용자를 찾을 수 없습니다");
-                });
-        } catch (RuntimeException e) {
-            throw e; // 이미 적절한 예외이므로 다시 던짐
-        } catch (Exception e) {
-            logger.error("사용자 조회 중 데이터베이스 오류: {}", e.getMessage(), e);
-            throw new RuntimeException("사용자 조회 중 오류가 발생했습니다");
-        }
+        return userRepository.findById(id)
+            .orElseThrow(() -> {
+                logger.debug("존재하지 않는 사용자 ID: {}", id);
+                return NotFoundException.USER;
+            });
     }
 
     public boolean authenticate(String username, String rawPassword) {
@@ -128,7 +153,12 @@ public class UserService {
                 logger.debug("존재하지 않는 사용자로 인증 시도: {}", trimmedUsername);
                 return false;
             }
-            
+            if (!Boolean.TRUE.equals(user.getEnabled())) {
+                logger.debug("비활성화된 사용자로 인증 시도: {}", trimmedUsername);
+                return false;
+            }
+
+            RequestDeadline.check("비밀번호 검증");
             boolean matches = passwordEncoder.matches(rawPassword, user.getPassword());
             
             if (matches) {
@@ -138,9 +168,31 @@ public class UserService {
             }
             
             return matches;
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("사용자 인증 중 오류 발생: {}", e.getMessage(), e);
             return false;
         }
     }
-}
\ No newline at end of file
+
+    // 관리자 사용자 삭제 - 계정(로그인/토큰)과 작성한 글은 즉시 막고, 행 삭제는 CascadePurger가 커밋 후 처리
+    @Transactional
+    public void delete(Long userId) {
+        User user = findById(userId);
+        List<Long> postIds = postRepository.findIdsByAuthorId(userId);
+        cascadePurger.markUserDeleted(userId);
+
+        // 2차 캐시의 enabled=true를 지워서 JWT 필터가 바로 비활성 상태를 보게 함
+        invalidationBus.publish(InvalidationEvent.USER, userId, null);
+        invalidationBus.publish(InvalidationEvent.AUTHOR_POSTS, userId, null);
+        for (Long postId : postIds) {
+            invalidationBus.publish(InvalidationEvent.POST, postId, null);
+            invalidationBus.publish(InvalidationEvent.POST_COMMENTS, postId, null);
+            trendingService.recordDeleted(postId);
+            tagIndex.recordDeleted(postId);
+            commentStreamHub.postDeleted(postId);
+        }
+        logger.info("사용자 삭제 요청: userId={}, username={}, posts={}", userId, user.getUsername(), postIds.size());
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.blog.stream;
+
+import com.example.blog.dto.CommentResponse;
+import com.example.blog.model.Comment;
+import com.example.blog.transaction.AfterCommit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 게시글별 댓글 실시간 스트림(SSE) 구독자 레지스트리
+// 연결은 비동기 서블릿으로 열어 두고 요청 스레드를 바로 반납하므로, 유휴 구독자 수만큼 스레드가 필요하지 않음
+// 이벤트는 커밋 후 한 번만 직렬화해서 같은 바이트 배열을 모든 구독자 큐에 넣음
+// 전달(fan-out)과 heartbeat는 전용 스레드 하나가 처리 - 댓글을 쓴 요청은 구독자 수와 무관하게 바로 끝남
+// 이 노드에서 일어난 변경만 전달함 (다른 노드의 변경은 재연결 시 목록 재조회로 반영)
+@Component
+public class CommentStreamHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentStreamHub.class);
+
+    private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final int maxQueuedFrames;
+    private final long maxDurationMillis;
+    private final byte[] openFrame;
+
+    private final Map<Long, Set<SseSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter droppedSlow;
+    private final ScheduledExecutorService executor;
+
+    public CommentStreamHub(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.comments.stream.max-subscribers:20000}") int maxSubscribers,
+                            @Value("${app.comments.stream.max-queued-events:64}") int maxQueuedFrames,
+                            @Value("${app.comments.stream.heartbeat-interval-ms:15000}") long heartbeatIntervalMillis,
+                            @Value("${app.comments.stream.max-duration-ms:1800000}") long maxDurationMillis,
+                            @Value("${app.comments.stream.retry-ms:3000}") long retryMillis) {
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.maxQueuedFrames = maxQueuedFrames;
+        this.maxDurationMillis = maxDurationMillis;
+        // 재연결 간격을 알려 주고, 주석 한 줄을 바로 보내 응답 헤더를 커밋
+        this.openFrame = ("retry: " + retryMillis + "\n: connected\n\n").getBytes(StandardCharsets.UTF_8);
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "comment-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("blog.comments.stream.subscribers", subscriberCount, AtomicInteger::get)
+            .description("댓글 스트림 연결 수")
+            .register(meterRegistry);
+        this.droppedSlow = Counter.builder("blog.comments.stream.dropped")
+            .description("큐가 넘쳐 끊은 느린 구독자 수")
+            .register(meterRegistry);
+    }
+
+    // 컨트롤러에서 호출 - 비동기 모드로 전환하고 바로 반환 (요청 스레드는 컨테이너로 돌아감)
+    public void subscribe(Long postId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            logger.warn("댓글 스트림 연결 한도 초과: postId={}, max={}", postId, maxSubscribers);
+            response.setHeader("Retry-After", "30");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Cache-Control", "no-cache");
+        // 프록시(nginx 등)가 스트림을 버퍼링하지 않도록
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(maxDurationMillis);
+        SseSubscriber subscriber = new SseSubscriber(postId, asyncContext, response.getOutputStream(),
+            maxQueuedFrames, this::unregister);
+        asyncContext.addListener(subscriber);
+
+        subscribers.compute(postId, (id, set) -> {
+            Set<SseSubscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        // 논블로킹 모드 전환 - 첫 onWritePossible에서 openFrame이 나감
+        response.getOutputStream().setWriteListener(subscriber);
+        subscriber.offer(openFrame);
+        logger.debug("댓글 스트림 연결: postId={}, total={}", postId, subscriberCount.get());
+    }
+
+    // CommentService에서 트랜잭션 안에 호출 - 직렬화는 지금(엔티티 접근 가능), 전달은 커밋 후
+
+    public void commentCreated(Long postId, Comment comment) {
+        publish(postId, "comment-created", comment.getId(), toPayload(comment));
+    }
+
+    public void commentUpdated(Long postId, Comment comment) {
+        publish(postId, "comment-updated", comment.getId(), toPayload(comment));
+    }
+
+    // 답글이 달린 댓글이면 그 아래 답글도 함께 지워진 것 (parentId/depth로 하위 항목을 찾아 제거)
+    public void commentDeleted(Long postId, Long commentId) {
+        publish(postId, "comment-deleted", commentId, Map.of("id", commentId));
+    }
+
+    // 게시글이 삭제되면 알리고 연결을 닫음 - EventSource가 재연결하면 404를 받음
+    // 소켓이 밀려 있으면 남은 프레임과 post-deleted를 다 보낸 뒤(onWritePossible) 닫힘
+    public void postDeleted(Long postId) {
+        if (!subscribers.containsKey(postId)) {
+            return;
+        }
+        byte[] frame = frame("post-deleted", postId, Map.of("id", postId));
+        AfterCommit.run(() -> execute(() -> {
+            Set<SseSubscriber> targets = subscribers.get(postId);
+            if (targets != null) {
+                for (SseSubscriber subscriber : new ArrayList<>(targets)) {
+                    subscriber.offerAndClose(frame);
+                }
+            }
+        }));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void publish(Long postId, String event, Long id, Object payload) {
+        // 구독자가 없는 글(대부분)은 직렬화도 하지 않음
+        if (!subscribers.containsKey(postId)) {
+            return;
+        }
+        byte[] frame = frame(event, id, payload);
+        AfterCommit.run(() -> execute(() -> fanOut(postId, frame)));
+    }
+
+    private void fanOut(Long postId, byte[] frame) {
+        Set<SseSubscriber> targets = subscribers.get(postId);
+        if (targets == null) {
+            return;
+        }
+        for (SseSubscriber subscriber : targets) {
+            if (!subscriber.offer(frame)) {
+                droppedSlow.increment();
+                logger.info("느린 댓글 스트림 구독자 연결 종료: postId={}", postId);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        try {
+            for (Set<SseSubscriber> targets : subscribers.values()) {
+                for (SseSubscriber subscriber : targets) {
+                    subscriber.heartbeat(HEARTBEAT);
+                }
+            }
+        } catch (RuntimeException e) {
+            // 예외가 나가면 이후 heartbeat 예약이 취소되므로 여기서 끝냄
+            logger.warn("댓글 스트림 heartbeat 실패: {}", e.getMessage());
+        }
+    }
+
+    private void unregister(SseSubscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.getPostId(), (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    private byte[] frame(String event, Long id, Object payload) {
+        try {
+            String data = objectMapper.writeValueAsString(payload);
+            return ("id: " + id + "\nevent: " + event + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("댓글 스트림 이벤트 직렬화 실패", e);
+        }
+    }
+
+    private static CommentResponse toPayload(Comment c) {
+        CommentResponse r = new CommentResponse();
+        r.setId(c.getId());
+        r.setContent(c.getContent());
+        if (c.getAuthor() != null) {
+            r.setAuthorId(c.getAuthor().getId());
+            r.setAuthorUsername(c.getAuthor().getUsername());
+        }
+        r.setParentId(c.getParentId());
+        r.setDepth(c.getDepth());
+        return r;
+    }
+
+    private void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        for (Set<SseSubscriber> targets : subscribers.values()) {
+            for (SseSubscriber subscriber : new ArrayList<>(targets)) {
+                subscriber.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.blog.stream;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+// SSE 연결 하나 - 비동기 서블릿 + 논블로킹 쓰기(WriteListener)로 요청 스레드를 점유하지 않음
+// 보낼 프레임은 크기가 제한된 큐에 쌓고, 소켓이 쓸 수 있을 때(isReady)만 씀
+// 큐가 가득 차면(느린 소비자) 연결을 끊음 - EventSource가 재연결하면 목록을 다시 받아 따라잡음
+final class SseSubscriber implements WriteListener, AsyncListener {
+
+    private final Long postId;
+    private final AsyncContext asyncContext;
+    private final ServletOutputStream out;
+    private final int maxQueuedFrames;
+    private final Consumer<SseSubscriber> onClose;
+
+    // 아래 필드는 this로 동기화 - 발행 스레드와 컨테이너 스레드(onWritePossible)가 함께 씀
+    private final ArrayDeque<byte[]> queue = new ArrayDeque<>();
+    private boolean needsFlush;
+    // 마지막 프레임을 받음 - 새 프레임은 받지 않고, 큐를 다 보내면 drain()이 연결을 닫음
+    private boolean closing;
+    private boolean closed;
+
+    SseSubscriber(Long postId, AsyncContext asyncContext, ServletOutputStream out, int maxQueuedFrames,
+                  Consumer<SseSubscriber> onClose) {
+        this.postId = postId;
+        this.asyncContext = asyncContext;
+        this.out = out;
+        this.maxQueuedFrames = maxQueuedFrames;
+        this.onClose = onClose;
+    }
+
+    Long getPostId() {
+        return postId;
+    }
+
+    // false면 큐가 넘쳐서 연결을 끊은 것
+    synchronized boolean offer(byte[] frame) {
+        if (closed || closing) {
+            return true;
+        }
+        if (queue.size() >= maxQueuedFrames) {
+            close();
+            return false;
+        }
+        queue.add(frame);
+        drain();
+        return true;
+    }
+
+    // 마지막 프레임을 넣고, 앞서 쌓인 프레임까지 모두 보낸 뒤 닫음 (바로 close()하면 큐가 비워져 전달되지 않음)
+    // 큐가 가득 찬 느린 구독자는 offer와 같이 바로 끊음
+    synchronized void offerAndClose(byte[] frame) {
+        if (closed || closing) {
+            return;
+        }
+        if (queue.size() >= maxQueuedFrames) {
+            close();
+            return;
+        }
+        closing = true;
+        queue.add(frame);
+        drain();
+    }
+
+    // 보낼 것이 없을 때만 heartbeat - 밀려 있으면 어차피 곧 데이터가 나감
+    synchronized void heartbeat(byte[] frame) {
+        if (!closed && !closing && queue.isEmpty()) {
+            queue.add(frame);
+            drain();
+        }
+    }
+
+    @Override
+    public synchronized void onWritePossible() {
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        close();
+    }
+
+    // isReady()가 false를 반환하면 소켓이 비워질 때 컨테이너가 onWritePossible을 다시 호출함
+    private void drain() {
+        if (closed) {
+            return;
+        }
+        try {
+            while (out.isReady()) {
+                byte[] frame = queue.poll();
+                if (frame != null) {
+                    out.write(frame);
+                    needsFlush = true;
+                } else if (needsFlush) {
+                    needsFlush = false;
+                    out.flush();
+                } else {
+                    if (closing) {
+                        close();
+                    }
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 연결을 끊음
+            close();
+        }
+    }
+
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.clear();
+        onClose.accept(this);
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // 이미 완료/오류 처리된 요청
+        }
+    }
+
+    // AsyncListener - 타임아웃, 네트워크 오류, 완료 시 레지스트리에서 제거
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+}
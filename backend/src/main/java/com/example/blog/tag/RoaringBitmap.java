@@ -0,0 +1,496 @@
+package com.example.blog.tag;
+
+import java.util.Arrays;
+import java.util.List;
+
+// 0 이상 int 집합 - Roaring 방식 압축 비트맵
+// 값의 상위 16비트(key)로 65536개 단위 구간을 나누고, 구간마다 밀도에 맞는 컨테이너를 씀
+//   ArrayContainer  : 4096개 이하 - 하위 16비트를 정렬된 char[]로 (값당 2바이트)
+//   BitmapContainer : 4096개 초과 - long[1024] 고정 8KB (값 수와 무관)
+// 4096이 두 표현의 크기가 같아지는 지점이라 어느 쪽이든 값당 2바이트를 넘지 않음
+// AND/OR은 key가 같은 컨테이너끼리만 계산하고, 한쪽에만 있는 구간은 건너뛰거나(AND) 그대로 씀(OR)
+//
+// 스레드 안전하지 않음 - TagIndex가 잠금으로 보호 (조회는 읽기 잠금 안에서 입력을 바꾸지 않고 새 컨테이너만 만듦)
+final class RoaringBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    RoaringBitmap() {
+        this.keys = new char[4];
+        this.containers = new Container[4];
+    }
+
+    void add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        int i = indexOf(key);
+        if (i >= 0) {
+            containers[i] = containers[i].add((char) value);
+        } else {
+            insertAt(-i - 1, key, new ArrayContainer().add((char) value));
+        }
+    }
+
+    void remove(int value) {
+        if (value < 0) {
+            return;
+        }
+        int i = indexOf((char) (value >>> 16));
+        if (i < 0) {
+            return;
+        }
+        Container c = containers[i].remove((char) value);
+        if (c.cardinality() == 0) {
+            removeAt(i);
+        } else {
+            containers[i] = c;
+        }
+    }
+
+    boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = indexOf((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    // 대략적인 메모리 사용량 (지표용)
+    long sizeInBytes() {
+        long bytes = keys.length * 2L + containers.length * 8L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    // inputs의 AND(matchAll) 또는 OR에서 exclude에 있는 값을 뺀 것 중 before 미만을 큰 것부터 최대 limit개 - 최신순(id 역순) 페이지
+    // 전체 결과 비트맵을 만들지 않고 key가 큰 구간부터 구간 단위로 계산하다가 limit개가 차면 멈춤
+    // -> 첫 페이지는 보통 가장 최근 구간(글 65536개) 하나만 계산
+    static int[] descendingBefore(List<RoaringBitmap> inputs, boolean matchAll, RoaringBitmap exclude,
+                                  int before, int limit) {
+        if (before <= 0 || inputs.isEmpty()) {
+            return new int[0];
+        }
+        int[] out = new int[limit];
+        int count = 0;
+        int last = before - 1;
+        int lastKey = last >>> 16;
+        // 입력별로 아직 보지 않은 가장 큰 구간의 위치
+        int[] positions = new int[inputs.size()];
+        for (int n = 0; n < inputs.size(); n++) {
+            positions[n] = inputs.get(n).size - 1;
+        }
+        while (count < limit) {
+            int key = matchAll ? nextCommonKey(inputs, positions, lastKey) : nextAnyKey(inputs, positions, lastKey);
+            if (key < 0) {
+                break;
+            }
+            Container chunk = null;
+            for (int n = 0; n < inputs.size(); n++) {
+                RoaringBitmap input = inputs.get(n);
+                int i = positions[n];
+                if (i < 0 || input.keys[i] != key) {
+                    continue;
+                }
+                positions[n] = i - 1;
+                Container c = input.containers[i];
+                chunk = chunk == null ? c : matchAll ? chunk.and(c) : chunk.or(c);
+            }
+            // exclude는 구간 전체를 빼지 않고 페이지를 채우면서 값마다 확인 - 확인 횟수가 limit 근처로 제한됨
+            int e = exclude.indexOf((char) key);
+            int maxLow = key == lastKey ? (last & 0xFFFF) : 0xFFFF;
+            count = chunk.fillDescending(key << 16, maxLow, e >= 0 ? exclude.containers[e] : null, out, count, limit);
+        }
+        return count == limit ? out : Arrays.copyOf(out, count);
+    }
+
+    // 모든 입력에 있는 가장 큰 key (lastKey 이하) - 없으면 -1, 위치는 그 key 또는 그 아래로 옮겨 둠
+    private static int nextCommonKey(List<RoaringBitmap> inputs, int[] positions, int lastKey) {
+        int key = lastKey;
+        while (true) {
+            boolean agreed = true;
+            for (int n = 0; n < inputs.size(); n++) {
+                RoaringBitmap input = inputs.get(n);
+                int i = positions[n];
+                while (i >= 0 && input.keys[i] > key) {
+                    i--;
+                }
+                positions[n] = i;
+                if (i < 0) {
+                    return -1;
+                }
+                if (input.keys[i] < key) {
+                    // 이 입력에는 key 구간이 없음 - 이 입력의 다음 구간부터 다시 맞춰 봄
+                    key = input.keys[i];
+                    agreed = false;
+                }
+            }
+            if (agreed) {
+                return key;
+            }
+        }
+    }
+
+    // 어느 입력에든 있는 가장 큰 key (lastKey 이하) - 없으면 -1
+    private static int nextAnyKey(List<RoaringBitmap> inputs, int[] positions, int lastKey) {
+        int key = -1;
+        for (int n = 0; n < inputs.size(); n++) {
+            RoaringBitmap input = inputs.get(n);
+            int i = positions[n];
+            while (i >= 0 && input.keys[i] > lastKey) {
+                i--;
+            }
+            positions[n] = i;
+            if (i >= 0) {
+                key = Math.max(key, input.keys[i]);
+            }
+        }
+        return key;
+    }
+
+    private int indexOf(char key) {
+        // 마지막 구간이 가장 자주 쓰임 (새 글 id는 늘 가장 큼)
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertAt(int i, char key, Container container) {
+        ensureCapacity();
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        size++;
+    }
+
+    private void removeAt(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    private void ensureCapacity() {
+        if (size == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("비트맵 값은 0 이상이어야 합니다: " + value);
+        }
+    }
+
+    // 구간 하나(하위 16비트)의 집합 - add/remove/연산은 표현이 바뀔 수 있으므로 반환값을 써야 함
+    private abstract static class Container {
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract long sizeInBytes();
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        // maxLow 이하이면서 exclude(null 가능)에 없는 값을 큰 것부터 out[pos..limit)에 채우고 다음 pos를 반환
+        abstract int fillDescending(int high, int maxLow, Container exclude, int[] out, int pos, int limit);
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            // 새 글 id는 항상 가장 크므로 끝에 붙는 경우를 먼저 처리
+            int i = cardinality > 0 && values[cardinality - 1] < value
+                ? -cardinality - 1
+                : Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            int at = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, values.length * 2));
+            }
+            System.arraycopy(values, at, values, at + 1, cardinality - at);
+            values[at] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return values.length * 2L + 16;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] out = new char[Math.min(cardinality, other.cardinality())];
+            int n = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        out[n++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        out[n++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                return bitmap.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            if (cardinality + array.cardinality > ARRAY_MAX) {
+                return toBitmap().orInPlace(array);
+            }
+            char[] out = new char[cardinality + array.cardinality];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    out[n++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    out[n++] = array.values[j++];
+                } else {
+                    out[n++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+
+        @Override
+        int fillDescending(int high, int maxLow, Container exclude, int[] out, int pos, int limit) {
+            for (int i = cardinality - 1; i >= 0 && pos < limit; i--) {
+                if (values[i] <= maxLow && (exclude == null || !exclude.contains(values[i]))) {
+                    out[pos++] = high | values[i];
+                }
+            }
+            return pos;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer(new long[BITMAP_WORDS], 0);
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.set(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            set(value);
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long mask = 1L << value;
+            int w = value >>> 6;
+            if ((words[w] & mask) != 0) {
+                words[w] &= ~mask;
+                cardinality--;
+                if (cardinality <= ARRAY_MAX) {
+                    return toArray();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return BITMAP_WORDS * 8L + 16;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] theirs = ((BitmapContainer) other).words;
+            long[] out = new long[BITMAP_WORDS];
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                out[w] = words[w] & theirs[w];
+                n += Long.bitCount(out[w]);
+            }
+            return normalize(out, n);
+        }
+
+        @Override
+        Container or(Container other) {
+            BitmapContainer copy = new BitmapContainer(words.clone(), cardinality);
+            if (other instanceof ArrayContainer array) {
+                return copy.orInPlace(array);
+            }
+            long[] theirs = ((BitmapContainer) other).words;
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                copy.words[w] |= theirs[w];
+                n += Long.bitCount(copy.words[w]);
+            }
+            copy.cardinality = n;
+            return copy;
+        }
+
+        @Override
+        int fillDescending(int high, int maxLow, Container exclude, int[] out, int pos, int limit) {
+            int w = maxLow >>> 6;
+            // maxLow보다 큰 비트는 지우고 시작
+            long word = words[w] & (-1L >>> (63 - (maxLow & 63)));
+            while (pos < limit) {
+                if (word != 0) {
+                    int bit = 63 - Long.numberOfLeadingZeros(word);
+                    char value = (char) ((w << 6) | bit);
+                    if (exclude == null || !exclude.contains(value)) {
+                        out[pos++] = high | value;
+                    }
+                    word &= ~(1L << bit);
+                } else if (--w < 0) {
+                    break;
+                } else {
+                    word = words[w];
+                }
+            }
+            return pos;
+        }
+
+        void set(char value) {
+            long mask = 1L << value;
+            int w = value >>> 6;
+            if ((words[w] & mask) == 0) {
+                words[w] |= mask;
+                cardinality++;
+            }
+        }
+
+        BitmapContainer orInPlace(ArrayContainer array) {
+            for (int i = 0; i < array.cardinality; i++) {
+                set(array.values[i]);
+            }
+            return this;
+        }
+
+        private ArrayContainer toArray() {
+            return (ArrayContainer) normalize(words, cardinality);
+        }
+
+        private static Container normalize(long[] words, int cardinality) {
+            if (cardinality > ARRAY_MAX) {
+                return new BitmapContainer(words, cardinality);
+            }
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, n);
+        }
+    }
+}
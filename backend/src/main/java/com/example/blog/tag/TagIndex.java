@@ -0,0 +1,337 @@
+package com.example.blog.tag;
+
+import com.example.blog.cache.CacheInvalidationListener;
+import com.example.blog.cache.InvalidationEvent;
+import com.example.blog.exception.ValidationException;
+import com.example.blog.model.Post;
+import com.example.blog.transaction.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// 태그 필터 인덱스 - 태그마다 그 태그가 달린 글 id의 압축 비트맵(RoaringBitmap)을 메모리에 유지
+// 여러 태그 조건은 비트맵 AND/OR로 평가하고 비밀글 비트맵을 빼서(ANDNOT) 공개글만 남김 - DB는 결과 페이지의 글만 PK로 읽음
+// 평가는 최신 id 구간부터 페이지가 찰 때까지만 하므로 태그에 달린 글 수와 거의 무관
+// (post_tags를 GROUP BY post_id HAVING COUNT(*) = n으로 묶는 방식은 태그별 글 수만큼 행을 읽어야 해서 인기 태그일수록 느려짐)
+// post_tags 테이블은 저장용 - 기동 시 한 번 읽어서 만들고, 이후에는 작성/수정/삭제 커밋 후 직접 갱신
+// 다른 노드의 변경은 무효화 버스의 post 이벤트로 받아서 그 글만 DB에서 다시 읽음 (이벤트 유실이 감지되면 전체 재구축)
+@Component
+public class TagIndex implements CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagIndex.class);
+
+    public static final int MAX_TAGS = 10;
+    public static final int MAX_TAG_LENGTH = 30;
+
+    private static final Pattern TAG_PATTERN = Pattern.compile("[\\p{L}\\p{N}_-]+");
+
+    private static final String SECRET_POSTS_SQL =
+        "SELECT id FROM posts WHERE is_secret = TRUE AND deleted_at IS NULL";
+    private static final String POST_TAGS_SQL =
+        "SELECT t.post_id, t.tag FROM post_tags t JOIN posts p ON p.id = t.post_id WHERE p.deleted_at IS NULL";
+    private static final String POST_SECRET_SQL =
+        "SELECT is_secret FROM posts WHERE id = ? AND deleted_at IS NULL";
+    private static final String TAGS_OF_POST_SQL =
+        "SELECT tag FROM post_tags WHERE post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate refreshTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 글 단위 재조회와 재구축을 한 줄로 세움 - 먼저 읽은 예전 상태가 나중에 읽은 최신 상태를 덮어쓰지 않게
+    private final Object refreshMonitor = new Object();
+
+    // 아래 상태는 lock으로 보호 - 재구축은 새로 만든 뒤 쓰기 잠금 안에서 통째로 교체
+    private Map<String, Postings> postsByTag = new HashMap<>();
+    private Map<Long, List<String>> tagsByPost = new HashMap<>();
+    private RoaringBitmap secretPosts = new RoaringBitmap();
+
+    public TagIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 커밋 직후에 불리므로 끝난 트랜잭션에 합류하지 않게 새 트랜잭션으로, 방금 커밋된 값을 읽도록 primary에서 (readOnly 아님)
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Gauge.builder("blog.tags.distinct", this, TagIndex::distinctTags)
+            .description("인덱스에 있는 서로 다른 태그 수")
+            .register(meterRegistry);
+        Gauge.builder("blog.tags.index.bytes", this, TagIndex::sizeInBytes)
+            .description("태그 비트맵이 차지하는 대략적인 메모리")
+            .register(meterRegistry);
+    }
+
+    // 태그 입력 정규화 - 앞뒤 공백 제거, 소문자, 중복 제거 후 정렬 (응답과 재구축 결과의 순서를 같게)
+    // 글 작성/수정과 목록 필터가 같은 규칙을 사용
+    public static List<String> normalize(Collection<String> raw) {
+        TreeSet<String> tags = new TreeSet<>();
+        for (String tag : raw) {
+            String value = tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT);
+            if (value.isEmpty() || value.length() > MAX_TAG_LENGTH) {
+                throw new ValidationException("태그는 1-" + MAX_TAG_LENGTH + "자 사이여야 합니다");
+            }
+            if (!TAG_PATTERN.matcher(value).matches()) {
+                throw new ValidationException("태그에는 문자, 숫자, _, -만 사용할 수 있습니다");
+            }
+            tags.add(value);
+        }
+        if (tags.size() > MAX_TAGS) {
+            throw new ValidationException("태그는 최대 " + MAX_TAGS + "개까지 지정할 수 있습니다");
+        }
+        return List.copyOf(tags);
+    }
+
+    // 태그 조건에 맞는 공개글 id를 최신순으로 - before(이전 페이지 마지막 id)보다 작은 것만 최대 limit개
+    // matchAll이면 모든 태그(AND), 아니면 하나라도(OR)
+    public List<Long> find(List<String> tags, boolean matchAll, Long before, int limit) {
+        int cursor = before == null || before > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) Math.max(0, before);
+        int[] ids;
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> bitmaps = new ArrayList<>(tags.size());
+            for (String tag : tags) {
+                Postings postings = postsByTag.get(tag);
+                if (postings != null) {
+                    bitmaps.add(postings.posts);
+                } else if (matchAll) {
+                    return List.of();
+                }
+            }
+            if (bitmaps.isEmpty()) {
+                return List.of();
+            }
+            if (matchAll) {
+                // 작은 비트맵부터 교집합 - 구간마다 중간 결과가 빨리 줄어듦
+                bitmaps.sort(Comparator.comparingLong(RoaringBitmap::cardinality));
+            }
+            ids = RoaringBitmap.descendingBefore(bitmaps, matchAll, secretPosts, cursor, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add((long) id);
+        }
+        return result;
+    }
+
+    public List<String> tagsOf(Long postId) {
+        lock.readLock().lock();
+        try {
+            return tagsByPost.getOrDefault(postId, List.of());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 아래는 서비스 트랜잭션 안에서 호출 - 커밋된 뒤에만 인덱스에 반영
+
+    // 작성/수정 - 태그와 비밀글 여부를 통째로 다시 반영 (이전 태그는 인덱스가 기억하는 값에서 뺌)
+    public void recordSaved(Post post) {
+        recordSaved(post.getId(), post.getTags(), post.isSecret());
+    }
+
+    // 엔티티 없이 JDBC로 저장한 글 (가져오기)
+    public void recordSaved(Long postId, Collection<String> postTags, boolean secret) {
+        List<String> tags = List.copyOf(new TreeSet<>(postTags));
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(postId);
+                index(postsByTag, tagsByPost, secretPosts, postId, tags, secret);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void recordDeleted(Long postId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(postId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // 이 노드의 글 변경은 recordSaved/recordDeleted가 커밋 뒤에 이미 반영함
+    @Override
+    public void onInvalidate(InvalidationEvent event) {
+    }
+
+    // 다른 노드의 글 변경 - DB에서 그 글을 다시 읽어 반영 (PK 조회 두 번)
+    @Override
+    public void onRemoteInvalidate(InvalidationEvent event) {
+        if (InvalidationEvent.POST.equals(event.entity()) && event.id() != null) {
+            refresh(event.id());
+        }
+    }
+
+    @Override
+    public void onInvalidateAll() {
+        rebuild();
+    }
+
+    // 글 하나의 비밀글 여부와 태그를 DB에서 다시 읽어 반영 - 삭제되었거나 없는 글은 인덱스에서 뺌
+    void refresh(Long postId) {
+        synchronized (refreshMonitor) {
+            List<String> tags = new ArrayList<>();
+            Boolean secret = refreshTransaction.execute(status -> {
+                List<Boolean> found = jdbcTemplate.queryForList(POST_SECRET_SQL, Boolean.class, postId);
+                if (found.isEmpty()) {
+                    return null;
+                }
+                tags.addAll(jdbcTemplate.queryForList(TAGS_OF_POST_SQL, String.class, postId));
+                return Boolean.TRUE.equals(found.get(0));
+            });
+            tags.sort(null);
+
+            lock.writeLock().lock();
+            try {
+                unindex(postId);
+                if (secret != null) {
+                    index(postsByTag, tagsByPost, secretPosts, postId, tags, secret);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // 기동 시와 전체 무효화 시 재구축 - 그동안 커밋된 변경의 재조회는 refreshMonitor에서 기다렸다가 교체 뒤에 반영됨
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (refreshMonitor) {
+            long startedAt = System.currentTimeMillis();
+            Map<String, Postings> freshByTag = new HashMap<>();
+            Map<Long, List<String>> freshByPost = new HashMap<>();
+            RoaringBitmap freshSecret = new RoaringBitmap();
+            Map<Long, List<String>> loaded = new HashMap<>();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.query(SECRET_POSTS_SQL, rs -> { freshSecret.add(toValue(rs.getLong(1))); });
+                jdbcTemplate.query(POST_TAGS_SQL, rs -> {
+                    loaded.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+                });
+            });
+            for (Map.Entry<Long, List<String>> entry : loaded.entrySet()) {
+                List<String> tags = entry.getValue();
+                tags.sort(null);
+                index(freshByTag, freshByPost, null, entry.getKey(), tags, false);
+            }
+
+            lock.writeLock().lock();
+            try {
+                postsByTag = freshByTag;
+                tagsByPost = freshByPost;
+                secretPosts = freshSecret;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("태그 인덱스 구축 완료: tags={}, taggedPosts={}, secretPosts={}, elapsedMs={}",
+                       freshByTag.size(), freshByPost.size(), freshSecret.cardinality(), System.currentTimeMillis() - startedAt);
+        }
+    }
+
+    // 태그 하나의 글 목록 - 글별 태그 목록(tagsByPost)은 여기의 tag 인스턴스를 공유해서 글마다 문자열 복사본을 두지 않음
+    private static final class Postings {
+        private final String tag;
+        private final RoaringBitmap posts = new RoaringBitmap();
+
+        private Postings(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    // 쓰기 잠금 안에서 호출 (재구축은 아직 공개 전인 새 맵이라 잠금 없이)
+    private static void index(Map<String, Postings> byTag, Map<Long, List<String>> byPost, RoaringBitmap secret,
+                              Long postId, List<String> tags, boolean isSecret) {
+        int value = toValue(postId);
+        if (secret != null) {
+            if (isSecret) {
+                secret.add(value);
+            } else {
+                secret.remove(value);
+            }
+        }
+        if (tags.isEmpty()) {
+            return;
+        }
+        List<String> shared = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            Postings postings = byTag.computeIfAbsent(tag, Postings::new);
+            postings.posts.add(value);
+            shared.add(postings.tag);
+        }
+        byPost.put(postId, List.copyOf(shared));
+    }
+
+    // 쓰기 잠금 안에서 호출
+    private void unindex(Long postId) {
+        int value = toValue(postId);
+        secretPosts.remove(value);
+        List<String> previous = tagsByPost.remove(postId);
+        if (previous == null) {
+            return;
+        }
+        for (String tag : previous) {
+            Postings postings = postsByTag.get(tag);
+            if (postings != null) {
+                postings.posts.remove(value);
+                if (postings.posts.isEmpty()) {
+                    postsByTag.remove(tag);
+                }
+            }
+        }
+    }
+
+    private int distinctTags() {
+        lock.readLock().lock();
+        try {
+            return postsByTag.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = secretPosts.sizeInBytes();
+            for (Postings postings : postsByTag.values()) {
+                bytes += postings.posts.sizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 비트맵 값은 int - IDENTITY id가 int 범위를 넘으면 인덱스를 쓸 수 없음
+    private static int toValue(Long postId) {
+        if (postId == null || postId < 0 || postId > Integer.MAX_VALUE) {
+            throw new IllegalStateException("태그 인덱스에 넣을 수 없는 게시글 id: " + postId);
+        }
+        return postId.intValue();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.blog.timing;
+
+// Server-Timing 헤더에 기록하는 요청 처리 단계
+// 단계는 겹칠 수 있음 - user(사용자 조회) 안의 리포지토리 호출은 db에도 포함됨
+public enum Phase {
+    // 토큰 파싱/서명 검증 (JwtAuthenticationFilter)
+    JWT("jwt"),
+    // CustomUserDetailsService.loadUserByUsername
+    USER("user"),
+    // 리포지토리 메서드 호출 (쿼리 실행 + 엔티티 로딩)
+    DB("db"),
+    // 엔티티 → 응답 DTO 변환 (컨트롤러 toResp)
+    MAP("map"),
+    // Jackson 직렬화
+    SERIALIZE("ser");
+
+    private final String metricName;
+
+    Phase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
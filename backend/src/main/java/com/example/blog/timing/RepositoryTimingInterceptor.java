@@ -0,0 +1,18 @@
+package com.example.blog.timing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+// 리포지토리 메서드 호출 시간을 Phase.DB로 기록 - ServerTimingConfig에서 모든 JPA 리포지토리 프록시에 추가
+public class RepositoryTimingInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = ServerTiming.start(Phase.DB);
+        try {
+            return invocation.proceed();
+        } finally {
+            ServerTiming.stop(Phase.DB, start);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.blog.timing;
+
+// 요청 단위 단계별 소요 시간 기록 - ServerTimingFilter가 요청 스레드에서 기록을 시작/종료
+// 사용법: long start = ServerTiming.start(Phase.DB); try { ... } finally { ServerTiming.stop(Phase.DB, start); }
+// 꺼져 있거나 기록 중이 아닌 스레드에서는 start가 0을 돌려주고 stop은 아무 일도 하지 않음
+// 스레드별 기록 버퍼를 재사용하므로 기록 자체는 할당 없음
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<Recorder> RECORDER = ThreadLocal.withInitial(Recorder::new);
+
+    private static volatile boolean enabled;
+
+    private ServerTiming() {
+    }
+
+    static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static long start(Phase phase) {
+        if (!enabled) {
+            return 0L;
+        }
+        return RECORDER.get().open(phase);
+    }
+
+    public static void stop(Phase phase, long startNanos) {
+        if (startNanos != 0L) {
+            RECORDER.get().close(phase, startNanos);
+        }
+    }
+
+    // 지금까지 기록된 단계로 만든 헤더 값 - 기록 중이 아니면 null
+    public static String currentHeaderValue() {
+        if (!enabled) {
+            return null;
+        }
+        Recorder recorder = RECORDER.get();
+        return recorder.active ? recorder.headerValue(System.nanoTime()) : null;
+    }
+
+    static Recorder begin() {
+        Recorder recorder = RECORDER.get();
+        recorder.reset(System.nanoTime());
+        return recorder;
+    }
+
+    static void end() {
+        RECORDER.get().active = false;
+    }
+
+    static final class Recorder {
+        private static final Phase[] PHASES = Phase.values();
+
+        private final long[] elapsedNanos = new long[PHASES.length];
+        private final boolean[] open = new boolean[PHASES.length];
+        private final StringBuilder header = new StringBuilder(128);
+        private long beginNanos;
+        private boolean active;
+
+        private void reset(long now) {
+            for (int i = 0; i < PHASES.length; i++) {
+                elapsedNanos[i] = 0L;
+                open[i] = false;
+            }
+            beginNanos = now;
+            active = true;
+        }
+
+        // 같은 단계가 이미 열려 있으면(중첩 호출) 0 - 바깥 호출에서 한 번만 잼
+        private long open(Phase phase) {
+            if (!active || open[phase.ordinal()]) {
+                return 0L;
+            }
+            open[phase.ordinal()] = true;
+            long now = System.nanoTime();
+            return now != 0L ? now : 1L;
+        }
+
+        private void close(Phase phase, long startNanos) {
+            int index = phase.ordinal();
+            if (active && open[index]) {
+                elapsedNanos[index] += System.nanoTime() - startNanos;
+                open[index] = false;
+            }
+        }
+
+        long elapsedNanos(Phase phase) {
+            return elapsedNanos[phase.ordinal()];
+        }
+
+        long totalNanos(long now) {
+            return now - beginNanos;
+        }
+
+        // 예: jwt;dur=0.412, user;dur=1.093, db;dur=3.250, map;dur=0.210, ser;dur=0.884, total;dur=6.902
+        String headerValue(long now) {
+            header.setLength(0);
+            for (Phase phase : PHASES) {
+                long nanos = elapsedNanos[phase.ordinal()];
+                if (nanos > 0L) {
+                    appendMetric(phase.getMetricName(), nanos);
+                }
+            }
+            appendMetric("total", now - beginNanos);
+            return header.toString();
+        }
+
+        private void appendMetric(String name, long nanos) {
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            header.append(name).append(";dur=");
+            appendMillis(header, nanos);
+        }
+
+        // 나노초 → 밀리초 소수점 셋째 자리 (String.format 없이)
+        static void appendMillis(StringBuilder sb, long nanos) {
+            long micros = nanos / 1_000L;
+            sb.append(micros / 1_000L).append('.');
+            long fraction = micros % 1_000L;
+            if (fraction < 100) {
+                sb.append('0');
+            }
+            if (fraction < 10) {
+                sb.append('0');
+            }
+            sb.append(fraction);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.blog.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 요청별 단계 소요 시간을 Server-Timing 응답 헤더로 내보냄 - 가장 바깥 필터라서 total에 보안 필터 체인까지 포함
+// JSON 응답은 본문을 쓰면서 커밋되므로 ServerTimingJacksonConverter가 직렬화 직후 헤더를 넣고, 여기서는 그 외 응답에 넣음
+// 일부 요청(sample-rate)과 느린 요청(slow-ms 이상)은 단계별 시간을 한 줄 로그로도 남김
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowNanos;
+
+    public ServerTimingFilter(@Value("${app.server-timing.enabled:false}") boolean enabled,
+                              @Value("${app.server-timing.log-sample-rate:0}") double sampleRate,
+                              @Value("${app.server-timing.log-slow-ms:0}") long slowMillis) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowNanos = slowMillis > 0 ? slowMillis * 1_000_000L : Long.MAX_VALUE;
+        ServerTiming.setEnabled(enabled);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        ServerTiming.Recorder recorder = ServerTiming.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long now = System.nanoTime();
+            if (!response.isCommitted()) {
+                response.setHeader(ServerTiming.HEADER, recorder.headerValue(now));
+            }
+            long total = recorder.totalNanos(now);
+            if (total >= slowNanos || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+                log(request, response, recorder, total);
+            }
+            ServerTiming.end();
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, ServerTiming.Recorder recorder, long total) {
+        StringBuilder sb = new StringBuilder(160);
+        sb.append("server-timing method=").append(request.getMethod())
+          .append(" path=").append(request.getRequestURI())
+          .append(" status=").append(response.getStatus())
+          .append(" total_ms=");
+        ServerTiming.Recorder.appendMillis(sb, total);
+        for (Phase phase : Phase.values()) {
+            sb.append(' ').append(phase.getMetricName()).append("_ms=");
+            ServerTiming.Recorder.appendMillis(sb, recorder.elapsedNanos(phase));
+        }
+        logger.info(sb.toString());
+    }
+}
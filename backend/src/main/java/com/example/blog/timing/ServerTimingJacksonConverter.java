@@ -0,0 +1,85 @@
+package com.example.blog.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+// JSON 직렬화 시간을 Phase.SERIALIZE로 기록하는 Jackson 컨버터 (Boot 기본 컨버터를 대체)
+// 직렬화 직후 flush로 응답이 커밋되어 필터에서는 헤더를 붙일 수 없으므로, 기록 중인 요청은
+// 스레드별 버퍼에 먼저 직렬화하고 ser/total을 포함한 Server-Timing 헤더를 설정한 뒤 본문을 씀
+public class ServerTimingJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    // 이보다 커진 버퍼는 요청이 끝나면 버림 - 큰 응답 하나 때문에 스레드마다 메모리를 붙잡지 않도록
+    private static final int MAX_RETAINED_BUFFER = 256 * 1024;
+
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+    public ServerTimingJacksonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = ServerTiming.start(Phase.SERIALIZE);
+        if (start == 0L) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        Buffer buffer = BUFFER.get();
+        try {
+            try {
+                super.writeInternal(object, type, buffer.wrap(outputMessage));
+            } finally {
+                ServerTiming.stop(Phase.SERIALIZE, start);
+            }
+            outputMessage.getHeaders().set(ServerTiming.HEADER, ServerTiming.currentHeaderValue());
+            buffer.writeTo(outputMessage.getBody());
+        } finally {
+            buffer.release();
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream implements HttpOutputMessage {
+        private HttpOutputMessage target;
+
+        private Buffer() {
+            super(8192);
+        }
+
+        private HttpOutputMessage wrap(HttpOutputMessage outputMessage) {
+            reset();
+            this.target = outputMessage;
+            return this;
+        }
+
+        private void release() {
+            this.target = null;
+        }
+
+        private int capacity() {
+            return buf.length;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return target.getHeaders();
+        }
+    }
+}
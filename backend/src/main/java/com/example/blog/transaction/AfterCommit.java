@@ -0,0 +1,25 @@
+package com.example.blog.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 현재 트랜잭션이 커밋된 뒤에 실행 - 메모리 인덱스/순위/스트림처럼 롤백된 변경을 반영하면 안 되는 곳에서 사용
+// 트랜잭션이 없으면 즉시 실행, 롤백되면 실행하지 않음
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.blog.trending;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// 시간 감쇠 점수 기반 인기글 순위 - 조회/댓글/작성 이벤트마다 점진적으로 갱신
+//
+// 감쇠는 forward decay로 처리: 시각 t의 이벤트를 weight * e^(λ(t - landmark))로 더해 두면
+// 모든 점수에 같은 e^(-λ(now - landmark))를 곱한 것이 현재 점수이므로, 순서 비교에는 감쇠를 적용할 필요가 없음
+// 저장된 점수는 이벤트가 올 때만 커지므로, 상위 K개 최소 힙 밖의 글은 자기 점수가 오를 때만 힙에 들어올 수 있음
+// -> 이벤트당 O(K) 이하, 조회는 정렬된 스냅숏을 그대로 반환
+//
+// 스레드 안전: 변경은 모두 이 객체로 동기화, top()은 변경이 없으면 잠금 없이 volatile 스냅숏만 읽음
+public class TrendingRanking {
+
+    // 응답에 필요한 게시글 정보 - 조회 시 DB를 읽지 않도록 순위와 함께 보관
+    public record PostInfo(Long id, String title, Long authorId, String authorUsername,
+                           boolean secret, LocalDateTime createdAt) {}
+
+    // score는 조회 시점 기준으로 감쇠된 값
+    public record RankedPost(PostInfo post, double score) {}
+
+    // 점수가 같으면 최신 글(큰 ID)이 위
+    private static final Comparator<Entry> ORDER =
+        Comparator.<Entry>comparingDouble(e -> e.score).thenComparingLong(e -> e.postId);
+
+    // e^200 ≈ 7e86 - double 범위(1e308) 안에서 여유를 두고 landmark를 옮김
+    private static final double MAX_EXPONENT = 200.0;
+
+    private final double lambda;
+    private final int capacity;
+
+    private long landmarkMillis;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final PriorityQueue<Entry> heap;
+
+    private volatile Snapshot snapshot = new Snapshot(new Entry[0], 0L);
+    private volatile boolean dirty;
+
+    public TrendingRanking(double halfLifeMillis, int capacity, long nowMillis) {
+        this.lambda = Math.log(2) / halfLifeMillis;
+        this.capacity = capacity;
+        this.landmarkMillis = nowMillis;
+        this.heap = new PriorityQueue<>(capacity + 1, ORDER);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // 게시글 정보와 함께 점수 추가 - 처음 보는 글이면 새로 추적
+    public synchronized void add(PostInfo info, double weight, long atMillis) {
+        Entry entry = entries.computeIfAbsent(info.id(), Entry::new);
+        entry.info = info;
+        bump(entry, weight, atMillis);
+    }
+
+    // 이미 추적 중인 글에만 점수 추가 (정보가 없으면 응답을 만들 수 없으므로 무시)
+    public synchronized boolean add(Long postId, double weight, long atMillis) {
+        Entry entry = entries.get(postId);
+        if (entry == null) {
+            return false;
+        }
+        bump(entry, weight, atMillis);
+        return true;
+    }
+
+    // 제목/비밀글 여부 변경 반영 - 점수는 그대로
+    public synchronized void update(PostInfo info) {
+        Entry entry = entries.get(info.id());
+        if (entry != null) {
+            entry.info = info;
+            dirty |= entry.inHeap;
+        }
+    }
+
+    // 삭제된 글 제거 - 힙에서 빠지면 힙 밖에서 가장 높은 글로 채움 (삭제는 드물어서 전체 탐색 허용)
+    public synchronized void remove(Long postId) {
+        Entry entry = entries.remove(postId);
+        if (entry == null || !entry.inHeap) {
+            return;
+        }
+        heap.remove(entry);
+        entry.inHeap = false;
+        Entry best = null;
+        for (Entry candidate : entries.values()) {
+            if (!candidate.inHeap && (best == null || ORDER.compare(candidate, best) > 0)) {
+                best = candidate;
+            }
+        }
+        if (best != null) {
+            best.inHeap = true;
+            heap.add(best);
+        }
+        dirty = true;
+    }
+
+    // 현재 점수가 minScore 미만인 힙 밖 항목을 버려 메모리를 활동 중인 글로 제한
+    // 버린 글은 다음 이벤트 때 그 이벤트 점수만으로 다시 추적됨 (이전 점수는 이미 무시할 만큼 감쇠됨)
+    // 오래 실행되면 landmark를 현재로 옮겨 지수가 넘치지 않게 함 - 모든 점수에 같은 배율이므로 순서는 그대로
+    public synchronized int prune(double minScore, long nowMillis) {
+        double exponent = lambda * (nowMillis - landmarkMillis);
+        if (exponent > MAX_EXPONENT / 2) {
+            double factor = Math.exp(-exponent);
+            for (Entry entry : entries.values()) {
+                entry.score *= factor;
+            }
+            landmarkMillis = nowMillis;
+            exponent = 0;
+            dirty = true;
+        }
+        double threshold = minScore * Math.exp(exponent);
+        int removed = 0;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (!entry.inHeap && entry.score < threshold) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized boolean contains(Long postId) {
+        return entries.containsKey(postId);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // 상위 limit개 - 변경이 없으면 잠금/정렬 없이 스냅숏을 그대로 사용
+    public List<RankedPost> top(int limit, long nowMillis) {
+        Snapshot current = dirty ? refreshSnapshot() : snapshot;
+        int n = Math.min(limit, current.entries.length);
+        double decay = Math.exp(-lambda * (nowMillis - current.landmarkMillis));
+        List<RankedPost> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Entry entry = current.entries[i];
+            result.add(new RankedPost(entry.info, entry.score * decay));
+        }
+        return result;
+    }
+
+    private void bump(Entry entry, double weight, long atMillis) {
+        double exponent = lambda * (atMillis - landmarkMillis);
+        if (exponent > MAX_EXPONENT) {
+            // prune 주기보다 오래 멈춰 있었던 경우 - 이벤트를 받기 전에 landmark부터 옮김
+            prune(0, atMillis);
+            exponent = lambda * (atMillis - landmarkMillis);
+        }
+        double delta = weight * Math.exp(exponent);
+        if (entry.inHeap) {
+            // 힙 안에서 키가 바뀌면 위치를 다시 잡아야 함 (K가 작아서 O(K) remove로 충분)
+            heap.remove(entry);
+            entry.score += delta;
+            heap.add(entry);
+            dirty = true;
+            return;
+        }
+        entry.score += delta;
+        if (heap.size() < capacity) {
+            entry.inHeap = true;
+            heap.add(entry);
+            dirty = true;
+        } else if (ORDER.compare(entry, heap.peek()) > 0) {
+            heap.poll().inHeap = false;
+            entry.inHeap = true;
+            heap.add(entry);
+            dirty = true;
+        }
+    }
+
+    private synchronized Snapshot refreshSnapshot() {
+        if (dirty) {
+            // 스냅숏의 Entry는 복사본 - 이후 점수 변경이 이미 반환한 순위에 섞이지 않도록
+            Entry[] sorted = new Entry[heap.size()];
+            int i = 0;
+            for (Entry entry : heap) {
+                sorted[i++] = entry.copy();
+            }
+            Arrays.sort(sorted, ORDER.reversed());
+            snapshot = new Snapshot(sorted, landmarkMillis);
+            dirty = false;
+        }
+        return snapshot;
+    }
+
+    private record Snapshot(Entry[] entries, long landmarkMillis) {}
+
+    private static final class Entry {
+        final long postId;
+        PostInfo info;
+        double score;
+        boolean inHeap;
+
+        Entry(Long postId) {
+            this.postId = postId;
+        }
+
+        Entry copy() {
+            Entry copy = new Entry(postId);
+            copy.info = info;
+            copy.score = score;
+            return copy;
+        }
+    }
+}
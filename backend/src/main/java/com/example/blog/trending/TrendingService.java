@@ -0,0 +1,253 @@
+package com.example.blog.trending;
+
+import com.example.blog.cache.CacheInvalidationListener;
+import com.example.blog.cache.InvalidationEvent;
+import com.example.blog.model.Post;
+import com.example.blog.transaction.AfterCommit;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 인기글 순위 관리 - 점수 = 작성(최신성) + 조회 + 댓글, 각 이벤트는 half-life마다 절반으로 감쇠
+// 기동 시 한 번만 DB에서 다시 계산하고, 이후에는 조회/댓글/작성/수정/삭제 경로에서 메모리 순위를 직접 갱신
+// 노드별로 자기 노드의 조회만 반영하는 근사치 (조회수 자체는 PostViewCounter가 DB에 누적)
+// 다른 노드의 수정/삭제는 무효화 이벤트로 받아 추적 중인 글의 제목/비밀글 여부/삭제 여부만 맞춤
+@Service
+public class TrendingService implements CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    private static final String RECENT_POSTS_SQL =
+        "SELECT p.id, p.title, p.is_secret, p.created_at, p.views, p.author_id, u.username " +
+        "FROM posts p JOIN users u ON u.id = p.author_id WHERE p.created_at >= :since AND p.deleted_at IS NULL";
+
+    private static final String POSTS_BY_ID_SQL =
+        "SELECT p.id, p.title, p.is_secret, p.created_at, p.views, p.author_id, u.username " +
+        "FROM posts p JOIN users u ON u.id = p.author_id WHERE p.id IN (:ids) AND p.deleted_at IS NULL";
+
+    private static final String RECENT_COMMENTS_SQL =
+        "SELECT post_id, created_at FROM comments WHERE created_at >= :since";
+
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate refreshTransaction;
+    private final long halfLifeMillis;
+    private final int capacity;
+    private final double postWeight;
+    private final double viewWeight;
+    private final double commentWeight;
+    private final double minScore;
+
+    // 기동 시 재계산이 끝나면 통째로 교체 - 재계산 중 들어온 이벤트는 이전(빈) 순위에만 반영됨
+    private volatile TrendingRanking ranking;
+
+    public TrendingService(NamedParameterJdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.trending.half-life-hours:24}") double halfLifeHours,
+                           @Value("${app.trending.capacity:100}") int capacity,
+                           @Value("${app.trending.post-weight:20}") double postWeight,
+                           @Value("${app.trending.view-weight:1}") double viewWeight,
+                           @Value("${app.trending.comment-weight:5}") double commentWeight,
+                           @Value("${app.trending.min-score:0.01}") double minScore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 다른 노드가 방금 커밋한 값을 읽도록 primary에서 (readOnly 아님) - TagIndex와 같음
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.halfLifeMillis = (long) (halfLifeHours * 3_600_000L);
+        this.capacity = capacity;
+        this.postWeight = postWeight;
+        this.viewWeight = viewWeight;
+        this.commentWeight = commentWeight;
+        this.minScore = minScore;
+        this.ranking = new TrendingRanking(halfLifeMillis, capacity, System.currentTimeMillis());
+    }
+
+    public List<TrendingRanking.RankedPost> top(int limit) {
+        return ranking.top(limit, System.currentTimeMillis());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // 게시글 상세 조회 - 트랜잭션 밖(컨트롤러)에서 호출, 작성자는 이미 초기화된 상태
+    public void recordView(Post post) {
+        ranking.add(info(post), viewWeight, System.currentTimeMillis());
+    }
+
+    // 아래는 서비스 트랜잭션 안에서 호출 - 커밋된 뒤에만 순위에 반영
+
+    // 댓글 작성은 게시글 엔티티를 읽지 않으므로 ID만 받음 - 추적 중이 아닌 글만 응답용 정보를 PK로 읽음 (본문 제외)
+    // 댓글이 달리는 글은 대개 상세 조회로 이미 추적 중이라 보통은 SQL 없음
+    public void recordComment(Long postId) {
+        recordComments(postId, 1);
+    }
+
+    // 한 트랜잭션에서 같은 글에 달린 댓글 여러 개 (댓글 group commit) - 글 정보 조회와 점수 반영을 한 번에
+    public void recordComments(Long postId, int count) {
+        TrendingRanking.PostInfo info = ranking.contains(postId) ? null : loadInfo(postId);
+        double weight = commentWeight * count;
+        AfterCommit.run(() -> {
+            long now = System.currentTimeMillis();
+            if (info != null) {
+                ranking.add(info, weight, now);
+            } else {
+                ranking.add(postId, weight, now);
+            }
+        });
+    }
+
+    public void recordCreated(Post post) {
+        TrendingRanking.PostInfo info = info(post);
+        AfterCommit.run(() -> ranking.add(info, postWeight, System.currentTimeMillis()));
+    }
+
+    public void recordUpdated(Post post) {
+        TrendingRanking.PostInfo info = info(post);
+        AfterCommit.run(() -> ranking.update(info));
+    }
+
+    public void recordDeleted(Long postId) {
+        AfterCommit.run(() -> ranking.remove(postId));
+    }
+
+    // 이 노드의 변경은 recordUpdated/recordDeleted가 커밋 뒤에 이미 반영함
+    @Override
+    public void onInvalidate(InvalidationEvent event) {
+    }
+
+    // 다른 노드의 글 변경 - 추적 중인 글만 DB에서 다시 읽어 제목/비밀글 여부를 바꾸거나, 삭제되었으면 뺌
+    // 추적 중이 아닌 글은 순위에 영향이 없으므로 SQL 없음
+    @Override
+    public void onRemoteInvalidate(InvalidationEvent event) {
+        if (!InvalidationEvent.POST.equals(event.entity()) || event.id() == null || !ranking.contains(event.id())) {
+            return;
+        }
+        TrendingRanking.PostInfo info = refreshTransaction.execute(status -> loadInfo(event.id()));
+        if (info != null) {
+            ranking.update(info);
+        } else {
+            ranking.remove(event.id());
+        }
+    }
+
+    // 이벤트 유실이 감지되면 어떤 글이 바뀌었는지 모르므로 기동 시와 같이 다시 계산
+    @Override
+    public void onInvalidateAll() {
+        rebuild();
+    }
+
+    // 기동 시 재계산 - 점수가 min-score 미만으로 감쇠했을 기간(horizon) 이전의 글/댓글은 읽지 않음
+    // 조회는 시각이 없으므로 글 작성 시각에 일어난 것으로 보고 작성 점수와 같이 감쇠시킴
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        double maxWeight = Math.max(postWeight, commentWeight);
+        long horizonMillis = (long) (halfLifeMillis * Math.ceil(Math.log(maxWeight / minScore) / Math.log(2)));
+        Timestamp since = new Timestamp(startedAt - horizonMillis);
+
+        TrendingRanking fresh = new TrendingRanking(halfLifeMillis, capacity, startedAt);
+        int[] counts = new int[2];
+        readOnlyTransaction.executeWithoutResult(status -> {
+            MapSqlParameterSource params = new MapSqlParameterSource("since", since);
+            jdbcTemplate.query(RECENT_POSTS_SQL, params, rs -> {
+                addPost(fresh, rs);
+                counts[0]++;
+            });
+
+            // 댓글은 글별로 묶어서 한 번에 반영 - 오래된 글에 달린 최근 댓글은 글 정보를 따로 읽음
+            Map<Long, List<Long>> commentTimes = new HashMap<>();
+            jdbcTemplate.query(RECENT_COMMENTS_SQL, params, rs -> {
+                commentTimes.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getTimestamp(2).getTime());
+                counts[1]++;
+            });
+            List<Long> missing = new ArrayList<>();
+            for (Map.Entry<Long, List<Long>> entry : commentTimes.entrySet()) {
+                if (!applyComments(fresh, entry.getKey(), entry.getValue())) {
+                    missing.add(entry.getKey());
+                }
+            }
+            for (int from = 0; from < missing.size(); from += ID_CHUNK_SIZE) {
+                List<Long> ids = missing.subList(from, Math.min(from + ID_CHUNK_SIZE, missing.size()));
+                jdbcTemplate.query(POSTS_BY_ID_SQL, new MapSqlParameterSource("ids", ids), rs -> { addPost(fresh, rs); });
+            }
+            for (Long postId : missing) {
+                applyComments(fresh, postId, commentTimes.get(postId));
+            }
+        });
+        fresh.prune(minScore, System.currentTimeMillis());
+        ranking = fresh;
+        logger.info("인기글 순위 재계산 완료: posts={}, comments={}, tracked={}, elapsedMs={}",
+                   counts[0], counts[1], fresh.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    // 감쇠해서 무시할 만해진 글을 정리 - 메모리는 최근 활동이 있는 글 수로 제한됨
+    @Scheduled(fixedDelayString = "${app.trending.prune-interval-ms:60000}")
+    public void prune() {
+        int removed = ranking.prune(minScore, System.currentTimeMillis());
+        if (removed > 0) {
+            logger.debug("인기글 추적 정리: removed={}, remaining={}", removed, ranking.size());
+        }
+    }
+
+    // 호출한 트랜잭션의 커넥션으로 읽음 (JpaTransactionManager가 JDBC에도 노출)
+    private TrendingRanking.PostInfo loadInfo(Long postId) {
+        List<TrendingRanking.PostInfo> found = jdbcTemplate.query(POSTS_BY_ID_SQL,
+            new MapSqlParameterSource("ids", List.of(postId)), (rs, rowNum) -> toInfo(rs));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private void addPost(TrendingRanking target, ResultSet rs) throws SQLException {
+        TrendingRanking.PostInfo info = toInfo(rs);
+        long createdAt = rs.getTimestamp("created_at").getTime();
+        target.add(info, postWeight, createdAt);
+        long views = rs.getLong("views");
+        if (views > 0) {
+            target.add(info.id(), viewWeight * views, createdAt);
+        }
+    }
+
+    private static TrendingRanking.PostInfo toInfo(ResultSet rs) throws SQLException {
+        return new TrendingRanking.PostInfo(
+            rs.getLong("id"), rs.getString("title"), rs.getLong("author_id"), rs.getString("username"),
+            rs.getBoolean("is_secret"), rs.getTimestamp("created_at").toLocalDateTime());
+    }
+
+    private boolean applyComments(TrendingRanking target, Long postId, List<Long> times) {
+        for (Long time : times) {
+            if (!target.add(postId, commentWeight, time)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static TrendingRanking.PostInfo info(Post post) {
+        // User 2차 캐시 적중 시 SQL 없음
+        Hibernate.initialize(post.getAuthor());
+        return new TrendingRanking.PostInfo(post.getId(), post.getTitle(), post.getAuthor().getId(),
+            post.getAuthor().getUsername(), post.isSecret(), post.getCreatedAt());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.blog.viewcount;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 게시글 조회수 write-behind 버퍼
+// 조회는 게시글별 LongAdder에만 더하고(셀 단위 분산이라 같은 글을 동시에 봐도 경합이 적음),
+// flush-interval-ms마다 모인 증가분을 UPDATE posts SET views = views + ? 배치로 반영
+// 엔티티를 거치지 않으므로 @Version 충돌이 없고, 조회 요청이 쓰기 트랜잭션이 되지 않음
+// 정상 종료 시 웹 서버가 요청을 멈춘 뒤 마지막으로 flush - 비정상 종료 시 최대 한 주기분만 유실
+@Component
+public class PostViewCounter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostViewCounter.class);
+
+    private static final String UPDATE_SQL = "UPDATE posts SET views = views + ? WHERE id = ?";
+
+    // 웹 서버(WebServerStartStopLifecycle, DEFAULT_PHASE - 2048)보다 늦게 멈춰서 마지막 조회까지 반영
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    public PostViewCounter(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${app.views.enabled:true}") boolean enabled,
+                           @Value("${app.views.flush-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    public void increment(Long postId) {
+        if (!enabled || postId == null) {
+            return;
+        }
+        LongAdder adder = pending.computeIfAbsent(postId, id -> new LongAdder());
+        adder.increment();
+        // flush가 유휴 항목을 막 제거했다면 이 증가분은 떨어져 나간 adder에 남음 - 직접 옮겨 담음
+        // flush 쪽도 제거 후 한 번 더 비우므로, sumThenReset(셀별 getAndSet)으로 어느 한쪽만 가져가고 중복되지 않음
+        if (pending.get(postId) != adder) {
+            requeue(postId, adder.sumThenReset());
+        }
+    }
+
+    // 아직 DB에 반영되지 않은 조회수 - 응답에 더해서 방금 본 조회가 바로 보이게 함
+    public long pendingViews(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        if (running) {
+            flush();
+        }
+    }
+
+    // 여러 노드가 같은 행을 갱신할 때 잠금 순서가 같도록 ID 순으로 정렬해서 반영
+    synchronized void flush() {
+        List<Object[]> updates = new ArrayList<>();
+        for (Iterator<Map.Entry<Long, LongAdder>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, LongAdder> entry = it.next();
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0) {
+                // 한 주기 동안 조회가 없던 글은 맵에서 제거 - 제거 직전에 들어온 증가분은 다시 비워서 반영
+                pending.remove(entry.getKey(), entry.getValue());
+                delta = entry.getValue().sumThenReset();
+                if (delta == 0) {
+                    continue;
+                }
+            }
+            updates.add(new Object[]{delta, entry.getKey()});
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        updates.sort((a, b) -> Long.compare((Long) a[1], (Long) b[1]));
+
+        long startedAt = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < updates.size(); from += batchSize) {
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, updates.subList(from, Math.min(from + batchSize, updates.size())));
+                }
+            });
+            logger.debug("조회수 반영: posts={}, elapsedMs={}", updates.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            // 반영 실패 시 증가분을 되돌려 다음 주기에 재시도
+            for (Object[] update : updates) {
+                requeue((Long) update[1], (Long) update[0]);
+            }
+            logger.warn("조회수 반영 실패 - 다음 주기에 재시도: posts={}, error={}", updates.size(), e.getMessage());
+        }
+    }
+
+    private void requeue(Long postId, long delta) {
+        if (delta > 0) {
+            pending.computeIfAbsent(postId, id -> new LongAdder()).add(delta);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+        // 반영된 항목은 0으로 남아 있으므로 합계로 판단
+        long unflushed = pending.values().stream().mapToLong(LongAdder::sum).sum();
+        if (unflushed > 0) {
+            logger.warn("종료 시 반영하지 못한 조회수가 있음: views={}", unflushed);
+        } else {
+            logger.info("종료 전 조회수 반영 완료");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
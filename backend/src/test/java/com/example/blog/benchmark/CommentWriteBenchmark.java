@@ -0,0 +1,112 @@
+package com.example.blog.benchmark;
+
+import com.example.blog.BlogApplication;
+import com.example.blog.model.Comment;
+import com.example.blog.model.Post;
+import com.example.blog.model.User;
+import com.example.blog.repository.CommentRepository;
+import com.example.blog.repository.PostRepository;
+import com.example.blog.repository.UserRepository;
+import com.example.blog.service.PostService;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// 댓글 INSERT 한 건의 트랜잭션 비용 비교 (같은 트랜잭션 경계, 같은 INSERT, H2 메모리 DB)
+//   readBeforeWrite : 기존 CommentService.add - 게시글(TEXT 본문 포함)과 사용자를 findById로 읽은 뒤 INSERT
+//   referenceWrite  : 현재 CommentService.add - 게시글은 PK 존재 확인만, 게시글/사용자는 참조 프록시로 INSERT
+// 무효화/인기글/스트림 후처리는 두 경로가 같으므로 제외
+// 게시글 본문은 최대 길이(2000자) - 상세 페이지에서 댓글이 몰리는 글은 대개 본문이 긺
+//
+// 실행: mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//       java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.blog.benchmark.CommentWriteBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 10)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CommentWriteBenchmark {
+
+	private static final String CONTENT = "벤치마크 댓글입니다";
+
+	private ConfigurableApplicationContext context;
+	private TransactionTemplate transactionTemplate;
+	private PostRepository postRepository;
+	private UserRepository userRepository;
+	private CommentRepository commentRepository;
+	private Long postId;
+	private Long userId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(BlogApplication.class)
+			.web(WebApplicationType.NONE)
+			.properties("logging.level.root=WARN", "app.seed.defer-password-hashing=false")
+			.run();
+		transactionTemplate = context.getBean(TransactionTemplate.class);
+		postRepository = context.getBean(PostRepository.class);
+		userRepository = context.getBean(UserRepository.class);
+		commentRepository = context.getBean(CommentRepository.class);
+
+		userId = userRepository.findByUsername("testuser").getId();
+		postId = context.getBean(PostService.class)
+			.create(userId, "벤치마크 게시글", "가".repeat(2000), false, null, null)
+			.getId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Long readBeforeWrite() {
+		return transactionTemplate.execute(status -> {
+			Post post = postRepository.findById(postId).orElseThrow();
+			User author = userRepository.findById(userId).orElseThrow();
+			Comment comment = new Comment(CONTENT);
+			comment.setPost(post);
+			comment.setAuthor(author);
+			return commentRepository.save(comment).getId();
+		});
+	}
+
+	@Benchmark
+	public Long referenceWrite() {
+		return transactionTemplate.execute(status -> {
+			if (!postRepository.existsById(postId)) {
+				throw new IllegalStateException();
+			}
+			Comment comment = new Comment(CONTENT);
+			comment.setPost(postRepository.getReferenceById(postId));
+			comment.setAuthor(userRepository.getReferenceById(userId));
+			Comment saved = commentRepository.save(comment);
+			Hibernate.initialize(saved.getAuthor());
+			return saved.getId();
+		});
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CommentWriteBenchmark.class.getSimpleName()).build()).run();
+	}
+}
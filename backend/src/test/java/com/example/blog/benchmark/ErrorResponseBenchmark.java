@@ -0,0 +1,130 @@
+package com.example.blog.benchmark;
+
+import com.example.blog.config.GlobalExceptionHandler.ErrorResponse;
+import com.example.blog.exception.ConflictException;
+import com.example.blog.exception.DomainException;
+import com.example.blog.exception.ForbiddenException;
+import com.example.blog.exception.NotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// 404 응답 하나를 만드는 비용 비교 - 서비스에서 예외를 던지고 핸들러에서 상태 코드를 정해 응답 본문을 만들기까지
+//   legacy*     : new RuntimeException(메시지) + message.contains(...)로 상태 결정 (rewrapped는 컨트롤러에서 한 번 더 감쌈)
+//   typed*      : 스택 없는 NotFoundException + 타입으로 상태 결정 (preallocated는 미리 만든 인스턴스)
+// depth는 예외가 지나가는 호출 스택 깊이 - 필터 체인 + DispatcherServlet + 프록시를 거치면 실제 요청은 100프레임을 훌쩍 넘음
+//
+// 실행: mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//       java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.blog.benchmark.ErrorResponseBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+	private static final String NOT_FOUND_MESSAGE = "게시글을 찾을 수 없습니다";
+
+	@Param({"32", "128"})
+	public int depth;
+
+	@Benchmark
+	public ErrorResponse legacy() {
+		try {
+			callDepth(depth, Kind.LEGACY);
+			return null;
+		} catch (RuntimeException e) {
+			return legacyHandle(e);
+		}
+	}
+
+	@Benchmark
+	public ErrorResponse legacyRewrapped() {
+		try {
+			try {
+				callDepth(depth, Kind.LEGACY);
+				return null;
+			} catch (RuntimeException e) {
+				// 컨트롤러의 catch (RuntimeException e) { throw new RuntimeException(...) } 패턴
+				throw new RuntimeException("댓글 작성 중 오류가 발생했습니다");
+			}
+		} catch (RuntimeException e) {
+			return legacyHandle(e);
+		}
+	}
+
+	@Benchmark
+	public ErrorResponse typedAllocated() {
+		try {
+			callDepth(depth, Kind.TYPED_NEW);
+			return null;
+		} catch (DomainException e) {
+			return typedHandle(e);
+		}
+	}
+
+	@Benchmark
+	public ErrorResponse typedPreallocated() {
+		try {
+			callDepth(depth, Kind.TYPED_SHARED);
+			return null;
+		} catch (DomainException e) {
+			return typedHandle(e);
+		}
+	}
+
+	private enum Kind { LEGACY, TYPED_NEW, TYPED_SHARED }
+
+	private static int callDepth(int remaining, Kind kind) {
+		if (remaining > 0) {
+			// 꼬리 호출 제거/인라인으로 프레임이 사라지지 않도록 반환값을 사용
+			return callDepth(remaining - 1, kind) + 1;
+		}
+		switch (kind) {
+			case LEGACY -> throw new RuntimeException(NOT_FOUND_MESSAGE);
+			case TYPED_NEW -> throw new NotFoundException(NOT_FOUND_MESSAGE);
+			default -> throw NotFoundException.POST;
+		}
+	}
+
+	// 이전 GlobalExceptionHandler.handleRuntimeException의 분기
+	private static ErrorResponse legacyHandle(RuntimeException ex) {
+		String message = ex.getMessage();
+		if (message.contains("찾을 수 없습니다") || message.contains("존재하지 않습니다")) {
+			return new ErrorResponse("NOT_FOUND", message, LocalDateTime.now());
+		} else if (message.contains("이미 존재") || message.contains("중복")) {
+			return new ErrorResponse("CONFLICT", message, LocalDateTime.now());
+		}
+		return new ErrorResponse("BAD_REQUEST", message, LocalDateTime.now());
+	}
+
+	// 타입별 @ExceptionHandler 선택과 같은 분기
+	private static ErrorResponse typedHandle(DomainException ex) {
+		if (ex instanceof NotFoundException) {
+			return new ErrorResponse("NOT_FOUND", ex.getMessage(), LocalDateTime.now());
+		} else if (ex instanceof ForbiddenException) {
+			return new ErrorResponse("FORBIDDEN", "권한이 없습니다: " + ex.getMessage(), LocalDateTime.now());
+		} else if (ex instanceof ConflictException) {
+			return new ErrorResponse("CONFLICT", ex.getMessage(), LocalDateTime.now());
+		}
+		return new ErrorResponse("BAD_REQUEST", ex.getMessage(), LocalDateTime.now());
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ErrorResponseBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,136 @@
+package com.example.blog.benchmark;
+
+import com.example.blog.security.RouteAccess;
+import com.example.blog.security.RouteTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 요청 하나의 경로 분류 비용 비교 (실제 트래픽 비율을 흉내 낸 경로 묶음 단위)
+//   legacyRegex   : 기존 JwtAuthenticationFilter.isPublicPath - 요청마다 String.matches로 정규식 컴파일
+//   pathPatterns  : SecurityConfig의 requestMatchers와 같은 방식 - 규칙을 순서대로 PathPattern 매칭
+//   routeTrie     : RouteTable (세그먼트 트라이, 할당 없음)
+// 기존 구조에서는 JWT 필터와 인가에서 각각 분류하므로 요청당 legacyRegex + pathPatterns 비용이 듦
+//
+// 실행: mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//       java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.blog.benchmark.RouteClassifierBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class RouteClassifierBenchmark {
+
+	private static final String[][] REQUESTS = {
+		{"GET", "/posts"},
+		{"GET", "/posts/1234"},
+		{"GET", "/posts/1234/comments"},
+		{"GET", "/posts/1234"},
+		{"GET", "/posts/search"},
+		{"POST", "/posts/1234/comments"},
+		{"PUT", "/posts/1234"},
+		{"POST", "/auth/login"},
+		{"GET", "/auth/me"},
+		{"GET", "/admin/export"},
+		{"OPTIONS", "/posts/1234"},
+		{"GET", "/actuator/health"},
+	};
+
+	private final RouteTable routeTable = new RouteTable();
+	private final List<Rule> rules = List.of(
+		new Rule(null, "/auth/login", RouteAccess.PUBLIC),
+		new Rule(null, "/auth/register", RouteAccess.PUBLIC),
+		new Rule(null, "/h2-console/**", RouteAccess.PUBLIC),
+		new Rule(null, "/error", RouteAccess.PUBLIC),
+		new Rule(null, "/favicon.ico", RouteAccess.PUBLIC),
+		new Rule(null, "/actuator/health", RouteAccess.PUBLIC),
+		new Rule(null, "/actuator/**", RouteAccess.ADMIN),
+		new Rule("GET", "/posts", RouteAccess.PUBLIC),
+		new Rule("GET", "/posts/*", RouteAccess.PUBLIC),
+		new Rule("GET", "/posts/*/comments", RouteAccess.PUBLIC),
+		new Rule("OPTIONS", "/**", RouteAccess.PUBLIC),
+		new Rule(null, "/admin/**", RouteAccess.ADMIN),
+		new Rule(null, "/static/**", RouteAccess.PUBLIC),
+		new Rule(null, "/public/**", RouteAccess.PUBLIC),
+		new Rule(null, "/uploads/**", RouteAccess.PUBLIC));
+
+	@Benchmark
+	public void legacyRegex(Blackhole bh) {
+		for (String[] request : REQUESTS) {
+			bh.consume(isPublicPath(request[1], request[0]));
+		}
+	}
+
+	@Benchmark
+	public void pathPatterns(Blackhole bh) {
+		for (String[] request : REQUESTS) {
+			bh.consume(matchRules(request[0], request[1]));
+		}
+	}
+
+	@Benchmark
+	public void routeTrie(Blackhole bh) {
+		for (String[] request : REQUESTS) {
+			bh.consume(routeTable.classify(request[0], request[1]));
+		}
+	}
+
+	// JwtAuthenticationFilter의 기존 구현 그대로
+	private static boolean isPublicPath(String path, String method) {
+		if (path.equals("/auth/login") || path.equals("/auth/register") ||
+			path.startsWith("/h2-console") || path.equals("/error") ||
+			path.equals("/favicon.ico") || path.startsWith("/static/") ||
+			path.startsWith("/public/") || path.equals("/actuator/health")) {
+			return true;
+		}
+		if ("GET".equals(method)) {
+			return path.equals("/posts") ||
+				   path.matches("/posts/\\d+") ||
+				   path.matches("/posts/\\d+/comments");
+		}
+		return false;
+	}
+
+	private RouteAccess matchRules(String method, String path) {
+		PathContainer container = PathContainer.parsePath(path);
+		for (Rule rule : rules) {
+			if ((rule.method == null || rule.method.equals(method)) && rule.pattern.matches(container)) {
+				return rule.access;
+			}
+		}
+		return RouteAccess.AUTHENTICATED;
+	}
+
+	private static final class Rule {
+		private final String method;
+		private final PathPattern pattern;
+		private final RouteAccess access;
+
+		private Rule(String method, String pattern, RouteAccess access) {
+			this.method = method;
+			this.pattern = PathPatternParser.defaultInstance.parse(pattern);
+			this.access = access;
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(RouteClassifierBenchmark.class.getSimpleName()).build()).run();
+	}
+}
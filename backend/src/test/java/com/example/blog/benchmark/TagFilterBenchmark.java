@@ -0,0 +1,153 @@
+package com.example.blog.benchmark;
+
+import com.example.blog.BlogApplication;
+import com.example.blog.repository.UserRepository;
+import com.example.blog.tag.TagIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+// 태그 2개 필터의 첫 페이지(공개글 최신순 20개) 비교 - 글 10만 개, 태그 200종, 글마다 1-5개, 비밀글 10%
+// 태그 분포는 치우치게 (앞쪽 태그일수록 많이 쓰임) - 인기 태그 두 개의 조합을 조회
+//   sqlAnd/sqlOr       : post_tags를 태그로 걸러 GROUP BY post_id (AND는 HAVING COUNT = 2), posts와 조인해 비밀글 제외
+//   bitmapAnd/bitmapOr : TagIndex.find - 태그 비트맵 AND/OR 후 비밀글 비트맵 ANDNOT
+// SQL 쪽에는 (tag, post_id) 인덱스를 따로 만들어 줌 - 없으면 post_tags 전체를 읽음
+// 같은 쿼리를 반복하면 H2가 이전 결과를 재사용하므로 상위 10개 태그의 조합(45쌍)을 돌아가며 조회
+//
+// 실행: mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//       java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.blog.benchmark.TagFilterBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TagFilterBenchmark {
+
+	private static final int POSTS = 100_000;
+	private static final int TAGS = 200;
+	private static final int QUERY_TAGS = 10;
+
+	private static final String SQL_AND =
+		"SELECT t.post_id FROM post_tags t JOIN posts p ON p.id = t.post_id " +
+		"WHERE t.tag IN (?, ?) AND p.is_secret = FALSE AND p.deleted_at IS NULL " +
+		"GROUP BY t.post_id HAVING COUNT(*) = 2 ORDER BY t.post_id DESC FETCH FIRST 20 ROWS ONLY";
+	private static final String SQL_OR =
+		"SELECT t.post_id FROM post_tags t JOIN posts p ON p.id = t.post_id " +
+		"WHERE t.tag IN (?, ?) AND p.is_secret = FALSE AND p.deleted_at IS NULL " +
+		"GROUP BY t.post_id ORDER BY t.post_id DESC FETCH FIRST 20 ROWS ONLY";
+
+	private ConfigurableApplicationContext context;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private TagIndex tagIndex;
+	private List<List<String>> queries;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(BlogApplication.class)
+			.web(WebApplicationType.NONE)
+			.properties("logging.level.root=WARN", "app.seed.defer-password-hashing=false")
+			.run();
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+		transactionTemplate = context.getBean(TransactionTemplate.class);
+		tagIndex = context.getBean(TagIndex.class);
+		Long authorId = context.getBean(UserRepository.class).findByUsername("testuser").getId();
+
+		Random random = new Random(42);
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		transactionTemplate.executeWithoutResult(status -> {
+			List<Object[]> posts = new ArrayList<>(POSTS);
+			for (int i = 0; i < POSTS; i++) {
+				posts.add(new Object[] {"벤치마크 " + i, "본문", authorId, random.nextInt(10) == 0, now, now});
+			}
+			jdbcTemplate.batchUpdate("INSERT INTO posts (title, content, author_id, is_secret, created_at, updated_at, version) " +
+				"VALUES (?, ?, ?, ?, ?, ?, 0)", posts);
+
+			List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM posts", Long.class);
+			List<Object[]> tags = new ArrayList<>();
+			for (Long id : ids) {
+				TreeSet<Integer> picked = new TreeSet<>();
+				int count = 1 + random.nextInt(5);
+				while (picked.size() < count) {
+					double r = random.nextDouble();
+					picked.add(1 + (int) (r * r * TAGS));
+				}
+				for (int tag : picked) {
+					tags.add(new Object[] {id, "tag-" + tag});
+				}
+			}
+			jdbcTemplate.batchUpdate("INSERT INTO post_tags (post_id, tag) VALUES (?, ?)", tags);
+			jdbcTemplate.execute("CREATE INDEX idx_bench_post_tags_tag ON post_tags (tag, post_id)");
+		});
+		tagIndex.rebuild();
+
+		queries = new ArrayList<>();
+		for (int i = 1; i <= QUERY_TAGS; i++) {
+			for (int j = i + 1; j <= QUERY_TAGS; j++) {
+				queries.add(List.of("tag-" + i, "tag-" + j));
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Long> sqlAnd() {
+		List<String> query = nextQuery();
+		return transactionTemplate.execute(status -> jdbcTemplate.queryForList(SQL_AND, Long.class, query.get(0), query.get(1)));
+	}
+
+	@Benchmark
+	public List<Long> bitmapAnd() {
+		return tagIndex.find(nextQuery(), true, null, 20);
+	}
+
+	@Benchmark
+	public List<Long> sqlOr() {
+		List<String> query = nextQuery();
+		return transactionTemplate.execute(status -> jdbcTemplate.queryForList(SQL_OR, Long.class, query.get(0), query.get(1)));
+	}
+
+	@Benchmark
+	public List<Long> bitmapOr() {
+		return tagIndex.find(nextQuery(), false, null, 20);
+	}
+
+	private List<String> nextQuery() {
+		next = (next + 1) % queries.size();
+		return queries.get(next);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(TagFilterBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.blog.cache;
+
+import com.example.blog.config.SecondLevelCacheConfig;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// COUNT 도중 무효화가 끼어들면 그 결과를 캐시에 남기지 않는지 확인
+class AuthorPostCountCacheTest {
+
+	private static final Long AUTHOR = 7L;
+
+	private CacheManager cacheManager;
+	private AuthorPostCountCache cache;
+
+	@BeforeEach
+	void setUp() {
+		EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+		cacheManager = provider.getCacheManager(URI.create("urn:blog:test-" + UUID.randomUUID()),
+			ConfigurationBuilder.newConfigurationBuilder()
+				.withCache(SecondLevelCacheConfig.AUTHOR_POST_COUNTS_REGION, CacheConfigurationBuilder.newCacheConfigurationBuilder(
+					Long.class, Long.class, ResourcePoolsBuilder.heap(100)))
+				.build());
+		cache = new AuthorPostCountCache(cacheManager);
+	}
+
+	@AfterEach
+	void tearDown() {
+		cacheManager.close();
+	}
+
+	@Test
+	void cachesLoadedCount() {
+		assertThat(cache.get(AUTHOR, () -> 3)).isEqualTo(3);
+		assertThat(cache.get(AUTHOR, () -> 99)).isEqualTo(3);
+	}
+
+	@Test
+	void invalidationDuringLoadDropsStaleCount() {
+		// COUNT가 예전 값을 읽은 뒤 새 글의 무효화가 먼저 처리된 경우
+		long loaded = cache.get(AUTHOR, () -> {
+			cache.onInvalidate(new InvalidationEvent(InvalidationEvent.AUTHOR_POSTS, AUTHOR, null));
+			return 3;
+		});
+		assertThat(loaded).isEqualTo(3);
+		assertThat(cache.get(AUTHOR, () -> 4)).isEqualTo(4);
+	}
+
+	@Test
+	void invalidateAllDuringLoadDropsStaleCount() {
+		cache.get(AUTHOR, () -> {
+			cache.onInvalidateAll();
+			return 3;
+		});
+		assertThat(cache.get(AUTHOR, () -> 4)).isEqualTo(4);
+	}
+
+	@Test
+	void invalidationOfOtherAuthorKeepsCount() {
+		cache.get(AUTHOR, () -> {
+			cache.onInvalidate(new InvalidationEvent(InvalidationEvent.AUTHOR_POSTS, AUTHOR + 1, null));
+			return 3;
+		});
+		assertThat(cache.get(AUTHOR, () -> 4)).isEqualTo(3);
+	}
+}
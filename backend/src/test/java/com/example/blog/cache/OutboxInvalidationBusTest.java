@@ -0,0 +1,116 @@
+package com.example.blog.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// outbox id 사이의 빈 번호(아직 커밋되지 않은 트랜잭션) 처리
+// 다른 노드의 행은 id를 직접 지정해서 넣음 - 작은 id가 나중에 커밋되는 상황을 그대로 만들 수 있음
+class OutboxInvalidationBusTest {
+
+	private static final String REMOTE_NODE = "remote-node";
+
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private InvalidationDispatcher dispatcher;
+	private final List<Long> received = new ArrayList<>();
+	private final List<Long> remote = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+			"jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+		CacheInvalidationListener listener = new CacheInvalidationListener() {
+			@Override
+			public void onInvalidate(InvalidationEvent event) {
+				received.add(event.id());
+			}
+
+			@Override
+			public void onRemoteInvalidate(InvalidationEvent event) {
+				remote.add(event.id());
+				onInvalidate(event);
+			}
+
+			@Override
+			public void onInvalidateAll() {
+			}
+		};
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("listener", listener));
+		dispatcher = new InvalidationDispatcher(beanFactory.getBeanProvider(CacheInvalidationListener.class));
+	}
+
+	@Test
+	void gapFilledBeforeTimeoutIsDelivered() {
+		OutboxInvalidationBus bus = new OutboxInvalidationBus(dispatcher, jdbcTemplate, transactionTemplate, 60_000, 60_000);
+
+		insertRemote(1);
+		insertRemote(3);
+		bus.poll();
+		assertThat(received).containsExactly(1L, 3L);
+
+		// 2번 트랜잭션이 늦게 커밋됨 - watermark가 1에 머물러 있었으므로 다음 poll에서 읽힘
+		insertRemote(2);
+		bus.poll();
+		assertThat(received).containsExactly(1L, 3L, 2L);
+
+		// 이미 처리한 3번은 다시 전달하지 않음
+		insertRemote(4);
+		bus.poll();
+		assertThat(received).containsExactly(1L, 3L, 2L, 4L);
+		assertThat(remote).containsExactly(1L, 3L, 2L, 4L);
+	}
+
+	@Test
+	void gapOlderThanTimeoutIsSkipped() throws InterruptedException {
+		OutboxInvalidationBus bus = new OutboxInvalidationBus(dispatcher, jdbcTemplate, transactionTemplate, 50, 60_000);
+
+		insertRemote(1);
+		insertRemote(3);
+		bus.poll();
+		assertThat(received).containsExactly(1L, 3L);
+
+		// 타임아웃이 지나면 2번을 롤백으로 보고 watermark를 3까지 올림
+		Thread.sleep(100);
+		bus.poll();
+
+		insertRemote(2);
+		insertRemote(4);
+		bus.poll();
+		assertThat(received).containsExactly(1L, 3L, 4L);
+	}
+
+	@Test
+	void ownRowsAreNotDispatchedAgain() {
+		OutboxInvalidationBus bus = new OutboxInvalidationBus(dispatcher, jdbcTemplate, transactionTemplate, 60_000, 60_000);
+
+		// 트랜잭션 밖의 publish는 즉시 로컬 전달
+		bus.publish(new InvalidationEvent(InvalidationEvent.POST, 10L, 1L));
+		assertThat(received).containsExactly(10L);
+
+		bus.poll();
+		assertThat(received).containsExactly(10L);
+		assertThat(remote).isEmpty();
+	}
+
+	private void insertRemote(long id) {
+		transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+			"INSERT INTO cache_invalidation_outbox (id, node_id, entity, entity_id, version, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+			id, REMOTE_NODE, InvalidationEvent.POST, id, 1L, new Timestamp(System.currentTimeMillis())));
+	}
+}
@@ -0,0 +1,118 @@
+package com.example.blog.cache;
+
+import com.example.blog.datasource.ReadYourWritesTracker;
+import com.example.blog.datasource.ReplicaLagMonitor;
+import com.example.blog.deadline.RequestDeadlineFilter;
+import com.example.blog.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// leader 요청의 실패를 기다리던 요청에 넘길지 - 요청 마감은 RequestDeadlineFilter를 거쳐 실제 요청처럼 설정
+class SingleFlightTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RequestDeadlineFilter deadlineFilter = new RequestDeadlineFilter(10_000, 5_000, 30_000);
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+	private SingleFlight singleFlight;
+
+	@BeforeEach
+	void setUp() {
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		singleFlight = new SingleFlight(beanFactory.getBeanProvider(ReadYourWritesTracker.class),
+			beanFactory.getBeanProvider(ReplicaLagMonitor.class), meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void waiterReloadsWhenLeaderFailsAfterItsOwnDeadline() throws Exception {
+		CountDownLatch leaderStarted = new CountDownLatch(1);
+		Future<Object> leader = executor.submit(() -> inRequest(20, () -> singleFlight.load(InvalidationEvent.POST, 1L, () -> {
+			leaderStarted.countDown();
+			awaitWaiter();
+			sleep(50);
+			// 짧은 마감 때문에 취소된 쿼리
+			throw new QueryTimeoutException("statement canceled");
+		})));
+
+		leaderStarted.await();
+		Future<Object> waiter = executor.submit(() -> inRequest(5_000, () -> singleFlight.load(InvalidationEvent.POST, 1L, () -> "fresh")));
+
+		assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("fresh");
+		assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(QueryTimeoutException.class);
+	}
+
+	@Test
+	void waiterSharesLeaderFailureWithinDeadline() throws Exception {
+		CountDownLatch leaderStarted = new CountDownLatch(1);
+		Future<Object> leader = executor.submit(() -> inRequest(5_000, () -> singleFlight.load(InvalidationEvent.POST, 1L, () -> {
+			leaderStarted.countDown();
+			awaitWaiter();
+			throw NotFoundException.POST;
+		})));
+
+		leaderStarted.await();
+		Future<Object> waiter = executor.submit(() -> inRequest(5_000, () -> singleFlight.load(InvalidationEvent.POST, 1L, () -> "fresh")));
+
+		assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCause(NotFoundException.POST);
+		assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(NotFoundException.POST);
+	}
+
+	// 필터가 요청 스레드에 마감을 설정한 상태에서 body 실행
+	private Object inRequest(long timeoutMillis, Supplier<Object> body) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts/1");
+		request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, Long.toString(timeoutMillis));
+		AtomicReference<Object> result = new AtomicReference<>();
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		deadlineFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+			try {
+				result.set(body.get());
+			} catch (RuntimeException e) {
+				failure.set(e);
+			}
+		});
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+		return result.get();
+	}
+
+	// 기다리는 요청이 합류할 때까지 leader의 조회를 붙잡아 둠
+	private void awaitWaiter() {
+		long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.counter("blog.singleflight.coalesced", "entity", InvalidationEvent.POST).count() < 1) {
+			if (System.nanoTime() > until) {
+				throw new IllegalStateException("기다리는 요청이 합류하지 않았습니다");
+			}
+			sleep(1);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
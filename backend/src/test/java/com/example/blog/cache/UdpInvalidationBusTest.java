@@ -0,0 +1,135 @@
+package com.example.blog.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 송신 노드와 수신 노드 사이에 테스트가 중계 소켓을 두고 패킷을 골라서 버림 (유실되는 네트워크)
+// 송신 쪽 publish는 트랜잭션 밖이라 즉시 전송되므로 중계에서 바로 받을 수 있음
+class UdpInvalidationBusTest {
+
+	private static final int RECEIVE_TIMEOUT_MS = 2000;
+
+	private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+	private DatagramSocket relay;
+	private UdpInvalidationBus sender;
+	private UdpInvalidationBus receiver;
+	private InetSocketAddress receiverAddress;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		relay = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		relay.setSoTimeout(RECEIVE_TIMEOUT_MS);
+
+		receiverAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort());
+		receiver = new UdpInvalidationBus(dispatcher(new RecordingListener()), "127.0.0.1", receiverAddress.getPort(),
+			List.of(), 60_000);
+		sender = new UdpInvalidationBus(dispatcher(null), "127.0.0.1", freePort(),
+			List.of((InetSocketAddress) relay.getLocalSocketAddress()), 60_000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		sender.close();
+		receiver.close();
+		relay.close();
+	}
+
+	@Test
+	void missedSequenceTriggersFullInvalidation() throws Exception {
+		publish(1L);
+		forward();
+		assertThat(next()).isEqualTo("post:1");
+
+		publish(2L);
+		drop();
+
+		// 3번이 도착하면 2번이 빠진 것을 알아채고 전체 무효화 후 3번을 적용
+		publish(3L);
+		forward();
+		assertThat(next()).isEqualTo("all");
+		assertThat(next()).isEqualTo("post:3");
+	}
+
+	@Test
+	void heartbeatRevealsLostLastEvent() throws Exception {
+		publish(1L);
+		forward();
+		assertThat(next()).isEqualTo("post:1");
+
+		// 순번이 그대로인 heartbeat는 누락이 아님
+		sender.heartbeat();
+		forward();
+
+		publish(2L);
+		drop();
+
+		sender.heartbeat();
+		forward();
+		assertThat(next()).isEqualTo("all");
+		assertThat(received.poll(200, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	private void publish(Long postId) {
+		sender.publish(new InvalidationEvent(InvalidationEvent.POST, postId, 1L));
+	}
+
+	private void forward() throws IOException {
+		DatagramPacket packet = new DatagramPacket(new byte[512], 512);
+		relay.receive(packet);
+		relay.send(new DatagramPacket(packet.getData(), packet.getLength(), receiverAddress));
+	}
+
+	private void drop() throws IOException {
+		relay.receive(new DatagramPacket(new byte[512], 512));
+	}
+
+	private String next() throws InterruptedException {
+		return received.poll(RECEIVE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+	}
+
+	private static InvalidationDispatcher dispatcher(CacheInvalidationListener listener) {
+		StaticListableBeanFactory beanFactory = listener != null
+			? new StaticListableBeanFactory(Map.of("listener", listener))
+			: new StaticListableBeanFactory();
+		return new InvalidationDispatcher(beanFactory.getBeanProvider(CacheInvalidationListener.class));
+	}
+
+	private static int freePort() throws IOException {
+		try (DatagramSocket socket = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+			return socket.getLocalPort();
+		}
+	}
+
+	// 수신 노드에는 원격 이벤트만 와야 함 - 로컬 경로로 오면 "local:" 접두어가 붙어 기대값과 달라짐
+	private class RecordingListener implements CacheInvalidationListener {
+		@Override
+		public void onInvalidate(InvalidationEvent event) {
+			received.add("local:" + event.entity() + ":" + event.id());
+		}
+
+		@Override
+		public void onRemoteInvalidate(InvalidationEvent event) {
+			received.add(event.entity() + ":" + event.id());
+		}
+
+		@Override
+		public void onInvalidateAll() {
+			received.add("all");
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.example.blog.config;
+
+import com.example.blog.model.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// MVC와 같은 방식(ExceptionHandlerMethodResolver)으로 예외에 맞는 핸들러를 골라 응답 상태 확인
+class GlobalExceptionHandlerTest {
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+	private final ExceptionHandlerMethodResolver resolver = new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class);
+
+	@Test
+	void optimisticLockFailureIsConflict() throws Exception {
+		assertThat(status(new ObjectOptimisticLockingFailureException(Post.class, 1L))).isEqualTo(409);
+	}
+
+	@Test
+	void otherDataAccessFailuresAreServerErrors() throws Exception {
+		assertThat(status(new DataIntegrityViolationException("constraint"))).isEqualTo(500);
+		assertThat(status(new IllegalStateException("state"))).isEqualTo(500);
+	}
+
+	private int status(Exception ex) throws Exception {
+		Method method = resolver.resolveMethod(ex);
+		ResponseEntity<?> response = (ResponseEntity<?>) method.invoke(handler, ex,
+			new ServletWebRequest(new MockHttpServletRequest()));
+		return response.getStatusCode().value();
+	}
+}
@@ -0,0 +1,146 @@
+package com.example.blog.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// replica 프로필과 같은 구성 - 레플리카 풀은 같은 H2 DB의 REPLICA 스키마(뷰)에 접속하므로 CURRENT_SCHEMA로 어느 풀인지 구분
+class ReadWriteRoutingDataSourceTest {
+
+	private static final String REPLICA_INIT = ";INIT=CREATE SCHEMA IF NOT EXISTS REPLICA\\;SET SCHEMA REPLICA";
+
+	private DriverManagerDataSource primary;
+	private DriverManagerDataSource replica;
+	private ReadYourWritesTracker tracker;
+
+	@BeforeEach
+	void setUp() {
+		String url = "jdbc:h2:mem:routing-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+		primary = new DriverManagerDataSource(url, "sa", "");
+		replica = new DriverManagerDataSource(url + REPLICA_INIT, "sa", "");
+		new JdbcTemplate(primary).execute("CREATE TABLE posts (id BIGINT PRIMARY KEY)");
+		new LocalReplicaSchema(primary, "REPLICA").mirror();
+		tracker = new ReadYourWritesTracker(5000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void freshReplicaServesReadOnlyTransactions() {
+		ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, tracker, 2000);
+		Routing routing = new Routing(monitor);
+		// 첫 heartbeat 전에는 레플리카 상태를 모르므로 primary
+		assertThat(routing.readOnlySchema()).isEqualTo("PUBLIC");
+
+		// 첫 beat를 쓰고, 다음 주기에 레플리카에서 그 beat가 보이면 지연 0
+		monitor.heartbeat();
+		monitor.heartbeat();
+
+		assertThat(monitor.getLagMillis()).isZero();
+		assertThat(routing.readOnlySchema()).isEqualTo("REPLICA");
+		assertThat(routing.writeSchema()).isEqualTo("PUBLIC");
+	}
+
+	@Test
+	void replicaViewsShowPrimaryDataAndRejectWrites() {
+		new JdbcTemplate(primary).update("INSERT INTO posts (id) VALUES (1)");
+
+		assertThat(new JdbcTemplate(replica).queryForObject("SELECT COUNT(*) FROM posts", Integer.class)).isEqualTo(1);
+		assertThatThrownBy(() -> new JdbcTemplate(replica).update("INSERT INTO posts (id) VALUES (2)"))
+			.isInstanceOf(DataAccessException.class);
+	}
+
+	@Test
+	void clientThatJustWroteStaysOnPrimary() {
+		ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, tracker, 2000);
+		monitor.heartbeat();
+		monitor.heartbeat();
+		Routing routing = new Routing(monitor);
+
+		asClient("Bearer writer");
+		assertThat(routing.writeSchema()).isEqualTo("PUBLIC");
+		assertThat(routing.readOnlySchema()).isEqualTo("PUBLIC");
+
+		// 다른 클라이언트는 그대로 레플리카
+		asClient("Bearer reader");
+		assertThat(routing.readOnlySchema()).isEqualTo("REPLICA");
+	}
+
+	@Test
+	void laggingReplicaFallsBackToPrimary() {
+		// 복제가 10초 밀린 레플리카 - heartbeat 행이 오래된 별도 DB
+		DriverManagerDataSource lagging = new DriverManagerDataSource(
+			"jdbc:h2:mem:lagging-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1" + REPLICA_INIT, "sa", "");
+		JdbcTemplate laggingJdbc = new JdbcTemplate(lagging);
+		laggingJdbc.execute(ReplicaLagMonitor.CREATE_TABLE_SQL);
+		laggingJdbc.update("INSERT INTO replication_heartbeat (id, beat_at_ms) VALUES (1, ?)",
+			System.currentTimeMillis() - 10_000);
+
+		ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, lagging, tracker, 2000);
+		monitor.heartbeat();
+
+		assertThat(monitor.isReplicaUsable()).isFalse();
+		assertThat(monitor.getLagMillis()).isGreaterThanOrEqualTo(10_000);
+		assertThat(new Routing(monitor).readOnlySchema()).isEqualTo("PUBLIC");
+	}
+
+	private static void asClient(String authorization) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("Authorization", authorization);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	// ReadWriteDataSourceConfig와 같은 조립 - 트랜잭션의 첫 SQL 시점에 풀을 고름
+	private final class Routing {
+		private final JdbcTemplate jdbcTemplate;
+		private final TransactionTemplate readOnly;
+		private final TransactionTemplate write;
+
+		Routing(ReplicaLagMonitor monitor) {
+			ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(monitor, tracker);
+			routing.setTargetDataSources(Map.of(
+				ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+				ReadWriteRoutingDataSource.Route.REPLICA, replica));
+			routing.setDefaultTargetDataSource(primary);
+			routing.afterPropertiesSet();
+			DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+			DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+			this.jdbcTemplate = new JdbcTemplate(dataSource);
+			this.readOnly = new TransactionTemplate(transactionManager);
+			this.readOnly.setReadOnly(true);
+			this.write = new TransactionTemplate(transactionManager);
+		}
+
+		String readOnlySchema() {
+			return readOnly.execute(status -> currentSchema());
+		}
+
+		String writeSchema() {
+			return write.execute(status -> currentSchema());
+		}
+
+		private String currentSchema() {
+			return jdbcTemplate.queryForObject("SELECT CURRENT_SCHEMA", String.class);
+		}
+	}
+}
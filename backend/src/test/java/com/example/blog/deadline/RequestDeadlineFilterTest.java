@@ -0,0 +1,57 @@
+package com.example.blog.deadline;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 필터 안에서 본 남은 시간으로 어떤 예산이 적용됐는지 확인 (기본 10초, 검색 5초)
+class RequestDeadlineFilterTest {
+
+	private final RequestDeadlineFilter filter = new RequestDeadlineFilter(10_000, 5_000, 30_000);
+
+	@Test
+	void listWithSearchOrTagsUsesSearchBudget() throws Exception {
+		assertThat(remaining(get("/posts", "search", "spring"))).isBetween(1L, 5_000L);
+		assertThat(remaining(get("/posts", "tags", "java,spring"))).isBetween(1L, 5_000L);
+		assertThat(remaining(get("/posts/search", "q", "spring"))).isBetween(1L, 5_000L);
+	}
+
+	@Test
+	void plainListUsesDefaultBudget() throws Exception {
+		assertThat(remaining(get("/posts", null, null))).isGreaterThan(5_000L);
+		assertThat(remaining(get("/posts", "search", "  "))).isGreaterThan(5_000L);
+		assertThat(remaining(get("/posts/3", "search", "spring"))).isGreaterThan(5_000L);
+	}
+
+	@Test
+	void encodedPathsAreMatchedAfterDecoding() throws Exception {
+		assertThat(remaining(get("/%70osts", "search", "spring"))).isBetween(1L, 5_000L);
+		assertThat(remaining(get("/posts/%73earch", "q", "spring"))).isBetween(1L, 5_000L);
+		assertThat(remaining(get("/%61dmin/export", null, null))).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	void headerOverridesEndpointBudget() throws Exception {
+		MockHttpServletRequest request = get("/posts", "search", "spring");
+		request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "8000");
+		assertThat(remaining(request)).isBetween(5_001L, 8_000L);
+	}
+
+	private static MockHttpServletRequest get(String uri, String param, String value) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		if (param != null) {
+			request.setParameter(param, value);
+		}
+		return request;
+	}
+
+	private long remaining(MockHttpServletRequest request) throws Exception {
+		AtomicLong remaining = new AtomicLong();
+		filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> remaining.set(RequestDeadline.remainingMillis()));
+		return remaining.get();
+	}
+}
@@ -0,0 +1,189 @@
+package com.example.blog.groupcommit;
+
+import com.example.blog.cache.CacheInvalidationBus;
+import com.example.blog.datasource.ReadYourWritesTracker;
+import com.example.blog.deadline.DeadlineExceededException;
+import com.example.blog.deadline.RequestDeadlineFilter;
+import com.example.blog.exception.NotFoundException;
+import com.example.blog.model.Comment;
+import com.example.blog.repository.CommentRepository;
+import com.example.blog.repository.PostRepository;
+import com.example.blog.repository.UserRepository;
+import com.example.blog.stream.CommentStreamHub;
+import com.example.blog.trending.TrendingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 테스트마다 전용 committer를 만들어 max-wait를 길게 잡음 - 동시에 보낸 요청이 한 배치로 묶임
+// 앱의 기본 committer 빈은 꺼진 상태(app.comments.group-commit.enabled=false)라 서로 간섭하지 않음
+@SpringBootTest
+class CommentGroupCommitterTest {
+
+	private static final long MISSING_POST_ID = 999_999L;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private CommentRepository commentRepository;
+	@Autowired
+	private PostRepository postRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private CacheInvalidationBus invalidationBus;
+	@Autowired
+	private TrendingService trendingService;
+	@Autowired
+	private CommentStreamHub streamHub;
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private CommentGroupCommitter committer;
+
+	@AfterEach
+	void tearDown() {
+		if (committer != null) {
+			committer.stop();
+		}
+		executor.shutdownNow();
+	}
+
+	@Test
+	void missingPostInBatchFailsOnlyItsOwnRequest() throws Exception {
+		// 존재 확인은 통과시켜서 INSERT의 FK 위반 -> 한 건씩 재시도 경로로 보냄 (확인과 INSERT 사이에 글이 지워진 상황)
+		committer = start(postsAlwaysExist(), 200_000, 3);
+		Long authorId = userRepository.findByUsername("testuser").getId();
+		List<Long> postIds = existingPostIds(2);
+
+		Future<Comment> first = submit(() -> committer.add(postIds.get(0), authorId, null, "group-fk-1"));
+		Future<Comment> missing = submit(() -> committer.add(MISSING_POST_ID, authorId, null, "group-fk-missing"));
+		Future<Comment> second = submit(() -> committer.add(postIds.get(1), authorId, null, "group-fk-2"));
+
+		assertStored(first.get(5, TimeUnit.SECONDS), postIds.get(0), "group-fk-1");
+		assertStored(second.get(5, TimeUnit.SECONDS), postIds.get(1), "group-fk-2");
+		assertThatThrownBy(() -> missing.get(5, TimeUnit.SECONDS)).hasCause(NotFoundException.POST);
+		assertThat(countByContent("group-fk-missing")).isZero();
+	}
+
+	@Test
+	void waiterWhoseDeadlinePassesBeforeClaimIsNotInserted() throws Exception {
+		// 첫 요청을 받은 뒤 500ms 동안 더 모으므로 그 사이 마감이 지난 요청은 claim 전에 빠짐
+		committer = start(postRepository, 500_000, 100);
+		Long authorId = userRepository.findByUsername("testuser").getId();
+		Long postId = existingPostIds(1).get(0);
+
+		Future<Comment> patient = submit(() -> committer.add(postId, authorId, null, "group-deadline-ok"));
+		Future<Comment> hurried = submit(() -> inRequest(50, () -> committer.add(postId, authorId, null, "group-deadline-late")));
+
+		assertThatThrownBy(() -> hurried.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(DeadlineExceededException.class);
+		assertStored(patient.get(5, TimeUnit.SECONDS), postId, "group-deadline-ok");
+		assertThat(countByContent("group-deadline-late")).isZero();
+	}
+
+	@Test
+	void generatedIdsAreReturnedToTheirOwnCallers() throws Exception {
+		committer = start(postRepository, 200_000, 100);
+		Long authorId = userRepository.findByUsername("testuser").getId();
+		List<Long> postIds = existingPostIds(3);
+
+		List<Future<Comment>> results = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			Long postId = postIds.get(i % postIds.size());
+			String content = "group-map-" + i;
+			results.add(submit(() -> committer.add(postId, authorId, null, content)));
+		}
+		for (int i = 0; i < results.size(); i++) {
+			assertStored(results.get(i).get(5, TimeUnit.SECONDS), postIds.get(i % postIds.size()), "group-map-" + i);
+		}
+	}
+
+	private CommentGroupCommitter start(PostRepository posts, long maxWaitMicros, int maxBatchSize) {
+		CommentGroupCommitter started = new CommentGroupCommitter(jdbcTemplate, transactionTemplate, commentRepository, posts,
+			userRepository, invalidationBus, trendingService, streamHub,
+			new StaticListableBeanFactory().getBeanProvider(ReadYourWritesTracker.class), meterRegistry,
+			true, maxWaitMicros, maxBatchSize, 1000);
+		started.start();
+		return started;
+	}
+
+	private PostRepository postsAlwaysExist() {
+		return (PostRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PostRepository.class},
+			(proxy, method, args) -> {
+				if (method.getName().equals("existsById")) {
+					return true;
+				}
+				try {
+					return method.invoke(postRepository, args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			});
+	}
+
+	private List<Long> existingPostIds(int count) {
+		return jdbcTemplate.queryForList("SELECT id FROM posts WHERE deleted_at IS NULL ORDER BY id FETCH FIRST ? ROWS ONLY",
+			Long.class, count);
+	}
+
+	private void assertStored(Comment comment, Long postId, String content) {
+		Map<String, Object> row = jdbcTemplate.queryForMap("SELECT post_id, content, path FROM comments WHERE id = ?", comment.getId());
+		assertThat(((Number) row.get("POST_ID")).longValue()).isEqualTo(postId);
+		assertThat(row.get("CONTENT")).isEqualTo(content);
+		assertThat(row.get("PATH")).isEqualTo(comment.getPath());
+		assertThat(comment.getContent()).isEqualTo(content);
+	}
+
+	private int countByContent(String content) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE content = ?", Integer.class, content);
+	}
+
+	private Future<Comment> submit(Callable<Comment> task) {
+		return executor.submit(task);
+	}
+
+	// 필터가 요청 스레드에 마감을 설정한 상태에서 body 실행
+	private Comment inRequest(long timeoutMillis, Callable<Comment> body) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/posts/1/comments");
+		request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, Long.toString(timeoutMillis));
+		AtomicReference<Comment> result = new AtomicReference<>();
+		AtomicReference<Exception> failure = new AtomicReference<>();
+		new RequestDeadlineFilter(10_000, 5_000, 30_000).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+			try {
+				result.set(body.call());
+			} catch (Exception e) {
+				failure.set(e);
+			}
+		});
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+		return result.get();
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.blog.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 핸들러에 도달하는 다른 표기의 경로/게시글 id가 같은 버킷을 쓰는지
+// IP 한도는 넉넉히 두고 username/게시글 한도만 작게 - 어느 버킷이 막았는지 분명하게
+class RateLimitFilterTest {
+
+	private final RateLimitFilter filter = new RateLimitFilter(new ObjectMapper(), true, false, 4, 1000,
+		100, 100, 5, 5, 100, 100, 3, 3);
+
+	@Test
+	void encodedLoginPathSharesUsernameLimit() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			assertThat(post(i % 2 == 0 ? "/auth/%6cogin" : "/auth/login").getStatus()).isEqualTo(200);
+		}
+		assertThat(post("/auth/%6cogin").getStatus()).isEqualTo(429);
+		assertThat(post("/auth;jsessionid=x/login").getStatus()).isEqualTo(429);
+	}
+
+	@Test
+	void loginUnderContextPathIsLimited() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			assertThat(send(request("/blog", "/blog/auth/login")).getStatus()).isEqualTo(200);
+		}
+		assertThat(send(request("/blog", "/blog/auth/login")).getStatus()).isEqualTo(429);
+	}
+
+	@Test
+	void zeroPaddedPostIdsShareOneBucket() throws Exception {
+		assertThat(post("/posts/1/verify-password").getStatus()).isEqualTo(200);
+		assertThat(post("/posts/01/verify-password").getStatus()).isEqualTo(200);
+		assertThat(post("/posts/%30%301/verify-password").getStatus()).isEqualTo(200);
+		assertThat(post("/posts/0001/verify-password").getStatus()).isEqualTo(429);
+		// 다른 글은 영향 없음
+		assertThat(post("/posts/2/verify-password").getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void postIdBeyondLongSkipsPostBucket() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			assertThat(post("/posts/99999999999999999999/verify-password").getStatus()).isEqualTo(200);
+		}
+	}
+
+	private MockHttpServletResponse post(String uri) throws Exception {
+		return send(request("", uri));
+	}
+
+	private static MockHttpServletRequest request(String contextPath, String uri) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+		request.setContextPath(contextPath);
+		request.setContentType("application/json");
+		request.setContent("{\"username\":\"admin\",\"password\":\"wrong\"}".getBytes(StandardCharsets.UTF_8));
+		return request;
+	}
+
+	private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+}
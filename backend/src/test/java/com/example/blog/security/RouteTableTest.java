@@ -0,0 +1,79 @@
+package com.example.blog.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 요청 경로는 Spring MVC가 핸들러를 고를 때와 같은 형태로 분류되어야 함 - 인코딩/;파라미터/중복 슬래시로 규칙을 비껴가지 못하게
+class RouteTableTest {
+
+	private final RouteTable routeTable = new RouteTable();
+
+	@Test
+	void classifiesDeclaredRoutes() {
+		assertThat(classify("GET", "/posts")).isEqualTo(RouteAccess.PUBLIC);
+		assertThat(classify("GET", "/posts/12")).isEqualTo(RouteAccess.PUBLIC);
+		assertThat(classify("GET", "/posts/search")).isEqualTo(RouteAccess.OPTIONAL);
+		assertThat(classify("POST", "/posts")).isEqualTo(RouteAccess.AUTHENTICATED);
+		assertThat(classify("DELETE", "/admin/users/2")).isEqualTo(RouteAccess.ADMIN);
+		assertThat(classify("GET", "/actuator/health")).isEqualTo(RouteAccess.PUBLIC);
+		assertThat(classify("GET", "/actuator/jfr")).isEqualTo(RouteAccess.ADMIN);
+		assertThat(classify("OPTIONS", "/admin/users/2")).isEqualTo(RouteAccess.PUBLIC);
+	}
+
+	@Test
+	void percentEncodedSegmentsAreDecodedBeforeMatching() {
+		assertThat(classify("DELETE", "/%61dmin/users/2")).isEqualTo(RouteAccess.ADMIN);
+		assertThat(classify("GET", "/%61dmin/export")).isEqualTo(RouteAccess.ADMIN);
+		assertThat(classify("GET", "/%61ctuator/jfr")).isEqualTo(RouteAccess.ADMIN);
+		assertThat(classify("GET", "/%61ctuator/allocations")).isEqualTo(RouteAccess.ADMIN);
+		assertThat(classify("GET", "/actuator/%68ealth")).isEqualTo(RouteAccess.PUBLIC);
+		// 숫자 세그먼트도 디코딩 후 판단 - Spring은 /posts/%31을 1번 글로 바인딩
+		assertThat(classify("GET", "/posts/%31")).isEqualTo(RouteAccess.PUBLIC);
+	}
+
+	@Test
+	void doubleSlashesAreCollapsed() {
+		assertThat(classify("DELETE", "//admin/users/2")).isEqualTo(RouteAccess.ADMIN);
+		assertThat(classify("GET", "/admin//export")).isEqualTo(RouteAccess.ADMIN);
+		assertThat(classify("GET", "/posts//3")).isEqualTo(RouteAccess.PUBLIC);
+	}
+
+	@Test
+	void pathParametersAreIgnored() {
+		assertThat(classify("GET", "/admin;jsessionid=abc/export")).isEqualTo(RouteAccess.ADMIN);
+		assertThat(classify("GET", "/actuator/jfr;jsessionid=abc")).isEqualTo(RouteAccess.ADMIN);
+		assertThat(classify("GET", "/posts/1;jsessionid=abc")).isEqualTo(RouteAccess.PUBLIC);
+	}
+
+	@Test
+	void contextPathIsStripped() {
+		assertThat(classify("/blog", "GET", "/blog/admin/export")).isEqualTo(RouteAccess.ADMIN);
+		assertThat(classify("/blog", "GET", "/blog/%61dmin/export")).isEqualTo(RouteAccess.ADMIN);
+		assertThat(classify("/blog", "GET", "/blog/posts/1")).isEqualTo(RouteAccess.PUBLIC);
+		assertThat(classify("/blog", "POST", "/blog/auth/login")).isEqualTo(RouteAccess.PUBLIC);
+	}
+
+	@Test
+	void pathWithinApplicationKeepsCanonicalPathsAsIs() {
+		MockHttpServletRequest request = request("", "GET", "/posts/1/comments");
+		assertThat(RouteTable.pathWithinApplication(request)).isSameAs(request.getRequestURI());
+		assertThat(RouteTable.pathWithinApplication(request("/blog", "GET", "/blog/posts/1"))).isEqualTo("/posts/1");
+		assertThat(RouteTable.pathWithinApplication(request("", "GET", "/auth/%6cogin"))).isEqualTo("/auth/login");
+	}
+
+	private RouteAccess classify(String method, String uri) {
+		return classify("", method, uri);
+	}
+
+	private RouteAccess classify(String contextPath, String method, String uri) {
+		return routeTable.classify(request(contextPath, method, uri));
+	}
+
+	private static MockHttpServletRequest request(String contextPath, String method, String uri) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+		request.setContextPath(contextPath);
+		return request;
+	}
+}
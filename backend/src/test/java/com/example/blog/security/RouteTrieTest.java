@@ -0,0 +1,67 @@
+package com.example.blog.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteTrieTest {
+
+	private final RouteTrie<String> trie = RouteTrie.<String>builder()
+		.route("GET", "/posts", "list")
+		.route("GET", "/posts/{n}", "detail")
+		.route("GET", "/posts/search", "search")
+		.route("GET", "/posts/*", "other")
+		.route(null, "/posts/{n}", "any-detail")
+		.route(null, "/admin/**", "admin")
+		.route(null, "/admin/public", "admin-public")
+		.build();
+
+	@Test
+	void literalBeatsNumericBeatsWildcard() {
+		assertThat(trie.match("GET", "/posts/search")).isEqualTo("search");
+		assertThat(trie.match("GET", "/posts/42")).isEqualTo("detail");
+		assertThat(trie.match("GET", "/posts/abc")).isEqualTo("other");
+		assertThat(trie.match("GET", "/posts")).isEqualTo("list");
+	}
+
+	@Test
+	void methodSpecificRouteBeatsAnyMethod() {
+		assertThat(trie.match("GET", "/posts/7")).isEqualTo("detail");
+		assertThat(trie.match("DELETE", "/posts/7")).isEqualTo("any-detail");
+		assertThat(trie.match("DELETE", "/posts/abc")).isNull();
+		assertThat(trie.match("TRACE", "/posts/7")).isEqualTo("any-detail");
+	}
+
+	@Test
+	void doubleStarMatchesRemainderIncludingNothing() {
+		assertThat(trie.match("POST", "/admin")).isEqualTo("admin");
+		assertThat(trie.match("POST", "/admin/")).isEqualTo("admin");
+		assertThat(trie.match("POST", "/admin/users/2/posts")).isEqualTo("admin");
+		assertThat(trie.match("POST", "/admin/public")).isEqualTo("admin-public");
+		assertThat(trie.match("POST", "/administrator")).isNull();
+	}
+
+	@Test
+	void segmentsMatchExactly() {
+		// 인코딩된 세그먼트는 디코딩하지 않음 - 정규화는 호출하는 쪽(RouteTable) 책임
+		assertThat(trie.match("GET", "/%70osts/1")).isNull();
+		assertThat(trie.match("GET", "/posts/1/")).isNull();
+		assertThat(trie.match("GET", "/posts/")).isNull();
+		assertThat(trie.match("GET", "posts")).isNull();
+		assertThat(trie.match("GET", "")).isNull();
+		assertThat(trie.match("GET", null)).isNull();
+	}
+
+	@Test
+	void rejectsInvalidPatterns() {
+		assertThatThrownBy(() -> RouteTrie.<String>builder().route(null, "posts", "x"))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RouteTrie.<String>builder().route(null, "/a/**/b", "x"))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RouteTrie.<String>builder().route("TRACE", "/a", "x"))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RouteTrie.<String>builder().route("GET", "/a", "x").route("GET", "/a", "y"))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.blog.service;
+
+import com.example.blog.model.Comment;
+import com.example.blog.model.User;
+import com.example.blog.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CommentServiceTest {
+
+	@Autowired
+	private CommentService commentService;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void addingCommentKeepsUnrelatedSecondLevelCacheRegions() {
+		Long userId = userRepository.findByUsername("testuser").getId();
+		// 2차 캐시에 사용자를 올려 둠
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> userRepository.findById(userId));
+		assertThat(entityManagerFactory.getCache().contains(User.class, userId)).isTrue();
+
+		Long postId = jdbcTemplate.queryForObject(
+			"SELECT id FROM posts WHERE deleted_at IS NULL ORDER BY id FETCH FIRST 1 ROWS ONLY", Long.class);
+		Comment comment = commentService.add(postId, userId, null, "cache-keeps-users");
+
+		assertThat(jdbcTemplate.queryForObject("SELECT path FROM comments WHERE id = ?", String.class, comment.getId()))
+			.isEqualTo(Comment.path(null, comment.getId()));
+		assertThat(entityManagerFactory.getCache().contains(User.class, userId)).isTrue();
+	}
+}
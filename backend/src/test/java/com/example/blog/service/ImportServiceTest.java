@@ -0,0 +1,203 @@
+package com.example.blog.service;
+
+import com.example.blog.cache.CacheInvalidationBus;
+import com.example.blog.dto.ImportResult;
+import com.example.blog.model.Comment;
+import com.example.blog.repository.UserRepository;
+import com.example.blog.tag.TagIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 테스트마다 전용 ImportService를 만들어 배치 크기와 트랜잭션 동작을 바꿈
+@SpringBootTest
+class ImportServiceTest {
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbcTemplate;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+	@Autowired
+	private CacheInvalidationBus invalidationBus;
+	@Autowired
+	private TagIndex tagIndex;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private ImportService importService;
+	@Autowired
+	private ExportService exportService;
+	@Autowired
+	private CommentService commentService;
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void failedBatchReportsEachRowOnce() throws Exception {
+		// 배치 본문은 실행하되 커밋 단계에서 실패하는 트랜잭션 (롤백되므로 DB에는 남지 않음)
+		TransactionTemplate failingCommit = new TransactionTemplate(transactionManager) {
+			@Override
+			public <T> T execute(TransactionCallback<T> action) {
+				super.execute(status -> {
+					action.doInTransaction(status);
+					status.setRollbackOnly();
+					return null;
+				});
+				throw new CannotAcquireLockException("commit failed");
+			}
+		};
+		ImportService service = service(failingCommit, 100);
+
+		ImportResult result = service.importNdjson(ndjson(
+			"{\"type\":\"post\",\"ref\":\"p1\",\"author\":\"testuser\",\"title\":\"import-fail\",\"content\":\"c\"}",
+			"{\"type\":\"comment\",\"postId\":999999,\"author\":\"testuser\",\"content\":\"missing\"}",
+			"{\"type\":\"comment\",\"postRef\":\"p1\",\"author\":\"testuser\",\"content\":\"on-ref\"}"));
+
+		assertThat(result.getFailedRows()).isEqualTo(3);
+		assertThat(result.getErrors()).extracting(ImportResult.RowError::line).containsExactlyInAnyOrder(1L, 2L, 3L);
+		assertThat(result.getImportedPosts()).isZero();
+		assertThat(result.getImportedComments()).isZero();
+	}
+
+	@Test
+	void refsFromEarlierBatchSurviveLaterFailure() throws Exception {
+		// 첫 배치(글 1개)는 커밋, 두 번째 배치는 실패, 세 번째 배치의 댓글이 첫 배치의 ref를 그대로 참조
+		int[] calls = {0};
+		TransactionTemplate secondFails = new TransactionTemplate(transactionManager) {
+			@Override
+			public <T> T execute(TransactionCallback<T> action) {
+				if (++calls[0] == 2) {
+					throw new CannotAcquireLockException("batch failed");
+				}
+				return super.execute(action);
+			}
+		};
+		ImportService service = service(secondFails, 1);
+
+		ImportResult result = service.importNdjson(ndjson(
+			"{\"type\":\"post\",\"ref\":\"keep\",\"author\":\"testuser\",\"title\":\"import-keep\",\"content\":\"c\"}",
+			"{\"type\":\"comment\",\"postRef\":\"keep\",\"author\":\"testuser\",\"content\":\"lost\"}",
+			"{\"type\":\"comment\",\"postRef\":\"keep\",\"author\":\"testuser\",\"content\":\"kept\"}"));
+
+		assertThat(result.getFailedRows()).isEqualTo(1);
+		assertThat(result.getImportedPosts()).isEqualTo(1);
+		assertThat(result.getImportedComments()).isEqualTo(1);
+	}
+
+	@Test
+	void exportedThreadsSurviveRoundTrip() throws Exception {
+		Long userId = userRepository.findByUsername("testuser").getId();
+		// 커넥션 풀이 auto-commit을 끄므로 트랜잭션 안에서 넣어야 커밋됨
+		Long postId = new TransactionTemplate(transactionManager).execute(status -> {
+			jdbcTemplate.getJdbcTemplate().update(
+				"INSERT INTO posts (title, content, author_id, is_secret, created_at, updated_at, version) " +
+				"VALUES ('round-trip', 'c', ?, FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)", userId);
+			Long id = jdbcTemplate.getJdbcTemplate().queryForObject(
+				"SELECT MAX(id) FROM posts WHERE title = 'round-trip'", Long.class);
+			jdbcTemplate.getJdbcTemplate().update(
+				"INSERT INTO post_tags (post_id, tag) VALUES (?, 'rt-spring'), (?, 'rt-java')", id, id);
+			return id;
+		});
+		Comment root = commentService.add(postId, userId, null, "rt-root");
+		Comment reply = commentService.add(postId, userId, root.getId(), "rt-reply");
+		commentService.add(postId, userId, reply.getId(), "rt-nested");
+		commentService.add(postId, userId, null, "rt-second");
+
+		// 내보낸 파일에서 이 게시글과 댓글 줄만 골라 다시 가져옴
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.exportNdjsonGzip(out);
+		List<String> lines = new ArrayList<>();
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+				JsonNode node = objectMapper.readTree(line);
+				if ("post".equals(node.path("type").asText()) && postId.toString().equals(node.path("ref").asText())) {
+					assertThat(node.path("tags")).extracting(JsonNode::asText).containsExactly("rt-java", "rt-spring");
+					lines.add(line);
+				} else if ("comment".equals(node.path("type").asText()) && postId.toString().equals(node.path("postRef").asText())) {
+					lines.add(line);
+				}
+			}
+		}
+		assertThat(lines).hasSize(5);
+
+		// 배치 크기 2 - 부모가 같은 배치에 있는 답글과 앞 배치에 있는 답글을 모두 거침
+		ImportResult result = service(new TransactionTemplate(transactionManager), 2)
+			.importNdjson(ndjson(lines.toArray(String[]::new)));
+
+		assertThat(result.getFailedRows()).isZero();
+		assertThat(result.getImportedComments()).isEqualTo(4);
+		Long importedPostId = jdbcTemplate.getJdbcTemplate().queryForObject(
+			"SELECT MAX(id) FROM posts WHERE title = 'round-trip'", Long.class);
+		assertThat(importedPostId).isNotEqualTo(postId);
+		assertThat(jdbcTemplate.getJdbcTemplate().queryForList(
+			"SELECT tag FROM post_tags WHERE post_id = ? ORDER BY tag", String.class, importedPostId))
+			.containsExactly("rt-java", "rt-spring");
+		assertThat(tagIndex.tagsOf(importedPostId)).containsExactly("rt-java", "rt-spring");
+		assertThat(tagIndex.find(List.of("rt-java"), false, null, 10)).contains(importedPostId);
+		List<Map<String, Object>> imported = jdbcTemplate.getJdbcTemplate().queryForList(
+			"SELECT c.content, c.depth, c.path, p.content AS parent FROM comments c " +
+			"LEFT JOIN comments p ON p.id = c.parent_id " +
+			"WHERE c.post_id = (SELECT MAX(id) FROM posts WHERE title = 'round-trip') ORDER BY c.path");
+		assertThat(imported).extracting(row -> row.get("CONTENT"))
+			.containsExactly("rt-root", "rt-reply", "rt-nested", "rt-second");
+		assertThat(imported).extracting(row -> ((Number) row.get("DEPTH")).intValue()).containsExactly(0, 1, 2, 0);
+		assertThat(imported).extracting(row -> row.get("PARENT")).containsExactly(null, "rt-root", "rt-reply", null);
+		for (Map<String, Object> row : imported) {
+			assertThat(Comment.depthOf((String) row.get("PATH"))).isEqualTo(((Number) row.get("DEPTH")).intValue());
+		}
+	}
+
+	@Test
+	void tagsAreNormalizedAndValidated() throws Exception {
+		ImportResult result = importService.importNdjson(ndjson(
+			"{\"type\":\"post\",\"author\":\"testuser\",\"title\":\"import-tags\",\"content\":\"c\",\"tags\":[\" Import-Tag \",\"import-tag\"]}",
+			"{\"type\":\"post\",\"author\":\"testuser\",\"title\":\"import-bad-tag\",\"content\":\"c\",\"tags\":[\"c++\"]}"));
+
+		assertThat(result.getImportedPosts()).isEqualTo(1);
+		assertThat(result.getErrors()).extracting(ImportResult.RowError::line).containsExactly(2L);
+		Long postId = jdbcTemplate.getJdbcTemplate().queryForObject(
+			"SELECT MAX(id) FROM posts WHERE title = 'import-tags'", Long.class);
+		assertThat(tagIndex.tagsOf(postId)).containsExactly("import-tag");
+	}
+
+	@Test
+	void replyFailsWithItsParent() throws Exception {
+		ImportResult result = importService.importNdjson(ndjson(
+			"{\"type\":\"comment\",\"ref\":\"c1\",\"postId\":999999,\"author\":\"testuser\",\"content\":\"missing\"}",
+			"{\"type\":\"comment\",\"parentRef\":\"c1\",\"postId\":999999,\"author\":\"testuser\",\"content\":\"reply\"}",
+			"{\"type\":\"comment\",\"parentRef\":\"nope\",\"postId\":999999,\"author\":\"testuser\",\"content\":\"orphan\"}"));
+
+		assertThat(result.getFailedRows()).isEqualTo(3);
+		assertThat(result.getErrors()).extracting(ImportResult.RowError::line).containsExactlyInAnyOrder(1L, 2L, 3L);
+		assertThat(result.getImportedComments()).isZero();
+	}
+
+	private ImportService service(TransactionTemplate transactionTemplate, int batchSize) {
+		return new ImportService(jdbcTemplate, transactionTemplate, passwordEncoder, invalidationBus, tagIndex, objectMapper,
+			batchSize, 100, 1000);
+	}
+
+	private static ByteArrayInputStream ndjson(String... lines) {
+		return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,101 @@
+package com.example.blog.stream;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 소켓 대신 isReady를 테스트가 정하는 출력 스트림을 둠 - false면 컨테이너가 나중에 onWritePossible을 부르는 상황
+class SseSubscriberTest {
+
+	private FakeOutputStream out;
+	private AtomicInteger closed;
+	private SseSubscriber subscriber;
+
+	@BeforeEach
+	void setUp() {
+		out = new FakeOutputStream();
+		closed = new AtomicInteger();
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setAsyncSupported(true);
+		MockAsyncContext asyncContext = new MockAsyncContext(request, new MockHttpServletResponse());
+		subscriber = new SseSubscriber(1L, asyncContext, out, 4, s -> closed.incrementAndGet());
+		asyncContext.addListener(subscriber);
+	}
+
+	@Test
+	void lastFrameIsWrittenBeforeClosing() {
+		subscriber.offer(bytes("a"));
+		subscriber.offerAndClose(bytes("deleted"));
+
+		assertThat(out.written()).isEqualTo("adeleted");
+		assertThat(closed).hasValue(1);
+	}
+
+	@Test
+	void backedUpSocketDrainsQueueThenCloses() {
+		out.ready = false;
+		subscriber.offer(bytes("a"));
+		subscriber.offerAndClose(bytes("deleted"));
+		// 닫히기를 기다리는 동안 들어온 프레임과 heartbeat는 버림
+		subscriber.offer(bytes("late"));
+		subscriber.heartbeat(bytes("ping"));
+		assertThat(closed).hasValue(0);
+
+		out.ready = true;
+		subscriber.onWritePossible();
+
+		assertThat(out.written()).isEqualTo("adeleted");
+		assertThat(closed).hasValue(1);
+	}
+
+	@Test
+	void fullQueueClosesImmediately() {
+		out.ready = false;
+		for (int i = 0; i < 4; i++) {
+			subscriber.offer(bytes(String.valueOf(i)));
+		}
+		subscriber.offerAndClose(bytes("deleted"));
+
+		assertThat(closed).hasValue(1);
+		out.ready = true;
+		subscriber.onWritePossible();
+		assertThat(out.written()).isEmpty();
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static final class FakeOutputStream extends ServletOutputStream {
+		private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		boolean ready = true;
+
+		@Override
+		public boolean isReady() {
+			return ready;
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+		}
+
+		@Override
+		public void write(int b) {
+			buffer.write(b);
+		}
+
+		String written() {
+			return buffer.toString(StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package com.example.blog.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoaringBitmapTest {
+
+	@Test
+	void addAndRemoveAcrossContainerConversion() {
+		RoaringBitmap bitmap = new RoaringBitmap();
+		// 한 구간(65536) 안에 4096개를 넘기면 비트맵 컨테이너로, 다시 4096개 이하로 줄면 배열 컨테이너로
+		for (int v = 0; v < 5000; v++) {
+			bitmap.add(v * 13);
+		}
+		assertThat(bitmap.cardinality()).isEqualTo(5000);
+		assertThat(bitmap.contains(13 * 4999)).isTrue();
+		assertThat(bitmap.contains(13 * 4999 + 1)).isFalse();
+
+		for (int v = 0; v < 4500; v++) {
+			bitmap.remove(v * 13);
+		}
+		assertThat(bitmap.cardinality()).isEqualTo(500);
+		assertThat(bitmap.contains(13 * 4499)).isFalse();
+		assertThat(bitmap.contains(13 * 4500)).isTrue();
+
+		for (int v = 4500; v < 5000; v++) {
+			bitmap.remove(v * 13);
+		}
+		assertThat(bitmap.isEmpty()).isTrue();
+	}
+
+	@Test
+	void duplicateAddAndMissingRemoveKeepCardinality() {
+		RoaringBitmap bitmap = new RoaringBitmap();
+		bitmap.add(70_000);
+		bitmap.add(70_000);
+		bitmap.remove(5);
+		bitmap.remove(-1);
+		assertThat(bitmap.cardinality()).isEqualTo(1);
+		assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void andExcludesSecretPosts() {
+		RoaringBitmap java = of(1, 2, 3, 5, 70_000, 70_001, 200_000);
+		RoaringBitmap spring = of(2, 3, 4, 70_001, 200_000);
+		RoaringBitmap secret = of(3, 200_000);
+
+		assertThat(RoaringBitmap.descendingBefore(List.of(java, spring), true, secret, Integer.MAX_VALUE, 10))
+			.containsExactly(70_001, 2);
+	}
+
+	@Test
+	void orExcludesSecretPosts() {
+		RoaringBitmap java = of(1, 70_000);
+		RoaringBitmap spring = of(2, 70_000, 200_000);
+		RoaringBitmap secret = of(70_000);
+
+		assertThat(RoaringBitmap.descendingBefore(List.of(java, spring), false, secret, Integer.MAX_VALUE, 10))
+			.containsExactly(200_000, 2, 1);
+	}
+
+	@Test
+	void cursorPagesWithoutGapsOrDuplicates() {
+		RoaringBitmap tagged = new RoaringBitmap();
+		RoaringBitmap secret = new RoaringBitmap();
+		for (int v = 1; v <= 300_000; v += 7) {
+			tagged.add(v);
+			if (v % 5 == 0) {
+				secret.add(v);
+			}
+		}
+
+		List<Integer> seen = new ArrayList<>();
+		int before = Integer.MAX_VALUE;
+		while (true) {
+			int[] page = RoaringBitmap.descendingBefore(List.of(tagged), true, secret, before, 1000);
+			for (int id : page) {
+				seen.add(id);
+			}
+			if (page.length < 1000) {
+				break;
+			}
+			before = page[page.length - 1];
+		}
+
+		List<Integer> expected = new ArrayList<>();
+		for (int v = 1; v <= 300_000; v += 7) {
+			if (v % 5 != 0) {
+				expected.add(v);
+			}
+		}
+		expected.sort((a, b) -> Integer.compare(b, a));
+		assertThat(seen).isEqualTo(expected);
+	}
+
+	@Test
+	void beforeAtOrBelowZeroIsEmpty() {
+		RoaringBitmap tagged = of(0, 1);
+		assertThat(RoaringBitmap.descendingBefore(List.of(tagged), false, new RoaringBitmap(), 0, 10)).isEmpty();
+		assertThat(RoaringBitmap.descendingBefore(List.of(tagged), false, new RoaringBitmap(), 1, 10)).containsExactly(0);
+	}
+
+	// 구간 크기와 밀도를 바꿔 가며 TreeSet과 같은 결과인지 - 배열/비트맵 컨테이너가 섞인 AND/OR 조합을 고루 밟게 함
+	@Test
+	void matchesTreeSetOnRandomInputs() {
+		Random random = new Random(20240611L);
+		int[] ranges = {70_000, 300_000, 600_000};
+		for (int round = 0; round < 12; round++) {
+			int range = ranges[round % ranges.length];
+			int inputs = 1 + random.nextInt(4);
+			List<RoaringBitmap> bitmaps = new ArrayList<>();
+			List<TreeSet<Integer>> sets = new ArrayList<>();
+			for (int n = 0; n < inputs; n++) {
+				double density = random.nextDouble() * 0.3;
+				RoaringBitmap bitmap = new RoaringBitmap();
+				TreeSet<Integer> set = new TreeSet<>();
+				fill(random, range, density, bitmap, set);
+				bitmaps.add(bitmap);
+				sets.add(set);
+			}
+			RoaringBitmap exclude = new RoaringBitmap();
+			TreeSet<Integer> excludeSet = new TreeSet<>();
+			fill(random, range, random.nextDouble() * 0.1, exclude, excludeSet);
+
+			for (int n = 0; n < inputs; n++) {
+				assertThat(bitmaps.get(n).cardinality()).isEqualTo(sets.get(n).size());
+				for (int probe = 0; probe < 200; probe++) {
+					int value = random.nextInt(range);
+					assertThat(bitmaps.get(n).contains(value)).isEqualTo(sets.get(n).contains(value));
+				}
+			}
+
+			int before = random.nextInt(4) == 0 ? Integer.MAX_VALUE : random.nextInt(range + 1);
+			int limit = 1 + random.nextInt(3000);
+			for (boolean matchAll : new boolean[]{true, false}) {
+				int[] actual = RoaringBitmap.descendingBefore(bitmaps, matchAll, exclude, before, limit);
+				assertThat(actual).as("round=%d matchAll=%s", round, matchAll)
+					.isEqualTo(expected(sets, matchAll, excludeSet, before, limit));
+			}
+		}
+	}
+
+	// 값을 넣은 뒤 일부를 다시 빼서 remove 경로(비트맵 -> 배열 전환 포함)도 섞음
+	private static void fill(Random random, int range, double density, RoaringBitmap bitmap, TreeSet<Integer> set) {
+		int count = (int) (range * density);
+		for (int i = 0; i < count; i++) {
+			int value = random.nextInt(range);
+			bitmap.add(value);
+			set.add(value);
+		}
+		int removals = set.isEmpty() ? 0 : random.nextInt(count + 1);
+		for (int i = 0; i < removals; i++) {
+			int value = random.nextInt(range);
+			bitmap.remove(value);
+			set.remove(value);
+		}
+	}
+
+	private static int[] expected(List<TreeSet<Integer>> sets, boolean matchAll, TreeSet<Integer> exclude, int before, int limit) {
+		TreeSet<Integer> combined = new TreeSet<>(sets.get(0));
+		for (int n = 1; n < sets.size(); n++) {
+			if (matchAll) {
+				combined.retainAll(sets.get(n));
+			} else {
+				combined.addAll(sets.get(n));
+			}
+		}
+		combined.removeAll(exclude);
+		NavigableSet<Integer> page = combined.headSet(before, false).descendingSet();
+		int[] out = new int[Math.min(limit, page.size())];
+		Iterator<Integer> it = page.iterator();
+		for (int i = 0; i < out.length; i++) {
+			out[i] = it.next();
+		}
+		return out;
+	}
+
+	private static RoaringBitmap of(int... values) {
+		RoaringBitmap bitmap = new RoaringBitmap();
+		for (int value : values) {
+			bitmap.add(value);
+		}
+		return bitmap;
+	}
+}
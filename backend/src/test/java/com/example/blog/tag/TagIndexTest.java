@@ -0,0 +1,123 @@
+package com.example.blog.tag;
+
+import com.example.blog.cache.InvalidationEvent;
+import com.example.blog.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 다른 노드의 변경은 DB 행을 직접 바꾼 뒤 원격 무효화 이벤트만 전달해서 재현 (이 노드의 recordSaved는 거치지 않음)
+class TagIndexTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private TagIndex tagIndex;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+			"jdbc:h2:mem:tags-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE posts (id BIGINT PRIMARY KEY, is_secret BOOLEAN NOT NULL, deleted_at TIMESTAMP)");
+		jdbcTemplate.execute("CREATE TABLE post_tags (post_id BIGINT NOT NULL, tag VARCHAR(30) NOT NULL)");
+		tagIndex = new TagIndex(jdbcTemplate, new DataSourceTransactionManager(dataSource), new SimpleMeterRegistry());
+
+		insertPost(1, false, "java", "spring");
+		insertPost(2, true, "java", "spring");
+		insertPost(3, false, "java");
+		insertPost(4, false, "spring");
+		tagIndex.rebuild();
+	}
+
+	@Test
+	void findsPublicPostsNewestFirst() {
+		assertThat(tagIndex.find(List.of("java", "spring"), true, null, 10)).containsExactly(1L);
+		assertThat(tagIndex.find(List.of("java", "spring"), false, null, 10)).containsExactly(4L, 3L, 1L);
+		assertThat(tagIndex.find(List.of("java", "spring"), false, 4L, 1)).containsExactly(3L);
+		assertThat(tagIndex.find(List.of("java", "kotlin"), true, null, 10)).isEmpty();
+		assertThat(tagIndex.tagsOf(2L)).containsExactly("java", "spring");
+	}
+
+	@Test
+	void postEventReloadsChangeFromAnotherNode() {
+		jdbcTemplate.update("DELETE FROM post_tags WHERE post_id = 3");
+		jdbcTemplate.update("INSERT INTO post_tags (post_id, tag) VALUES (3, 'kotlin')");
+		insertPost(5, false, "java");
+
+		tagIndex.onRemoteInvalidate(new InvalidationEvent(InvalidationEvent.POST, 3L, 2L));
+		tagIndex.onRemoteInvalidate(new InvalidationEvent(InvalidationEvent.POST, 5L, 0L));
+
+		assertThat(tagIndex.find(List.of("java"), false, null, 10)).containsExactly(5L, 1L);
+		assertThat(tagIndex.find(List.of("kotlin"), false, null, 10)).containsExactly(3L);
+		assertThat(tagIndex.tagsOf(3L)).containsExactly("kotlin");
+	}
+
+	@Test
+	void postEventAppliesSecretFlagAndDeletion() {
+		jdbcTemplate.update("UPDATE posts SET is_secret = TRUE WHERE id = 1");
+		jdbcTemplate.update("UPDATE posts SET is_secret = FALSE WHERE id = 2");
+		jdbcTemplate.update("UPDATE posts SET deleted_at = CURRENT_TIMESTAMP WHERE id = 3");
+
+		for (long id = 1; id <= 3; id++) {
+			tagIndex.onRemoteInvalidate(new InvalidationEvent(InvalidationEvent.POST, id, null));
+		}
+
+		assertThat(tagIndex.find(List.of("java"), false, null, 10)).containsExactly(2L);
+		assertThat(tagIndex.tagsOf(3L)).isEmpty();
+	}
+
+	@Test
+	void localPostEventDoesNotReload() {
+		// 이 노드의 변경은 recordSaved/recordDeleted가 반영하므로 로컬 이벤트로는 DB를 다시 읽지 않음
+		jdbcTemplate.update("UPDATE posts SET deleted_at = CURRENT_TIMESTAMP WHERE id = 3");
+
+		tagIndex.onInvalidate(new InvalidationEvent(InvalidationEvent.POST, 3L, 1L));
+
+		assertThat(tagIndex.find(List.of("java"), false, null, 10)).containsExactly(3L, 1L);
+	}
+
+	@Test
+	void otherEntitiesDoNotTouchIndex() {
+		jdbcTemplate.update("UPDATE posts SET deleted_at = CURRENT_TIMESTAMP WHERE id = 3");
+
+		tagIndex.onRemoteInvalidate(new InvalidationEvent(InvalidationEvent.POST_COMMENTS, 3L, null));
+
+		assertThat(tagIndex.find(List.of("java"), false, null, 10)).containsExactly(3L, 1L);
+	}
+
+	@Test
+	void invalidateAllRebuildsFromDatabase() {
+		jdbcTemplate.update("UPDATE posts SET deleted_at = CURRENT_TIMESTAMP WHERE id = 4");
+		insertPost(6, false, "spring");
+
+		tagIndex.onInvalidateAll();
+
+		assertThat(tagIndex.find(List.of("spring"), false, null, 10)).containsExactly(6L, 1L);
+	}
+
+	@Test
+	void normalizeTrimsLowercasesAndSorts() {
+		assertThat(TagIndex.normalize(List.of(" Spring", "java", "JAVA"))).containsExactly("java", "spring");
+		assertThatThrownBy(() -> TagIndex.normalize(List.of("c++"))).isInstanceOf(ValidationException.class);
+		assertThatThrownBy(() -> TagIndex.normalize(List.of(" "))).isInstanceOf(ValidationException.class);
+		assertThatThrownBy(() -> TagIndex.normalize(List.of("a".repeat(TagIndex.MAX_TAG_LENGTH + 1))))
+			.isInstanceOf(ValidationException.class);
+		List<String> tooMany = List.of("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k");
+		assertThatThrownBy(() -> TagIndex.normalize(tooMany)).isInstanceOf(ValidationException.class);
+	}
+
+	private void insertPost(long id, boolean secret, String... tags) {
+		jdbcTemplate.update("INSERT INTO posts (id, is_secret) VALUES (?, ?)", id, secret);
+		for (String tag : tags) {
+			jdbcTemplate.update("INSERT INTO post_tags (post_id, tag) VALUES (?, ?)", id, tag);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.example.blog.trending;
+
+import com.example.blog.cache.InvalidationEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 다른 노드의 수정/삭제는 DB 행을 직접 바꾼 뒤 원격 무효화 이벤트만 전달해서 재현
+class TrendingServiceTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private TrendingService trendingService;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+			"jdbc:h2:mem:trending-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50) NOT NULL)");
+		jdbcTemplate.execute("CREATE TABLE posts (id BIGINT PRIMARY KEY, title VARCHAR(200) NOT NULL, " +
+			"is_secret BOOLEAN NOT NULL, created_at TIMESTAMP NOT NULL, views BIGINT NOT NULL, " +
+			"author_id BIGINT NOT NULL, deleted_at TIMESTAMP)");
+		jdbcTemplate.execute("CREATE TABLE comments (post_id BIGINT NOT NULL, created_at TIMESTAMP NOT NULL)");
+		jdbcTemplate.update("INSERT INTO users (id, username) VALUES (1, 'writer')");
+		// 조회수로 순서를 고정 - 1번이 가장 높음
+		insertPost(1, "first", 30);
+		insertPost(2, "second", 20);
+		insertPost(3, "third", 10);
+
+		trendingService = new TrendingService(new NamedParameterJdbcTemplate(dataSource),
+			new DataSourceTransactionManager(dataSource), 24, 100, 20, 1, 5, 0.01);
+		trendingService.rebuild();
+	}
+
+	@Test
+	void remotePostEventAppliesTitleSecretFlagAndDeletion() {
+		jdbcTemplate.update("UPDATE posts SET title = 'renamed', is_secret = TRUE WHERE id = 1");
+		jdbcTemplate.update("UPDATE posts SET deleted_at = CURRENT_TIMESTAMP WHERE id = 2");
+
+		trendingService.onRemoteInvalidate(new InvalidationEvent(InvalidationEvent.POST, 1L, 2L));
+		trendingService.onRemoteInvalidate(new InvalidationEvent(InvalidationEvent.POST, 2L, 2L));
+
+		List<TrendingRanking.RankedPost> top = trendingService.top(10);
+		assertThat(top).extracting(ranked -> ranked.post().id()).containsExactly(1L, 3L);
+		assertThat(top.get(0).post().title()).isEqualTo("renamed");
+		assertThat(top.get(0).post().secret()).isTrue();
+	}
+
+	@Test
+	void localPostEventDoesNotReload() {
+		// 이 노드의 변경은 recordUpdated/recordDeleted가 반영하므로 로컬 이벤트로는 DB를 다시 읽지 않음
+		jdbcTemplate.update("UPDATE posts SET deleted_at = CURRENT_TIMESTAMP WHERE id = 2");
+
+		trendingService.onInvalidate(new InvalidationEvent(InvalidationEvent.POST, 2L, 2L));
+
+		assertThat(trendingService.top(10)).extracting(ranked -> ranked.post().id()).containsExactly(1L, 2L, 3L);
+	}
+
+	@Test
+	void untrackedPostAndOtherEntitiesAreIgnored() {
+		insertPost(4, "remote-new", 100);
+
+		trendingService.onRemoteInvalidate(new InvalidationEvent(InvalidationEvent.POST, 4L, 0L));
+		trendingService.onRemoteInvalidate(new InvalidationEvent(InvalidationEvent.POST_COMMENTS, 1L, null));
+
+		assertThat(trendingService.top(10)).extracting(ranked -> ranked.post().id()).containsExactly(1L, 2L, 3L);
+	}
+
+	@Test
+	void invalidateAllRecomputesFromDatabase() {
+		jdbcTemplate.update("UPDATE posts SET deleted_at = CURRENT_TIMESTAMP WHERE id = 1");
+		insertPost(4, "missed", 100);
+
+		trendingService.onInvalidateAll();
+
+		assertThat(trendingService.top(10)).extracting(ranked -> ranked.post().id()).containsExactly(4L, 2L, 3L);
+	}
+
+	private void insertPost(long id, String title, long views) {
+		jdbcTemplate.update("INSERT INTO posts (id, title, is_secret, created_at, views, author_id) " +
+			"VALUES (?, ?, FALSE, CURRENT_TIMESTAMP, ?, 1)", id, title, views);
+	}
+}
@@ -2,11 +2,15 @@ import axios, { AxiosError, type InternalAxiosRequestConfig } from "axios";
 
 const BASE_URL = import.meta.env.VITE_API_URL || "http://localhost:8080";
 
+const REQUEST_TIMEOUT_MS = 10000;
+
 const client = axios.create({
     baseURL: BASE_URL,
-    timeout: 10000,
+    timeout: REQUEST_TIMEOUT_MS,
     headers: {
         'Content-Type': 'application/json',
+        // 서버가 이 시간이 지나면 작업을 중단하도록 클라이언트 타임아웃을 전달
+        'X-Request-Timeout-Ms': String(REQUEST_TIMEOUT_MS),
     },
 });
 
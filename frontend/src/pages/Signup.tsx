@@ -94,6 +94,9 @@ export function Signup() {
         errorMessage = error.message;
       }
       // 서버 에러
+      else if (error.response?.status === 409) {
+        errorMessage = "이미 사용 중인 사용자명입니다. 다른 이름을 선택해주세요.";
+      }
       else if (error.response?.status === 400) {
         if (error.response.data?.message?.includes("already exists") || 
             error.response.data?.message?.includes("이미 존재")) {